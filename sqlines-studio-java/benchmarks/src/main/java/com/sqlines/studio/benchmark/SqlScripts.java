@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.benchmark;
+
+/**
+ * Generates SQL scripts of the specified size for the benchmarks.
+ * <p>
+ * The scripts mix statements, comments, string literals and numbers,
+ * so that every highlighting pattern and conversion path is exercised.
+ */
+public final class SqlScripts {
+    private static final String[] STATEMENTS = {
+            "-- Employees of the department\n",
+            "SELECT e.employee_id, NVL(e.commission_pct, 0) AS commission, SYSDATE\n"
+                    + "FROM employees e WHERE e.department_id = 50 AND ROWNUM <= 10;\n",
+            "/* Raise the salaries\n   of the sales representatives */\n",
+            "UPDATE employees SET salary = salary * 1.05 WHERE job_id = 'SA_REP';\n",
+            "INSERT INTO departments (department_id, department_name, location_id)\n"
+                    + "VALUES (280, \"Recreation\", 1700);\n",
+            "CREATE TABLE audit_log (id NUMBER(10) PRIMARY KEY, message VARCHAR2(4000), created DATE);\n",
+            "DELETE FROM audit_log WHERE created < ADD_MONTHS(SYSDATE, -12);\n"
+    };
+
+    private SqlScripts() {
+    }
+
+    /**
+     * Generates a script of at least the specified size.
+     *
+     * @param size the size of the script in characters
+     *
+     * @return generated script
+     */
+    public static String generate(int size) {
+        StringBuilder script = new StringBuilder(size + 128);
+        for (int i = 0; script.length() < size; i++) {
+            script.append(STATEMENTS[i % STATEMENTS.length]);
+        }
+
+        return script.toString();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model;
+
+import com.sqlines.studio.benchmark.SqlScripts;
+import com.sqlines.studio.model.filehandler.FileHandler;
+import com.sqlines.studio.model.tabsdata.ObservableTabsData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the checkpoints of the application: Java serialization of {@link ObservableTabsData}
+ * and {@link FileHandler} to the files in the temporary directory, and the deserialization
+ * done at startup.
+ * <p>
+ * The tabs are opened from real files, so the file handler holds the same state as in the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelSerializationBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int tabsCount;
+
+    @Param({"10000", "1000000"})
+    private int textSize;
+
+    private Path dir;
+    private ObservableTabsData tabsData;
+    private FileHandler fileHandler;
+    private byte[] serializedTabsData;
+    private byte[] serializedFileHandler;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("sqlines-benchmark");
+        String text = SqlScripts.generate(textSize);
+        List<File> files = new ArrayList<>(tabsCount);
+        for (int i = 0; i < tabsCount; i++) {
+            Path file = dir.resolve("script" + i + ".sql");
+            Files.writeString(file, text, StandardCharsets.UTF_8);
+            files.add(file.toFile());
+        }
+
+        tabsData = new ObservableTabsData();
+        fileHandler = new FileHandler();
+        fileHandler.setTabsData(tabsData);
+        tabsData.openTab(0);
+        tabsData.setCurrTabIndex(0);
+        fileHandler.openSourceFiles(files);
+
+        serializedTabsData = toBytes(tabsData);
+        serializedFileHandler = toBytes(fileHandler);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static byte[] toBytes(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+            stream.writeObject(object);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public void serializeToFiles() throws IOException {
+        try (ObjectOutputStream tabsDataStream = new ObjectOutputStream(
+                new FileOutputStream(dir.resolve("sqlines-tabsdata.serial").toFile()));
+             ObjectOutputStream fileHandlerStream = new ObjectOutputStream(
+                new FileOutputStream(dir.resolve("sqlines-filehandler.serial").toFile()))) {
+            tabsDataStream.writeObject(tabsData);
+            fileHandlerStream.writeObject(fileHandler);
+        }
+    }
+
+    @Benchmark
+    public void serializeToMemory(Blackhole blackhole) throws IOException {
+        blackhole.consume(toBytes(tabsData));
+        blackhole.consume(toBytes(fileHandler));
+    }
+
+    @Benchmark
+    public void deserialize(Blackhole blackhole) throws Exception {
+        try (ObjectInputStream tabsDataStream = new ObjectInputStream(
+                new ByteArrayInputStream(serializedTabsData));
+             ObjectInputStream fileHandlerStream = new ObjectInputStream(
+                new ByteArrayInputStream(serializedFileHandler))) {
+            blackhole.consume(tabsDataStream.readObject());
+            blackhole.consume(fileHandlerStream.readObject());
+        }
+    }
+}
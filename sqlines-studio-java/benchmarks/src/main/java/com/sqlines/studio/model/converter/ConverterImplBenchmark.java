@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import com.sqlines.studio.benchmark.SqlScripts;
+import com.sqlines.studio.model.coreprocess.Arguments;
+import com.sqlines.studio.model.coreprocess.CoreProcessRunner;
+import com.sqlines.studio.model.coreprocess.listener.CoreProcessOutputListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Java side of a conversion: building the arguments, temporary files
+ * and copying the data, with a stub program that returns its input unchanged.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterImplBenchmark {
+
+    @Param({"enabled", "disabled"})
+    private String streaming;
+
+    @Param({"1000", "1000000"})
+    private int sourceSize;
+
+    private Path currDir;
+    private ConverterImpl converter;
+    private byte[] sourceData;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Without streaming the program writes the target file to the current directory
+        currDir = Files.createTempDirectory("sqlines-benchmark");
+        System.setProperty("model.curr-dir", currDir.toString());
+        System.setProperty("model.streaming", streaming);
+        System.setProperty("model.save-target", "disabled");
+
+        CmdModes cmdModes = new CmdModes(Map.of("Oracle", "oracle", "MySQL", "mysql"));
+        converter = new ConverterImpl(cmdModes, new EchoCoreProcess(), false);
+        sourceData = SqlScripts.generate(sourceSize).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(currDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public String convert() throws Exception {
+        return converter.convert("Oracle", "MySQL", sourceData);
+    }
+
+    @Benchmark
+    public ConversionResult run() throws Exception {
+        return converter.run("Oracle", "MySQL", sourceData, "benchmark");
+    }
+
+    /**
+     * Returns the input unchanged instead of running the sqlines program.
+     */
+    private static class EchoCoreProcess implements CoreProcessRunner {
+
+        @Override
+        public String runAndWait(Arguments arguments) throws IOException {
+            String sourcePath = "";
+            String targetPath = "";
+            for (String argument : arguments.toArray()) {
+                if (argument.startsWith("-in = ")) {
+                    sourcePath = argument.substring("-in = ".length());
+                } else if (argument.startsWith("-out = ")) {
+                    targetPath = argument.substring("-out = ".length());
+                }
+            }
+
+            Files.copy(Path.of(sourcePath), Path.of(targetPath), StandardCopyOption.REPLACE_EXISTING);
+            return "";
+        }
+
+        @Override
+        public String runAndWait(Arguments arguments, InputStream input) throws IOException {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8) + "\n";
+        }
+
+        @Override
+        public <T> T callWithOutputListener(CoreProcessOutputListener listener,
+                                            Callable<T> action) throws Exception {
+            return action.call();
+        }
+    }
+}
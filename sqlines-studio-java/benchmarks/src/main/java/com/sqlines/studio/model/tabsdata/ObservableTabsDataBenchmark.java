@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.tabsdata;
+
+import com.sqlines.studio.benchmark.SqlScripts;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the getters and setters of {@link ObservableTabsData} with many opened tabs
+ * and the listeners registered by the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObservableTabsDataBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int tabsCount;
+
+    private ObservableTabsData tabsData;
+    private String sourceText;
+    private int tabIndex;
+
+    @Setup
+    public void setUp() {
+        tabsData = new ObservableTabsData();
+        sourceText = SqlScripts.generate(10_000);
+        for (int i = 0; i < tabsCount; i++) {
+            tabsData.openTab(i);
+            tabsData.setTabTitle("Tab " + i, i);
+            tabsData.setSourceMode("Oracle", i);
+            tabsData.setTargetMode("MySQL", i);
+            tabsData.setSourceText(sourceText, i);
+        }
+
+        // The main window and the file handler listen to every change
+        tabsData.addSourceTextListener((text, index) -> { });
+        tabsData.addTargetTextListener((text, index) -> { });
+        tabsData.addTabTitleListener((title, index) -> { });
+        tabsData.addTabIndexListener(index -> { });
+    }
+
+    private int nextTabIndex() {
+        tabIndex = (tabIndex + 1) % tabsCount;
+        return tabIndex;
+    }
+
+    @Benchmark
+    public void getTabData(Blackhole blackhole) {
+        int index = nextTabIndex();
+        blackhole.consume(tabsData.getSourceText(index));
+        blackhole.consume(tabsData.getTargetText(index));
+        blackhole.consume(tabsData.getSourceMode(index));
+        blackhole.consume(tabsData.getTargetMode(index));
+        blackhole.consume(tabsData.getTabTitle(index));
+    }
+
+    @Benchmark
+    public void setSourceText() {
+        tabsData.setSourceText(sourceText, nextTabIndex());
+    }
+
+    @Benchmark
+    public void setTargetText() {
+        tabsData.setTargetText(sourceText, nextTabIndex());
+    }
+
+    @Benchmark
+    public void setCurrTabIndex() {
+        tabsData.setCurrTabIndex(nextTabIndex());
+    }
+
+    @Benchmark
+    public int countTabs() {
+        return tabsData.countTabs();
+    }
+}
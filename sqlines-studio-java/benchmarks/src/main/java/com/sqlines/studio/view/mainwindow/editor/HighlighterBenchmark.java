@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.view.mainwindow.editor;
+
+import com.sqlines.studio.benchmark.SqlScripts;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.fxmisc.richtext.model.StyleSpans;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the highlighting of a single statement, a typical script and a very large file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HighlighterBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private int textSize;
+
+    private Highlighter highlighter;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        highlighter = new Highlighter();
+        text = SqlScripts.generate(textSize);
+    }
+
+    @Benchmark
+    public StyleSpans<Collection<String>> computeHighlighting() {
+        return highlighter.computeHighlighting(text);
+    }
+}
@@ -16,11 +16,18 @@
 
 package com.sqlines.studio;
 
+import com.sqlines.studio.model.converter.CachingConverter;
 import com.sqlines.studio.model.converter.CmdModes;
+import com.sqlines.studio.model.converter.ConversionCache;
+import com.sqlines.studio.model.converter.ConversionExecutor;
 import com.sqlines.studio.model.converter.Converter;
 import com.sqlines.studio.model.converter.ConverterImpl;
+import com.sqlines.studio.model.converter.ConverterWarmUp;
+import com.sqlines.studio.model.converter.NativeConverter;
+import com.sqlines.studio.model.converter.SqlParserLibrary;
+import com.sqlines.studio.model.coreprocess.CoreProcessPool;
 import com.sqlines.studio.model.coreprocess.CoreProcessRunner;
-import com.sqlines.studio.model.coreprocess.CoreProcessRunnerImp;
+import com.sqlines.studio.model.coreprocess.CoreVersion;
 import com.sqlines.studio.model.license.License;
 import com.sqlines.studio.model.PropertiesLoader;
 import com.sqlines.studio.model.ResourceLoader;
@@ -38,7 +45,11 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -49,6 +60,9 @@ public class Application extends javafx.application.Application {
     private ObservableTabsData tabsData;
     private FileHandler fileHandler;
     private MainWindow mainWindow;
+    private CoreProcessPool coreProcess;
+    private ConversionExecutor conversionExecutor;
+    private ConversionCache conversionCache;
     private Thread fileCheckingThread;
     private Thread licenseCheckingThread;
     private Thread checkpointThread;
@@ -111,10 +125,15 @@ public class Application extends javafx.application.Application {
 
     @Override
     public void start(Stage primaryStage) throws Exception {
-        CoreProcessRunner coreProcess = new CoreProcessRunnerImp();
-        Converter converter = new ConverterImpl(new CmdModes(ResourceLoader.loadCmdModes()), coreProcess);
+        coreProcess = new CoreProcessPool(4, 1, 10 * 60 * 1000);
         License license = new License(coreProcess);
+        Converter engine = createConverter(new CmdModes(ResourceLoader.loadCmdModes()), coreProcess, license);
+        Converter converter = engine;
+        if (System.getProperty("model.cache").equals("enabled")) {
+            converter = createCachingConverter(converter, coreProcess, license);
+        }
 
+        conversionExecutor = new ConversionExecutor(4);
         mainWindow = new MainWindow();
         mainWindow.setConversionModes(ResourceLoader.loadSourceModes(), ResourceLoader.loadTargetModes());
         mainWindow.setLightStylesheets(ResourceLoader.loadMainLightStyles());
@@ -128,7 +147,7 @@ public class Application extends javafx.application.Application {
                 license, settingsWindow, mainWindow, List.of(mainWindow, settingsWindow)
         );
         MainWindowPresenter mainPresenter = new MainWindowPresenter(
-                tabsData, fileHandler, converter, mainWindow
+                tabsData, fileHandler, converter, conversionExecutor, coreProcess, mainWindow
         );
 
         fileCheckingThread = new Thread(fileHandler, "File Checking Thread");
@@ -142,6 +161,69 @@ public class Application extends javafx.application.Application {
         checkpointThread = new Thread(this::runCheckpointLoop, "Checkpoint Thread");
         checkpointThread.setDaemon(true);
         checkpointThread.start();
+
+        startWarmUp(engine);
+    }
+
+    private void startWarmUp(Converter engine) {
+        if (System.getProperty("model.warm-up", "enabled").equals("disabled")) {
+            return;
+        }
+
+        int currIndex = tabsData.getCurrTabIndex();
+        String sourceMode = System.getProperty("model.last-source-mode",
+                currIndex == -1 ? "" : tabsData.getSourceMode(currIndex));
+        String targetMode = System.getProperty("model.last-target-mode",
+                currIndex == -1 ? "" : tabsData.getTargetMode(currIndex));
+        if (sourceMode.isEmpty() || targetMode.isEmpty()) {
+            logger.info("Converter warm-up skipped: no last used modes");
+            return;
+        }
+
+        // The warm-up never delays a conversion the user starts
+        ConverterWarmUp warmUp = new ConverterWarmUp(engine, sourceMode, targetMode);
+        conversionExecutor.submit(Executors.callable(warmUp), ConversionExecutor.Priority.BACKGROUND);
+    }
+
+    // The converters run in evaluation mode until the license checking thread reports the status
+    private Converter createConverter(CmdModes cmdModes, CoreProcessRunner coreProcess, License license) {
+        if (SqlParserLibrary.isAvailable()) {
+            try {
+                NativeConverter converter = new NativeConverter(cmdModes, true);
+                license.addLicenseListener(isActive -> converter.setEvaluationMode(!isActive));
+                logger.info("Using in-process converter");
+                return converter;
+            } catch (Exception e) {
+                logger.warn("In-process converter is not available: " + e.getMessage());
+            }
+        }
+
+        ConverterImpl converter = new ConverterImpl(cmdModes, coreProcess, true);
+        license.addLicenseListener(isActive -> converter.setEvaluationMode(!isActive));
+        return converter;
+    }
+
+    // The core version is read in the background, nothing is cached until it is known
+    private Converter createCachingConverter(Converter converter, CoreProcessRunner coreProcess,
+                                             License license) {
+        Path cacheDir = Path.of(System.getProperty("java.io.tmpdir"), "sqlines-cache");
+        conversionCache = new ConversionCache(cacheDir, 16 * 1024 * 1024, 4096);
+        CachingConverter cachingConverter = new CachingConverter(
+                converter, conversionCache, null, true
+        );
+        license.addLicenseListener(isActive -> cachingConverter.setEvaluationMode(!isActive));
+
+        Thread versionThread = new Thread(() -> {
+            String coreVersion = CoreVersion.read(coreProcess);
+            if (coreVersion.equals("unknown")) {
+                logger.warn("Conversion cache disabled: unknown core version");
+            } else {
+                cachingConverter.setCoreVersion(coreVersion);
+            }
+        }, "Core Version Thread");
+        versionThread.setDaemon(true);
+        versionThread.start();
+        return cachingConverter;
     }
 
     @SuppressWarnings("BusyWait")
@@ -185,6 +267,16 @@ public class Application extends javafx.application.Application {
             fileCheckingThread.interrupt();
             licenseCheckingThread.interrupt();
             checkpointThread.interrupt();
+            conversionExecutor.shutdown();
+            for (ConversionExecutor.Priority priority : ConversionExecutor.Priority.values()) {
+                logger.info(priority + " conversions started: " + conversionExecutor.getStartedCount(priority) +
+                        ", average wait: " + conversionExecutor.getAverageWaitMillis(priority) + " ms");
+            }
+            coreProcess.shutdown();
+            if (conversionCache != null) {
+                logger.info("Conversion cache hits: " + conversionCache.getHits() +
+                        ", misses: " + conversionCache.getMisses());
+            }
 
             saveFiles();
             saveProperties();
@@ -194,23 +286,28 @@ public class Application extends javafx.application.Application {
         }
     }
 
-    private void saveFiles() throws IOException {
+    // Waits for the files written in the background as well
+    private void saveFiles() {
+        List<CompletableFuture<Void>> saved = new ArrayList<>();
         int tabsNumber = tabsData.countTabs();
         for (int i = 0; i < tabsNumber; i++) {
             if (!tabsData.getSourceFilePath(i).isEmpty()) {
-                fileHandler.saveSourceFile(i);
+                saved.add(fileHandler.saveSourceFile(i));
             }
 
             if (!tabsData.getTargetFilePath(i).isEmpty()) {
-                fileHandler.saveTargetFile(i);
+                saved.add(fileHandler.saveTargetFile(i));
             }
         }
+
+        CompletableFuture.allOf(saved.toArray(new CompletableFuture[0])).join();
     }
 
     private void saveProperties() {
         try {
             logger.info("Saving properties");
             saveUISettings();
+            saveLastModes();
             PropertiesLoader.saveProperties();
             logger.info("Properties saved");
         } catch (Exception e) {
@@ -226,6 +323,15 @@ public class Application extends javafx.application.Application {
         System.setProperty("view.isMaximized", String.valueOf(mainWindow.isMaximized()));
     }
 
+    private void saveLastModes() {
+        int currIndex = tabsData.getCurrTabIndex();
+        if (currIndex != -1 && !tabsData.getSourceMode(currIndex).isEmpty()
+                && !tabsData.getTargetMode(currIndex).isEmpty()) {
+            System.setProperty("model.last-source-mode", tabsData.getSourceMode(currIndex));
+            System.setProperty("model.last-target-mode", tabsData.getTargetMode(currIndex));
+        }
+    }
+
     private void saveLastState() {
         logger.info("Saving last state");
         serializeModel();
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio;
+
+import com.sqlines.studio.model.ResourceLoader;
+import com.sqlines.studio.model.assessment.AssessmentFeature;
+import com.sqlines.studio.model.assessment.AssessmentReports;
+import com.sqlines.studio.model.assessment.AssessmentScanner;
+import com.sqlines.studio.model.assessment.AssessmentSummary;
+import com.sqlines.studio.model.batch.BatchConverter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the migration metrics of the scripts of a directory tree without converting them.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -jar sqlines-studio.jar --assess -in scripts/ -out assessment/ [-s Oracle] [-threads 8]
+ * </pre>
+ * The input is a directory or a glob, as in {@link BatchMain}. The source mode selects the
+ * comment and string syntax of the scripts, such as # comments and backslash escapes in MySQL,
+ * the syntax common to all modes is used without it. The statement counts by type
+ * and the lines with dialect-specific features of every file are written to assessment.csv,
+ * the totals are written to assessment.html in the output directory.
+ * <p>
+ * Exits with 0 if all files were scanned, 1 if some files could not be read and 2 on invalid arguments.
+ */
+public class AssessMain {
+    private static final Logger logger = LogManager.getLogger(AssessMain.class);
+    private static final String USAGE = "Usage: --assess -in <directory or glob> -out <directory> " +
+            "[-s <source mode>] [-threads <n>]";
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        Map<String, String> options;
+        try {
+            options = parseOptions(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        try {
+            int threads = Integer.parseInt(options.getOrDefault("-threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            Path targetDir = Path.of(options.get("-out"));
+            String sourceMode = options.getOrDefault("-s", "");
+            if (!sourceMode.isEmpty()) {
+                BatchMain.checkMode(sourceMode, ResourceLoader.loadSourceModes());
+            }
+
+            BatchMain.Input input = BatchMain.Input.parse(options.get("-in"));
+            List<Path> files = BatchConverter.findScripts(input.dir, input.matcher, targetDir);
+            AssessmentScanner scanner = new AssessmentScanner(AssessmentFeature.load(), sourceMode, threads);
+            AssessmentSummary summary = scanner.scan(input.dir, files);
+
+            Files.createDirectories(targetDir);
+            Path csvPath = targetDir.resolve("assessment.csv");
+            try (Writer writer = Files.newBufferedWriter(csvPath, StandardCharsets.UTF_8)) {
+                AssessmentReports.writeCsv(summary, writer);
+            }
+
+            Path htmlPath = targetDir.resolve("assessment.html");
+            try (Writer writer = Files.newBufferedWriter(htmlPath, StandardCharsets.UTF_8)) {
+                AssessmentReports.writeHtml(summary, writer);
+            }
+
+            System.err.println("Scanned " + summary.countFiles() + " files, " + summary.getTotalLines() +
+                    " lines in " + summary.getElapsedMillis() + " ms, " + summary.getTotalLikelyManualLines() +
+                    " lines likely to convert by hand, report: " + htmlPath);
+            return summary.countErrors() == 0 ? 0 : 1;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Assessment interrupted");
+            return 1;
+        } catch (Exception e) {
+            logger.error("Assessment failed: " + e.getMessage());
+            System.err.println("Assessment failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!List.of("-in", "-out", "-s", "-threads").contains(args[i])) {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            } else if (i + 1 == args.length) {
+                throw new IllegalArgumentException("No value for option: " + args[i]);
+            }
+
+            options.put(args[i], args[i + 1]);
+        }
+
+        for (String required : List.of("-in", "-out")) {
+            if (!options.containsKey(required)) {
+                throw new IllegalArgumentException("Missing option: " + required);
+            }
+        }
+
+        return options;
+    }
+}
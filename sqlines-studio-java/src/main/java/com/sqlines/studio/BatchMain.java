@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio;
+
+import com.sqlines.studio.model.Json;
+import com.sqlines.studio.model.PropertiesLoader;
+import com.sqlines.studio.model.ResourceLoader;
+import com.sqlines.studio.model.batch.BatchConverter;
+import com.sqlines.studio.model.batch.BatchJournal;
+import com.sqlines.studio.model.batch.BatchReport;
+import com.sqlines.studio.model.converter.ChunkedConverter;
+import com.sqlines.studio.model.converter.CmdModes;
+import com.sqlines.studio.model.converter.ConversionExecutor;
+import com.sqlines.studio.model.converter.ConverterImpl;
+import com.sqlines.studio.model.coreprocess.CoreProcessPool;
+import com.sqlines.studio.model.coreprocess.CoreVersion;
+import com.sqlines.studio.model.license.License;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts the scripts of a directory tree without starting the JavaFX toolkit.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -jar sqlines-studio.jar --batch -s Oracle -t MySQL -in scripts/ -out converted/
+ *     [-threads 8] [-chunk 8388608] [-report report.json] [-timeout 60] [-memory 2048]
+ *     [-journal journal.jsonl]
+ * </pre>
+ * The input is either a directory, whose .sql files are converted, or a glob whose
+ * first wildcard segment starts the pattern matched against the paths relative to the
+ * directory before it, for example scripts/&#42;&#42;/&#42;.sql, where a leading &#42;&#42;/ also
+ * matches the directory itself. The modes are the mode names shown in the Studio.
+ * Files larger than the chunk size in characters are converted in chunks,
+ * 0 disables chunking. A JSON summary with the timings of every file is written to the report
+ * file, by default to report.json in the output directory.
+ * <p>
+ * A conversion gets -timeout seconds plus model.timeout-per-mib seconds for every MiB of its input
+ * before it is killed, 0 disables the time limit. On Linux, -memory caps the memory of every
+ * sqlines program in MiB.
+ * <p>
+ * If a journal is specified, every processed file is appended to it. A later run with the same
+ * journal, such as a restart after a crash or a nightly re-conversion, skips the files whose
+ * content, modes, core version and license status are unchanged since they were converted.
+ * <p>
+ * Exits with 0 if all files were converted, 1 if some files failed and 2 on invalid arguments.
+ */
+public class BatchMain {
+    private static final Logger logger = LogManager.getLogger(BatchMain.class);
+    private static final String USAGE = "Usage: --batch -s <source mode> -t <target mode> " +
+            "-in <directory or glob> -out <directory> [-threads <n>] [-chunk <chars>] [-report <file>] " +
+            "[-timeout <seconds>] [-memory <MiB>] [-journal <file>]";
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        Map<String, String> options;
+        try {
+            options = parseOptions(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        CoreProcessPool coreProcess = null;
+        ConversionExecutor chunkExecutor = null;
+        BatchJournal journal = null;
+        try {
+            String sourceMode = options.get("-s");
+            String targetMode = options.get("-t");
+            checkMode(sourceMode, ResourceLoader.loadSourceModes());
+            checkMode(targetMode, ResourceLoader.loadTargetModes());
+
+            int threads = Integer.parseInt(options.getOrDefault("-threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            int chunkSize = Integer.parseInt(options.getOrDefault("-chunk", String.valueOf(8 * 1024 * 1024)));
+            Path targetDir = Path.of(options.get("-out"));
+            Path reportPath = Path.of(options.getOrDefault("-report", targetDir.resolve("report.json").toString()));
+
+            long timeout = Long.parseLong(options.getOrDefault("-timeout", "60"));
+            long memoryLimit = Long.parseLong(options.getOrDefault("-memory", "0"));
+
+            PropertiesLoader.setDefaults();
+            System.setProperty("model.timeout", String.valueOf(timeout));
+            System.setProperty("model.memory-limit", String.valueOf(memoryLimit));
+            coreProcess = new CoreProcessPool(threads, threads, 60 * 1000);
+            boolean evaluationMode = !new License(coreProcess).isActive();
+            ConverterImpl converter = new ConverterImpl(new CmdModes(ResourceLoader.loadCmdModes()),
+                    coreProcess, evaluationMode);
+            BatchConverter batchConverter = new BatchConverter(converter, threads);
+            if (chunkSize > 0) {
+                chunkExecutor = new ConversionExecutor(threads);
+                batchConverter.setChunkedConverter(new ChunkedConverter(converter, chunkExecutor, threads, chunkSize));
+            }
+
+            if (options.containsKey("-journal")) {
+                journal = new BatchJournal(Path.of(options.get("-journal")), CoreVersion.read(coreProcess),
+                        evaluationMode);
+                batchConverter.setJournal(journal);
+            }
+
+            Input input = Input.parse(options.get("-in"));
+            List<Path> files = BatchConverter.findScripts(input.dir, input.matcher, targetDir);
+            BatchReport report = batchConverter.convert(input.dir, files, targetDir, sourceMode, targetMode,
+                    (result, processed, total) -> System.err.println("[" + processed + "/" + total + "] " +
+                            status(result) + " " + result.getSourcePath()));
+
+            Files.createDirectories(reportPath.toAbsolutePath().getParent());
+            Files.write(reportPath, toJson(report, sourceMode, targetMode, threads).getBytes(StandardCharsets.UTF_8));
+            System.err.println("Converted " + report.getConvertedCount() + " of " + report.getResults().size() +
+                    " files in " + report.getElapsedMillis() + " ms, skipped " + report.getSkippedCount() +
+                    " unchanged, report: " + reportPath);
+            return report.getFailures().isEmpty() ? 0 : 1;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch conversion interrupted");
+            return 1;
+        } catch (Exception e) {
+            logger.error("Batch conversion failed: " + e.getMessage());
+            System.err.println("Batch conversion failed: " + e.getMessage());
+            return 1;
+        } finally {
+            closeJournal(journal);
+            if (chunkExecutor != null) {
+                chunkExecutor.shutdown();
+            }
+            if (coreProcess != null) {
+                coreProcess.shutdown();
+            }
+        }
+    }
+
+    private static void closeJournal(BatchJournal journal) {
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.error("Cannot close journal: " + e.getMessage());
+        }
+    }
+
+    private static String status(BatchReport.FileResult result) {
+        if (result.isSkipped()) {
+            return "skipped";
+        }
+
+        return result.isSuccess() ? "converted" : "failed";
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!List.of("-s", "-t", "-in", "-out", "-threads", "-chunk", "-report",
+                    "-timeout", "-memory", "-journal").contains(args[i])) {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            } else if (i + 1 == args.length) {
+                throw new IllegalArgumentException("No value for option: " + args[i]);
+            }
+
+            options.put(args[i], args[i + 1]);
+        }
+
+        for (String required : List.of("-s", "-t", "-in", "-out")) {
+            if (!options.containsKey(required)) {
+                throw new IllegalArgumentException("Missing option: " + required);
+            }
+        }
+
+        return options;
+    }
+
+    static void checkMode(String mode, List<String> modes) {
+        if (!modes.contains(mode)) {
+            throw new IllegalArgumentException("Unknown conversion mode: " + mode + ", expected one of " + modes);
+        }
+    }
+
+    static String toJson(BatchReport report, String sourceMode, String targetMode, int threads) {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"sourceMode\": ").append(Json.quote(sourceMode)).append(",\n");
+        json.append("  \"targetMode\": ").append(Json.quote(targetMode)).append(",\n");
+        json.append("  \"threads\": ").append(threads).append(",\n");
+        json.append("  \"files\": ").append(report.getResults().size()).append(",\n");
+        json.append("  \"converted\": ").append(report.getConvertedCount()).append(",\n");
+        json.append("  \"failed\": ").append(report.getFailures().size()).append(",\n");
+        json.append("  \"skipped\": ").append(report.getSkippedCount()).append(",\n");
+        json.append("  \"totalBytes\": ").append(report.getTotalBytes()).append(",\n");
+        json.append("  \"elapsedMillis\": ").append(report.getElapsedMillis()).append(",\n");
+        json.append("  \"bytesPerSecond\": ").append(Math.round(report.getBytesPerSecond())).append(",\n");
+        json.append("  \"results\": [");
+
+        List<BatchReport.FileResult> results = report.getResults();
+        for (int i = 0; i < results.size(); i++) {
+            BatchReport.FileResult result = results.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"source\": ").append(Json.quote(result.getSourcePath().toString()))
+                    .append(", \"target\": ").append(Json.quote(result.getTargetPath().toString()))
+                    .append(", \"bytes\": ").append(result.getSize())
+                    .append(", \"elapsedMillis\": ")
+                    .append(TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()))
+                    .append(", \"status\": ").append(Json.quote(status(result)));
+            if (result.getError().isPresent()) {
+                json.append(", \"error\": ").append(Json.quote(result.getError().get()));
+            }
+            json.append("}");
+        }
+
+        return json.append(results.isEmpty() ? "]\n}\n" : "\n  ]\n}\n").toString();
+    }
+
+    /**
+     * Directory to walk and matcher of the paths relative to it.
+     */
+    static class Input {
+        final Path dir;
+        final PathMatcher matcher;
+
+        private Input(Path dir, PathMatcher matcher) {
+            this.dir = dir;
+            this.matcher = matcher;
+        }
+
+        static Input parse(String input) throws IOException {
+            if (Files.isDirectory(Path.of(input))) {
+                return new Input(Path.of(input), FileSystems.getDefault().getPathMatcher("glob:**.sql"));
+            }
+
+            String[] segments = input.replace('\\', '/').split("/", -1);
+            int wildcard = 0;
+            while (wildcard < segments.length && !hasWildcard(segments[wildcard])) {
+                wildcard++;
+            }
+
+            if (wildcard == segments.length) {
+                throw new IllegalArgumentException("Input is neither a directory nor a glob: " + input);
+            }
+
+            String dir = String.join("/", List.of(segments).subList(0, wildcard));
+            String pattern = String.join("/", List.of(segments).subList(wildcard, segments.length));
+            Path dirPath = Path.of(dir.isEmpty() ? "." : dir);
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+            if (!pattern.startsWith("**/")) {
+                return new Input(dirPath, matcher);
+            }
+
+            // **/ also matches no directories, so that scripts/**/*.sql includes scripts/a.sql
+            PathMatcher topMatcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(3));
+            return new Input(dirPath, path -> matcher.matches(path) || topMatcher.matches(path));
+        }
+
+        private static boolean hasWildcard(String segment) {
+            return segment.contains("*") || segment.contains("?")
+                    || segment.contains("[") || segment.contains("{");
+        }
+    }
+}
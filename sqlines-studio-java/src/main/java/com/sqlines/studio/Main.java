@@ -16,12 +16,24 @@
 
 package com.sqlines.studio;
 
+import java.util.Arrays;
+
 // Problem: LauncherHelper will check for the javafx.graphics module to be present as a named module.
 // If that module is not present, the launch is aborted.
 // Solution: provide a new main class that doesn't extend from Application.
+// The --batch, --serve and --assess options run BatchMain, ServiceMain and AssessMain,
+// which do not load JavaFX classes at all.
 public class Main {
 
-    public static void main(String[] args) {
-        Application.main(args);
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchMain.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length > 0 && args[0].equals("--serve")) {
+            ServiceMain.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length > 0 && args[0].equals("--assess")) {
+            AssessMain.main(Arrays.copyOfRange(args, 1, args.length));
+        } else {
+            Application.main(args);
+        }
     }
 }
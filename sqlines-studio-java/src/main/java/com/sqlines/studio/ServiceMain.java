@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio;
+
+import com.sqlines.studio.model.PropertiesLoader;
+import com.sqlines.studio.model.ResourceLoader;
+import com.sqlines.studio.model.converter.CmdModes;
+import com.sqlines.studio.model.converter.ConverterImpl;
+import com.sqlines.studio.model.coreprocess.CoreProcessPool;
+import com.sqlines.studio.model.license.License;
+import com.sqlines.studio.model.service.ConversionService;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the local HTTP conversion service without starting the JavaFX toolkit.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -jar sqlines-studio.jar --serve [-port 8095] [-threads 8] [-queue 64]
+ * </pre>
+ * See {@link ConversionService} for the endpoints. The service runs until the process is stopped.
+ */
+public class ServiceMain {
+    private static final String USAGE = "Usage: --serve [-port <port>] [-threads <n>] [-queue <n>]";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!List.of("-port", "-threads", "-queue").contains(args[i]) || i + 1 == args.length) {
+                System.err.println(USAGE);
+                System.exit(2);
+            }
+
+            options.put(args[i], args[i + 1]);
+        }
+
+        int port = Integer.parseInt(options.getOrDefault("-port", "8095"));
+        int threads = Integer.parseInt(options.getOrDefault("-threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int queue = Integer.parseInt(options.getOrDefault("-queue", String.valueOf(threads * 8)));
+
+        PropertiesLoader.setDefaults();
+        CoreProcessPool coreProcess = new CoreProcessPool(threads, threads, 10 * 60 * 1000);
+        boolean evaluationMode = !new License(coreProcess).isActive();
+        ConverterImpl converter = new ConverterImpl(new CmdModes(ResourceLoader.loadCmdModes()),
+                coreProcess, evaluationMode);
+        ConversionService service = new ConversionService(converter, ResourceLoader.loadSourceModes(),
+                ResourceLoader.loadTargetModes(), threads, queue);
+        service.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            service.stop();
+            coreProcess.shutdown();
+        }, "Conversion Service Shutdown Thread"));
+
+        System.err.println("Conversion service listening on http://127.0.0.1:" + service.getPort());
+    }
+}
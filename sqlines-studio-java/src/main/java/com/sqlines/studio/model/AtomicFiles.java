@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replaces files through a temporary file written next to them,
+ * so that the file is either the old or the new one.
+ */
+public final class AtomicFiles {
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Creates a new empty file in the directory of the specified file, named after it.
+     * <p>
+     * Unlike {@link Files#createTempFile(Path, String, String, java.nio.file.attribute.FileAttribute[])},
+     * which makes the file readable by its owner only, creates the file with the default
+     * permissions of new files, so that a file moved into place has them too.
+     *
+     * @param path file to be replaced by the temporary file
+     *
+     * @return path of the created file
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public static Path createTempFile(Path path) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        while (true) {
+            String suffix = Long.toUnsignedString(ThreadLocalRandom.current().nextLong());
+            Path temp = absolutePath.resolveSibling("." + absolutePath.getFileName() + "." + suffix + ".tmp");
+            try {
+                Files.newByteChannel(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+                return temp;
+            } catch (FileAlreadyExistsException e) {
+                // Try another name
+            }
+        }
+    }
+
+    /**
+     * Moves the specified file to the target path, replacing the target file.
+     * <p>
+     * The file is moved atomically, so that the target path always refers to a complete file.
+     * On the file systems without atomic moves it is moved with a plain rename.
+     *
+     * @param source file to move, usually created by {@link #createTempFile(Path)}
+     * @param target path to move the file to
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes and reads the JSON used by the headless modes.
+ * Supports string literals and arrays of strings only.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Returns the specified value as a JSON string literal.
+     *
+     * @param value value to quote
+     *
+     * @return quoted and escaped value
+     */
+    public static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c == '\n') {
+                quoted.append("\\n");
+            } else if (c == '\r') {
+                quoted.append("\\r");
+            } else if (c == '\t') {
+                quoted.append("\\t");
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Parses the specified JSON array of strings.
+     *
+     * @param json JSON array of strings
+     *
+     * @return the strings in the order they appear in the array
+     *
+     * @throws IllegalArgumentException if the text is not a JSON array of strings
+     */
+    public static List<String> parseStringArray(String json) {
+        List<String> values = new ArrayList<>();
+        int pos = skipWhitespace(json, 0);
+        pos = expect(json, pos, '[');
+        pos = skipWhitespace(json, pos);
+        if (pos < json.length() && json.charAt(pos) == ']') {
+            pos++;
+        } else {
+            while (true) {
+                StringBuilder value = new StringBuilder();
+                pos = parseString(json, skipWhitespace(json, pos), value);
+                values.add(value.toString());
+                pos = skipWhitespace(json, pos);
+                if (pos < json.length() && json.charAt(pos) == ',') {
+                    pos++;
+                } else {
+                    pos = expect(json, pos, ']');
+                    break;
+                }
+            }
+        }
+
+        if (skipWhitespace(json, pos) != json.length()) {
+            throw new IllegalArgumentException("Unexpected data after the JSON array at " + pos);
+        }
+
+        return values;
+    }
+
+    private static int parseString(String json, int pos, StringBuilder value) {
+        pos = expect(json, pos, '"');
+        while (pos < json.length()) {
+            char c = json.charAt(pos++);
+            if (c == '"') {
+                return pos;
+            } else if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+
+            if (pos >= json.length()) {
+                break;
+            }
+
+            char escaped = json.charAt(pos++);
+            switch (escaped) {
+                case '"': case '\\': case '/': value.append(escaped); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case 'n': value.append('\n'); break;
+                case 'r': value.append('\r'); break;
+                case 't': value.append('\t'); break;
+                case 'u':
+                    if (pos + 4 > json.length()) {
+                        throw new IllegalArgumentException("Invalid JSON escape at " + pos);
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid JSON escape at " + pos);
+                    }
+                    pos += 4;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid JSON escape at " + pos);
+            }
+        }
+
+        throw new IllegalArgumentException("Unterminated JSON string");
+    }
+
+    private static int expect(String json, int pos, char expected) {
+        if (pos >= json.length() || json.charAt(pos) != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' in JSON at " + pos);
+        }
+
+        return pos + 1;
+    }
+
+    private static int skipWhitespace(String json, int pos) {
+        while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+
+        return pos;
+    }
+}
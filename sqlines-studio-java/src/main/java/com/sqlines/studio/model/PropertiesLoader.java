@@ -32,25 +32,37 @@ import org.apache.logging.log4j.LogManager;
  * Defines the following properties:
  *
  * <pre>
- * | Key                | Values                | Definition                      |
- * |--------------------|-----------------------|---------------------------------|
- * | model.save-session | "enabled", "disabled" | Last session saving property    |
- * | model.curr-dir     | path                  | Current working directory path  |
- * | model.dirs-number  | int                   | The number of added directories |
- * | model.dir-i        | path                  | Added directory. i - dir index  |
- * | model.last-dir     | path                  | Last opened directory           |
- * | model.app-dir      | path                  | Jar directory path              |
- * | view.theme         | "light", "dark"       | Current theme                   |
- * | view.status-bar    | "show", "do-not-show" | Status bar policy               |
- * | view.target-field   | "always", "as-needed" | Target field policy              |
- * | view.wrapping      | "enabled", "disabled" | Wrapping policy                 |
- * | view.highlighter   | "enabled", "disabled" | Highlighter policy              |
- * | view.line-numbers  | "enabled", "disabled" | Line-numbers policy             |
- * | view.height        | double                | Main window height              |
- * | view.width         | double                | Main window width               |
- * | view.pos.x         | double                | Main window position on the x   |
- * | view.pos.y         | double                | Main window position on the y   |
- * | view.is-maximized  | "true", "false"       | Is main window maximized        |
+ * | Key                    | Values                | Definition                       |
+ * |------------------------|-----------------------|----------------------------------|
+ * | model.save-session     | "enabled", "disabled" | Last session saving property     |
+ * | model.curr-dir         | path                  | Current working directory path   |
+ * | model.dirs-number      | int                   | The number of added directories  |
+ * | model.dir-i            | path                  | Added directory. i - dir index   |
+ * | model.last-dir         | path                  | Last opened directory            |
+ * | model.app-dir          | path                  | Jar directory path               |
+ * | model.streaming        | "enabled", "disabled" | Conversion through stdin/stdout  |
+ * | model.save-target      | "enabled", "disabled" | Target files saving policy       |
+ * | model.cache            | "enabled", "disabled" | Conversion results caching       |
+ * | model.timeout          | long                  | Conversion time budget, seconds  |
+ * | model.timeout-per-mib  | long                  | Time budget per MiB of input     |
+ * | model.memory-limit     | long                  | Core memory limit on Linux, MiB  |
+ * | model.warm-up          | "enabled", "disabled" | Converter warm-up at startup     |
+ * | model.live-conversion  | "enabled", "disabled" | Convert as you type              |
+ * | model.live-delay       | long                  | Live conversion quiet period, ms |
+ * | model.large-file-size  | long                  | Files shown page by page, bytes  |
+ * | model.last-source-mode | mode name             | Last used source mode            |
+ * | model.last-target-mode | mode name             | Last used target mode            |
+ * | view.theme             | "light", "dark"       | Current theme                    |
+ * | view.status-bar        | "show", "do-not-show" | Status bar policy                |
+ * | view.target-field      | "always", "as-needed" | Target field policy              |
+ * | view.wrapping          | "enabled", "disabled" | Wrapping policy                  |
+ * | view.highlighter       | "enabled", "disabled" | Highlighter policy               |
+ * | view.line-numbers      | "enabled", "disabled" | Line-numbers policy              |
+ * | view.height            | double                | Main window height               |
+ * | view.width             | double                | Main window width                |
+ * | view.pos.x             | double                | Main window position on the x    |
+ * | view.pos.y             | double                | Main window position on the y    |
+ * | view.is-maximized      | "true", "false"       | Is main window maximized         |
  * </pre>
  *
  * Initially sets default properties. See {@link PropertiesLoader#setDefaults()}.
@@ -67,24 +79,34 @@ public class PropertiesLoader {
      * Sets the following properties:
      *
      * <pre>
-     * | Key                | Value                                    |
-     * |--------------------|------------------------------------------|
-     * | model.save-session | "enabled"                                |
-     * | model.curr-dir     | user.home + /sqlines                     |
-     * | model.dirs-number  | 0                                        |
-     * | model.app-dir      | jar path                                 |
-     * | model.last-dir     | "null"                                   |
-     * | view.theme         | "light"                                  |
-     * | view.status-bar    | "show"                                   |
-     * | view.target-field   | "always"                                 |
-     * | view.wrapping      | "disabled"                               |
-     * | view.highlighter   | "enabled"                                |
-     * | view.line-numbers  | "enabled"                                |
-     * | view.height        | 650.0                                    |
-     * | view.width         | 770.0                                    |
-     * | view.pos.x         | 0.0                                      |
-     * | view.pos.y         | 0.0                                      |
-     * | view.is-maximized  | "false"                                  |
+     * | Key                    | Value                                    |
+     * |------------------------|------------------------------------------|
+     * | model.save-session     | "enabled"                                |
+     * | model.curr-dir         | user.home + /sqlines                     |
+     * | model.dirs-number      | 0                                        |
+     * | model.app-dir          | jar path                                 |
+     * | model.last-dir         | "null"                                   |
+     * | model.streaming        | "enabled"                                |
+     * | model.save-target      | "enabled"                                |
+     * | model.cache            | "enabled"                                |
+     * | model.timeout          | 60                                       |
+     * | model.timeout-per-mib  | 30                                       |
+     * | model.memory-limit     | 0                                        |
+     * | model.warm-up          | "enabled"                                |
+     * | model.live-conversion  | "disabled"                               |
+     * | model.live-delay       | 500                                      |
+     * | model.large-file-size  | 67108864                                 |
+     * | view.theme             | "light"                                  |
+     * | view.status-bar        | "show"                                   |
+     * | view.target-field      | "always"                                 |
+     * | view.wrapping          | "disabled"                               |
+     * | view.highlighter       | "enabled"                                |
+     * | view.line-numbers      | "enabled"                                |
+     * | view.height            | 650.0                                    |
+     * | view.width             | 770.0                                    |
+     * | view.pos.x             | 0.0                                      |
+     * | view.pos.y             | 0.0                                      |
+     * | view.is-maximized      | "false"                                  |
      * </pre>
      */
     public static void setDefaults() {
@@ -103,6 +125,16 @@ public class PropertiesLoader {
         properties.setProperty("model.curr-dir", properties.getProperty("user.home") + "/sqlines");
         properties.setProperty("model.dirs-number", "0");
         properties.setProperty("model.last-dir", "null");
+        properties.setProperty("model.streaming", "enabled");
+        properties.setProperty("model.save-target", "enabled");
+        properties.setProperty("model.cache", "enabled");
+        properties.setProperty("model.timeout", "60");
+        properties.setProperty("model.timeout-per-mib", "30");
+        properties.setProperty("model.memory-limit", "0");
+        properties.setProperty("model.warm-up", "enabled");
+        properties.setProperty("model.live-conversion", "disabled");
+        properties.setProperty("model.live-delay", "500");
+        properties.setProperty("model.large-file-size", "67108864");
     }
 
     private static void loadAppDir() {
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.assessment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Dialect feature whose lines are counted by the assessment.
+ * <p>
+ * Features are defined in the assessment-features.txt application resource, one per line:
+ * <pre>
+ * name:manual|auto:regular expression
+ * </pre>
+ * The expression is matched against the code of every line of a script, ignoring case,
+ * with the comments and string literals blanked out.
+ * Manual features are constructs that the converter is not expected to support,
+ * so the lines with them are likely to be converted by hand.
+ */
+public final class AssessmentFeature {
+    private final String name;
+    private final boolean isManual;
+    private final Pattern pattern;
+
+    /**
+     * Constructs a new AssessmentFeature.
+     *
+     * @param name feature name shown in the reports
+     * @param isManual true if the feature has to be converted by hand
+     * @param pattern pattern matching the lines with the feature
+     */
+    public AssessmentFeature(String name, boolean isManual, Pattern pattern) {
+        this.name = name;
+        this.isManual = isManual;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Loads the features from the application resources.
+     *
+     * @return the features in the order they are defined
+     *
+     * @throws IllegalStateException if the features file was not found
+     * in application resources or contains invalid data
+     * @throws IOException if any IO error occurred
+     */
+    public static List<AssessmentFeature> load() throws IOException {
+        try (InputStream stream = AssessmentFeature.class.getResourceAsStream("/assessment-features.txt")) {
+            if (stream == null) {
+                String errorMsg = "File not found in application resources: assessment-features.txt";
+                throw new IllegalStateException(errorMsg);
+            }
+
+            String data = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            List<AssessmentFeature> features = new ArrayList<>();
+            for (String line : data.split("\\R")) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    features.add(parse(line));
+                }
+            }
+
+            return features;
+        }
+    }
+
+    /**
+     * Parses a feature definition.
+     *
+     * @param definition the definition in the format name:manual|auto:regular expression
+     *
+     * @return parsed feature
+     *
+     * @throws IllegalStateException if the definition is invalid
+     */
+    static AssessmentFeature parse(String definition) {
+        String[] parts = definition.split(":", 3);
+        if (parts.length != 3 || !(parts[1].equals("manual") || parts[1].equals("auto"))) {
+            throw new IllegalStateException("Invalid assessment feature: " + definition);
+        }
+
+        try {
+            Pattern pattern = Pattern.compile(parts[2], Pattern.CASE_INSENSITIVE);
+            return new AssessmentFeature(parts[0], parts[1].equals("manual"), pattern);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalStateException("Invalid assessment feature: " + definition, e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return true if the feature has to be converted by hand
+     */
+    public boolean isManual() {
+        return isManual;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+
+        AssessmentFeature feature = (AssessmentFeature) other;
+        return isManual == feature.isManual
+                && Objects.equals(name, feature.name)
+                && Objects.equals(pattern.pattern(), feature.pattern.pattern());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, isManual, pattern.pattern());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "{" +
+                "name='" + name + '\'' +
+                ", isManual=" + isManual +
+                ", pattern=" + pattern +
+                '}';
+    }
+}
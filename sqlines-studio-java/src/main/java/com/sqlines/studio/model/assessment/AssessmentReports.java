@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.assessment;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the aggregated reports of an {@link AssessmentSummary}.
+ */
+public final class AssessmentReports {
+    private static final int TOP_FILES = 20;
+
+    private AssessmentReports() {
+    }
+
+    /**
+     * Writes a CSV table with a row for every file and a total row.
+     * The columns are the file metrics, the statement counts by type and the lines by feature.
+     *
+     * @param summary assessment summary
+     * @param writer writer to write to
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeCsv(AssessmentSummary summary, Writer writer) throws IOException {
+        List<AssessmentFeature> features = summary.getFeatures();
+        StringBuilder row = new StringBuilder("File,Bytes,Lines,Likely manual lines,Statements");
+        for (StatementType type : StatementType.values()) {
+            row.append(',').append(csv(type.getTitle()));
+        }
+        for (AssessmentFeature feature : features) {
+            row.append(',').append(csv(feature.getName()));
+        }
+        writer.write(row.append(",Error\r\n").toString());
+
+        for (int file = 0; file < summary.countFiles(); file++) {
+            row.setLength(0);
+            row.append(csv(summary.getPath(file).toString()))
+                    .append(',').append(summary.getSize(file))
+                    .append(',').append(summary.getLines(file))
+                    .append(',').append(summary.getLikelyManualLines(file))
+                    .append(',').append(summary.getStatements(file));
+            for (StatementType type : StatementType.values()) {
+                row.append(',').append(summary.getStatements(type, file));
+            }
+            for (int feature = 0; feature < features.size(); feature++) {
+                row.append(',').append(summary.getFeatureLines(feature, file));
+            }
+            writer.write(row.append(',').append(csv(summary.getError(file).orElse(""))).append("\r\n").toString());
+        }
+
+        row.setLength(0);
+        row.append("Total")
+                .append(',').append(summary.getTotalSize())
+                .append(',').append(summary.getTotalLines())
+                .append(',').append(summary.getTotalLikelyManualLines())
+                .append(',').append(summary.getTotalStatements());
+        for (StatementType type : StatementType.values()) {
+            row.append(',').append(summary.getTotalStatements(type));
+        }
+        for (int feature = 0; feature < features.size(); feature++) {
+            row.append(',').append(summary.getTotalFeatureLines(feature));
+        }
+        writer.write(row.append(",\r\n").toString());
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        return value;
+    }
+
+    /**
+     * Writes a self-contained HTML page with the totals: statements by type, lines by feature
+     * and the files with the most lines likely to be converted by hand.
+     *
+     * @param summary assessment summary
+     * @param writer writer to write to
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeHtml(AssessmentSummary summary, Writer writer) throws IOException {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n")
+                .append("<title>SQLines Studio Assessment</title>\n<style>\n")
+                .append("body { font-family: sans-serif; margin: 2em; }\n")
+                .append("table { border-collapse: collapse; margin-bottom: 2em; }\n")
+                .append("th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: left; }\n")
+                .append("td.number { text-align: right; }\n.manual { color: #b00; }\n")
+                .append("</style>\n</head>\n<body>\n<h1>Assessment</h1>\n");
+
+        html.append("<table>\n");
+        appendRow(html, "Files", summary.countFiles());
+        appendRow(html, "Unreadable files", summary.countErrors());
+        appendRow(html, "Bytes", summary.getTotalSize());
+        appendRow(html, "Lines", summary.getTotalLines());
+        appendRow(html, "Statements", summary.getTotalStatements());
+        appendRow(html, "Lines likely to convert by hand", summary.getTotalLikelyManualLines());
+        appendRow(html, "Scan time, ms", summary.getElapsedMillis());
+        html.append("</table>\n");
+
+        html.append("<h2>Statements</h2>\n<table>\n<tr><th>Type</th><th>Statements</th><th>%</th></tr>\n");
+        long totalStatements = summary.getTotalStatements();
+        for (StatementType type : StatementType.values()) {
+            long count = summary.getTotalStatements(type);
+            if (count > 0) {
+                html.append("<tr><td>").append(escape(type.getTitle())).append("</td>")
+                        .append("<td class=\"number\">").append(count).append("</td>")
+                        .append("<td class=\"number\">").append(percent(count, totalStatements))
+                        .append("</td></tr>\n");
+            }
+        }
+        html.append("</table>\n");
+
+        html.append("<h2>Dialect features</h2>\n<table>\n")
+                .append("<tr><th>Feature</th><th>Conversion</th><th>Lines</th><th>Files</th></tr>\n");
+        List<AssessmentFeature> features = summary.getFeatures();
+        for (int feature = 0; feature < features.size(); feature++) {
+            long lines = summary.getTotalFeatureLines(feature);
+            if (lines > 0) {
+                boolean isManual = features.get(feature).isManual();
+                html.append(isManual ? "<tr class=\"manual\">" : "<tr>")
+                        .append("<td>").append(escape(features.get(feature).getName())).append("</td>")
+                        .append("<td>").append(isManual ? "likely manual" : "automatic").append("</td>")
+                        .append("<td class=\"number\">").append(lines).append("</td>")
+                        .append("<td class=\"number\">").append(summary.countFilesWithFeature(feature))
+                        .append("</td></tr>\n");
+            }
+        }
+        html.append("</table>\n");
+
+        html.append("<h2>Files with the most lines likely to convert by hand</h2>\n<table>\n")
+                .append("<tr><th>File</th><th>Lines</th><th>Likely manual lines</th><th>Statements</th></tr>\n");
+        for (int file : topLikelyManualFiles(summary)) {
+            html.append("<tr><td>").append(escape(summary.getPath(file).toString())).append("</td>")
+                    .append("<td class=\"number\">").append(summary.getLines(file)).append("</td>")
+                    .append("<td class=\"number\">").append(summary.getLikelyManualLines(file)).append("</td>")
+                    .append("<td class=\"number\">").append(summary.getStatements(file))
+                    .append("</td></tr>\n");
+        }
+        html.append("</table>\n</body>\n</html>\n");
+        writer.write(html.toString());
+    }
+
+    private static void appendRow(StringBuilder html, String name, long value) {
+        html.append("<tr><th>").append(name).append("</th><td class=\"number\">")
+                .append(value).append("</td></tr>\n");
+    }
+
+    private static String percent(long count, long total) {
+        return String.format(Locale.ROOT, "%.1f", total == 0 ? 0.0 : count * 100.0 / total);
+    }
+
+    private static List<Integer> topLikelyManualFiles(AssessmentSummary summary) {
+        List<Integer> files = new ArrayList<>();
+        for (int file = 0; file < summary.countFiles(); file++) {
+            if (summary.getLikelyManualLines(file) > 0) {
+                files.add(file);
+            }
+        }
+
+        files.sort(Comparator.comparingInt(summary::getLikelyManualLines).reversed());
+        return files.subList(0, Math.min(TOP_FILES, files.size()));
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.assessment;
+
+import com.sqlines.studio.model.converter.StatementSplitter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+
+/**
+ * Collects the migration metrics of many scripts in parallel, without running the converter.
+ * <p>
+ * Every file is split into statements with {@link StatementSplitter}, which are counted by
+ * {@link StatementType}, and every line is matched against the {@link AssessmentFeature}s with its
+ * comments and string literals blanked out by the splitter, so that only code tokens are matched.
+ * The files are scanned by a fixed number of threads, each writing the metrics of its files
+ * into its own rows of the {@link AssessmentSummary} columns.
+ * A file that cannot be read does not stop the scan, its error is reported instead.
+ */
+public class AssessmentScanner {
+    private static final Logger logger = LogManager.getLogger(AssessmentScanner.class);
+
+    private final List<AssessmentFeature> features;
+    private final String sourceMode;
+    private final int threads;
+
+    /**
+     * Constructs a new AssessmentScanner.
+     *
+     * @param features features whose lines are counted
+     * @param sourceMode source conversion mode of the scripts, empty for the syntax common to all modes
+     * @param threads the number of files scanned at the same time
+     *
+     * @throws IllegalArgumentException if the number of threads is less than 1
+     */
+    public AssessmentScanner(List<AssessmentFeature> features, String sourceMode, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid number of threads: " + threads);
+        }
+
+        this.features = List.copyOf(features);
+        this.sourceMode = sourceMode;
+        this.threads = threads;
+    }
+
+    /**
+     * Scans the specified files of the source directory tree.
+     *
+     * @param sourceDir source directory the reported paths are relative to
+     * @param files files to scan
+     *
+     * @return the metrics of the files, in the order of the specified files
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting,
+     * the scan is stopped as well
+     */
+    public AssessmentSummary scan(Path sourceDir, List<Path> files) throws InterruptedException {
+        logger.info("Assessment of " + files.size() + " files started: " + sourceDir);
+        long start = System.nanoTime();
+        List<Path> relativePaths = new ArrayList<>(files.size());
+        files.forEach(file -> relativePaths.add(sourceDir.relativize(file)));
+        AssessmentSummary summary = new AssessmentSummary(relativePaths, features);
+
+        ExecutorService executor = newExecutor();
+        try {
+            List<Future<?>> futures = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                int file = i;
+                futures.add(executor.submit(() -> scanFile(summary, file, files.get(file))));
+            }
+
+            // Waiting for the futures makes the written rows visible to the current thread
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            // scanFile reports all errors in the summary
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        summary.setElapsedNanos(System.nanoTime() - start);
+        logger.info("Assessment ended: " + files.size() + " files in " + summary.getElapsedMillis() + " ms");
+        return summary;
+    }
+
+    private ExecutorService newExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Assessment Thread " + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void scanFile(AssessmentSummary summary, int file, Path path) {
+        try {
+            byte[] data = Files.readAllBytes(path);
+            String text = new String(data, StandardCharsets.UTF_8);
+            String code = StatementSplitter.blankCommentsAndStrings(text, sourceMode);
+
+            // Statements are typed by their code, so the comments of the mode do not hide the first word
+            int start = 0;
+            for (StatementSplitter.Statement statement : StatementSplitter.split(text, sourceMode)) {
+                int end = start + statement.getText().length();
+                StatementType type = StatementType.of(code.substring(start, end));
+                if (type != null) {
+                    summary.addStatement(file, type);
+                }
+                start = end;
+            }
+
+            Matcher[] matchers = new Matcher[features.size()];
+            for (int i = 0; i < matchers.length; i++) {
+                matchers[i] = features.get(i).getPattern().matcher("");
+            }
+
+            // The empty string after the last line terminator is not a line
+            String[] lines = code.split("\\R", -1);
+            int lineCount = lines[lines.length - 1].isEmpty() ? lines.length - 1 : lines.length;
+            int likelyManualLines = 0;
+            for (int lineIndex = 0; lineIndex < lineCount; lineIndex++) {
+                String line = lines[lineIndex];
+                boolean isManual = false;
+                for (int i = 0; i < matchers.length; i++) {
+                    if (matchers[i].reset(line).find()) {
+                        summary.addFeatureLine(file, i);
+                        isManual |= features.get(i).isManual();
+                    }
+                }
+
+                likelyManualLines += isManual ? 1 : 0;
+            }
+
+            summary.setFile(file, data.length, lineCount, likelyManualLines);
+        } catch (Exception e) {
+            String errorMsg = e.getMessage() != null ? e.getMessage() : e.toString();
+            logger.error("Cannot scan " + path + ": " + errorMsg);
+            summary.setError(file, errorMsg);
+        }
+    }
+}
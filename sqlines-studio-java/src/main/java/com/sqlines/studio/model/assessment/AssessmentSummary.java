@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.assessment;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Metrics of the scripts collected by {@link AssessmentScanner}, stored by columns.
+ * <p>
+ * Each metric is an array indexed by the file index, so the scanning threads write their
+ * files without synchronization and the totals are sums over a single array.
+ */
+public class AssessmentSummary {
+    private final List<Path> paths;
+    private final List<AssessmentFeature> features;
+    private final long[] sizes;
+    private final int[] lines;
+    private final int[] likelyManualLines;
+    private final int[][] statements;
+    private final int[][] featureLines;
+    private final String[] errors;
+    private long elapsedNanos;
+
+    AssessmentSummary(List<Path> paths, List<AssessmentFeature> features) {
+        this.paths = List.copyOf(paths);
+        this.features = List.copyOf(features);
+        int count = paths.size();
+        sizes = new long[count];
+        lines = new int[count];
+        likelyManualLines = new int[count];
+        statements = new int[StatementType.values().length][count];
+        featureLines = new int[features.size()][count];
+        errors = new String[count];
+    }
+
+    void setFile(int file, long size, int lineCount, int likelyManualLineCount) {
+        sizes[file] = size;
+        lines[file] = lineCount;
+        likelyManualLines[file] = likelyManualLineCount;
+    }
+
+    void addStatement(int file, StatementType type) {
+        statements[type.ordinal()][file]++;
+    }
+
+    void addFeatureLine(int file, int feature) {
+        featureLines[feature][file]++;
+    }
+
+    void setError(int file, String error) {
+        errors[file] = error;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the number of scanned files
+     */
+    public int countFiles() {
+        return paths.size();
+    }
+
+    /**
+     * @return the counted features, the feature index in the other methods is the index in this list
+     */
+    public List<AssessmentFeature> getFeatures() {
+        return features;
+    }
+
+    /**
+     * @return the path of the file relative to the scanned directory
+     */
+    public Path getPath(int file) {
+        return paths.get(file);
+    }
+
+    /**
+     * @return the size of the file in bytes
+     */
+    public long getSize(int file) {
+        return sizes[file];
+    }
+
+    /**
+     * @return the number of lines of the file
+     */
+    public int getLines(int file) {
+        return lines[file];
+    }
+
+    /**
+     * Estimates the lines to convert by hand from the feature patterns, without running the converter.
+     *
+     * @return the number of lines of the file with at least one manual feature
+     */
+    public int getLikelyManualLines(int file) {
+        return likelyManualLines[file];
+    }
+
+    /**
+     * @return the number of statements of the specified type in the file
+     */
+    public int getStatements(StatementType type, int file) {
+        return statements[type.ordinal()][file];
+    }
+
+    /**
+     * @return the number of statements of all types in the file
+     */
+    public int getStatements(int file) {
+        int count = 0;
+        for (int[] column : statements) {
+            count += column[file];
+        }
+
+        return count;
+    }
+
+    /**
+     * @return the number of lines of the file with the specified feature
+     */
+    public int getFeatureLines(int feature, int file) {
+        return featureLines[feature][file];
+    }
+
+    /**
+     * @return the error message if the file could not be read
+     */
+    public Optional<String> getError(int file) {
+        return Optional.ofNullable(errors[file]);
+    }
+
+    public long getTotalSize() {
+        return sum(sizes);
+    }
+
+    public long getTotalLines() {
+        return sum(lines);
+    }
+
+    public long getTotalLikelyManualLines() {
+        return sum(likelyManualLines);
+    }
+
+    public long getTotalStatements(StatementType type) {
+        return sum(statements[type.ordinal()]);
+    }
+
+    public long getTotalStatements() {
+        long count = 0;
+        for (int[] column : statements) {
+            count += sum(column);
+        }
+
+        return count;
+    }
+
+    public long getTotalFeatureLines(int feature) {
+        return sum(featureLines[feature]);
+    }
+
+    /**
+     * @return the number of files with at least one line with the specified feature
+     */
+    public int countFilesWithFeature(int feature) {
+        int count = 0;
+        for (int value : featureLines[feature]) {
+            count += value > 0 ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    /**
+     * @return the number of files that could not be read
+     */
+    public int countErrors() {
+        int count = 0;
+        for (String error : errors) {
+            count += error != null ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    private static long sum(int[] column) {
+        long sum = 0;
+        for (int value : column) {
+            sum += value;
+        }
+
+        return sum;
+    }
+
+    private static long sum(long[] column) {
+        long sum = 0;
+        for (long value : column) {
+            sum += value;
+        }
+
+        return sum;
+    }
+}
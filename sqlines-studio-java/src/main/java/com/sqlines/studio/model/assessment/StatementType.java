@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.assessment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Types of SQL statements counted by the assessment.
+ */
+public enum StatementType {
+    SELECT("SELECT"),
+    INSERT("INSERT"),
+    UPDATE("UPDATE"),
+    DELETE("DELETE"),
+    MERGE("MERGE"),
+    CREATE_TABLE("CREATE TABLE"),
+    CREATE_VIEW("CREATE VIEW"),
+    CREATE_INDEX("CREATE INDEX"),
+    CREATE_SEQUENCE("CREATE SEQUENCE"),
+    CREATE_PROCEDURE("CREATE PROCEDURE"),
+    CREATE_FUNCTION("CREATE FUNCTION"),
+    CREATE_TRIGGER("CREATE TRIGGER"),
+    CREATE_PACKAGE("CREATE PACKAGE"),
+    CREATE_OTHER("CREATE other"),
+    ALTER("ALTER"),
+    DROP("DROP"),
+    GRANT("GRANT/REVOKE"),
+    BLOCK("Anonymous block"),
+    TRANSACTION("Transaction control"),
+    OTHER("Other");
+
+    private static final int MAX_WORDS = 8;
+    private static final List<String> CREATE_OBJECTS =
+            List.of("TABLE", "VIEW", "INDEX", "SEQUENCE", "PROCEDURE", "FUNCTION", "TRIGGER", "PACKAGE");
+
+    private final String title;
+
+    StatementType(String title) {
+        this.title = title;
+    }
+
+    /**
+     * @return the name of the type shown in the reports
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Determines the type of the specified statement by its first words.
+     * Leading comments are skipped.
+     *
+     * @param statement statement text
+     *
+     * @return the type of the statement, or null if the text has no statement,
+     * for example if it contains only comments or a GO or / separator line
+     */
+    public static StatementType of(String statement) {
+        List<String> words = firstWords(statement);
+        if (words.isEmpty() || words.get(0).equals("GO") || words.get(0).equals("DELIMITER")) {
+            return null;
+        }
+
+        switch (words.get(0)) {
+            case "SELECT":
+            case "WITH":
+                return SELECT;
+            case "INSERT":
+                return INSERT;
+            case "UPDATE":
+                return UPDATE;
+            case "DELETE":
+                return DELETE;
+            case "MERGE":
+                return MERGE;
+            case "CREATE":
+                return ofCreate(words);
+            case "ALTER":
+                return ALTER;
+            case "DROP":
+            case "TRUNCATE":
+                return DROP;
+            case "GRANT":
+            case "REVOKE":
+                return GRANT;
+            case "BEGIN":
+            case "DECLARE":
+                return BLOCK;
+            case "COMMIT":
+            case "ROLLBACK":
+            case "SAVEPOINT":
+                return TRANSACTION;
+            default:
+                return OTHER;
+        }
+    }
+
+    private static StatementType ofCreate(List<String> words) {
+        for (String word : words.subList(1, words.size())) {
+            if (CREATE_OBJECTS.contains(word)) {
+                return valueOf("CREATE_" + word);
+            }
+        }
+
+        return CREATE_OTHER;
+    }
+
+    private static List<String> firstWords(String text) {
+        List<String> words = new ArrayList<>(MAX_WORDS);
+        int pos = 0;
+        int length = text.length();
+        while (pos < length && words.size() < MAX_WORDS) {
+            char c = text.charAt(pos);
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (text.startsWith("--", pos)) {
+                int end = text.indexOf('\n', pos);
+                pos = end < 0 ? length : end + 1;
+            } else if (text.startsWith("/*", pos)) {
+                int end = text.indexOf("*/", pos + 2);
+                pos = end < 0 ? length : end + 2;
+            } else if (Character.isLetter(c)) {
+                int end = pos;
+                while (end < length && (Character.isLetterOrDigit(text.charAt(end)) || text.charAt(end) == '_')) {
+                    end++;
+                }
+                words.add(text.substring(pos, end).toUpperCase(Locale.ROOT));
+                pos = end;
+            } else if (words.isEmpty()) {
+                // The statement does not start with a keyword, e.g. a / separator line
+                return words;
+            } else {
+                pos++;
+            }
+        }
+
+        return words;
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.batch;
+
+import com.sqlines.studio.model.AtomicFiles;
+import com.sqlines.studio.model.batch.listener.BatchProgressListener;
+import com.sqlines.studio.model.converter.ChunkedConverter;
+import com.sqlines.studio.model.converter.ConversionExecutor;
+import com.sqlines.studio.model.converter.Converter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Converts all scripts of a directory tree in parallel.
+ * <p>
+ * The files are converted by a fixed number of worker threads, at most one file per thread is
+ * held in memory. The relative paths of the source files are kept in the target directory.
+ * A file that fails to convert does not stop the batch, its error is reported instead.
+ * <p>
+ * Every batch writes to its own target directory only. The files are converted with
+ * {@link Converter#convert(String, String, byte[])}, which does not use the shared target
+ * files of the current working directory, so batches can run at the same time as the
+ * conversions in the tabs and as each other.
+ * <p>
+ * If a {@link ChunkedConverter} is set, the files larger than its chunk size are converted
+ * in chunks and streamed to the target file instead of being loaded into memory.
+ * <p>
+ * If a shared {@link ConversionExecutor} is set, the files are converted by its threads
+ * at the background priority instead of by threads of the batch, so the interactive
+ * conversions submitted to the same executor are not queued behind the batch.
+ * <p>
+ * If a {@link BatchJournal} is set, every processed file is recorded in it, and the files
+ * converted by a previous run with the same content and modes are skipped.
+ */
+public class BatchConverter {
+    private static final Logger logger = LogManager.getLogger(BatchConverter.class);
+    private static final String DEFAULT_PATTERN = "glob:**.sql";
+
+    private final Converter converter;
+    private final int threads;
+    private volatile ChunkedConverter chunkedConverter;
+    private volatile ConversionExecutor executor;
+    private volatile BatchJournal journal;
+
+    /**
+     * Constructs a new BatchConverter.
+     *
+     * @param converter converter running the conversion of every file
+     * @param threads the number of files converted at the same time
+     *
+     * @throws IllegalArgumentException if the number of threads is less than 1
+     */
+    public BatchConverter(Converter converter, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid number of threads: " + threads);
+        }
+
+        this.converter = converter;
+        this.threads = threads;
+    }
+
+    /**
+     * Constructs a new BatchConverter using all available processors.
+     *
+     * @param converter converter running the conversion of every file
+     */
+    public BatchConverter(Converter converter) {
+        this(converter, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Sets the converter of the files larger than its chunk size.
+     *
+     * @param chunkedConverter converter of the large files, or null to load all files into memory
+     */
+    public void setChunkedConverter(ChunkedConverter chunkedConverter) {
+        this.chunkedConverter = chunkedConverter;
+    }
+
+    /**
+     * Sets the executor shared with the interactive conversions.
+     *
+     * @param executor executor running the files at the background priority,
+     * or null to convert the files by the threads of the batch
+     */
+    public void setExecutor(ConversionExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the journal of the processed files.
+     *
+     * @param journal journal used to skip the unchanged files and record the processed ones,
+     * or null to convert all files
+     */
+    public void setJournal(BatchJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Returns the regular files of the specified directory tree whose paths relative
+     * to the directory match the specified matcher, sorted by path.
+     *
+     * @param sourceDir directory to walk
+     * @param matcher matcher applied to the relative paths
+     * @param excludedDir directory whose files are skipped, may be null
+     *
+     * @return matching files
+     *
+     * @throws IOException if the directory cannot be walked
+     */
+    public static List<Path> findScripts(Path sourceDir, PathMatcher matcher,
+                                         Path excludedDir) throws IOException {
+        Path excluded = excludedDir == null ? null : excludedDir.toAbsolutePath().normalize();
+        try (Stream<Path> paths = Files.walk(sourceDir)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(sourceDir.relativize(path)))
+                    .filter(path -> excluded == null || !path.toAbsolutePath().normalize().startsWith(excluded))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Converts all .sql files of the specified source directory tree into the target directory.
+     *
+     * @param sourceDir source directory
+     * @param targetDir target directory, created if it does not exist
+     * @param sourceMode source conversion mode
+     * @param targetMode target conversion mode
+     * @param listener listener notified after every file, may be null
+     *
+     * @return batch conversion results
+     *
+     * @throws IOException if the source directory cannot be walked
+     * @throws InterruptedException if the current thread was interrupted while waiting,
+     * the running conversions are interrupted as well
+     */
+    public BatchReport convert(Path sourceDir, Path targetDir, String sourceMode, String targetMode,
+                               BatchProgressListener listener) throws IOException, InterruptedException {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher(DEFAULT_PATTERN);
+        List<Path> files = findScripts(sourceDir, matcher, targetDir);
+        return convert(sourceDir, files, targetDir, sourceMode, targetMode, listener);
+    }
+
+    /**
+     * Converts the specified files of the source directory tree into the target directory.
+     *
+     * @param sourceDir source directory the target paths are relative to
+     * @param files source files to convert
+     * @param targetDir target directory, created if it does not exist
+     * @param sourceMode source conversion mode
+     * @param targetMode target conversion mode
+     * @param listener listener notified after every file, may be null
+     *
+     * @return batch conversion results, sorted by source path
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting,
+     * the running conversions are interrupted as well
+     */
+    public BatchReport convert(Path sourceDir, List<Path> files, Path targetDir,
+                               String sourceMode, String targetMode,
+                               BatchProgressListener listener) throws InterruptedException {
+        logger.info("Batch conversion of " + files.size() + " files started: " + sourceDir + " -> " + targetDir);
+        long start = System.nanoTime();
+        ConversionExecutor sharedExecutor = executor;
+        if (sharedExecutor != null) {
+            List<BatchReport.FileResult> results = convertShared(sourceDir, files, targetDir,
+                    sourceMode, targetMode, listener, sharedExecutor);
+            return report(results, start);
+        }
+
+        ExecutorService executor = newExecutor();
+        CompletionService<BatchReport.FileResult> completionService = new ExecutorCompletionService<>(executor);
+        try {
+            for (Path file : files) {
+                Path targetPath = targetDir.resolve(sourceDir.relativize(file).toString());
+                completionService.submit(() -> convertFile(file, targetPath, sourceMode, targetMode));
+            }
+
+            List<BatchReport.FileResult> results = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                BatchReport.FileResult result = completionService.take().get();
+                results.add(result);
+                if (listener != null) {
+                    listener.onProgress(result, results.size(), files.size());
+                }
+            }
+
+            return report(results, start);
+        } catch (ExecutionException e) {
+            // convertFile reports all errors in its result
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<BatchReport.FileResult> convertShared(Path sourceDir, List<Path> files, Path targetDir,
+                                                       String sourceMode, String targetMode,
+                                                       BatchProgressListener listener,
+                                                       ConversionExecutor sharedExecutor) throws InterruptedException {
+        BlockingQueue<BatchReport.FileResult> completed = new LinkedBlockingQueue<>();
+        List<CompletableFuture<BatchReport.FileResult>> futures = new ArrayList<>(files.size());
+        try {
+            for (Path file : files) {
+                Path targetPath = targetDir.resolve(sourceDir.relativize(file).toString());
+                CompletableFuture<BatchReport.FileResult> future = sharedExecutor.submit(
+                        () -> convertFile(file, targetPath, sourceMode, targetMode),
+                        ConversionExecutor.Priority.BACKGROUND
+                );
+                future.whenComplete((result, error) -> completed.add(result != null ? result
+                        : new BatchReport.FileResult(file, targetPath, 0, 0, error.toString())));
+                futures.add(future);
+            }
+
+            List<BatchReport.FileResult> results = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                BatchReport.FileResult result = completed.take();
+                results.add(result);
+                if (listener != null) {
+                    listener.onProgress(result, results.size(), files.size());
+                }
+            }
+
+            return results;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private BatchReport report(List<BatchReport.FileResult> results, long start) {
+        results.sort(Comparator.comparing(BatchReport.FileResult::getSourcePath));
+        BatchReport report = new BatchReport(results, System.nanoTime() - start);
+        logger.info("Batch conversion ended: " + report);
+        return report;
+    }
+
+    private ExecutorService newExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Batch Conversion Thread " + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private BatchReport.FileResult convertFile(Path sourcePath, Path targetPath,
+                                               String sourceMode, String targetMode) {
+        long start = System.nanoTime();
+        long size = 0;
+        Path tempPath = targetPath.resolveSibling(targetPath.getFileName() + ".part");
+        BatchJournal currJournal = journal;
+        String digest = "";
+        try {
+            size = Files.size(sourcePath);
+            if (currJournal != null) {
+                digest = BatchJournal.digestOf(sourcePath);
+                if (currJournal.isUpToDate(sourcePath, digest, sourceMode, targetMode, targetPath)) {
+                    return BatchReport.FileResult.skipped(sourcePath, targetPath, size, System.nanoTime() - start);
+                }
+            }
+
+            Files.createDirectories(targetPath.toAbsolutePath().getParent());
+            ChunkedConverter chunked = chunkedConverter;
+            if (chunked != null && size > chunked.getChunkSize()) {
+                chunked.convert(sourceMode, targetMode, sourcePath, tempPath);
+            } else {
+                String data = converter.convert(sourceMode, targetMode, Files.readAllBytes(sourcePath));
+                Files.write(tempPath, data.getBytes(StandardCharsets.UTF_8));
+            }
+
+            // The temporary file is moved, so that a target file is never left half-written
+            AtomicFiles.move(tempPath, targetPath);
+            record(currJournal, sourcePath, digest, sourceMode, targetMode, targetPath, true);
+            return new BatchReport.FileResult(sourcePath, targetPath, size, System.nanoTime() - start, null);
+        } catch (Exception e) {
+            deleteTempFile(tempPath);
+            String errorMsg = e.getMessage() != null ? e.getMessage() : e.toString();
+            logger.error("Cannot convert " + sourcePath + ": " + errorMsg);
+            record(currJournal, sourcePath, digest, sourceMode, targetMode, targetPath, false);
+            return new BatchReport.FileResult(sourcePath, targetPath, size, System.nanoTime() - start, errorMsg);
+        }
+    }
+
+    private static void record(BatchJournal journal, Path sourcePath, String digest, String sourceMode,
+                               String targetMode, Path targetPath, boolean isConverted) {
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            journal.record(sourcePath, digest, sourceMode, targetMode, targetPath, isConverted);
+        } catch (IOException e) {
+            logger.error("Cannot record " + sourcePath + " in journal: " + e.getMessage());
+        }
+    }
+
+    private static void deleteTempFile(Path tempPath) {
+        try {
+            Files.deleteIfExists(tempPath);
+        } catch (IOException e) {
+            logger.error("Cannot delete temporary file: " + tempPath);
+        }
+    }
+}
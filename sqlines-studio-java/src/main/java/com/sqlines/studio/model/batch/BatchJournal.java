@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.batch;
+
+import com.sqlines.studio.model.AtomicFiles;
+import com.sqlines.studio.model.Json;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only journal of the files processed by batch conversions.
+ * <p>
+ * Every processed file appends a line with its status, the SHA-256 digest of its content,
+ * the conversion modes, the core version, whether it was converted in evaluation mode,
+ * the source path and the target path. The line is flushed before the next file is reported,
+ * so after a crash a new run with the same journal skips every file that was converted,
+ * and converts the file the crash interrupted again.
+ * A file is skipped only if its latest record is converted with the same digest, modes
+ * and target path by the same core version in the same evaluation mode, and the target file
+ * still exists. Files are never skipped if the core version is unknown, so a file converted
+ * while the product was not licensed is converted again after the activation or a core upgrade.
+ * <p>
+ * A line left incomplete by a crash is ignored. The superseded records are dropped
+ * when the journal is opened, so a journal reused every night does not grow without bound.
+ *
+ * @apiNote Use {@link #close()} to close the journal file.
+ */
+public class BatchJournal implements Closeable {
+    private static final Logger logger = LogManager.getLogger(BatchJournal.class);
+    private static final String CONVERTED = "converted";
+    private static final String FAILED = "failed";
+    private static final String UNKNOWN_VERSION = "unknown";
+
+    private final Path path;
+    private final String coreVersion;
+    private final String evaluationMode;
+    private final Map<Path, Record> records = new HashMap<>();
+    private final BufferedWriter writer;
+
+    /**
+     * Opens the specified journal, creating it if it does not exist.
+     *
+     * @param path journal file path
+     * @param coreVersion version of the converter the files are converted by, "unknown" if it is not known
+     * @param evaluationMode true if the files are converted in evaluation mode
+     *
+     * @throws IOException if the journal cannot be read or opened for writing
+     */
+    public BatchJournal(Path path, String coreVersion, boolean evaluationMode) throws IOException {
+        this.path = path;
+        this.coreVersion = coreVersion;
+        this.evaluationMode = String.valueOf(evaluationMode);
+        if (Files.exists(path)) {
+            int lines = read();
+            if (lines > records.size()) {
+                compact();
+            }
+        } else if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private int read() throws IOException {
+        int lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                try {
+                    Record record = Record.parse(line);
+                    records.put(record.sourcePath, record);
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Skipping invalid journal line " + lines + ": " + e.getMessage());
+                }
+            }
+        }
+
+        logger.info("Journal loaded: " + path + ", " + records.size() + " files");
+        return lines;
+    }
+
+    private void compact() throws IOException {
+        Path tempPath = path.resolveSibling(path.getFileName() + ".part");
+        try (BufferedWriter compacted = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            for (Record record : records.values()) {
+                compacted.write(record.toLine());
+                compacted.newLine();
+            }
+        }
+
+        AtomicFiles.move(tempPath, path);
+    }
+
+    /**
+     * Returns true if the specified file was converted with the same content and modes
+     * into the specified target file by the same core version in the same evaluation mode,
+     * and the target file still exists.
+     *
+     * @param sourcePath source file path
+     * @param digest digest of the source file content
+     * @param sourceMode source conversion mode
+     * @param targetMode target conversion mode
+     * @param targetPath target file path
+     *
+     * @return true if the file does not need to be converted again
+     */
+    public synchronized boolean isUpToDate(Path sourcePath, String digest, String sourceMode,
+                                           String targetMode, Path targetPath) {
+        Record record = records.get(normalize(sourcePath));
+        return record != null
+                && !coreVersion.equals(UNKNOWN_VERSION)
+                && record.status.equals(CONVERTED)
+                && record.digest.equals(digest)
+                && record.sourceMode.equals(sourceMode)
+                && record.targetMode.equals(targetMode)
+                && record.coreVersion.equals(coreVersion)
+                && record.evaluationMode.equals(evaluationMode)
+                && record.targetPath.equals(normalize(targetPath))
+                && Files.exists(targetPath);
+    }
+
+    /**
+     * Appends the result of the specified file to the journal.
+     *
+     * @param sourcePath source file path
+     * @param digest digest of the source file content, empty if it is unknown
+     * @param sourceMode source conversion mode
+     * @param targetMode target conversion mode
+     * @param targetPath target file path
+     * @param isConverted true if the file was converted, false if it failed
+     *
+     * @throws IOException if the journal cannot be written
+     */
+    public synchronized void record(Path sourcePath, String digest, String sourceMode, String targetMode,
+                                    Path targetPath, boolean isConverted) throws IOException {
+        Record record = new Record(isConverted ? CONVERTED : FAILED, digest, sourceMode, targetMode,
+                coreVersion, evaluationMode, normalize(sourcePath), normalize(targetPath));
+        writer.write(record.toLine());
+        writer.newLine();
+        writer.flush();
+        records.put(record.sourcePath, record);
+    }
+
+    /**
+     * @return the number of files recorded in the journal
+     */
+    public synchronized int size() {
+        return records.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Returns the hex-encoded SHA-256 digest of the specified file, without loading it into memory.
+     *
+     * @param file file to read
+     *
+     * @return digest of the file content
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public static String digestOf(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Latest journal record of a source file.
+     */
+    private static class Record {
+        private final String status;
+        private final String digest;
+        private final String sourceMode;
+        private final String targetMode;
+        private final String coreVersion;
+        private final String evaluationMode;
+        private final Path sourcePath;
+        private final Path targetPath;
+
+        Record(String status, String digest, String sourceMode, String targetMode,
+               String coreVersion, String evaluationMode, Path sourcePath, Path targetPath) {
+            this.status = status;
+            this.digest = digest;
+            this.sourceMode = sourceMode;
+            this.targetMode = targetMode;
+            this.coreVersion = coreVersion;
+            this.evaluationMode = evaluationMode;
+            this.sourcePath = sourcePath;
+            this.targetPath = targetPath;
+        }
+
+        static Record parse(String line) {
+            List<String> fields = Json.parseStringArray(line);
+            if (fields.size() != 8) {
+                throw new IllegalArgumentException("Expected 8 fields, found " + fields.size());
+            }
+
+            return new Record(fields.get(0), fields.get(1), fields.get(2), fields.get(3),
+                    fields.get(4), fields.get(5), Path.of(fields.get(6)), Path.of(fields.get(7)));
+        }
+
+        String toLine() {
+            return "[" + Json.quote(status) + ", " + Json.quote(digest) + ", " +
+                    Json.quote(sourceMode) + ", " + Json.quote(targetMode) + ", " +
+                    Json.quote(coreVersion) + ", " + Json.quote(evaluationMode) + ", " +
+                    Json.quote(sourcePath.toString()) + ", " + Json.quote(targetPath.toString()) + "]";
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.batch;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Results of a batch conversion.
+ * Contains the result of every processed file and the throughput of the conversion.
+ */
+public class BatchReport {
+    private final List<FileResult> results;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a new BatchReport.
+     *
+     * @param results results of the processed files
+     * @param elapsedNanos wall-clock time of the batch conversion in nanoseconds
+     */
+    public BatchReport(List<FileResult> results, long elapsedNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return results of all processed files
+     */
+    public List<FileResult> getResults() {
+        return results;
+    }
+
+    /**
+     * @return results of the files that failed to convert
+     */
+    public List<FileResult> getFailures() {
+        return results.stream()
+                .filter(result -> !result.isSuccess())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the number of successfully converted files, not counting the skipped ones
+     */
+    public int getConvertedCount() {
+        return results.size() - getFailures().size() - getSkippedCount();
+    }
+
+    /**
+     * @return the number of files skipped because they were converted by a previous run
+     */
+    public int getSkippedCount() {
+        return (int) results.stream()
+                .filter(FileResult::isSkipped)
+                .count();
+    }
+
+    /**
+     * @return the total size of the processed source files in bytes
+     */
+    public long getTotalBytes() {
+        return results.stream()
+                .mapToLong(FileResult::getSize)
+                .sum();
+    }
+
+    /**
+     * @return wall-clock time of the batch conversion in milliseconds
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * @return the number of source bytes processed per second
+     */
+    public double getBytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getTotalBytes() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return the number of files processed per second
+     */
+    public double getFilesPerSecond() {
+        return elapsedNanos == 0 ? 0 : results.size() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "{" +
+                "files=" + results.size() +
+                ", failures=" + getFailures().size() +
+                ", skipped=" + getSkippedCount() +
+                ", elapsedMillis=" + getElapsedMillis() +
+                '}';
+    }
+
+    /**
+     * Result of the conversion of a single file.
+     */
+    public static final class FileResult {
+        private final Path sourcePath;
+        private final Path targetPath;
+        private final long size;
+        private final long elapsedNanos;
+        private final String error;
+        private final boolean isSkipped;
+
+        /**
+         * Constructs a new FileResult.
+         *
+         * @param sourcePath source file path
+         * @param targetPath target file path
+         * @param size source file size in bytes
+         * @param elapsedNanos conversion time in nanoseconds
+         * @param error error message, or null if the file was converted
+         */
+        public FileResult(Path sourcePath, Path targetPath, long size, long elapsedNanos, String error) {
+            this(sourcePath, targetPath, size, elapsedNanos, error, false);
+        }
+
+        private FileResult(Path sourcePath, Path targetPath, long size, long elapsedNanos,
+                           String error, boolean isSkipped) {
+            this.sourcePath = sourcePath;
+            this.targetPath = targetPath;
+            this.size = size;
+            this.elapsedNanos = elapsedNanos;
+            this.error = error;
+            this.isSkipped = isSkipped;
+        }
+
+        /**
+         * Constructs the result of a file that was not converted again
+         * because it is unchanged since a previous run.
+         *
+         * @param sourcePath source file path
+         * @param targetPath target file path
+         * @param size source file size in bytes
+         * @param elapsedNanos time spent checking the file in nanoseconds
+         *
+         * @return result of the skipped file
+         */
+        public static FileResult skipped(Path sourcePath, Path targetPath, long size, long elapsedNanos) {
+            return new FileResult(sourcePath, targetPath, size, elapsedNanos, null, true);
+        }
+
+        public Path getSourcePath() {
+            return sourcePath;
+        }
+
+        public Path getTargetPath() {
+            return targetPath;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return error message if the file failed to convert
+         */
+        public Optional<String> getError() {
+            return Optional.ofNullable(error);
+        }
+
+        /**
+         * @return true if the file was converted
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        /**
+         * @return true if the file was skipped because it is unchanged since a previous run
+         */
+        public boolean isSkipped() {
+            return isSkipped;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getName() + "{" +
+                    "sourcePath='" + sourcePath + '\'' +
+                    ", targetPath='" + targetPath + '\'' +
+                    ", size=" + size +
+                    ", elapsedNanos=" + elapsedNanos +
+                    ", error='" + error + '\'' +
+                    ", isSkipped=" + isSkipped +
+                    '}';
+        }
+    }
+}
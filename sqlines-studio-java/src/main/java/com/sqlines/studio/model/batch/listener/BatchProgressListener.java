@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.batch.listener;
+
+import com.sqlines.studio.model.batch.BatchReport;
+
+/**
+ * A BatchProgressListener is notified whenever a file of the batch conversion is processed.
+ */
+@FunctionalInterface
+public interface BatchProgressListener {
+
+    /**
+     * Called after a file has been converted or has failed to convert.
+     * Called in the thread that started the batch conversion.
+     *
+     * @param result the result of the file conversion
+     * @param processed the number of the files processed so far
+     * @param total the total number of the files to process
+     */
+    void onProgress(BatchReport.FileResult result, int processed, int total);
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Contains elements tha allow you to convert many files at once.
+ *
+ * <p>
+ * Classes:
+ * <p>
+ * {@link com.sqlines.studio.model.batch.BatchConverter} -
+ * converts all scripts of a directory tree in parallel.
+ * <p>
+ *
+ * {@link com.sqlines.studio.model.batch.BatchReport} -
+ * contains the results of a batch conversion.
+ * <p>
+ *
+ * {@link com.sqlines.studio.model.batch.BatchJournal} -
+ * records the processed files so that a repeated batch skips the unchanged ones.
+ *
+ * <p>
+ * Packages:
+ * <p>
+ * {@link com.sqlines.studio.model.batch.listener} -
+ * contains interfaces that receive notifications of the batch conversion progress.
+ */
+package com.sqlines.studio.model.batch;
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.FileInputStream;
+import java.util.Optional;
+
+/**
+ * Converter returning cached results for the source data that has already been converted.
+ * <p>
+ * The results are addressed by the conversion modes, the core version, the license status
+ * and the source data, so a new core version or a license change never returns stale results.
+ * Conversions that are not found in the cache are run by the wrapped converter.
+ * Until the core version is known, all the conversions are run by the wrapped converter
+ * and nothing is cached.
+ */
+public class CachingConverter implements Converter {
+    private static final Logger logger = LogManager.getLogger(CachingConverter.class);
+
+    private final Converter converter;
+    private final ConversionCache cache;
+    private volatile String coreVersion;
+    private volatile boolean evaluationMode;
+
+    /**
+     * Constructs a new CachingConverter.
+     *
+     * @param converter converter running the conversions that are not cached
+     * @param cache conversion results cache
+     * @param coreVersion version of the sqlines core, or null if it is not known yet
+     * @param evaluationMode true if the product is not licensed
+     */
+    public CachingConverter(Converter converter, ConversionCache cache,
+                            String coreVersion, boolean evaluationMode) {
+        this.converter = converter;
+        this.cache = cache;
+        this.coreVersion = coreVersion;
+        this.evaluationMode = evaluationMode;
+    }
+
+    /**
+     * Sets the version of the sqlines core once it is known. The results are cached from now on.
+     *
+     * @param coreVersion version of the sqlines core
+     */
+    public void setCoreVersion(String coreVersion) {
+        this.coreVersion = coreVersion;
+    }
+
+    /**
+     * Sets the license status. The results converted with the other status are not returned.
+     *
+     * @param evaluationMode true if the product is not licensed
+     */
+    public void setEvaluationMode(boolean evaluationMode) {
+        this.evaluationMode = evaluationMode;
+    }
+
+    /**
+     * @return conversion results cache
+     */
+    public ConversionCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public ConversionResult run(String sourceMode, String targetMode,
+                                String sourceFilePath, String targetFileName) throws Exception {
+        byte[] sourceData;
+        try (FileInputStream stream = new FileInputStream(sourceFilePath)) {
+            sourceData = stream.readAllBytes();
+        }
+
+        String key = keyOf(sourceMode, targetMode, sourceData);
+        if (key == null) {
+            return converter.run(sourceMode, targetMode, sourceFilePath, targetFileName);
+        }
+
+        Optional<String> cached = cache.get(key);
+        if (cached.isPresent()) {
+            return fromCache(cached.get(), targetMode, targetFileName);
+        }
+
+        ConversionResult result = converter.run(sourceMode, targetMode, sourceFilePath, targetFileName);
+        cache.put(key, result.getData());
+        return result;
+    }
+
+    @Override
+    public ConversionResult run(String sourceMode, String targetMode,
+                                byte[] sourceData, String targetFileName) throws Exception {
+        String key = keyOf(sourceMode, targetMode, sourceData);
+        if (key == null) {
+            return converter.run(sourceMode, targetMode, sourceData, targetFileName);
+        }
+
+        Optional<String> cached = cache.get(key);
+        if (cached.isPresent()) {
+            return fromCache(cached.get(), targetMode, targetFileName);
+        }
+
+        ConversionResult result = converter.run(sourceMode, targetMode, sourceData, targetFileName);
+        cache.put(key, result.getData());
+        return result;
+    }
+
+    // Returns null while the core version is not known
+    private String keyOf(String sourceMode, String targetMode, byte[] sourceData) {
+        String knownVersion = coreVersion;
+        if (knownVersion == null) {
+            return null;
+        }
+
+        String version = knownVersion + (evaluationMode ? " evaluation" : "");
+        return ConversionCache.keyOf(sourceMode, targetMode, version, sourceData);
+    }
+
+    private ConversionResult fromCache(String data, String targetMode,
+                                       String targetFileName) {
+        logger.info("Conversion result found in cache. Hits: " + cache.getHits() +
+                ", misses: " + cache.getMisses());
+        return TargetFiles.saveAsync(data, targetFileName, targetMode);
+    }
+
+    @Override
+    public String convert(String sourceMode, String targetMode, byte[] sourceData) throws Exception {
+        String key = keyOf(sourceMode, targetMode, sourceData);
+        if (key == null) {
+            return converter.convert(sourceMode, targetMode, sourceData);
+        }
+
+        Optional<String> cached = cache.get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        String data = converter.convert(sourceMode, targetMode, sourceData);
+        cache.put(key, data);
+        return data;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import com.sqlines.studio.model.AtomicFiles;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Converts very large scripts in chunks, in parallel.
+ * <p>
+ * The script is read in pieces of about the chunk size, ending at line boundaries, and split into
+ * statements with a {@link StatementSplitter} as it is read, every piece is scanned once.
+ * The complete statements are converted as a chunk, the rest is carried over to the next one.
+ * So chunks never end inside a string, a comment or a procedural block, and never inside a MySQL
+ * DELIMITER section, since every chunk has to start with the default delimiter in effect.
+ * A statement longer than the chunk size makes its chunk longer, up to {@value #MAX_WINDOW_CHUNKS}
+ * times the chunk size. The conversion fails if no chunk can be cut in that length, usually
+ * because of an unterminated string or comment.
+ * <p>
+ * The chunks are converted in the specified executor and the converted chunks are written
+ * to the target in the source order. At most twice as many chunks as the parallelism are held
+ * in memory at the same time, the script is never loaded as a whole.
+ */
+public class ChunkedConverter {
+    private static final Logger logger = LogManager.getLogger(ChunkedConverter.class);
+    private static final int MAX_WINDOW_CHUNKS = 16;
+
+    private final Converter converter;
+    private final ConversionExecutor executor;
+    private final int parallelism;
+    private final int chunkSize;
+
+    /**
+     * Constructs a new ChunkedConverter.
+     *
+     * @param converter converter running the conversion of every chunk
+     * @param executor executor to run the conversions in
+     * @param parallelism the number of chunks converted at the same time
+     * @param chunkSize approximate chunk size in characters
+     *
+     * @throws IllegalArgumentException if the parallelism or the chunk size is less than 1
+     */
+    public ChunkedConverter(Converter converter, ConversionExecutor executor,
+                            int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            String errorMsg = "Invalid parallelism or chunk size: " + parallelism + ", " + chunkSize;
+            throw new IllegalArgumentException(errorMsg);
+        }
+
+        this.converter = converter;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return approximate chunk size in characters
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Converts the specified UTF-8 source file and writes the converted data to the target file.
+     *
+     * @param sourceMode source conversion mode to set
+     * @param targetMode target conversion mode to set
+     * @param sourcePath source file path
+     * @param targetPath target file path, replaced if it exists
+     *
+     * @throws Exception if the conversion fails, see {@link Converter#convert(String, String, byte[])}
+     */
+    public void convert(String sourceMode, String targetMode, Path sourcePath, Path targetPath) throws Exception {
+        try (Reader source = Files.newBufferedReader(sourcePath, StandardCharsets.UTF_8);
+             Writer target = Files.newBufferedWriter(targetPath, StandardCharsets.UTF_8)) {
+            convert(sourceMode, targetMode, source, target);
+        }
+    }
+
+    /**
+     * Converts the specified UTF-8 source file into the target file of the specified name
+     * in the background. The target file is written next to it and then moved into place,
+     * so a reader of the previous target file never sees it truncated.
+     * <p>
+     * Cancelling the returned future interrupts the conversion.
+     *
+     * @param sourceMode source conversion mode to set
+     * @param targetMode target conversion mode to set
+     * @param sourcePath source file path
+     * @param targetFileName target file name
+     *
+     * @return a future completed with the target file path
+     */
+    public CompletableFuture<Path> convertAsync(String sourceMode, String targetMode,
+                                                Path sourcePath, String targetFileName) {
+        ConversionExecutor.InterruptibleFuture<Path> future = new ConversionExecutor.InterruptibleFuture<>();
+
+        // Not in the executor: waiting there for the chunks would hold one of the threads converting them
+        Thread thread = new Thread(() -> future.run(() -> {
+            Path targetPath = Path.of(TargetFiles.getTargetFilePath(targetFileName, targetMode));
+            Path tempPath = AtomicFiles.createTempFile(targetPath);
+            try {
+                convert(sourceMode, targetMode, sourcePath, tempPath);
+                AtomicFiles.move(tempPath, targetPath);
+            } finally {
+                Files.deleteIfExists(tempPath);
+            }
+
+            logger.info("Target file saved: " + targetPath);
+            return targetPath;
+        }), "Chunked Conversion Thread");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /**
+     * Converts the text of the specified reader and writes the converted text to the specified writer.
+     * Neither the reader nor the writer are closed.
+     *
+     * @param sourceMode source conversion mode to set
+     * @param targetMode target conversion mode to set
+     * @param source source text
+     * @param target converted text
+     *
+     * @throws Exception if the conversion fails, see {@link Converter#convert(String, String, byte[])}
+     */
+    public void convert(String sourceMode, String targetMode, Reader source, Writer target) throws Exception {
+        Deque<CompletableFuture<String>> pending = new ArrayDeque<>();
+        StatementSplitter splitter = new StatementSplitter(sourceMode);
+        StringBuilder piece = new StringBuilder();
+        long maxWindowSize = (long) chunkSize * MAX_WINDOW_CHUNKS;
+        long line = 1;
+        int chunks = 0;
+        try {
+            boolean isEnd = false;
+            while (!isEnd) {
+                piece.setLength(0);
+                isEnd = !readPiece(source, piece);
+                splitter.append(piece);
+                int length = splitter.scan(isEnd);
+                if (length == 0) {
+                    if (splitter.length() > maxWindowSize) {
+                        String errorMsg = "No statement ends within " + maxWindowSize + " characters after line "
+                                + line + ", check for an unterminated string, comment or DELIMITER section";
+                        throw new IOException(errorMsg);
+                    }
+                    continue;
+                }
+
+                String text = splitter.cut(length);
+                line += text.chars().filter(c -> c == '\n').count();
+                byte[] chunk = text.getBytes(StandardCharsets.UTF_8);
+                pending.addLast(executor.submit(() -> converter.convert(sourceMode, targetMode, chunk)));
+                chunks++;
+
+                if (pending.size() >= parallelism * 2) {
+                    target.write(await(pending.removeFirst()));
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                target.write(await(pending.removeFirst()));
+            }
+
+            logger.info("Converted " + chunks + " chunks");
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Reads at least chunk size characters, up to the end of a line.
+     *
+     * @return false if the end of the source was reached
+     */
+    private boolean readPiece(Reader source, StringBuilder piece) throws IOException {
+        char[] buffer = new char[Math.min(chunkSize, 64 * 1024)];
+        int read = 0;
+        while (read < chunkSize) {
+            int count = source.read(buffer, 0, Math.min(buffer.length, chunkSize - read));
+            if (count < 0) {
+                return false;
+            }
+
+            piece.append(buffer, 0, count);
+            read += count;
+        }
+
+        // Separator lines and DELIMITER commands are recognized on whole lines only
+        while (piece.charAt(piece.length() - 1) != '\n') {
+            int c = source.read();
+            if (c < 0) {
+                return false;
+            }
+
+            piece.append((char) c);
+        }
+
+        return true;
+    }
+
+    private static String await(CompletableFuture<String> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import com.sqlines.studio.model.AtomicFiles;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of converted data addressed by the content of the conversion input.
+ * <p>
+ * Keeps the most recently used results in memory and all results in the cache directory,
+ * so the results survive restarts. The memory tier is limited by the total length of the results,
+ * results longer than a quarter of the limit are kept in the cache directory only.
+ * The disk tier is trimmed to the specified number of the most recently used files
+ * when the cache is created and whenever the results put exceed the number.
+ */
+public class ConversionCache {
+    private static final Logger logger = LogManager.getLogger(ConversionCache.class);
+
+    private final Path directory;
+    private final Map<String, String> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final long memoryChars;
+    private final int diskEntries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long cachedChars;
+    private int diskFiles;
+
+    /**
+     * Constructs a new ConversionCache.
+     *
+     * @param directory cache directory, created if it does not exist
+     * @param memoryChars the maximum total length of the results kept in memory
+     * @param diskEntries the maximum number of results kept in the cache directory
+     */
+    public ConversionCache(Path directory, long memoryChars, int diskEntries) {
+        this.directory = directory;
+        this.memoryChars = memoryChars;
+        this.diskEntries = diskEntries;
+
+        try {
+            Files.createDirectories(directory);
+            deleteTempFiles();
+            trim(diskEntries);
+        } catch (Exception e) {
+            logger.warn("Cannot prepare cache directory: " + e.getMessage());
+        }
+    }
+
+    // Temporary files left by an interrupted put
+    private void deleteTempFiles() {
+        File[] files = directory.toFile().listFiles((dir, name) -> name.startsWith("."));
+        for (File file : files != null ? files : new File[0]) {
+            if (!file.delete()) {
+                logger.warn("Cannot delete cache file: " + file);
+            }
+        }
+    }
+
+    private synchronized void trim(int keptFiles) {
+        File[] files = directory.toFile().listFiles((dir, name) -> !name.startsWith("."));
+        if (files == null) {
+            return;
+        }
+
+        diskFiles = Math.min(files.length, keptFiles);
+        if (files.length <= keptFiles) {
+            return;
+        }
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified).reversed());
+        for (int i = keptFiles; i < files.length; i++) {
+            if (!files[i].delete()) {
+                logger.warn("Cannot delete cache file: " + files[i]);
+            }
+        }
+
+        logger.info("Cache trimmed: " + (files.length - keptFiles) + " files deleted");
+    }
+
+    /**
+     * Builds the cache key of the specified conversion input.
+     *
+     * @param sourceMode source conversion mode
+     * @param targetMode target conversion mode
+     * @param coreVersion version of the converter
+     * @param sourceData source data
+     *
+     * @return hex-encoded SHA-256 digest of the input
+     */
+    public static String keyOf(String sourceMode, String targetMode,
+                               String coreVersion, byte[] sourceData) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String header = sourceMode + "\0" + targetMode + "\0" + coreVersion + "\0";
+            digest.update(header.getBytes(StandardCharsets.UTF_8));
+            digest.update(sourceData);
+
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Returns the converted data cached with the specified key.
+     * Results found in the cache directory are moved to memory.
+     *
+     * @param key cache key, see {@link #keyOf(String, String, String, byte[])}
+     *
+     * @return converted data or empty optional if there is no such data in the cache
+     */
+    public Optional<String> get(String key) {
+        synchronized (memory) {
+            String data = memory.get(key);
+            if (data != null) {
+                hits.incrementAndGet();
+                return Optional.of(data);
+            }
+        }
+
+        Path file = directory.resolve(key);
+        try {
+            String data = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            putInMemory(key, data);
+
+            hits.incrementAndGet();
+            return Optional.of(data);
+        } catch (IOException e) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Puts the specified converted data to memory and to the cache directory.
+     *
+     * @param key cache key, see {@link #keyOf(String, String, String, byte[])}
+     * @param data converted data
+     */
+    public void put(String key, String data) {
+        putInMemory(key, data);
+
+        Path temp = null;
+        try {
+            Path file = directory.resolve(key);
+            boolean isNew = !Files.exists(file);
+            temp = AtomicFiles.createTempFile(file);
+            Files.write(temp, data.getBytes(StandardCharsets.UTF_8));
+            AtomicFiles.move(temp, file);
+            if (isNew) {
+                fileAdded();
+            }
+        } catch (Exception e) {
+            logger.warn("Cannot write cache file: " + e.getMessage());
+            deleteTempFile(temp);
+        }
+    }
+
+    private void putInMemory(String key, String data) {
+        if (data.length() > memoryChars / 4) {
+            return;
+        }
+
+        synchronized (memory) {
+            String replaced = memory.put(key, data);
+            cachedChars += data.length() - (replaced != null ? replaced.length() : 0);
+            Iterator<String> eldest = memory.values().iterator();
+            while (cachedChars > memoryChars && eldest.hasNext()) {
+                cachedChars -= eldest.next().length();
+                eldest.remove();
+            }
+        }
+    }
+
+    private synchronized void fileAdded() {
+        diskFiles++;
+        // Trims an eighth more, so that the directory is not listed on every put
+        if (diskFiles > diskEntries) {
+            trim(diskEntries - diskEntries / 8);
+        }
+    }
+
+    private void deleteTempFile(Path temp) {
+        try {
+            if (temp != null) {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot delete cache file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of lookups that found the result
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of lookups that did not find the result
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+}
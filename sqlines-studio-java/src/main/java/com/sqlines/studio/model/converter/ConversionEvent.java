@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event of a conversion run by {@link ConverterImpl}.
+ * The duration of the event is the whole conversion, the fields break it down into the phases
+ * that happen outside of the SQLines command-line program. The program itself is recorded by
+ * {@link com.sqlines.studio.model.coreprocess.CoreProcessEvent}.
+ */
+@Name("com.sqlines.studio.Conversion")
+@Label("SQLines Conversion")
+@Category({"SQLines Studio", "Conversion"})
+@Description("Conversion run by the SQLines command-line program")
+@StackTrace(false)
+public final class ConversionEvent extends Event {
+
+    @Label("Source Mode")
+    String sourceMode;
+
+    @Label("Target Mode")
+    String targetMode;
+
+    @Label("Streaming")
+    @Description("The data was passed through the standard streams instead of temporary files")
+    boolean isStreaming;
+
+    @Label("Temp File Creation Time")
+    @Description("Time to create the temporary source, target and log files")
+    @Timespan
+    long tempFileCreationTime;
+
+    @Label("Temp File Deletion Time")
+    @Timespan
+    long tempFileDeletionTime;
+
+    @Label("Target File Read Time")
+    @Timespan
+    long targetFileReadTime;
+
+    @Label("Bytes In")
+    @DataAmount
+    long bytesIn;
+
+    @Label("Bytes Out")
+    @DataAmount
+    long bytesOut;
+
+    ConversionEvent(String sourceMode, String targetMode, boolean isStreaming) {
+        this.sourceMode = sourceMode;
+        this.targetMode = targetMode;
+        this.isStreaming = isStreaming;
+    }
+
+    /**
+     * Returns the UTF-8 length of the specified text without encoding it.
+     * Returns 0 if the event is disabled.
+     */
+    long utf8Length(String text) {
+        if (!isEnabled()) {
+            return 0;
+        }
+
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+}
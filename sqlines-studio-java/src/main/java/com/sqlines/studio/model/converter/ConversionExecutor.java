@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedicated executor running the conversions in the background.
+ * <p>
+ * Conversions are queued by {@link Priority}: a queued interactive conversion always starts
+ * before the queued background ones, and some threads are reserved for the interactive
+ * conversions, so a tab run never waits for a batch that occupies the rest of the threads.
+ * Running conversions are not pre-empted. The queue depth and the time spent in the queue
+ * are reported for each priority.
+ * <p>
+ * Cancelling a future returned by {@link #submit(Callable)} with mayInterruptIfRunning set
+ * interrupts the thread running the conversion, which destroys the sqlines process.
+ * The in-process converter cannot be interrupted: its result is discarded.
+ *
+ * @apiNote Use {@link #shutdown()} to interrupt the running conversions on exit.
+ */
+public class ConversionExecutor {
+
+    /**
+     * Priority class of a conversion.
+     */
+    public enum Priority {
+        /** Conversion the user is waiting for, such as a run in a tab */
+        INTERACTIVE,
+        /** Conversion nobody is waiting for right now, such as a batch or a warm-up */
+        BACKGROUND
+    }
+
+    private final int maxBackground;
+    private final List<Thread> threads = new ArrayList<>();
+
+    // Guarded by this
+    private final Deque<Job> interactiveQueue = new ArrayDeque<>();
+    private final Deque<Job> backgroundQueue = new ArrayDeque<>();
+    private final long[] startedCounts = new long[Priority.values().length];
+    private final long[] waitNanos = new long[Priority.values().length];
+    private int runningBackground;
+    private boolean isShutdown;
+
+    /**
+     * Constructs a new ConversionExecutor with one thread reserved for the interactive conversions
+     * if there is more than one thread.
+     *
+     * @param threads the maximum number of conversions running at the same time
+     */
+    public ConversionExecutor(int threads) {
+        this(threads, threads > 1 ? 1 : 0);
+    }
+
+    /**
+     * Constructs a new ConversionExecutor.
+     *
+     * @param threads the maximum number of conversions running at the same time
+     * @param reservedThreads the number of threads that never run background conversions
+     *
+     * @throws IllegalArgumentException if the number of threads is less than 1
+     * or the number of reserved threads is not less than the number of threads
+     */
+    public ConversionExecutor(int threads, int reservedThreads) {
+        if (threads < 1 || reservedThreads < 0 || reservedThreads >= threads) {
+            throw new IllegalArgumentException("Invalid number of threads: " + threads +
+                    ", reserved: " + reservedThreads);
+        }
+
+        maxBackground = threads - reservedThreads;
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(this::work, "Conversion Thread " + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            this.threads.add(thread);
+        }
+    }
+
+    /**
+     * Submits the specified interactive conversion task for execution.
+     *
+     * @param task conversion task
+     * @param <T> result type
+     *
+     * @return a future completed with the result of the task, or exceptionally
+     * with a {@link RejectedExecutionException} if the executor is shut down
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        return submit(task, Priority.INTERACTIVE);
+    }
+
+    /**
+     * Submits the specified conversion task for execution with the specified priority.
+     *
+     * @param task conversion task
+     * @param priority priority class of the task
+     * @param <T> result type
+     *
+     * @return a future completed with the result of the task, or exceptionally
+     * with a {@link RejectedExecutionException} if the executor is shut down
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task, Priority priority) {
+        InterruptibleFuture<T> future = new InterruptibleFuture<>();
+        synchronized (this) {
+            if (!isShutdown) {
+                Deque<Job> queue = priority == Priority.INTERACTIVE ? interactiveQueue : backgroundQueue;
+                queue.addLast(new Job(() -> future.run(task), future, priority));
+                notifyAll();
+                return future;
+            }
+        }
+
+        future.completeExceptionally(new RejectedExecutionException("Conversion executor is shut down"));
+        return future;
+    }
+
+    private void work() {
+        while (true) {
+            Job job;
+            synchronized (this) {
+                while ((job = poll()) == null) {
+                    if (isShutdown) {
+                        return;
+                    }
+
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Checks the shutdown flag
+                    }
+                }
+            }
+
+            try {
+                job.task.run();
+            } finally {
+                if (job.priority == Priority.BACKGROUND) {
+                    synchronized (this) {
+                        runningBackground--;
+                        notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    // Must be called holding the lock
+    private Job poll() {
+        Job job = interactiveQueue.pollFirst();
+        if (job == null && runningBackground < maxBackground) {
+            job = backgroundQueue.pollFirst();
+            if (job != null) {
+                runningBackground++;
+            }
+        }
+
+        if (job != null) {
+            startedCounts[job.priority.ordinal()]++;
+            waitNanos[job.priority.ordinal()] += System.nanoTime() - job.submittedAt;
+        }
+
+        return job;
+    }
+
+    /**
+     * @param priority priority class
+     *
+     * @return the number of conversions of the specified priority waiting to start
+     */
+    public synchronized int getQueueDepth(Priority priority) {
+        return priority == Priority.INTERACTIVE ? interactiveQueue.size() : backgroundQueue.size();
+    }
+
+    /**
+     * @param priority priority class
+     *
+     * @return the number of started conversions of the specified priority
+     */
+    public synchronized long getStartedCount(Priority priority) {
+        return startedCounts[priority.ordinal()];
+    }
+
+    /**
+     * @param priority priority class
+     *
+     * @return the average time the started conversions of the specified priority
+     * have waited in the queue, in milliseconds
+     */
+    public synchronized long getAverageWaitMillis(Priority priority) {
+        long started = startedCounts[priority.ordinal()];
+        return started == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos[priority.ordinal()] / started);
+    }
+
+    /**
+     * Interrupts the running conversions and stops accepting new ones.
+     * The queued conversions are not started: their futures are cancelled.
+     */
+    public void shutdown() {
+        List<Job> queued = new ArrayList<>();
+        synchronized (this) {
+            isShutdown = true;
+            queued.addAll(interactiveQueue);
+            queued.addAll(backgroundQueue);
+            interactiveQueue.clear();
+            backgroundQueue.clear();
+            notifyAll();
+        }
+
+        queued.forEach(job -> job.future.cancel(false));
+        threads.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Queued conversion task.
+     */
+    private static class Job {
+        private final Runnable task;
+        private final CompletableFuture<?> future;
+        private final Priority priority;
+        private final long submittedAt = System.nanoTime();
+
+        Job(Runnable task, CompletableFuture<?> future, Priority priority) {
+            this.task = task;
+            this.future = future;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Future interrupting the thread that completes it when it is cancelled.
+     */
+    static class InterruptibleFuture<T> extends CompletableFuture<T> {
+        private Thread runner;
+
+        void run(Callable<T> task) {
+            synchronized (this) {
+                if (isDone()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+
+            try {
+                complete(task.call());
+            } catch (Throwable e) {
+                completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    // Do not leak the interruption to the next task
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean isCancelled = super.cancel(mayInterruptIfRunning);
+            synchronized (this) {
+                if (isCancelled && mayInterruptIfRunning && runner != null) {
+                    runner.interrupt();
+                }
+            }
+
+            return isCancelled;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import java.util.List;
+
+/**
+ * Result of the last conversion in a tab produced by {@link IncrementalConverter}.
+ * <p>
+ * Contains the source statements with their converted text, so that the next conversion
+ * of the same tab can convert only the changed statements.
+ */
+public class ConversionSnapshot {
+    private final String sourceMode;
+    private final String targetMode;
+    private final List<StatementSplitter.Statement> statements;
+    private final List<String> outputs;
+    private final ConversionResult result;
+
+    /**
+     * @param outputs converted text of each statement, or null if the conversion
+     * could not be split into statements
+     */
+    ConversionSnapshot(String sourceMode, String targetMode,
+                       List<StatementSplitter.Statement> statements,
+                       List<String> outputs, ConversionResult result) {
+        this.sourceMode = sourceMode;
+        this.targetMode = targetMode;
+        this.statements = statements;
+        this.outputs = outputs;
+        this.result = result;
+    }
+
+    /**
+     * @return the result of the conversion
+     */
+    public ConversionResult getResult() {
+        return result;
+    }
+
+    String getSourceMode() {
+        return sourceMode;
+    }
+
+    String getTargetMode() {
+        return targetMode;
+    }
+
+    List<StatementSplitter.Statement> getStatements() {
+        return statements;
+    }
+
+    List<String> getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * @return true if the converted text of each statement is known
+     */
+    boolean isSplit() {
+        return outputs != null;
+    }
+}
@@ -17,6 +17,7 @@
 package com.sqlines.studio.model.converter;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Runs the conversion.
@@ -62,4 +63,43 @@ public interface Converter {
      */
     ConversionResult run(String sourceMode, String targetMode,
                          byte[] sourceData, String targetFileName) throws Exception;
+
+    /**
+     * Converts the specified source data using the specified conversion modes.
+     * Unlike run methods, does not write the target file.
+     *
+     * @param sourceMode source conversion mode to set
+     * @param targetMode target conversion mode to set
+     * @param sourceData source data to set
+     *
+     * @return converted data
+     *
+     * @throws IOException if any IO error occurred
+     * @throws IllegalStateException if there is no conversion data
+     * @throws IllegalStateException if the sqlines program was not found
+     * @throws SecurityException if a security manager exists and its checkExec method
+     * doesn't allow creation of the subprocess
+     */
+    String convert(String sourceMode, String targetMode, byte[] sourceData) throws Exception;
+
+    /**
+     * Runs the conversion using the specified conversion modes and source data
+     * in the specified executor.
+     * <p>
+     * Cancelling the returned future with mayInterruptIfRunning set stops the conversion.
+     *
+     * @param sourceMode source conversion mode to set
+     * @param targetMode target conversion mode to set
+     * @param sourceData source data to set
+     * @param targetFileName target file name to set
+     * @param executor executor to run the conversion in
+     *
+     * @return a future completed with the conversion result, or exceptionally
+     * with the exceptions of {@link #run(String, String, byte[], String)}
+     */
+    default CompletableFuture<ConversionResult> runAsync(String sourceMode, String targetMode,
+                                                         byte[] sourceData, String targetFileName,
+                                                         ConversionExecutor executor) {
+        return executor.submit(() -> run(sourceMode, targetMode, sourceData, targetFileName));
+    }
 }
@@ -22,37 +22,88 @@ import com.sqlines.studio.model.coreprocess.CoreProcessRunner;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
+/**
+ * Runs the conversion in the SQLines command-line program.
+ * <p>
+ * If streaming is enabled, the source data is piped to the standard input of the program
+ * and the converted data is read from its standard output, no temporary files are created.
+ * The target file is then written in the background, or not written at all if saving
+ * of the target files is disabled.
+ * <p>
+ * Every conversion is recorded as a {@link ConversionEvent} in the flight recorder.
+ * <p>
+ * The program adds the evaluation notice to the converted data only when it converts files,
+ * never in -stdin mode. So nothing is streamed while the product is not licensed.
+ * <p>
+ * The policies are taken from the {@link java.util.Properties}.
+ * Keys - model.streaming, model.save-target.
+ */
 public class ConverterImpl implements Converter {
     private static final Logger logger = LogManager.getLogger(ConverterImpl.class);
 
     private final CmdModes cmdModes;
     private final CoreProcessRunner coreProcess;
-
+    private volatile boolean evaluationMode;
     /**
      * Constructs a new Converter with the specified command line modes
      * and sqlines core program.
      *
      * @param cmdModes command line modes
      * @param coreProcess sqlines command line program
+     * @param evaluationMode true if the product is not licensed
      */
-    public ConverterImpl(CmdModes cmdModes, CoreProcessRunner coreProcess) {
+    public ConverterImpl(CmdModes cmdModes, CoreProcessRunner coreProcess, boolean evaluationMode) {
         this.cmdModes = cmdModes;
         this.coreProcess = coreProcess;
+        this.evaluationMode = evaluationMode;
+    }
+
+    /**
+     * Sets the license status. Conversions are not streamed in evaluation mode.
+     *
+     * @param evaluationMode true if the product is not licensed
+     */
+    public void setEvaluationMode(boolean evaluationMode) {
+        this.evaluationMode = evaluationMode;
     }
 
     @Override
     public ConversionResult run(String sourceMode, String targetMode,
                                 String sourceFilePath, String targetFileName) throws Exception {
+        ConversionEvent event = new ConversionEvent(sourceMode, targetMode, isStreaming());
+        event.begin();
+        try {
+            event.bytesIn = new File(sourceFilePath).length();
+            if (isStreaming()) {
+                try (InputStream input = Files.newInputStream(Path.of(sourceFilePath))) {
+                    return runStreaming(sourceMode, targetMode, input, targetFileName, event);
+                }
+            }
+
+            return runFromFile(sourceMode, targetMode, sourceFilePath, targetFileName, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private ConversionResult runFromFile(String sourceMode, String targetMode, String sourceFilePath,
+                                         String targetFileName, ConversionEvent event) throws Exception {
         String logFilePath = "";
         try {
+            long createStart = System.nanoTime();
             logFilePath = getLogFilePath();
-            String targetPath = getTargetFilePath(targetFileName, targetMode);
+            String targetPath = TargetFiles.getTargetFilePath(targetFileName, targetMode);
+            event.tempFileCreationTime += System.nanoTime() - createStart;
             Arguments arguments = Arguments.builder()
                     .withSourceMode(getCmdMode(sourceMode))
                     .withTargetMode(getCmdMode(targetMode))
@@ -62,12 +113,53 @@ public class ConverterImpl implements Converter {
                     .build();
 
             coreProcess.runAndWait(arguments);
-            return getTargetData(targetPath);
+            return getTargetData(targetPath, event);
         } finally {
+            long deleteStart = System.nanoTime();
             clean(sourceFilePath, logFilePath);
+            event.tempFileDeletionTime += System.nanoTime() - deleteStart;
         }
     }
 
+    private boolean isStreaming() {
+        return !evaluationMode && System.getProperty("model.streaming", "enabled").equals("enabled");
+    }
+
+    private ConversionResult runStreaming(String sourceMode, String targetMode, InputStream input,
+                                          String targetFileName, ConversionEvent event) throws Exception {
+        String data = convertStreaming(sourceMode, targetMode, input);
+        event.bytesOut = event.utf8Length(data);
+        return TargetFiles.saveAsync(data, targetFileName, targetMode);
+    }
+
+    private String convertStreaming(String sourceMode, String targetMode,
+                                    InputStream input) throws Exception {
+        Arguments arguments = Arguments.builder()
+                .withSourceMode(getCmdMode(sourceMode))
+                .withTargetMode(getCmdMode(targetMode))
+                .withLogFilePath(getNullDevice())
+                .withStdin(true)
+                .build();
+
+        return removeTrailingNewLine(coreProcess.runAndWait(arguments, input));
+    }
+
+    private String getNullDevice() {
+        String os = System.getProperty("os.name").toLowerCase();
+        return os.startsWith("windows") ? "NUL" : "/dev/null";
+    }
+
+    // The program always ends its output with a new line
+    private String removeTrailingNewLine(String output) {
+        if (output.endsWith("\r\n")) {
+            return output.substring(0, output.length() - 2);
+        } else if (output.endsWith("\n")) {
+            return output.substring(0, output.length() - 1);
+        }
+
+        return output;
+    }
+
     private String getLogFilePath() {
         String path = "";
         try {
@@ -92,51 +184,16 @@ public class ConverterImpl implements Converter {
         return cmdMode;
     }
 
-    private String getTargetFilePath(String fileName, String targetMode) throws Exception {
-        String path = buildTargetFilePath(fileName, targetMode);
-        if (fileExists(path)) {
-            return path;
-        } else {
-            return createTargetFile(path);
-        }
-    }
-
-    private String buildTargetFilePath(String fileName, String targetMode) {
-        return new StringBuilder(System.getProperty("model.curr-dir"))
-                .append("/")
-                .append(fileName.replaceAll("\\s+",""))
-                .append("_")
-                .append(targetMode)
-                .append(".sql")
-                .toString();
-    }
-
-    private boolean fileExists(String path) {
-        File file = new File(path);
-        return file.exists();
-    }
-
-    private String createTargetFile(String path) throws IOException {
-        try {
-            File targetFile = new File(path);
-            boolean success = targetFile.createNewFile();
-            if (success) {
-                logger.info("Created target file: " + targetFile.getAbsolutePath());
-            } else {
-                throw new IOException("Cannot create target file: " + targetFile.getAbsolutePath());
-            }
-
-            return targetFile.getAbsolutePath();
-        } catch (Exception e) {
-            throw new IOException("Cannot create target file: " + path, e);
-        }
-    }
-
-    private ConversionResult getTargetData(String targetFilePath) throws Exception {
+    private ConversionResult getTargetData(String targetFilePath, ConversionEvent event) throws Exception {
+        long readStart = System.nanoTime();
         File file = new File(targetFilePath);
         try (FileInputStream stream = new FileInputStream(file)) {
-            String data = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            byte[] targetData = stream.readAllBytes();
+            event.bytesOut = targetData.length;
+            String data = new String(targetData, StandardCharsets.UTF_8);
             return new ConversionResult(data, targetFilePath);
+        } finally {
+            event.targetFileReadTime = System.nanoTime() - readStart;
         }
     }
 
@@ -176,11 +233,73 @@ public class ConverterImpl implements Converter {
         }
     }
 
+    @Override
+    public String convert(String sourceMode, String targetMode, byte[] sourceData) throws Exception {
+        ConversionEvent event = new ConversionEvent(sourceMode, targetMode, isStreaming());
+        event.begin();
+        event.bytesIn = sourceData.length;
+        try {
+            if (isStreaming()) {
+                String data = convertStreaming(sourceMode, targetMode, new ByteArrayInputStream(sourceData));
+                event.bytesOut = event.utf8Length(data);
+                return data;
+            }
+
+            return convertFromFile(sourceMode, targetMode, sourceData, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private String convertFromFile(String sourceMode, String targetMode,
+                                   byte[] sourceData, ConversionEvent event) throws Exception {
+        long createStart = System.nanoTime();
+        String sourceFilePath = createTempSourceFile(sourceData);
+        String logFilePath = "";
+        String targetPath = "";
+        try {
+            logFilePath = getLogFilePath();
+            targetPath = File.createTempFile("sqlines-target", ".tmp").getAbsolutePath();
+            event.tempFileCreationTime += System.nanoTime() - createStart;
+            Arguments arguments = Arguments.builder()
+                    .withSourceMode(getCmdMode(sourceMode))
+                    .withTargetMode(getCmdMode(targetMode))
+                    .withSourceFilePath(sourceFilePath)
+                    .withTargetFilePath(targetPath)
+                    .withLogFilePath(logFilePath)
+                    .build();
+
+            coreProcess.runAndWait(arguments);
+            return getTargetData(targetPath, event).getData();
+        } finally {
+            long deleteStart = System.nanoTime();
+            clean(sourceFilePath, logFilePath);
+            if (!targetPath.isEmpty() && !new File(targetPath).delete()) {
+                logger.error("Cannot delete temporary target file: " + targetPath);
+            }
+            event.tempFileDeletionTime += System.nanoTime() - deleteStart;
+        }
+    }
+
     @Override
     public ConversionResult run(String sourceMode, String targetMode,
                                 byte[] sourceData, String targetFileName) throws Exception {
-        String sourceFilePath = createTempSourceFile(sourceData);
-        return run(sourceMode, targetMode, sourceFilePath, targetFileName);
+        ConversionEvent event = new ConversionEvent(sourceMode, targetMode, isStreaming());
+        event.begin();
+        event.bytesIn = sourceData.length;
+        try {
+            if (isStreaming()) {
+                InputStream input = new ByteArrayInputStream(sourceData);
+                return runStreaming(sourceMode, targetMode, input, targetFileName, event);
+            }
+
+            long createStart = System.nanoTime();
+            String sourceFilePath = createTempSourceFile(sourceData);
+            event.tempFileCreationTime += System.nanoTime() - createStart;
+            return runFromFile(sourceMode, targetMode, sourceFilePath, targetFileName, event);
+        } finally {
+            event.commit();
+        }
     }
 
     private String createTempSourceFile(byte[] data) throws Exception {
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a tiny canned script in the background, so the first conversion the user runs
+ * does not pay for loading the sqlines program and initializing its parser tables.
+ * <p>
+ * If the converter runs in a {@link com.sqlines.studio.model.coreprocess.CoreProcessPool},
+ * the pool starts warm workers for the warmed-up modes after the conversion.
+ * The converter must not be a {@link CachingConverter}, a cached result warms nothing up.
+ */
+public class ConverterWarmUp implements Runnable {
+    private static final Logger logger = LogManager.getLogger(ConverterWarmUp.class);
+    private static final byte[] SCRIPT = ("CREATE TABLE warm_up (id INT, name VARCHAR(30));\n" +
+            "INSERT INTO warm_up VALUES (1, 'warm');\n" +
+            "SELECT id, name FROM warm_up WHERE id = 1;\n").getBytes(StandardCharsets.UTF_8);
+
+    private final Converter converter;
+    private final String sourceMode;
+    private final String targetMode;
+
+    /**
+     * Constructs a new ConverterWarmUp.
+     *
+     * @param converter converter to warm up
+     * @param sourceMode source conversion mode of the canned script
+     * @param targetMode target conversion mode of the canned script
+     */
+    public ConverterWarmUp(Converter converter, String sourceMode, String targetMode) {
+        this.converter = converter;
+        this.sourceMode = sourceMode;
+        this.targetMode = targetMode;
+    }
+
+    /**
+     * Converts the canned script. Failures are logged, the first real conversion
+     * reports them to the user.
+     */
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        try {
+            converter.convert(sourceMode, targetMode, SCRIPT);
+            logger.info("Converter warmed up for " + sourceMode + " -> " + targetMode + " in " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        } catch (Exception e) {
+            logger.warn("Converter warm-up failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converts the text of a tab statement by statement, reusing the results of the previous conversion.
+ * <p>
+ * The source text is split into statements with {@link StatementSplitter}. The statements that are
+ * equal to the beginning and the end of the previous source text keep their previous converted text,
+ * the rest are converted in a single run of the wrapped converter. Each statement in the run is
+ * preceded by a marker comment, which is used to split the converted text back into statements.
+ * <p>
+ * If the markers do not survive the conversion, or a MySQL DELIMITER command has changed,
+ * the whole text is converted. The evaluation notice the program adds before the converted text
+ * is not taken for a lost marker, it is kept once before the first statement.
+ * <p>
+ * The changed statements are converted without the statements before them. Only the DELIMITER
+ * command in effect is sent again. Anything else the program learns from the earlier statements,
+ * such as a package specification converted before its body or the objects created earlier,
+ * is not available, so the changed statements may be converted differently than with the whole text.
+ */
+public class IncrementalConverter {
+    private static final Logger logger = LogManager.getLogger(IncrementalConverter.class);
+    private static final String MARKER = "-- sqlines-studio-statement ";
+    private static final Pattern MARKER_PATTERN =
+            Pattern.compile("(?m)^-- sqlines-studio-statement (\\d+)\\r?\\n");
+    private static final String EVALUATION_NOTICE = "-- SQLINES LICENSE FOR EVALUATION USE ONLY";
+
+    private final Converter converter;
+
+    /**
+     * Constructs a new IncrementalConverter.
+     *
+     * @param converter converter running the conversions
+     */
+    public IncrementalConverter(Converter converter) {
+        this.converter = converter;
+    }
+
+    /**
+     * Converts the specified source text and saves the converted text to the target file.
+     *
+     * @param sourceMode source conversion mode to set
+     * @param targetMode target conversion mode to set
+     * @param sourceText source text to convert
+     * @param targetFileName target file name to set, or null if the target file is not saved
+     * @param previous the previous conversion of the same tab, or null if there is none
+     *
+     * @return the conversion result with the data for the next conversion
+     *
+     * @throws Exception if the conversion fails, see {@link Converter#convert(String, String, byte[])}
+     */
+    public ConversionSnapshot run(String sourceMode, String targetMode, String sourceText,
+                                  String targetFileName, ConversionSnapshot previous) throws Exception {
+        return run(sourceMode, targetMode, sourceText, StatementSplitter.split(sourceText, sourceMode),
+                targetFileName, previous);
+    }
+
+    private ConversionSnapshot run(String sourceMode, String targetMode, String sourceText,
+                                   List<StatementSplitter.Statement> statements,
+                                   String targetFileName, ConversionSnapshot previous) throws Exception {
+        boolean sameModes = previous != null
+                && previous.getSourceMode().equals(sourceMode)
+                && previous.getTargetMode().equals(targetMode);
+
+        List<String> outputs = null;
+        if (sameModes && previous.isSplit()) {
+            outputs = convertChanges(sourceMode, targetMode, previous, statements);
+        }
+
+        // Do not try to split the conversion again if the markers were lost last time
+        if (outputs == null && !(sameModes && !previous.isSplit())) {
+            outputs = convertStatements(sourceMode, targetMode, statements, 0, statements.size());
+        }
+
+        String targetText;
+        if (outputs != null) {
+            targetText = String.join("", outputs);
+        } else {
+            logger.info("Converting the whole text");
+            byte[] sourceData = sourceText.getBytes(StandardCharsets.UTF_8);
+            targetText = converter.convert(sourceMode, targetMode, sourceData);
+        }
+
+        ConversionResult result = targetFileName == null
+                ? new ConversionResult(targetText, "")
+                : TargetFiles.saveAsync(targetText, targetFileName, targetMode);
+        return new ConversionSnapshot(sourceMode, targetMode, statements, outputs, result);
+    }
+
+    /**
+     * Runs {@link #run(String, String, String, String, ConversionSnapshot)} in the specified executor.
+     * Cancelling the returned future with mayInterruptIfRunning set stops the conversion.
+     *
+     * @return a future completed with the conversion result
+     */
+    public CompletableFuture<ConversionSnapshot> runAsync(String sourceMode, String targetMode,
+                                                          String sourceText, String targetFileName,
+                                                          ConversionSnapshot previous,
+                                                          ConversionExecutor executor) {
+        return executor.submit(() -> run(sourceMode, targetMode, sourceText, targetFileName, previous));
+    }
+
+    /**
+     * Converts the specified source text into every specified target mode at the same time
+     * and saves the converted texts to the target files of the modes.
+     * The source text is split into statements once for all target modes.
+     * Cancelling a returned future with mayInterruptIfRunning set stops its conversion only.
+     *
+     * @param sourceMode source conversion mode to set
+     * @param targetModes target conversion modes to convert into
+     * @param sourceText source text to convert
+     * @param targetFileName target file name to set
+     * @param executor executor the conversions run in
+     *
+     * @return futures completed with the conversion results, by target mode in the specified order
+     */
+    public Map<String, CompletableFuture<ConversionSnapshot>> runAsync(String sourceMode, List<String> targetModes,
+                                                                       String sourceText, String targetFileName,
+                                                                       ConversionExecutor executor) {
+        // Split by the first conversion that starts, the others wait for it
+        Supplier<List<StatementSplitter.Statement>> statements = new Supplier<>() {
+            private List<StatementSplitter.Statement> split;
+
+            @Override
+            public synchronized List<StatementSplitter.Statement> get() {
+                if (split == null) {
+                    split = StatementSplitter.split(sourceText, sourceMode);
+                }
+                return split;
+            }
+        };
+
+        Map<String, CompletableFuture<ConversionSnapshot>> futures = new LinkedHashMap<>();
+        for (String targetMode : targetModes) {
+            futures.put(targetMode, executor.submit(() ->
+                    run(sourceMode, targetMode, sourceText, statements.get(), targetFileName, null)));
+        }
+
+        return futures;
+    }
+
+    private List<String> convertChanges(String sourceMode, String targetMode, ConversionSnapshot previous,
+                                        List<StatementSplitter.Statement> statements) throws Exception {
+        List<StatementSplitter.Statement> oldStatements = previous.getStatements();
+        int newSize = statements.size();
+        int oldSize = oldStatements.size();
+
+        int prefix = 0;
+        while (prefix < newSize && prefix < oldSize
+                && sameText(statements.get(prefix), oldStatements.get(prefix))) {
+            prefix++;
+        }
+
+        int suffix = 0;
+        while (suffix < newSize - prefix && suffix < oldSize - prefix
+                && sameText(statements.get(newSize - 1 - suffix), oldStatements.get(oldSize - 1 - suffix))) {
+            suffix++;
+        }
+
+        if (hasDelimiterCommand(statements, prefix, newSize - suffix)
+                || hasDelimiterCommand(oldStatements, prefix, oldSize - suffix)) {
+            return null;
+        }
+
+        List<String> changed = List.of();
+        if (prefix < newSize - suffix) {
+            changed = convertStatements(sourceMode, targetMode, statements, prefix, newSize - suffix);
+            if (changed == null) {
+                return null;
+            }
+        }
+
+        logger.info("Converted " + changed.size() + " of " + newSize + " statements");
+        List<String> oldOutputs = previous.getOutputs();
+        List<String> outputs = new ArrayList<>(newSize);
+        outputs.addAll(oldOutputs.subList(0, prefix));
+        outputs.addAll(changed);
+        outputs.addAll(oldOutputs.subList(oldSize - suffix, oldSize));
+        return outputs;
+    }
+
+    private boolean sameText(StatementSplitter.Statement first, StatementSplitter.Statement second) {
+        return first.getText().equals(second.getText());
+    }
+
+    private boolean hasDelimiterCommand(List<StatementSplitter.Statement> statements, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (statements.get(i).isDelimiterCommand()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Converts the statements in the specified range in a single run.
+     *
+     * @return converted text of each statement, or null if the converted text
+     * cannot be split into statements
+     */
+    private List<String> convertStatements(String sourceMode, String targetMode,
+                                           List<StatementSplitter.Statement> statements,
+                                           int from, int to) throws Exception {
+        if (from == to) {
+            return List.of();
+        } else if (to - from == 1 && statements.get(from).getContext() < 0) {
+            byte[] sourceData = statements.get(from).getText().getBytes(StandardCharsets.UTF_8);
+            String output = converter.convert(sourceMode, targetMode, sourceData);
+            return List.of(from == 0 ? output : output.substring(leadingNotice(output).length()));
+        }
+
+        // Statements written after a DELIMITER command are preceded by that command
+        List<String> parts = new ArrayList<>();
+        List<Boolean> isKept = new ArrayList<>();
+        int context = -1;
+        for (int i = from; i < to; i++) {
+            StatementSplitter.Statement statement = statements.get(i);
+            if (statement.getContext() != context) {
+                int commandIndex = statement.getContext();
+                parts.add(commandIndex < 0 ? "DELIMITER ;\n" : statements.get(commandIndex).getText());
+                isKept.add(false);
+                context = commandIndex;
+            }
+
+            parts.add(statement.getText());
+            isKept.add(true);
+            if (statement.isDelimiterCommand() && i + 1 < to) {
+                context = statements.get(i + 1).getContext();
+            }
+        }
+
+        return convertParts(sourceMode, targetMode, parts, isKept, from == 0);
+    }
+
+    private List<String> convertParts(String sourceMode, String targetMode, List<String> parts,
+                                      List<Boolean> isKept, boolean isFirst) throws Exception {
+        StringBuilder batch = new StringBuilder();
+        boolean[] hasAddedNewLine = new boolean[parts.size()];
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0 && batch.charAt(batch.length() - 1) != '\n') {
+                batch.append('\n');
+                hasAddedNewLine[i - 1] = true;
+            }
+
+            batch.append(MARKER).append(i).append('\n').append(parts.get(i));
+        }
+
+        byte[] sourceData = batch.toString().getBytes(StandardCharsets.UTF_8);
+        String output = converter.convert(sourceMode, targetMode, sourceData);
+        String notice = leadingNotice(output);
+        List<String> segments = splitByMarkers(output.substring(notice.length()), parts.size());
+        if (segments == null) {
+            logger.warn("Statement markers were lost in conversion");
+            return null;
+        }
+
+        List<String> outputs = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            if (!isKept.get(i)) {
+                continue;
+            }
+
+            String segment = segments.get(i);
+            if (hasAddedNewLine[i] && segment.endsWith("\n")) {
+                segment = segment.substring(0, segment.length() - 1);
+            }
+            outputs.add(segment);
+        }
+
+        if (isFirst && !notice.isEmpty()) {
+            outputs.set(0, notice + outputs.get(0));
+        }
+
+        return outputs;
+    }
+
+    // The evaluation notice with the blank lines after it, if the output starts with it
+    private static String leadingNotice(String output) {
+        if (!output.startsWith(EVALUATION_NOTICE)) {
+            return "";
+        }
+
+        int end = EVALUATION_NOTICE.length();
+        while (end < output.length() && (output.charAt(end) == '\r' || output.charAt(end) == '\n')) {
+            end++;
+        }
+
+        return output.substring(0, end);
+    }
+
+    private List<String> splitByMarkers(String output, int count) {
+        Matcher matcher = MARKER_PATTERN.matcher(output);
+        List<String> segments = new ArrayList<>(count);
+        int segmentStart = -1;
+        int expected = 0;
+        while (matcher.find()) {
+            if (!matcher.group(1).equals(String.valueOf(expected))) {
+                return null;
+            }
+
+            if (segmentStart >= 0) {
+                segments.add(output.substring(segmentStart, matcher.start()));
+            } else if (!output.substring(0, matcher.start()).isBlank()) {
+                return null;
+            }
+
+            segmentStart = matcher.end();
+            expected++;
+        }
+
+        if (expected != count) {
+            return null;
+        }
+
+        segments.add(output.substring(segmentStart));
+        return segments;
+    }
+}
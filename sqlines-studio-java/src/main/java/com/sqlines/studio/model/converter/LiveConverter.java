@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Converts the text of a tab as it is typed.
+ * <p>
+ * A conversion starts when the text has not changed for the quiet period. The caller cancels
+ * the future of the previous conversion of the tab when the text changes again: a conversion
+ * that is still waiting is not started, a running one is stopped. Only the changed statements
+ * are converted, see {@link IncrementalConverter}, and the target file is not saved.
+ * <p>
+ * The quiet period is taken from the {@link java.util.Properties}. Key - model.live-delay.
+ */
+public class LiveConverter {
+    private final IncrementalConverter converter;
+    private final ConversionExecutor executor;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Live Conversion Thread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a new LiveConverter.
+     *
+     * @param converter converter running the conversions
+     * @param executor executor the conversions run in
+     */
+    public LiveConverter(IncrementalConverter converter, ConversionExecutor executor) {
+        this.converter = converter;
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules the conversion of the specified source text after the quiet period.
+     * Cancelling the returned future cancels the conversion whether it has started or not.
+     *
+     * @param sourceMode source conversion mode to set
+     * @param targetMode target conversion mode to set
+     * @param sourceText source text to convert
+     * @param previous the previous conversion of the same tab, or null if there is none
+     *
+     * @return a future completed with the conversion result
+     */
+    public CompletableFuture<ConversionSnapshot> schedule(String sourceMode, String targetMode,
+                                                          String sourceText, ConversionSnapshot previous) {
+        LiveFuture future = new LiveFuture();
+        Runnable start = () -> future.start(() -> converter.runAsync(sourceMode, targetMode, sourceText,
+                null, previous, executor));
+        future.setTimer(scheduler.schedule(start, getDelayMillis(), TimeUnit.MILLISECONDS));
+        return future;
+    }
+
+    private long getDelayMillis() {
+        return Long.parseLong(System.getProperty("model.live-delay", "500"));
+    }
+
+    /**
+     * Future waiting for the quiet period and then for the conversion.
+     */
+    private static class LiveFuture extends CompletableFuture<ConversionSnapshot> {
+        private ScheduledFuture<?> timer;
+        private CompletableFuture<ConversionSnapshot> conversion;
+
+        synchronized void setTimer(ScheduledFuture<?> timer) {
+            this.timer = timer;
+        }
+
+        void start(Supplier<CompletableFuture<ConversionSnapshot>> conversionStarter) {
+            CompletableFuture<ConversionSnapshot> started;
+            synchronized (this) {
+                if (isDone()) {
+                    return;
+                }
+                conversion = conversionStarter.get();
+                started = conversion;
+            }
+
+            started.whenComplete((snapshot, error) -> {
+                if (error == null) {
+                    complete(snapshot);
+                } else {
+                    completeExceptionally(error);
+                }
+            });
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean isCancelled = super.cancel(mayInterruptIfRunning);
+            synchronized (this) {
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                if (conversion != null) {
+                    conversion.cancel(true);
+                }
+            }
+
+            return isCancelled;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs the conversion in-process through the SQLines parser library.
+ * <p>
+ * Keeps one parser object per source/target mode pair and license status: the evaluation
+ * mode of a parser object cannot be turned off. The source data is passed to the parser
+ * in off-heap memory, no temporary files are created.
+ *
+ * @apiNote Use {@link SqlParserLibrary#isAvailable()} to check whether the parser library
+ * can be loaded before constructing this converter.
+ */
+public class NativeConverter implements Converter {
+    private static final Logger logger = LogManager.getLogger(NativeConverter.class);
+    private static final String EVAL_MODE_OPTION = "__eval_mode__";
+
+    private final CmdModes cmdModes;
+    private volatile boolean evaluationMode;
+    private final Map<String, Parser> parsers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new NativeConverter with the specified command line modes.
+     *
+     * @param cmdModes command line modes
+     * @param evaluationMode true if the product is not licensed
+     *
+     * @throws IllegalStateException if the parser library cannot be loaded
+     */
+    public NativeConverter(CmdModes cmdModes, boolean evaluationMode) {
+        if (!SqlParserLibrary.isAvailable()) {
+            throw new IllegalStateException("SQLines parser library is not available");
+        }
+
+        this.cmdModes = cmdModes;
+        this.evaluationMode = evaluationMode;
+    }
+
+    /**
+     * Sets the license status used by the following conversions.
+     *
+     * @param evaluationMode true if the product is not licensed
+     */
+    public void setEvaluationMode(boolean evaluationMode) {
+        this.evaluationMode = evaluationMode;
+    }
+
+    @Override
+    public ConversionResult run(String sourceMode, String targetMode,
+                                String sourceFilePath, String targetFileName) throws Exception {
+        try (FileInputStream stream = new FileInputStream(sourceFilePath)) {
+            return run(sourceMode, targetMode, stream.readAllBytes(), targetFileName);
+        }
+    }
+
+    @Override
+    public ConversionResult run(String sourceMode, String targetMode,
+                                byte[] sourceData, String targetFileName) throws Exception {
+        Parser parser = getParser(getCmdMode(sourceMode), getCmdMode(targetMode));
+        byte[] targetData = parser.convert(sourceData);
+
+        String targetPath = TargetFiles.getTargetFilePath(targetFileName, targetMode);
+        TargetFiles.write(targetPath, targetData);
+        return new ConversionResult(new String(targetData, StandardCharsets.UTF_8), targetPath);
+    }
+
+    @Override
+    public String convert(String sourceMode, String targetMode, byte[] sourceData) throws Exception {
+        Parser parser = getParser(getCmdMode(sourceMode), getCmdMode(targetMode));
+        return new String(parser.convert(sourceData), StandardCharsets.UTF_8);
+    }
+
+    private String getCmdMode(String rowMode) {
+        String cmdMode = cmdModes.get(rowMode);
+        if (cmdMode == null) {
+            String errorMsg = "No config file in application resources: " +
+                    "source-modes.txt or target-modes.txt";
+            throw new IllegalStateException(errorMsg);
+        }
+
+        return cmdMode;
+    }
+
+    private Parser getParser(String sourceMode, String targetMode) {
+        boolean isEvaluation = evaluationMode;
+        return parsers.computeIfAbsent(sourceMode + ":" + targetMode + ":" + isEvaluation,
+                key -> new Parser(sourceMode, targetMode, isEvaluation));
+    }
+
+    /**
+     * Native parser object bound to a single source/target mode pair and license status.
+     * The parser is not thread-safe, so conversions are serialized per parser.
+     */
+    private class Parser {
+        private final long handle;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+        Parser(String sourceMode, String targetMode, boolean isEvaluation) {
+            handle = SqlParserLibrary.createParserObject();
+            if (handle == 0) {
+                throw new IllegalStateException("Cannot create parser object");
+            }
+
+            short source = SqlParserLibrary.dialectOf(sourceMode);
+            short target = SqlParserLibrary.dialectOf(targetMode);
+            SqlParserLibrary.setParserTypes(handle, source, target);
+            if (isEvaluation) {
+                SqlParserLibrary.setParserOption(handle, EVAL_MODE_OPTION, "TRUE");
+            }
+
+            logger.info("Created parser object: " + sourceMode + " -> " + targetMode);
+        }
+
+        synchronized byte[] convert(byte[] data) throws IOException {
+            if (buffer.capacity() < data.length) {
+                buffer = ByteBuffer.allocateDirect(Math.max(data.length, buffer.capacity() * 2));
+            }
+
+            buffer.clear();
+            buffer.put(data);
+            byte[] output = SqlParserLibrary.convertSql(handle, buffer, data.length);
+            if (output == null) {
+                throw new IOException("SQLines parser failed to convert the data");
+            }
+
+            return output;
+        }
+    }
+}
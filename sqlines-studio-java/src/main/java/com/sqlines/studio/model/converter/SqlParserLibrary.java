@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * JNI binding of the SQLines parser library exports (sqlines/sqlparserexp.h).
+ * <p>
+ * The library path is taken from the {@link java.util.Properties}.
+ * Key - model.app-dir. The native part is built from src/main/native.
+ */
+public final class SqlParserLibrary {
+    private static final Logger logger = LogManager.getLogger(SqlParserLibrary.class);
+    private static final String LIBRARY_NAME = "sqlparser_jni";
+
+    // SQL dialect types, see sqlines/sqlparserexp.h and Sqlines::DefineType
+    private static final Map<String, Short> dialects = Map.ofEntries(
+            Map.entry("sql", (short) 1),
+            Map.entry("oracle", (short) 2),
+            Map.entry("db2", (short) 3),
+            Map.entry("mysql", (short) 4),
+            Map.entry("postgresql", (short) 5),
+            Map.entry("sybase", (short) 6),
+            Map.entry("informix", (short) 7),
+            Map.entry("greenplum", (short) 8),
+            Map.entry("asa", (short) 9),
+            Map.entry("teradata", (short) 10),
+            Map.entry("netezza", (short) 11),
+            Map.entry("mariadb", (short) 12),
+            Map.entry("hive", (short) 13),
+            Map.entry("redshift", (short) 14),
+            Map.entry("esgyndb", (short) 15),
+            Map.entry("trafodion", (short) 15),
+            Map.entry("ads", (short) 16),
+            Map.entry("mariadb_ora", (short) 17)
+    );
+
+    private static volatile Boolean loaded;
+
+    private SqlParserLibrary() {
+    }
+
+    /**
+     * Loads the native library if it has not been loaded yet.
+     *
+     * @return true if the native library is loaded and can be used, false otherwise
+     */
+    public static boolean isAvailable() {
+        if (loaded == null) {
+            synchronized (SqlParserLibrary.class) {
+                if (loaded == null) {
+                    loaded = load();
+                }
+            }
+        }
+
+        return loaded;
+    }
+
+    private static boolean load() {
+        String path = System.getProperty("model.app-dir") + "/" + System.mapLibraryName(LIBRARY_NAME);
+        if (!new File(path).exists()) {
+            logger.info("SQLines parser library was not found: " + path);
+            return false;
+        }
+
+        try {
+            System.load(path);
+            logger.info("SQLines parser library loaded: " + path);
+            return true;
+        } catch (UnsatisfiedLinkError | SecurityException e) {
+            logger.warn("Cannot load SQLines parser library: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the parser dialect type of the specified command-line mode.
+     * Unknown modes are mapped to 0, the same way the sqlines command-line program does it.
+     *
+     * @param cmdMode command-line conversion mode
+     *
+     * @return parser dialect type
+     */
+    static short dialectOf(String cmdMode) {
+        return dialects.getOrDefault(cmdMode.toLowerCase(), (short) 0);
+    }
+
+    static native long createParserObject();
+
+    static native void setParserTypes(long parser, short source, short target);
+
+    static native int setParserOption(long parser, String option, String value);
+
+    /**
+     * Converts the first size bytes of the specified direct buffer.
+     *
+     * @return converted data, empty if the parser produced no output
+     */
+    static native byte[] convertSql(long parser, ByteBuffer input, int size);
+}
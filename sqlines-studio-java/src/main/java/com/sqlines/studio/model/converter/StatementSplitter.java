@@ -0,0 +1,814 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Splits SQL scripts into statements.
+ * <p>
+ * The concatenation of the statements is always equal to the source text. Each statement
+ * includes its terminator and the rest of the terminator line if it is blank.
+ * <p>
+ * Recognizes string literals, Oracle q-quoted strings, quoted identifiers, comments, PostgreSQL
+ * dollar-quoted strings, GO and / lines, MySQL DELIMITER commands and procedural blocks (procedures,
+ * functions, triggers, packages and anonymous blocks), which are not split at the inner semicolons.
+ * A CREATE or ALTER statement of a procedure, function, trigger, event or package is a block only
+ * once its body starts with BEGIN, DECLARE or AS/IS followed by the body, otherwise it ends at
+ * the first semicolon like the other statements. A block ends with GO, / or the current delimiter,
+ * or with a semicolon after the END closing the outermost BEGIN. Packages end with GO, / or
+ * the current delimiter only.
+ * <p>
+ * BEGIN ... END and CASE ... END are nested in every statement, so T-SQL IF and WHILE
+ * statements are not split at the semicolons of their BEGIN ... END blocks.
+ * <p>
+ * In the MySQL, MariaDB and SingleStore source modes, backslashes escape the next character
+ * in strings and # starts a comment. In the other modes # is part of the identifiers.
+ * <p>
+ * The same scan blanks out the comments and string literals of a script for the tools
+ * that look at its code only, see {@link #blankCommentsAndStrings(String, String)}.
+ * <p>
+ * A splitter can also split a script read piece by piece, see {@link #append(CharSequence)}.
+ * Every piece is scanned once, the statements already split are not scanned again.
+ */
+public final class StatementSplitter {
+    private static final int HEADER_WORDS = 8;
+
+    // Longer lines are neither DELIMITER commands nor separator lines
+    private static final int MAX_COMMAND_LENGTH = 64;
+
+    private final StringBuilder text = new StringBuilder();
+    private final boolean isMySql;
+    private final List<Statement> statements;
+    private StringBuilder code;
+    private boolean isFinal = true;
+
+    private int pos;
+    private int start;
+    private String delimiter = ";";
+    private int context = -1;
+    private int count;
+    private boolean isLineStartAtZero = true;
+
+    // Length of the text that ends with a statement followed by the default delimiter
+    private int cutLength;
+
+    // The statement is finished, the next line may be its separator line
+    private boolean awaitsSeparator;
+
+    // Where to continue searching for the end of the construct at resumePos
+    private int resumePos = -1;
+    private int resumeFrom;
+
+    // State of the current statement
+    private int words;
+    private String firstWord = "";
+    private String prevWord = "";
+    private boolean inHeader = true;
+    private boolean hasContent;
+    private boolean isBlock;
+    private boolean isRoutine;
+    private boolean isPackage;
+    private boolean pendingBody;
+    private boolean hasDollarBody;
+    private int parens;
+    private int depth;
+    private boolean pendingBegin;
+    private boolean pendingEnd;
+    private boolean closedByEnd;
+    private int wordsAfterEnd;
+
+    private StatementSplitter(String sourceMode, boolean collectsStatements) {
+        this.isMySql = usesMySqlSyntax(sourceMode);
+        this.statements = collectsStatements ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Constructs a new StatementSplitter of a script read piece by piece.
+     *
+     * @param sourceMode source conversion mode of the script
+     */
+    public StatementSplitter(String sourceMode) {
+        this(sourceMode, false);
+    }
+
+    private static boolean usesMySqlSyntax(String sourceMode) {
+        return sourceMode.equals("MySQL") || sourceMode.equals("MariaDB") || sourceMode.equals("SingleStore");
+    }
+
+    /**
+     * Splits the specified text into statements with the syntax common to all source modes.
+     *
+     * @param text SQL script
+     *
+     * @return the statements in the order they appear in the text
+     */
+    public static List<Statement> split(String text) {
+        return split(text, "");
+    }
+
+    /**
+     * Splits the specified text into statements.
+     *
+     * @param text SQL script
+     * @param sourceMode source conversion mode of the script
+     *
+     * @return the statements in the order they appear in the text
+     */
+    public static List<Statement> split(String text, String sourceMode) {
+        StatementSplitter splitter = new StatementSplitter(sourceMode, true);
+        splitter.text.append(text);
+        splitter.run();
+        return splitter.statements;
+    }
+
+    /**
+     * Replaces the comments and string literals of the specified text with spaces, keeping
+     * their line terminators, so that only the code tokens remain at their positions.
+     * Quoted identifiers and dollar-quoted bodies are code and are kept.
+     *
+     * @param text SQL script
+     * @param sourceMode source conversion mode of the script
+     *
+     * @return the text of the same length and lines with the comments and strings blanked out
+     */
+    public static String blankCommentsAndStrings(String text, String sourceMode) {
+        StatementSplitter splitter = new StatementSplitter(sourceMode, false);
+        splitter.text.append(text);
+        splitter.code = new StringBuilder(text);
+        splitter.run();
+        return splitter.code.toString();
+    }
+
+    /**
+     * Appends the next piece of the script. Every piece except the last one has to end
+     * at the end of a line.
+     *
+     * @param chars the next piece of the script
+     */
+    public void append(CharSequence chars) {
+        text.append(chars);
+    }
+
+    /**
+     * Splits the appended text as far as it is complete.
+     *
+     * @param isEnd true if the whole script has been appended
+     *
+     * @return the length of the text that can be cut: the complete statements before the last
+     * statement starting where the default delimiter is in effect. The whole text at the end
+     * of the script.
+     */
+    public int scan(boolean isEnd) {
+        isFinal = isEnd;
+        run();
+        return isEnd ? text.length() : cutLength;
+    }
+
+    /**
+     * @return the length of the appended text that has not been cut yet
+     */
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * Removes the specified length from the start of the appended text.
+     *
+     * @param length the length to cut, at most the length returned by {@link #scan(boolean)}
+     *
+     * @return the text cut
+     */
+    public String cut(int length) {
+        String chunk = text.substring(0, length);
+        if (length > 0) {
+            isLineStartAtZero = text.charAt(length - 1) == '\n';
+        }
+
+        text.delete(0, length);
+        pos -= length;
+        start -= length;
+        cutLength -= length;
+        resumePos -= length;
+        return chunk;
+    }
+
+    private void run() {
+        while (true) {
+            if (awaitsSeparator && !attachSeparator()) {
+                return;
+            }
+
+            if (pos >= text.length()) {
+                break;
+            }
+
+            if (isLineStart(pos) && (handleDelimiterCommand() || handleSeparatorLine())) {
+                continue;
+            }
+
+            if (!scanToken()) {
+                return;
+            }
+        }
+
+        if (isFinal && start < text.length()) {
+            addStatement(text.length(), false);
+            start = text.length();
+        }
+    }
+
+    /**
+     * Scans the token at the current position.
+     *
+     * @return false if the text ends before the token does
+     */
+    private boolean scanToken() {
+        int length = text.length();
+        char c = text.charAt(pos);
+        if (!delimiter.equals(";") && startsWith(pos, delimiter)) {
+            pos += delimiter.length();
+            finishStatement(true);
+        } else if (c == ';' && delimiter.equals(";")) {
+            pos++;
+            if (isStatementEnd()) {
+                finishStatement(true);
+            }
+        } else if ((c == '-' && next(1) == '-') || (c == '#' && isMySql)) {
+            int from = pos;
+            pos = lineEnd(pos);
+            blank(from, pos);
+        } else if (c == '/' && next(1) == '*') {
+            int from = pos;
+            boolean isSkipped = skipTo("*/", pos + 2);
+            blank(from, pos);
+            return isSkipped;
+        } else if (c == '(') {
+            hasContent = true;
+            inHeader = false;
+            parens++;
+            pos++;
+        } else if (c == '\'' || c == '"' || c == '`') {
+            hasContent = true;
+            // PostgreSQL functions defined by AS 'definition' have no body to nest
+            pendingBody &= c != '\'';
+            int from = pos;
+            boolean isSkipped = skipQuoted(c, c);
+            if (c == '\'' || (c == '"' && isMySql)) {
+                blank(from, pos);
+            }
+            return isSkipped;
+        } else if (c == '[') {
+            hasContent = true;
+            return skipQuoted('[', ']');
+        } else if ((c == 'q' || c == 'Q' || c == 'n' || c == 'N') && qQuoteStart() > 0) {
+            hasContent = true;
+            pendingBody = false;
+            int from = pos;
+            int delimiterPos = qQuoteStart();
+            boolean isSkipped = skipTo(closingQuote(text.charAt(delimiterPos)) + "'", delimiterPos + 1);
+            blank(from, pos);
+            return isSkipped;
+        } else if (c == '$' && dollarTagEnd() > 0) {
+            hasContent = true;
+            hasDollarBody = true;
+            pendingBody = false;
+            String tag = text.substring(pos, dollarTagEnd());
+            return skipTo(tag, pos + tag.length());
+        } else if (isWordChar(c)) {
+            int end = pos;
+            while (end < length && isWordChar(text.charAt(end))) {
+                end++;
+            }
+
+            if (end == length && !isFinal) {
+                return false;
+            }
+
+            handleWord(pos, end);
+            pos = end;
+        } else {
+            if (!Character.isWhitespace(c)) {
+                hasContent = true;
+            }
+            if (c == ')') {
+                parens--;
+            }
+            pos++;
+        }
+
+        return true;
+    }
+
+    // Blanks out the skipped comment or string literal if the code is collected
+    private void blank(int from, int to) {
+        if (code == null) {
+            return;
+        }
+
+        for (int i = from; i < to; i++) {
+            char c = code.charAt(i);
+            if (c != '\n' && c != '\r') {
+                code.setCharAt(i, ' ');
+            }
+        }
+    }
+
+    private boolean isStatementEnd() {
+        if (words == 1) {
+            return true;
+        }
+
+        if (pendingEnd) {
+            applyEnd();
+        }
+
+        if (!isBlock) {
+            return depth <= 0;
+        }
+
+        if (isPackage) {
+            return false;
+        }
+
+        return closedByEnd || (hasDollarBody && depth <= 0);
+    }
+
+    private void handleWord(int from, int to) {
+        hasContent = true;
+        words++;
+        if (pendingBegin) {
+            pendingBegin = false;
+            if (isTransactionStart(from, to)) {
+                // BEGIN TRANSACTION and the like start a transaction, not a block
+                depth--;
+                isBlock &= words > 2;
+            }
+        }
+
+        if (words <= HEADER_WORDS && inHeader) {
+            detectBlock(from, to);
+            prevWord = text.substring(from, to).toUpperCase();
+        } else if (isRoutine && !isBlock) {
+            detectBody(from, to);
+            prevWord = text.substring(from, to).toUpperCase();
+        }
+
+        if (pendingEnd) {
+            pendingEnd = false;
+            if (wordIs(from, to, "IF") || wordIs(from, to, "LOOP") || wordIs(from, to, "WHILE")
+                    || wordIs(from, to, "REPEAT") || wordIs(from, to, "FOR")) {
+                return;
+            }
+
+            applyEnd();
+            if (wordIs(from, to, "CASE")) {
+                return;
+            }
+        }
+
+        wordsAfterEnd++;
+        if (wordsAfterEnd > 1) {
+            closedByEnd = false;
+        }
+
+        if (wordIs(from, to, "BEGIN")) {
+            depth++;
+            pendingBegin = true;
+        } else if (wordIs(from, to, "CASE")) {
+            depth++;
+        } else if (wordIs(from, to, "END")) {
+            pendingEnd = true;
+        }
+    }
+
+    private boolean isTransactionStart(int from, int to) {
+        return wordIs(from, to, "TRAN") || wordIs(from, to, "TRANSACTION") || wordIs(from, to, "WORK")
+                || wordIs(from, to, "DISTRIBUTED") || wordIs(from, to, "ISOLATION") || wordIs(from, to, "READ")
+                || wordIs(from, to, "DIALOG") || wordIs(from, to, "CONVERSATION") || wordIs(from, to, "DEFERRED")
+                || wordIs(from, to, "IMMEDIATE") || wordIs(from, to, "EXCLUSIVE");
+    }
+
+    private void applyEnd() {
+        pendingEnd = false;
+        depth--;
+        closedByEnd = depth <= 0;
+        wordsAfterEnd = 0;
+    }
+
+    private void detectBlock(int from, int to) {
+        if (words == 1) {
+            firstWord = text.substring(from, to).toUpperCase();
+            isBlock = firstWord.equals("BEGIN") || firstWord.equals("DECLARE");
+            inHeader = firstWord.equals("DECLARE") || firstWord.equals("CREATE") || firstWord.equals("ALTER");
+        } else if (isBlock) {
+            // T-SQL variable declarations are not blocks
+            isBlock = text.charAt(from) != '@';
+            inHeader = false;
+        } else {
+            isPackage = wordIs(from, to, "PACKAGE");
+            isRoutine = isPackage || wordIs(from, to, "PROCEDURE") || wordIs(from, to, "FUNCTION")
+                    || wordIs(from, to, "TRIGGER") || wordIs(from, to, "PROC")
+                    || wordIs(from, to, "EVENT")
+                    || (wordIs(from, to, "BODY") && prevWord.equals("TYPE"));
+            inHeader = !isRoutine && isBlockModifier(from, to);
+        }
+    }
+
+    /**
+     * Detects the start of the body in the header of a routine. Statements without a body,
+     * such as ALTER FUNCTION ... OWNER TO or CREATE TRIGGER ... EXECUTE FUNCTION, are not blocks.
+     */
+    private void detectBody(int from, int to) {
+        if (pendingBody) {
+            // Oracle call specifications have no body
+            pendingBody = false;
+            isBlock = !wordIs(from, to, "LANGUAGE") && !wordIs(from, to, "EXTERNAL");
+        } else if (parens == 0 && (wordIs(from, to, "AS") || wordIs(from, to, "IS"))) {
+            // Trigger REFERENCING clauses name the transition rows and tables with AS
+            pendingBody = !prevWord.equals("NEW") && !prevWord.equals("OLD") && !prevWord.equals("PARENT")
+                    && !prevWord.equals("TABLE") && !prevWord.equals("ROW");
+        } else {
+            isBlock = wordIs(from, to, "BEGIN") || wordIs(from, to, "DECLARE")
+                    || (wordIs(from, to, "TRIGGER") && prevWord.equals("COMPOUND"));
+        }
+    }
+
+    // Words that can precede the object type in CREATE and ALTER statements of blocks
+    private boolean isBlockModifier(int from, int to) {
+        return wordIs(from, to, "OR") || wordIs(from, to, "REPLACE") || wordIs(from, to, "ALTER")
+                || wordIs(from, to, "EDITIONABLE") || wordIs(from, to, "NONEDITIONABLE")
+                || wordIs(from, to, "DEFINER") || wordIs(from, to, "CONSTRAINT")
+                || wordIs(from, to, "AGGREGATE") || wordIs(from, to, "TYPE")
+                || text.charAt(from) == '@';
+    }
+
+    private boolean handleDelimiterCommand() {
+        if (hasContent) {
+            return false;
+        }
+
+        int end = lineEnd(pos);
+        String line = commandLine(pos, end);
+        if (line == null || !line.regionMatches(true, 0, "DELIMITER ", 0, 10)) {
+            return false;
+        }
+
+        String newDelimiter = line.substring(10).strip();
+        if (newDelimiter.isEmpty()) {
+            return false;
+        }
+
+        pos = skipNewLine(end);
+        addStatement(pos, true);
+        delimiter = newDelimiter;
+        context = newDelimiter.equals(";") ? -1 : count - 1;
+        startStatement();
+        return true;
+    }
+
+    private boolean handleSeparatorLine() {
+        int end = lineEnd(pos);
+        String line = commandLine(pos, end);
+        if (line == null || !isSeparator(line)) {
+            return false;
+        }
+
+        pos = end;
+        finishStatement(false);
+        return true;
+    }
+
+    private static boolean isSeparator(String line) {
+        return line.equals("/") || line.equalsIgnoreCase("GO");
+    }
+
+    // The line without its leading and trailing whitespace, null if it is too long to be a command
+    private String commandLine(int from, int to) {
+        while (from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+
+        return (to - from <= MAX_COMMAND_LENGTH) ? text.substring(from, to) : null;
+    }
+
+    private void finishStatement(boolean attachSeparator) {
+        int length = text.length();
+        while (pos < length && (text.charAt(pos) == ' ' || text.charAt(pos) == '\t')) {
+            pos++;
+        }
+        pos = skipNewLine(pos);
+
+        if (attachSeparator) {
+            awaitsSeparator = true;
+        } else {
+            addStatement(pos, false);
+            startStatement();
+        }
+    }
+
+    /**
+     * Adds the separator line following the terminator line to the finished statement.
+     *
+     * @return false if the text ends before the next line does
+     */
+    private boolean attachSeparator() {
+        int length = text.length();
+        if (pos < length) {
+            int end = lineEnd(pos);
+            if (end == length && !isFinal) {
+                return false;
+            }
+
+            String line = commandLine(pos, end);
+            if (line != null && isSeparator(line)) {
+                pos = skipNewLine(end);
+            }
+        } else if (!isFinal) {
+            return false;
+        }
+
+        awaitsSeparator = false;
+        addStatement(pos, false);
+        startStatement();
+        return true;
+    }
+
+    private void addStatement(int end, boolean isDelimiterCommand) {
+        if (statements != null) {
+            statements.add(new Statement(text.substring(start, end), context, isDelimiterCommand));
+        }
+        count++;
+    }
+
+    private void startStatement() {
+        start = pos;
+        if (context < 0) {
+            cutLength = start;
+        }
+
+        resetState();
+    }
+
+    private void resetState() {
+        words = 0;
+        firstWord = "";
+        prevWord = "";
+        inHeader = true;
+        hasContent = false;
+        isBlock = false;
+        isRoutine = false;
+        isPackage = false;
+        pendingBody = false;
+        hasDollarBody = false;
+        parens = 0;
+        depth = 0;
+        pendingBegin = false;
+        pendingEnd = false;
+        closedByEnd = false;
+        wordsAfterEnd = 0;
+    }
+
+    private boolean wordIs(int from, int to, String word) {
+        if (to - from != word.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.toUpperCase(text.charAt(from + i)) != word.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean startsWith(int from, String prefix) {
+        if (from + prefix.length() > text.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(from + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Moves the position past the specified end of the construct at the current position,
+     * or to the end of the text if the construct is not terminated.
+     *
+     * @return false if the text ends before the construct does and more text can be appended
+     */
+    private boolean skipTo(String end, int from) {
+        int found = text.indexOf(end, searchFrom(from));
+        if (found >= 0) {
+            pos = found + end.length();
+            return true;
+        }
+
+        return endOfText(Math.max(from, text.length() - end.length() + 1));
+    }
+
+    private boolean skipQuoted(char open, char close) {
+        boolean hasEscapes = isMySql && (open == '\'' || open == '"');
+        int length = text.length();
+        int i = searchFrom(pos + 1);
+        while (i < length) {
+            char c = text.charAt(i);
+            boolean isLast = i + 1 == length;
+            if (hasEscapes && c == '\\') {
+                if (isLast && !isFinal) {
+                    break;
+                }
+
+                i += 2;
+            } else if (c == close) {
+                if (isLast && open == close && !isFinal) {
+                    break;
+                }
+
+                if (!isLast && open == close && text.charAt(i + 1) == close) {
+                    i += 2;
+                    continue;
+                }
+
+                pos = i + 1;
+                return true;
+            } else {
+                i++;
+            }
+        }
+
+        return endOfText(Math.min(i, length));
+    }
+
+    private int searchFrom(int from) {
+        return (resumePos == pos) ? Math.max(from, resumeFrom) : from;
+    }
+
+    // The construct at the current position is not terminated in the text scanned so far
+    private boolean endOfText(int resumeFrom) {
+        if (isFinal) {
+            pos = text.length();
+            return true;
+        }
+
+        resumePos = pos;
+        this.resumeFrom = resumeFrom;
+        return false;
+    }
+
+    /**
+     * @return the position of the quote delimiter if an Oracle q-quoted string starts
+     * at the current position, -1 otherwise
+     */
+    private int qQuoteStart() {
+        int i = pos;
+        char c = text.charAt(i);
+        if (c == 'n' || c == 'N') {
+            i++;
+        }
+
+        boolean isQuote = i + 2 < text.length() && (text.charAt(i) == 'q' || text.charAt(i) == 'Q')
+                && text.charAt(i + 1) == '\'' && !Character.isWhitespace(text.charAt(i + 2))
+                && (pos == 0 || !isWordChar(text.charAt(pos - 1)));
+        return isQuote ? i + 2 : -1;
+    }
+
+    private static char closingQuote(char delimiter) {
+        switch (delimiter) {
+            case '[': return ']';
+            case '{': return '}';
+            case '(': return ')';
+            case '<': return '>';
+            default: return delimiter;
+        }
+    }
+
+    private int dollarTagEnd() {
+        int i = pos + 1;
+        while (i < text.length() && (Character.isLetter(text.charAt(i)) || text.charAt(i) == '_')) {
+            i++;
+        }
+
+        boolean isTag = i < text.length() && text.charAt(i) == '$'
+                && (pos == 0 || !isWordChar(text.charAt(pos - 1)));
+        return isTag ? i + 1 : -1;
+    }
+
+    private char next(int offset) {
+        int i = pos + offset;
+        return i < text.length() ? text.charAt(i) : '\0';
+    }
+
+    private boolean isLineStart(int i) {
+        return (i == 0) ? isLineStartAtZero : text.charAt(i - 1) == '\n';
+    }
+
+    private int lineEnd(int i) {
+        int end = text.indexOf("\n", i);
+        return end < 0 ? text.length() : end;
+    }
+
+    private int skipNewLine(int i) {
+        if (startsWith(i, "\r\n")) {
+            return i + 2;
+        } else if (startsWith(i, "\n")) {
+            return i + 1;
+        }
+
+        return i;
+    }
+
+    private boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '@' || (c == '#' && !isMySql);
+    }
+
+    /**
+     * SQL statement with its terminator.
+     */
+    public static final class Statement {
+        private final String text;
+        private final int context;
+        private final boolean isDelimiterCommand;
+
+        Statement(String text, int context, boolean isDelimiterCommand) {
+            this.text = text;
+            this.context = context;
+            this.isDelimiterCommand = isDelimiterCommand;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return the index of the DELIMITER command in effect for this statement,
+         * -1 if the default delimiter is in effect
+         */
+        public int getContext() {
+            return context;
+        }
+
+        /**
+         * @return true if this statement is a MySQL DELIMITER command
+         */
+        public boolean isDelimiterCommand() {
+            return isDelimiterCommand;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+
+            Statement statement = (Statement) other;
+            return context == statement.context
+                    && isDelimiterCommand == statement.isDelimiterCommand
+                    && Objects.equals(text, statement.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, context, isDelimiterCommand);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getName() + "{" +
+                    "text='" + text + '\'' +
+                    ", context=" + context +
+                    ", isDelimiterCommand=" + isDelimiterCommand +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import com.sqlines.studio.model.AtomicFiles;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Builds and creates target files in the current working directory.
+ * <p>
+ * The current working directory and the saving policy are taken from the
+ * {@link java.util.Properties}. Keys - model.curr-dir, model.save-target.
+ */
+class TargetFiles {
+    private static final Logger logger = LogManager.getLogger(TargetFiles.class);
+
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Target Writing Thread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TargetFiles() {
+    }
+
+    /**
+     * Returns the path of the target file for the specified file name and target mode.
+     * Creates the file if it does not exist.
+     *
+     * @param fileName target file name
+     * @param targetMode target conversion mode
+     *
+     * @return absolute path of the target file
+     *
+     * @throws IOException if the file cannot be created
+     */
+    static String getTargetFilePath(String fileName, String targetMode) throws IOException {
+        String path = buildTargetFilePath(fileName, targetMode);
+        if (new File(path).exists()) {
+            return path;
+        } else {
+            return createTargetFile(path);
+        }
+    }
+
+    static String buildTargetFilePath(String fileName, String targetMode) {
+        return new StringBuilder(System.getProperty("model.curr-dir"))
+                .append("/")
+                .append(fileName.replaceAll("\\s+",""))
+                .append("_")
+                .append(targetMode)
+                .append(".sql")
+                .toString();
+    }
+
+    private static String createTargetFile(String path) throws IOException {
+        try {
+            File targetFile = new File(path);
+            boolean success = targetFile.createNewFile();
+            if (success) {
+                logger.info("Created target file: " + targetFile.getAbsolutePath());
+            } else {
+                throw new IOException("Cannot create target file: " + targetFile.getAbsolutePath());
+            }
+
+            return targetFile.getAbsolutePath();
+        } catch (Exception e) {
+            throw new IOException("Cannot create target file: " + path, e);
+        }
+    }
+
+    /**
+     * Replaces the content of the specified target file with the specified data.
+     *
+     * @param path target file path
+     * @param data data to write
+     *
+     * @throws IOException if any IO error occurred
+     */
+    static void write(String path, byte[] data) throws IOException {
+        try (FileOutputStream stream = new FileOutputStream(path)) {
+            stream.write(data);
+        }
+    }
+
+    /**
+     * @return true if the converted data is saved to the target files
+     */
+    static boolean isSavingEnabled() {
+        return System.getProperty("model.save-target", "enabled").equals("enabled");
+    }
+
+    /**
+     * Saves the specified converted data to the target file in the background if saving is enabled.
+     * <p>
+     * The data is written next to the target file and then moved into place, so a reader
+     * of the target file never sees it half-written. The files are saved one at a time,
+     * in the order of the calls.
+     *
+     * @param data converted data
+     * @param fileName target file name
+     * @param targetMode target conversion mode
+     *
+     * @return conversion result with the target file path, or with an empty path
+     * if saving is disabled
+     */
+    static ConversionResult saveAsync(String data, String fileName, String targetMode) {
+        if (!isSavingEnabled()) {
+            return new ConversionResult(data, "");
+        }
+
+        String path = buildTargetFilePath(fileName, targetMode);
+        writer.execute(() -> replace(Path.of(path), data));
+        return new ConversionResult(data, path);
+    }
+
+    private static void replace(Path path, String data) {
+        Path temp = null;
+        try {
+            temp = AtomicFiles.createTempFile(path);
+            Files.write(temp, data.getBytes(StandardCharsets.UTF_8));
+            AtomicFiles.move(temp, path);
+            logger.info("Target file saved: " + path);
+        } catch (Exception e) {
+            logger.error("Cannot save target file: " + e.getMessage());
+        } finally {
+            deleteTempFile(temp);
+        }
+    }
+
+    private static void deleteTempFile(Path temp) {
+        try {
+            if (temp != null) {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            logger.error("Cannot delete temporary file: " + e.getMessage());
+        }
+    }
+}
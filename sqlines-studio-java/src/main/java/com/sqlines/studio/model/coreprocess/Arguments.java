@@ -29,6 +29,7 @@ public class Arguments {
     private String targetFilePath = "";
     private String logFilePath = "";
     private String isLicenseCheck = "";
+    private String stdin = "";
 
     /**
      * @return Arguments object builder
@@ -42,11 +43,52 @@ public class Arguments {
 
     public String[] toArray() {
         return Stream.of(sourceMode, targetMode, sourceFilePath,
-                         targetFilePath, logFilePath, isLicenseCheck)
+                         targetFilePath, logFilePath, isLicenseCheck, stdin)
                 .filter(arg -> !arg.isEmpty())
                 .toArray(String[]::new);
     }
 
+    /**
+     * @return true if the input is read from the standard input and
+     * the output is written to the standard output
+     */
+    public boolean isStdin() {
+        return !stdin.isEmpty();
+    }
+
+    /**
+     * @return source and target modes of these arguments
+     */
+    String getModes() {
+        return sourceMode + " " + targetMode;
+    }
+
+    /**
+     * @return the source file path of these arguments, or an empty string if there is none
+     */
+    String getSourceFilePath() {
+        return sourceFilePath.isEmpty() ? "" : sourceFilePath.substring("-in = ".length());
+    }
+
+    /**
+     * Returns a copy of these arguments with the specified log file path.
+     *
+     * @param logPath log file path to set
+     *
+     * @return a copy of these arguments
+     */
+    Arguments withLogFilePath(String logPath) {
+        Arguments copy = new Arguments();
+        copy.sourceMode = sourceMode;
+        copy.targetMode = targetMode;
+        copy.sourceFilePath = sourceFilePath;
+        copy.targetFilePath = targetFilePath;
+        copy.logFilePath = "-log = " + logPath;
+        copy.isLicenseCheck = isLicenseCheck;
+        copy.stdin = stdin;
+        return copy;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) {
@@ -62,12 +104,13 @@ public class Arguments {
                 && Objects.equals(targetMode, arguments.targetMode)
                 && Objects.equals(sourceFilePath, arguments.sourceFilePath)
                 && Objects.equals(targetFilePath, arguments.targetFilePath)
-                && Objects.equals(logFilePath, arguments.logFilePath);
+                && Objects.equals(logFilePath, arguments.logFilePath)
+                && Objects.equals(stdin, arguments.stdin);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(sourceMode, targetMode, sourceFilePath, targetFilePath, logFilePath);
+        return Objects.hash(sourceMode, targetMode, sourceFilePath, targetFilePath, logFilePath, stdin);
     }
 
     @Override
@@ -78,6 +121,7 @@ public class Arguments {
                 ", sourceFilePath='" + sourceFilePath + '\'' +
                 ", targetFilePath='" + targetFilePath + '\'' +
                 ", logFilePath='" + logFilePath + '\'' +
+                ", stdin='" + stdin + '\'' +
                 '}';
     }
 
@@ -118,6 +162,11 @@ public class Arguments {
             return this;
         }
 
+        public Builder withStdin(boolean stdin) {
+            Arguments.this.stdin = stdin ? "-stdin" : "";
+            return this;
+        }
+
         public Builder isLicenseCheck(boolean isLicenseCheck) {
             if (isLicenseCheck) {
                 Arguments.this.isLicenseCheck = "-?";
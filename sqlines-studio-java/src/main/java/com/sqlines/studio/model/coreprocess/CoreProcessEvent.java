@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.coreprocess;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event of a single run of the SQLines command-line program.
+ * The duration of the event is the whole run, the fields break it down into phases.
+ */
+@Name("com.sqlines.studio.CoreProcess")
+@Label("SQLines Core Process")
+@Category({"SQLines Studio", "Conversion"})
+@Description("Run of the SQLines command-line program")
+@StackTrace(false)
+public final class CoreProcessEvent extends Event {
+
+    @Label("Arguments")
+    String arguments;
+
+    @Label("Warm Worker")
+    @Description("The process was started in advance by the pool")
+    boolean isWarm;
+
+    @Label("Spawn Time")
+    @Description("Time to start the process or to take it from the pool")
+    @Timespan
+    long spawnTime;
+
+    @Label("Process Time")
+    @Description("Time from writing the input until the process has terminated")
+    @Timespan
+    long processTime;
+
+    @Label("Stdout Read Time")
+    @Description("Time from the start of reading the standard output until its end")
+    @Timespan
+    long stdoutReadTime;
+
+    @Label("Bytes In")
+    @DataAmount
+    long bytesIn;
+
+    @Label("Bytes Out")
+    @DataAmount
+    long bytesOut;
+
+    @Label("Exit Code")
+    int exitCode;
+
+    @Label("Timed Out")
+    @Description("The process ran out of its time budget and was killed")
+    boolean isTimedOut;
+}
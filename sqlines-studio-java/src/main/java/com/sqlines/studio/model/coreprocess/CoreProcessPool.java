@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.coreprocess;
+
+import com.sqlines.studio.model.coreprocess.listener.CoreProcessOutputListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * SQLines command-line program with a pool of warm worker processes.
+ * <p>
+ * Workers are started in advance in -stdin mode for the source/target modes that were
+ * used recently, so a conversion only has to write its input to a process that is already
+ * running. A worker serves a single conversion: the program reads its standard input
+ * to the end and terminates, so every used worker is replaced by a new one in the background.
+ * <p>
+ * Idle workers are checked periodically. Crashed workers are replaced, workers that have been
+ * idle for too long are retired. Arguments without -stdin are run by {@link CoreProcessRunnerImp}.
+ *
+ * @apiNote Use {@link #shutdown()} to destroy the idle workers.
+ */
+public class CoreProcessPool implements CoreProcessRunner {
+    private static final Logger logger = LogManager.getLogger(CoreProcessPool.class);
+
+    private final CoreProcessRunnerImp coreProcess = new CoreProcessRunnerImp();
+    private final int maxWorkers;
+    private final int workersPerModes;
+    private final long maxIdleMillis;
+    private final ScheduledExecutorService maintainer;
+
+    // Idle workers by source/target modes, in the least recently used order
+    private final LinkedHashMap<String, Deque<Worker>> idleWorkers = new LinkedHashMap<>(16, 0.75f, true);
+    private int idleCount;
+    private boolean isShutdown;
+
+    /**
+     * Constructs a new CoreProcessPool.
+     *
+     * @param maxWorkers the maximum number of idle workers of all modes
+     * @param workersPerModes the number of idle workers kept for each source/target modes
+     * @param maxIdleMillis the time after which an idle worker is retired
+     */
+    public CoreProcessPool(int maxWorkers, int workersPerModes, long maxIdleMillis) {
+        this.maxWorkers = maxWorkers;
+        this.workersPerModes = workersPerModes;
+        this.maxIdleMillis = maxIdleMillis;
+
+        maintainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Core Process Pool Thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintainer.scheduleWithFixedDelay(this::checkHealth, 5, 5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public String runAndWait(Arguments arguments) throws IOException {
+        return coreProcess.runAndWait(arguments);
+    }
+
+    @Override
+    public String runAndWait(Arguments arguments, InputStream input) throws IOException {
+        if (!arguments.isStdin()) {
+            return coreProcess.runAndWait(arguments, input);
+        }
+
+        CoreProcessEvent event = new CoreProcessEvent();
+        event.begin();
+        long acquireStart = System.nanoTime();
+        long acquireStartMillis = System.currentTimeMillis();
+        Worker worker = acquire(arguments);
+        event.spawnTime = System.nanoTime() - acquireStart;
+        event.isWarm = worker.startedAt < acquireStartMillis;
+        event.arguments = worker.toString();
+        try {
+            logger.info("Running conversion in worker " + worker);
+            return CoreProcessRunnerImp.communicate(worker.process, input, event);
+        } finally {
+            event.commit();
+            worker.deleteLogFile();
+            maintainer.execute(() -> replenish(arguments));
+        }
+    }
+
+    @Override
+    public <T> T callWithOutputListener(CoreProcessOutputListener listener,
+                                        Callable<T> action) throws Exception {
+        return coreProcess.callWithOutputListener(listener, action);
+    }
+
+    private Worker acquire(Arguments arguments) throws IOException {
+        synchronized (this) {
+            Deque<Worker> workers = idleWorkers.get(arguments.getModes());
+            while (workers != null && !workers.isEmpty()) {
+                Worker worker = workers.pollFirst();
+                idleCount--;
+                if (worker.process.isAlive()) {
+                    return worker;
+                }
+
+                logger.warn("Discarding crashed worker " + worker);
+                worker.deleteLogFile();
+            }
+        }
+
+        logger.info("No warm worker for modes: " + arguments.getModes());
+        return Worker.start(arguments);
+    }
+
+    private void replenish(Arguments arguments) {
+        String modes = arguments.getModes();
+        while (true) {
+            synchronized (this) {
+                Deque<Worker> workers = idleWorkers.computeIfAbsent(modes, key -> new ArrayDeque<>());
+                if (isShutdown || workers.size() >= workersPerModes) {
+                    return;
+                }
+
+                if (idleCount >= maxWorkers && !retireLeastRecentlyUsed(modes)) {
+                    return;
+                }
+            }
+
+            Worker worker;
+            try {
+                worker = Worker.start(arguments);
+            } catch (Exception e) {
+                logger.error("Cannot start worker: " + e.getMessage());
+                return;
+            }
+
+            synchronized (this) {
+                if (isShutdown) {
+                    worker.destroy();
+                    return;
+                }
+
+                idleWorkers.computeIfAbsent(modes, key -> new ArrayDeque<>()).addLast(worker);
+                idleCount++;
+            }
+        }
+    }
+
+    private boolean retireLeastRecentlyUsed(String exceptModes) {
+        for (Map.Entry<String, Deque<Worker>> entry : idleWorkers.entrySet()) {
+            if (!entry.getKey().equals(exceptModes) && !entry.getValue().isEmpty()) {
+                Worker worker = entry.getValue().pollFirst();
+                idleCount--;
+                worker.destroy();
+                logger.info("Retired least recently used worker " + worker);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void checkHealth() {
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<String, Deque<Worker>>> entries = idleWorkers.entrySet().iterator();
+            while (entries.hasNext()) {
+                Deque<Worker> workers = entries.next().getValue();
+                Iterator<Worker> iterator = workers.iterator();
+                while (iterator.hasNext()) {
+                    Worker worker = iterator.next();
+                    if (!worker.process.isAlive()) {
+                        logger.warn("Worker crashed: " + worker);
+                        iterator.remove();
+                        idleCount--;
+                        worker.deleteLogFile();
+                        maintainer.execute(() -> replenish(worker.arguments));
+                    } else if (now - worker.startedAt > maxIdleMillis) {
+                        iterator.remove();
+                        idleCount--;
+                        worker.destroy();
+                        logger.info("Retired idle worker " + worker);
+                    }
+                }
+
+                if (workers.isEmpty()) {
+                    entries.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of idle workers
+     */
+    public synchronized int countIdleWorkers() {
+        return idleCount;
+    }
+
+    /**
+     * Destroys all idle workers and stops starting new ones.
+     */
+    public void shutdown() {
+        maintainer.shutdownNow();
+        synchronized (this) {
+            isShutdown = true;
+            idleWorkers.values().forEach(workers -> workers.forEach(Worker::destroy));
+            idleWorkers.clear();
+            idleCount = 0;
+        }
+    }
+
+    /**
+     * SQLines command-line program started in -stdin mode and waiting for its input.
+     */
+    private static class Worker {
+        private final Arguments arguments;
+        private final Process process;
+        private final String logFilePath;
+        private final long startedAt = System.currentTimeMillis();
+
+        private Worker(Arguments arguments, Process process, String logFilePath) {
+            this.arguments = arguments;
+            this.process = process;
+            this.logFilePath = logFilePath;
+        }
+
+        static Worker start(Arguments arguments) throws IOException {
+            String logFilePath = File.createTempFile("sqlines-log", ".tmp").getAbsolutePath();
+            String[] args = CoreProcessRunnerImp.prepareArgs(arguments.withLogFilePath(logFilePath));
+            Process process = new ProcessBuilder(args).start();
+            return new Worker(arguments, process, logFilePath);
+        }
+
+        void destroy() {
+            process.destroy();
+            deleteLogFile();
+        }
+
+        void deleteLogFile() {
+            if (!new File(logFilePath).delete()) {
+                logger.warn("Cannot delete log file: " + logFilePath);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "pid=" + process.pid() + " " + arguments.getModes();
+        }
+    }
+}
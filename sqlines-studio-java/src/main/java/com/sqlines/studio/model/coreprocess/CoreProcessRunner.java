@@ -17,6 +17,10 @@
 package com.sqlines.studio.model.coreprocess;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Callable;
+
+import com.sqlines.studio.model.coreprocess.listener.CoreProcessOutputListener;
 
 /**
  * SQLines command-line program.
@@ -35,6 +39,7 @@ public interface CoreProcessRunner {
      * @return output log
      *
      * @throws IllegalStateException if the sqlines program was not found
+     * @throws CoreProcessTimeoutException if the program has run out of its time budget
      * @throws IOException if an I/O error occurs
      * @throws SecurityException if a security manager exists and its checkExec
      * method doesn't allow creation of the subprocess, or the standard input to the
@@ -44,4 +49,45 @@ public interface CoreProcessRunner {
      * denies write access to the file
      */
     String runAndWait(Arguments arguments) throws IOException;
+
+    /**
+     * Starts a new process with the specified command-line arguments, writes the specified
+     * input to its standard input and reads its standard output.
+     * Causes the current thread to wait, if necessary, until the process has terminated.
+     * <p>
+     * Intended for the arguments built with {@link Arguments.Builder#withStdin(boolean)}.
+     * The program path is taken from the {@link java.util.Properties}.
+     * Key - model.process-dir.
+     *
+     * @param arguments command-line arguments to set
+     * @param input data to write to the standard input of the process
+     *
+     * @return the standard output of the process
+     *
+     * @throws IllegalStateException if the sqlines program was not found
+     * @throws CoreProcessTimeoutException if the program has run out of its time budget
+     * @throws IOException if an I/O error occurs or the process has terminated abnormally
+     * @throws SecurityException if a security manager exists and its checkExec
+     * method doesn't allow creation of the subprocess
+     */
+    String runAndWait(Arguments arguments, InputStream input) throws IOException;
+
+    /**
+     * Calls the specified action in the current thread. The specified listener is notified
+     * of every line of the log written by the programs that the action starts in the current
+     * thread, so that the log of the other conversions running at the same time is not mixed in.
+     * <p>
+     * The program writes its log only when converting files: in -stdin mode it writes
+     * nothing but the converted data, so the listener is not notified of the processes
+     * started with {@link #runAndWait(Arguments, InputStream)}.
+     *
+     * @param listener the listener to notify
+     * @param action the action to call
+     * @param <T> result type
+     *
+     * @return the result of the action
+     *
+     * @throws Exception if the action throws an exception
+     */
+    <T> T callWithOutputListener(CoreProcessOutputListener listener, Callable<T> action) throws Exception;
 }
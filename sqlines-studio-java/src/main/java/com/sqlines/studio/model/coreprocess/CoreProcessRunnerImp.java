@@ -16,9 +16,22 @@
 
 package com.sqlines.studio.model.coreprocess;
 
+import com.sqlines.studio.model.coreprocess.listener.CoreProcessOutputListener;
+
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
@@ -26,42 +39,203 @@ import org.apache.logging.log4j.Logger;
 
 public class CoreProcessRunnerImp implements CoreProcessRunner {
     private static final Logger logger = LogManager.getLogger(CoreProcessRunnerImp.class);
+    private static final int LOG_LIMIT = 1024 * 1024;
+    private static final int ERRORS_LIMIT = 64 * 1024;
+    private static final ExecutorService streamsExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "Core Process Streams Thread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The listener of the conversion running in the current thread, if any
+    private final ThreadLocal<CoreProcessOutputListener> outputListener = new ThreadLocal<>();
 
     @Override
     public String runAndWait(Arguments arguments) throws IOException {
+        CoreProcessEvent event = new CoreProcessEvent();
+        event.begin();
+        String[] args = prepareArgs(arguments);
+        event.arguments = Arrays.toString(args);
+        long spawnStart = System.nanoTime();
+        Process process = new ProcessBuilder(args).start();
+        event.spawnTime = System.nanoTime() - spawnStart;
+        process.getOutputStream().close();
+
+        // Both streams are read while the program is running, otherwise it blocks on a full pipe
+        CoreProcessOutputListener listener = outputListener.get();
+        StreamDrainer stdout = StreamDrainer.start(streamsExecutor, process.getInputStream(),
+                LOG_LIMIT, listener == null ? List.of() : List.of(listener)
+        );
+        StreamDrainer stderr = StreamDrainer.start(
+                streamsExecutor, process.getErrorStream(), ERRORS_LIMIT, List.of()
+        );
+
+        long inputSize = new File(arguments.getSourceFilePath()).length();
         try {
-            String[] args = prepareArgs(arguments);
-            Process process = new ProcessBuilder(args).start();
-            logger.info("Running SQLines command-line program with args: " + Arrays.toString(args));
-            process.waitFor();
+            logger.info("Running SQLines command-line program with args: " + event.arguments);
+            long waitStart = System.nanoTime();
+            event.exitCode = Watchdog.fromProperties().waitFor(process, () -> inputSize);
+            event.processTime = System.nanoTime() - waitStart;
+            byte[] output = stdout.await();
+            logErrors(stderr.await());
+            event.stdoutReadTime = stdout.getReadTime();
+            event.bytesOut = output.length;
             logger.info("SQLines command-line program finished successfully");
-            return new  String(process.getInputStream().readAllBytes());
+            return new  String(output);
         } catch (InterruptedException e) {
-            logger.error("SQLines command-line program crashed: " + e.getMessage());
-            return e.getMessage();
+            stdout.cancel();
+            stderr.cancel();
+            throw interrupted(process, e);
+        } catch (CoreProcessTimeoutException e) {
+            event.isTimedOut = true;
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public String runAndWait(Arguments arguments, InputStream input) throws IOException {
+        CoreProcessEvent event = new CoreProcessEvent();
+        event.begin();
+        String[] args = prepareArgs(arguments);
+        event.arguments = Arrays.toString(args);
+        long spawnStart = System.nanoTime();
+        Process process = new ProcessBuilder(args).start();
+        event.spawnTime = System.nanoTime() - spawnStart;
+        try {
+            logger.info("Running SQLines command-line program with args: " + event.arguments);
+            String output = communicate(process, input, event);
+            logger.info("SQLines command-line program finished successfully");
+            return output;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public <T> T callWithOutputListener(CoreProcessOutputListener listener,
+                                        Callable<T> action) throws Exception {
+        CoreProcessOutputListener previous = outputListener.get();
+        outputListener.set(listener);
+        try {
+            return action.call();
+        } finally {
+            if (previous == null) {
+                outputListener.remove();
+            } else {
+                outputListener.set(previous);
+            }
         }
     }
 
-    private String[] prepareArgs(Arguments arguments) {
+    /**
+     * Writes the specified input to the standard input of the process started in -stdin mode
+     * and reads its standard output. Waits until the process has terminated.
+     * <p>
+     * The streams are handled in separate threads, so that the process never blocks on a full pipe
+     * and the current thread can be interrupted while waiting. The process is destroyed if the
+     * current thread is interrupted or the process runs out of its time budget, see {@link Watchdog}.
+     * The program writes no log in -stdin mode, so no output listener is notified.
+     * The timings and sizes of the phases are recorded in the specified event.
+     *
+     * @throws InterruptedIOException if the current thread was interrupted while waiting
+     * @throws CoreProcessTimeoutException if the process has run out of its time budget
+     */
+    static String communicate(Process process, InputStream input,
+                              CoreProcessEvent event) throws IOException {
+        long processStart = System.nanoTime();
+        StreamDrainer stdout = StreamDrainer.start(
+                streamsExecutor, process.getInputStream(), StreamDrainer.UNLIMITED, List.of()
+        );
+        StreamDrainer stderr = StreamDrainer.start(
+                streamsExecutor, process.getErrorStream(), ERRORS_LIMIT, List.of()
+        );
+        AtomicLong bytesWritten = new AtomicLong();
+        Future<Long> written = streamsExecutor.submit(() -> {
+            try (OutputStream stdin = process.getOutputStream()) {
+                byte[] buffer = new byte[8192];
+                int count;
+                while ((count = input.read(buffer)) != -1) {
+                    stdin.write(buffer, 0, count);
+                    bytesWritten.addAndGet(count);
+                }
+            }
+
+            return bytesWritten.get();
+        });
+
+        try {
+            int exitCode = Watchdog.fromProperties().waitFor(process, bytesWritten::get);
+            byte[] data = stdout.await();
+            String errors = new String(stderr.await(), StandardCharsets.UTF_8).trim();
+            event.processTime = System.nanoTime() - processStart;
+            event.stdoutReadTime = stdout.getReadTime();
+            event.exitCode = exitCode;
+            event.bytesOut = data.length;
+            if (exitCode != 0) {
+                written.cancel(true);
+                String errorMsg = "SQLines command-line program exited with code " + exitCode;
+                throw new IOException(errors.isEmpty() ? errorMsg : errorMsg + ": " + errors);
+            }
+
+            event.bytesIn = written.get();
+            logErrors(errors.getBytes(StandardCharsets.UTF_8));
+            return new String(data, StandardCharsets.UTF_8);
+        } catch (InterruptedException e) {
+            written.cancel(true);
+            stdout.cancel();
+            stderr.cancel();
+            throw interrupted(process, e);
+        } catch (CoreProcessTimeoutException e) {
+            written.cancel(true);
+            event.isTimedOut = true;
+            throw e;
+        } catch (ExecutionException e) {
+            process.destroy();
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    private static void logErrors(byte[] errors) {
+        if (errors.length > 0) {
+            logger.warn("SQLines command-line program errors: "
+                    + new String(errors, StandardCharsets.UTF_8).trim());
+        }
+    }
+
+    private static InterruptedIOException interrupted(Process process, InterruptedException e) {
+        process.destroy();
+        Thread.currentThread().interrupt();
+        logger.info("SQLines command-line program was interrupted");
+
+        InterruptedIOException exception =
+                new InterruptedIOException("SQLines command-line program was interrupted");
+        exception.initCause(e);
+        return exception;
+    }
+
+    static String[] prepareArgs(Arguments arguments) {
         Stream<String> processPath = Stream.of(getProcessPath());
         Stream<String> args = Arrays.stream(arguments.toArray());
-        return Stream.concat(processPath, args)
-                .toArray(String[]::new);
+        return Watchdog.limitMemory(Stream.concat(processPath, args)
+                .toArray(String[]::new));
     }
 
-    private String getProcessPath() {
+    private static String getProcessPath() {
         String processPath = System.getProperty("model.app-dir");
         processPath += osIsWin() ? "/sqlines.exe" : "/sqlines";
         checkFileExistence(processPath);
         return processPath;
     }
 
-    private boolean osIsWin() {
+    private static boolean osIsWin() {
         String os = System.getProperty("os.name").toLowerCase();
         return os.startsWith("windows");
     }
 
-    private void checkFileExistence(String path) {
+    private static void checkFileExistence(String path) {
         File file = new File(path);
         if (!file.exists()) {
             String errorMsg = "SQLines command-line program was not found:\n" + path;
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.coreprocess;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the SQLines command-line program has run out of its time budget and has been killed.
+ */
+public class CoreProcessTimeoutException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final long timeoutMillis;
+    private final long inputSize;
+
+    /**
+     * Constructs a new CoreProcessTimeoutException.
+     *
+     * @param timeoutMillis the time budget that has run out
+     * @param inputSize the size of the input the budget was given for
+     */
+    public CoreProcessTimeoutException(long timeoutMillis, long inputSize) {
+        super("SQLines command-line program did not finish in " + timeoutMillis / 1000.0
+                + " s for " + inputSize + " bytes of input and was killed");
+        this.timeoutMillis = timeoutMillis;
+        this.inputSize = inputSize;
+    }
+
+    /**
+     * @return the time budget that has run out in milliseconds
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @return the size of the input the budget was given for
+     */
+    public long getInputSize() {
+        return inputSize;
+    }
+}
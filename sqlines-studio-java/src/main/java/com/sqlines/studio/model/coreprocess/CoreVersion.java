@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.coreprocess;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads the version of the SQLines command-line program.
+ */
+public class CoreVersion {
+    private static final Logger logger = LogManager.getLogger(CoreVersion.class);
+    private static final Pattern VERSION_PATTERN = Pattern.compile("SQLines (\\d+(\\.\\d+)*)");
+
+    private CoreVersion() {
+    }
+
+    /**
+     * Runs the program with -? option and extracts the version from its output.
+     *
+     * @param coreProcess sqlines command line program
+     *
+     * @return the program version, or "unknown" if it cannot be read
+     */
+    public static String read(CoreProcessRunner coreProcess) {
+        try {
+            String os = System.getProperty("os.name").toLowerCase();
+            Arguments arguments = Arguments.builder()
+                    .withLogFilePath(os.startsWith("windows") ? "NUL" : "/dev/null")
+                    .isLicenseCheck(true)
+                    .build();
+            Matcher matcher = VERSION_PATTERN.matcher(coreProcess.runAndWait(arguments));
+            if (matcher.find()) {
+                logger.info("SQLines command-line program version: " + matcher.group(1));
+                return matcher.group(1);
+            }
+        } catch (Exception e) {
+            logger.warn("Cannot read SQLines command-line program version: " + e.getMessage());
+        }
+
+        return "unknown";
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.coreprocess;
+
+import com.sqlines.studio.model.coreprocess.listener.CoreProcessOutputListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads a stream of a process to the end in a background thread, so that the process
+ * never blocks on a full pipe while the current thread waits for it.
+ * <p>
+ * At most the specified number of bytes is kept: when the stream is longer,
+ * the beginning is dropped and the last bytes are returned.
+ * If listeners are specified, they are notified of every line as soon as it is read.
+ */
+final class StreamDrainer {
+    private static final Logger logger = LogManager.getLogger(StreamDrainer.class);
+    private static final int MAX_LINE_LENGTH = 1024;
+
+    /**
+     * The limit to pass to keep all the bytes of the stream.
+     */
+    static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final InputStream stream;
+    private final int limit;
+    private final List<CoreProcessOutputListener> listeners;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private Future<byte[]> result;
+    private volatile long readTime;
+
+    private StreamDrainer(InputStream stream, int limit, List<CoreProcessOutputListener> listeners) {
+        this.stream = stream;
+        this.limit = limit;
+        this.listeners = listeners;
+    }
+
+    /**
+     * Starts reading the specified stream in the specified executor.
+     *
+     * @param executor executor running the reading
+     * @param stream the stream to read
+     * @param limit the maximum number of the last bytes to keep
+     * @param listeners listeners to notify of every line
+     *
+     * @return the started drainer
+     */
+    static StreamDrainer start(ExecutorService executor, InputStream stream, int limit,
+                               List<CoreProcessOutputListener> listeners) {
+        StreamDrainer drainer = new StreamDrainer(stream, limit, listeners);
+        drainer.result = executor.submit(drainer::drain);
+        return drainer;
+    }
+
+    private byte[] drain() throws IOException {
+        long readStart = System.nanoTime();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        long droppedBytes = 0;
+        byte[] chunk = new byte[8192];
+        int count;
+        try (stream) {
+            while ((count = stream.read(chunk)) != -1) {
+                buffer.write(chunk, 0, count);
+                if (buffer.size() > 2L * limit) {
+                    droppedBytes += keepLast(buffer, limit);
+                }
+
+                if (!listeners.isEmpty()) {
+                    splitLines(chunk, count);
+                }
+            }
+        }
+
+        notifyListeners();
+        if (buffer.size() > limit) {
+            droppedBytes += keepLast(buffer, limit);
+        }
+
+        if (droppedBytes > 0) {
+            logger.warn("Dropped " + droppedBytes + " bytes of process output");
+        }
+
+        readTime = System.nanoTime() - readStart;
+        return buffer.toByteArray();
+    }
+
+    private static int keepLast(ByteArrayOutputStream buffer, int count) {
+        byte[] data = buffer.toByteArray();
+        int dropped = data.length - count;
+        buffer.reset();
+        buffer.write(data, dropped, count);
+        return dropped;
+    }
+
+    private void splitLines(byte[] chunk, int count) {
+        for (int i = 0; i < count; i++) {
+            byte next = chunk[i];
+            if (next == '\n' || next == '\r') {
+                notifyListeners();
+            } else if (line.size() < MAX_LINE_LENGTH) {
+                line.write(next);
+            }
+        }
+    }
+
+    private void notifyListeners() {
+        String text = new String(line.toByteArray(), StandardCharsets.UTF_8).trim();
+        line.reset();
+        if (!text.isEmpty()) {
+            listeners.forEach(listener -> listener.onOutput(text));
+        }
+    }
+
+    /**
+     * Waits until the stream has been read to the end.
+     *
+     * @return the kept bytes of the stream
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws IOException if an I/O error occurred while reading
+     */
+    byte[] await() throws InterruptedException, IOException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    /**
+     * @return the time from the start of the reading to the end of the stream in nanoseconds
+     */
+    long getReadTime() {
+        return readTime;
+    }
+
+    /**
+     * Stops the reading.
+     */
+    void cancel() {
+        result.cancel(true);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.coreprocess;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Limits the time and the memory of a run of the SQLines command-line program.
+ * <p>
+ * The time budget grows with the input: model.timeout seconds plus model.timeout-per-mib
+ * seconds for every MiB of the input. A program that runs out of its budget is killed
+ * together with its child processes. Setting model.timeout to 0 disables the time limit.
+ * <p>
+ * On Linux, the virtual memory of the program is capped at model.memory-limit MiB
+ * through the shell ulimit command. Setting model.memory-limit to 0 disables the memory limit.
+ */
+final class Watchdog {
+    private static final Logger logger = LogManager.getLogger(Watchdog.class);
+    private static final long MIB = 1024 * 1024;
+    private static final long CHECK_INTERVAL_MILLIS = 1000;
+
+    private final long baseMillis;
+    private final long millisPerMib;
+
+    /**
+     * Constructs a new Watchdog.
+     *
+     * @param baseMillis the time budget of an empty input, or 0 to disable the time limit
+     * @param millisPerMib the time added to the budget for every MiB of the input
+     */
+    Watchdog(long baseMillis, long millisPerMib) {
+        this.baseMillis = baseMillis;
+        this.millisPerMib = millisPerMib;
+    }
+
+    /**
+     * @return the watchdog with the time budget set in the application properties
+     */
+    static Watchdog fromProperties() {
+        long baseSeconds = Long.parseLong(System.getProperty("model.timeout", "60"));
+        long secondsPerMib = Long.parseLong(System.getProperty("model.timeout-per-mib", "30"));
+        return new Watchdog(baseSeconds * 1000, secondsPerMib * 1000);
+    }
+
+    /**
+     * @param inputSize the size of the input in bytes
+     *
+     * @return the time budget for the specified input size in milliseconds
+     */
+    long getTimeoutMillis(long inputSize) {
+        return baseMillis + millisPerMib * inputSize / MIB;
+    }
+
+    /**
+     * Waits until the process has terminated or has run out of its time budget.
+     * <p>
+     * The input size is read again while waiting, so the budget of a process
+     * which is still receiving its input grows with every written MiB.
+     *
+     * @param process the process to wait for
+     * @param inputSize the size of the input written to the process so far
+     *
+     * @return the exit value of the process
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws CoreProcessTimeoutException if the process has run out of its time budget
+     */
+    int waitFor(Process process, LongSupplier inputSize)
+            throws InterruptedException, CoreProcessTimeoutException {
+        if (baseMillis <= 0) {
+            return process.waitFor();
+        }
+
+        long start = System.nanoTime();
+        while (true) {
+            long size = inputSize.getAsLong();
+            long timeoutMillis = getTimeoutMillis(size);
+            long remainingMillis = timeoutMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (remainingMillis <= 0) {
+                kill(process);
+                logger.warn("Killed SQLines command-line program after " + timeoutMillis + " ms");
+                throw new CoreProcessTimeoutException(timeoutMillis, size);
+            }
+
+            if (process.waitFor(Math.min(remainingMillis, CHECK_INTERVAL_MILLIS), TimeUnit.MILLISECONDS)) {
+                return process.exitValue();
+            }
+        }
+    }
+
+    private static void kill(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /**
+     * Wraps the specified command so that the memory of the started process
+     * is capped at model.memory-limit MiB. Returns the command unchanged
+     * if the limit is not set or the system is not Linux.
+     *
+     * @param command the command to wrap
+     *
+     * @return the command to start
+     */
+    static String[] limitMemory(String[] command) {
+        long limitMib = Long.parseLong(System.getProperty("model.memory-limit", "0"));
+        String os = System.getProperty("os.name").toLowerCase();
+        if (limitMib <= 0 || !os.startsWith("linux")) {
+            return command;
+        }
+
+        // The arguments are passed to the shell as positional parameters and are never parsed by it
+        List<String> wrapped = new ArrayList<>(List.of(
+                "/bin/sh", "-c", "ulimit -v \"$0\" && exec \"$@\"", String.valueOf(limitMib * 1024)
+        ));
+        wrapped.addAll(List.of(command));
+        return wrapped.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.coreprocess.listener;
+
+/**
+ * A CoreProcessOutputListener is notified whenever the SQLines command-line program
+ * writes a line of its log while it is running.
+ */
+@FunctionalInterface
+public interface CoreProcessOutputListener {
+
+    /**
+     * Called for every non-empty line of the log of the program.
+     * Called in a background thread reading the output of the program,
+     * possibly for several programs started by the same conversion.
+     *
+     * @param line the line of the log without the line terminator
+     */
+    void onOutput(String line);
+}
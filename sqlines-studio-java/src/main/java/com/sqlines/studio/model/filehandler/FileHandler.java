@@ -17,22 +17,42 @@
 package com.sqlines.studio.model.filehandler;
 
 import com.sqlines.studio.model.tabsdata.ObservableTabsData;
+import com.sqlines.studio.model.tabsdata.PagedDocument;
 import com.sqlines.studio.model.tabsdata.listener.TabsChangeListener;
+import com.sqlines.studio.model.filehandler.listener.OpenProgressListener;
 import com.sqlines.studio.model.filehandler.listener.RecentFilesChangeListener;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -43,52 +63,172 @@ import org.apache.logging.log4j.Logger;
  * Allows you to open files. Contains the list of recent files.
  * <p>
  * Updates the tab data if the data in the opened files have been changed.
+ * The files are watched with a {@link FileWatcher}, only the tabs whose files
+ * have changed are checked. If a file was only appended to since it was last read or written
+ * and the tab text has not been edited since, only the appended bytes are read.
+ * <p>
+ * Files larger than the model.large-file-size property are opened as a {@link PagedDocument}
+ * and shown page by page, their text is never loaded. Such files are read-only.
+ * <p>
+ * The files to open are read concurrently and their tabs are opened in order.
+ * <p>
+ * The files are saved in UTF-8 in the background by a {@link FileSaver}, which replaces
+ * every file atomically. A file being saved is not checked for changes.
  *
  * @apiNote Use {@link Runnable#run()} to start file verification.
  *
  * @see RecentFilesChangeListener
+ * @see OpenProgressListener
  */
 public class FileHandler implements Runnable, Serializable {
     private static final Logger logger = LogManager.getLogger(FileHandler.class);
     private static final long serialVersionUID = 646756239;
 
+    // Reads the files to open, mostly waiting for the disk
+    private static final ThreadPoolExecutor fileReaders = createFileReaders();
+
     private ObservableTabsData tabsData;
     private List<Long> sourceFilesLastModified = new ArrayList<>();
     private List<Long> targetFilesLastModified = new ArrayList<>();
     private List<File> recentFiles = new ArrayList<>();
 
     private List<RecentFilesChangeListener> recentFilesListeners = new ArrayList<>(5);
+    private transient volatile FileWatcher watcher;
+
+    // Files as last read or written, by absolute path.
+    // Evicted without locking the FileHandler when the files are no longer open in any tab
+    private transient Map<String, LoadedFile> loadedFiles = new ConcurrentHashMap<>();
+    private transient FileSaver saver = new FileSaver();
 
     /**
      * Starts file verification.
      * Updates the tab data if the data in the files have been changed.
      */
     @Override
-    @SuppressWarnings("BusyWait")
     public void run() {
-        while (true) {
-            try {
-                monitorFileChanged();
-                Thread.sleep(2000);
-            } catch (InterruptedException e) {
-                break;
-            } catch (Exception e) {
-                logger.error("File verification: " + e.getMessage());
-                break;
+        try (FileWatcher fileWatcher = new FileWatcher(100, 2000)) {
+            watcher = fileWatcher;
+            fileWatcher.setFiles(getFilePaths());
+            reopenDocuments();
+            monitorFileChanged(null);
+            while (true) {
+                Set<Path> changed = fileWatcher.awaitChanges();
+                if (!changed.isEmpty()) {
+                    monitorFileChanged(changed);
+                }
+            }
+        } catch (InterruptedException e) {
+            logger.info("File verification stopped");
+        } catch (Exception e) {
+            logger.error("File verification: " + e.getMessage());
+        } finally {
+            watcher = null;
+        }
+    }
+
+    // The documents are not serialized, the large files of the restored tabs are opened again
+    private synchronized void reopenDocuments() {
+        for (int i = 0; i < tabsData.countTabs(); i++) {
+            String sourcePath = tabsData.getSourceFilePath(i);
+            if (tabsData.getSourceDocument(i) == null && tabsData.getSourceText(i).isEmpty()
+                    && isLargeFile(new File(sourcePath))) {
+                updateSourceDocument(sourcePath, i);
+            }
+
+            String targetPath = tabsData.getTargetFilePath(i);
+            if (tabsData.getTargetDocument(i) == null && tabsData.getTargetText(i).isEmpty()
+                    && isLargeFile(new File(targetPath))) {
+                updateTargetDocument(targetPath, i);
             }
         }
     }
 
-    private synchronized void monitorFileChanged() {
-        monitorSourceFiles();
-        monitorTargetFiles();
+    private static boolean isLargeFile(File file) {
+        long largeFileSize = Long.parseLong(System.getProperty("model.large-file-size", "67108864"));
+        return largeFileSize > 0 && file.isFile() && file.length() >= largeFileSize;
     }
 
-    private void monitorSourceFiles() {
+    private void updateSourceDocument(String filePath, int tabIndex) {
+        try {
+            tabsData.setSourceDocument(PagedDocument.open(Path.of(filePath)), tabIndex);
+            tabsData.setSourceText("", tabIndex);
+        } catch (Exception e) {
+            logger.error("Opening source document: " + e.getMessage());
+        }
+    }
+
+    private void updateTargetDocument(String filePath, int tabIndex) {
+        try {
+            tabsData.setTargetDocument(PagedDocument.open(Path.of(filePath)), tabIndex);
+            tabsData.setTargetText("", tabIndex);
+        } catch (Exception e) {
+            logger.error("Opening target document: " + e.getMessage());
+        }
+    }
+
+    // Checks the specified files only, or all files if null
+    private synchronized void monitorFileChanged(Set<Path> changed) {
+        monitorSourceFiles(changed);
+        monitorTargetFiles(changed);
+    }
+
+    private void monitorSourceFiles(Set<Path> changed) {
         for (int i = 0; i < sourceFilesLastModified.size(); i++) {
             String filePath = tabsData.getSourceFilePath(i);
-            long lastModified = sourceFilesLastModified.get(i);
-            monitorSourceFile(i, filePath, lastModified);
+            if (isChanged(filePath, changed)) {
+                long lastModified = sourceFilesLastModified.get(i);
+                monitorSourceFile(i, filePath, lastModified);
+            }
+        }
+    }
+
+    private static boolean isChanged(String filePath, Set<Path> changed) {
+        if (changed == null) {
+            return true;
+        }
+
+        Path path = toPath(filePath);
+        return path != null && changed.contains(path);
+    }
+
+    private static Path toPath(String filePath) {
+        if (filePath.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return Path.of(filePath).toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private Set<Path> getFilePaths() {
+        Set<Path> paths = new HashSet<>();
+        synchronized (tabsData) {
+            for (int i = 0; i < tabsData.countTabs(); i++) {
+                Path sourcePath = toPath(tabsData.getSourceFilePath(i));
+                if (sourcePath != null) {
+                    paths.add(sourcePath);
+                }
+
+                Path targetPath = toPath(tabsData.getTargetFilePath(i));
+                if (targetPath != null) {
+                    paths.add(targetPath);
+                }
+            }
+        }
+
+        return paths;
+    }
+
+    // Does not lock the FileHandler, called from the tabs data listeners as well
+    private void updateWatchedFiles() {
+        Set<Path> paths = getFilePaths();
+        loadedFiles.keySet().removeIf(key -> !paths.contains(toPath(key)));
+        FileWatcher fileWatcher = watcher;
+        if (fileWatcher != null) {
+            fileWatcher.setFiles(paths);
         }
     }
 
@@ -99,6 +239,10 @@ public class FileHandler implements Runnable, Serializable {
             logger.info("Source file updated: " + path);
         };
 
+        if (isSaving(path)) {
+            return;
+        }
+
         if (fileWasDeleted(path)) {
             update.accept(() -> resetSourceFile(index));
         } else if (fileWasUpdated(path, lastModified)) {
@@ -106,12 +250,23 @@ public class FileHandler implements Runnable, Serializable {
         }
     }
 
+    // The last modified times are updated when the saver has replaced the file
+    private boolean isSaving(String filePath) {
+        Path path = toPath(filePath);
+        return path != null && saver.isSaving(path);
+    }
+
     private boolean fileWasDeleted(String filePath) {
         File file = new File(filePath);
         return !filePath.isEmpty() && !file.exists();
     }
 
     private void resetSourceFile(int index) {
+        if (tabsData.getSourceDocument(index) != null) {
+            tabsData.setSourceDocument(null, index);
+            tabsData.setSourceText("", index);
+        }
+
         tabsData.setSourceFilePath("", index);
         sourceFilesLastModified.set(index, 0L);
     }
@@ -126,8 +281,14 @@ public class FileHandler implements Runnable, Serializable {
     }
 
     private void updateSourceTabData(String filePath, int tabIndex) {
+        if (tabsData.getSourceDocument(tabIndex) != null) {
+            updateSourceDocument(filePath, tabIndex);
+            sourceFilesLastModified.set(tabIndex, new File(filePath).lastModified());
+            return;
+        }
+
         try {
-            String data = readFromFile(filePath);
+            String data = reloadFile(filePath, tabsData.getSourceText(tabIndex));
             tabsData.setSourceText(data, tabIndex);
 
             File file = new File(filePath);
@@ -139,15 +300,69 @@ public class FileHandler implements Runnable, Serializable {
 
     private String readFromFile(String path) throws IOException {
         try (FileInputStream stream = new FileInputStream(path)) {
-            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            byte[] data = stream.readAllBytes();
+            String text = new String(data, StandardCharsets.UTF_8);
+            loadedFiles.put(new File(path).getAbsolutePath(), LoadedFile.of(text, data, data.length));
+            return text;
         }
     }
 
-    private void monitorTargetFiles() {
+    // Reads only the appended bytes if the text is the one last read or written
+    private String reloadFile(String path, String currText) throws IOException {
+        String key = new File(path).getAbsolutePath();
+        LoadedFile loaded = loadedFiles.get(key);
+        if (loaded == null || loaded.text != currText) {
+            return readFromFile(path);
+        }
+
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= loaded.size || size - loaded.size > Integer.MAX_VALUE || !loaded.isPrefixOf(channel)) {
+                return readFromFile(path);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) (size - loaded.size));
+            readFully(channel, buffer, loaded.size);
+            int length = completeLength(buffer.array(), buffer.position());
+            String text = currText + new String(buffer.array(), 0, length, StandardCharsets.UTF_8);
+            loadedFiles.put(key, loaded.append(text, buffer.array(), length));
+            logger.info("Read " + length + " appended bytes: " + path);
+            return text;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read <= 0) {
+                break;
+            }
+        }
+    }
+
+    // Excludes a UTF-8 sequence that is not written completely yet
+    private static int completeLength(byte[] data, int length) {
+        int lead = length - 1;
+        while (lead >= 0 && length - lead < 4 && (data[lead] & 0xC0) == 0x80) {
+            lead--;
+        }
+
+        if (lead < 0) {
+            return length;
+        }
+
+        int first = data[lead] & 0xFF;
+        int expected = first >= 0xF0 ? 4 : first >= 0xE0 ? 3 : first >= 0xC0 ? 2 : 1;
+        return length - lead < expected ? lead : length;
+    }
+
+    private void monitorTargetFiles(Set<Path> changed) {
         for (int i = 0; i < targetFilesLastModified.size(); i++) {
             String filePath = tabsData.getTargetFilePath(i);
-            long lastModified = targetFilesLastModified.get(i);
-            monitorTargetFile(i, filePath, lastModified);
+            if (isChanged(filePath, changed)) {
+                long lastModified = targetFilesLastModified.get(i);
+                monitorTargetFile(i, filePath, lastModified);
+            }
         }
     }
 
@@ -158,6 +373,10 @@ public class FileHandler implements Runnable, Serializable {
             logger.info("Target file updated: " + path);
         };
 
+        if (isSaving(path)) {
+            return;
+        }
+
         if (fileWasDeleted(path)) {
             update.accept(() -> resetTargetFile(index));
         } else if (fileWasUpdated(path, lastModified)) {
@@ -166,13 +385,24 @@ public class FileHandler implements Runnable, Serializable {
     }
 
     private void resetTargetFile(int index) {
+        if (tabsData.getTargetDocument(index) != null) {
+            tabsData.setTargetDocument(null, index);
+            tabsData.setTargetText("", index);
+        }
+
         tabsData.setTargetFilePath("", index);
         targetFilesLastModified.set(index, 0L);
     }
 
     private void updateTargetTabData(String filePath, int tabIndex) {
+        if (tabsData.getTargetDocument(tabIndex) != null) {
+            updateTargetDocument(filePath, tabIndex);
+            targetFilesLastModified.set(tabIndex, new File(filePath).lastModified());
+            return;
+        }
+
         try {
-            String data = readFromFile(filePath);
+            String data = reloadFile(filePath, tabsData.getTargetText(tabIndex));
             tabsData.setTargetText(data, tabIndex);
 
             File file = new File(filePath);
@@ -190,6 +420,8 @@ public class FileHandler implements Runnable, Serializable {
     public synchronized void setTabsData(ObservableTabsData tabsData) {
         this.tabsData = tabsData;
         tabsData.addTabsListener(this::tabsDataChanged);
+        tabsData.addSourceFilePathListener((newPath, tabIndex) -> updateWatchedFiles());
+        tabsData.addTargetFilePathListener((newPath, tabIndex) -> updateWatchedFiles());
     }
 
     private synchronized void tabsDataChanged(TabsChangeListener.Change change) {
@@ -198,6 +430,8 @@ public class FileHandler implements Runnable, Serializable {
         } else if (change.getChangeType() == TabsChangeListener.Change.ChangeType.TAB_REMOVED) {
             handleTabCloseEvent(change);
         }
+
+        updateWatchedFiles();
     }
 
     private void handleTabAddEvent(TabsChangeListener.Change change) {
@@ -222,10 +456,21 @@ public class FileHandler implements Runnable, Serializable {
         targetFilesLastModified.add(index, file.lastModified());
     }
 
+    private static ThreadPoolExecutor createFileReaders() {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "File Reading Thread");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
-     * Opens files and updates tabs data.
-     * Adds all the files to the recent files list. If a file is already
-     * in the recent files list, moves it to the top of the list.
+     * Opens files and updates tabs data. Waits until all the files are opened,
+     * see {@link #openSourceFilesAsync(List, Executor, OpenProgressListener)}.
      * <p>
      * Notifies all {@link RecentFilesChangeListener} listeners of the occurred change.
      *
@@ -237,28 +482,95 @@ public class FileHandler implements Runnable, Serializable {
      * @throws SecurityException if a security manager exists and its checkRead
      * method denies read access to the file.
      */
-    public synchronized void openSourceFiles(List<File> files) throws IOException {
-        files.removeIf(File::isDirectory);
-        for (File file : files) {
-            openFile(file);
+    public void openSourceFiles(List<File> files) throws IOException {
+        try {
+            openSourceFilesAsync(files, Runnable::run, (file, processed, total) -> { }).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Opens files and updates tabs data.
+     * Files larger than the model.large-file-size property are opened as a {@link PagedDocument}.
+     * Adds all the files to the recent files list. If a file is already
+     * in the recent files list, moves it to the top of the list. Directories are skipped.
+     * <p>
+     * The files are read concurrently. The tabs are opened in the order of the files,
+     * in the specified executor, each as soon as its file and all the files before it are read.
+     * A file that cannot be read is skipped and the other files are opened.
+     * <p>
+     * Notifies all {@link RecentFilesChangeListener} listeners of the occurred change.
+     *
+     * @param files files to open
+     * @param tabsExecutor executor to open the tabs in
+     * @param listener listener notified in the tabs executor whenever a file is processed
+     *
+     * @return a future completed when all the files are processed, exceptionally with
+     * the first error if any file cannot be read
+     */
+    public CompletableFuture<Void> openSourceFilesAsync(List<File> files, Executor tabsExecutor,
+                                                        OpenProgressListener listener) {
+        List<File> toOpen = new ArrayList<>(files);
+        toOpen.removeIf(File::isDirectory);
+        AtomicReference<Exception> firstError = new AtomicReference<>();
+        CompletableFuture<Void> opened = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < toOpen.size(); i++) {
+            File file = toOpen.get(i);
+            int processed = i + 1;
+            CompletableFuture<ReadFile> read = CompletableFuture.supplyAsync(() -> ReadFile.read(file), fileReaders);
+            opened = opened.thenCombineAsync(read, (previous, readFile) -> {
+                try {
+                    openFile(readFile);
+                } catch (Exception e) {
+                    logger.error("Opening file: " + e.getMessage());
+                    firstError.compareAndSet(null, e);
+                }
+
+                listener.onProgress(file, processed, toOpen.size());
+                return null;
+            }, tabsExecutor);
         }
+
+        return opened.thenCompose(nothing -> {
+            Exception error = firstError.get();
+            return (error == null) ? CompletableFuture.completedFuture(null) : CompletableFuture.failedFuture(error);
+        });
     }
 
-    private void openFile(File file) throws IOException {
+    private synchronized void openFile(ReadFile readFile) throws IOException {
+        if (readFile.error != null) {
+            throw readFile.error;
+        }
+
         int currIndex = tabsData.getCurrTabIndex();
-        if (!tabsData.getSourceText(currIndex).isEmpty()) {
+        if (!tabsData.getSourceText(currIndex).isEmpty() || tabsData.getSourceDocument(currIndex) != null) {
             tabsData.openTab(currIndex + 1);
             tabsData.setCurrTabIndex(currIndex + 1);
             currIndex = tabsData.getCurrTabIndex();
         }
 
-        String text = readFromFile(file.getAbsolutePath());
-        tabsData.setSourceText(text, currIndex);
+        File file = readFile.file;
+        if (readFile.document != null) {
+            logger.info("Opened " + readFile.document.countLines() + " lines page by page: " + file);
+            tabsData.setSourceDocument(readFile.document, currIndex);
+            tabsData.setSourceText("", currIndex);
+        } else {
+            loadedFiles.put(file.getAbsolutePath(), LoadedFile.of(readFile.text, readFile.data, readFile.data.length));
+            tabsData.setSourceText(readFile.text, currIndex);
+        }
         tabsData.setSourceFilePath(file.getAbsolutePath(), currIndex);
         tabsData.setTabTitle(file.getName(), currIndex);
-        sourceFilesLastModified.set(currIndex, file.lastModified());
+        sourceFilesLastModified.set(currIndex, readFile.lastModified);
 
-        saveLastOpenedDir(file.getParentFile().getAbsolutePath());
+        saveLastOpenedDir(file.getAbsoluteFile().getParentFile().getAbsolutePath());
         changeRecentFiles(file);
     }
 
@@ -294,23 +606,27 @@ public class FileHandler implements Runnable, Serializable {
 
     /**
      * Saves source data from the specified tab from {@link ObservableTabsData} to
-     * the source file from the specified tab from {@link ObservableTabsData}.
+     * the source file from the specified tab from {@link ObservableTabsData} in the background.
+     * Does nothing if the source file is shown as a {@link PagedDocument}.
      *
      * @param tabIndex the index of the tab with source data and source file path
      *
+     * @return a future completed when the file is saved, exceptionally with
+     * an {@link IOException} if any I/O error occurred
+     *
      * @throws IndexOutOfBoundsException – if the index is out of range
      * (tabIndex < 0 || tabIndex >= {@link ObservableTabsData#countTabs()})
      * @throws IllegalStateException if there is no source file opened
-     * @throws IOException if any I/O error occurred
-     * @throws SecurityException if a security manager exists and its checkWrite method
-     * denies write access to the file
      */
-    public synchronized void saveSourceFile(int tabIndex) throws IOException {
+    public synchronized CompletableFuture<Void> saveSourceFile(int tabIndex) {
+        if (tabsData.getSourceDocument(tabIndex) != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
         File file = new File(tabsData.getSourceFilePath(tabIndex));
         checkFilePresence(file);
-        writeToFile(file, tabsData.getSourceText(tabIndex));
         tabsData.setTabTitle(file.getName(), tabIndex);
-        sourceFilesLastModified.set(tabIndex, file.lastModified());
+        return writeToFile(file, tabsData.getSourceText(tabIndex));
     }
 
     private void checkFilePresence(File file) {
@@ -319,77 +635,133 @@ public class FileHandler implements Runnable, Serializable {
         }
     }
 
-    private void writeToFile(File file, String data) throws IOException {
-        try (FileOutputStream stream = new FileOutputStream(file.getAbsoluteFile())) {
-            stream.write(data.getBytes());
+    private CompletableFuture<Void> writeToFile(File file, String data) {
+        File absoluteFile = file.getAbsoluteFile();
+        return saver.save(absoluteFile.toPath(), data, StandardCharsets.UTF_8, () -> fileSaved(absoluteFile, data));
+    }
+
+    // Called in the saving thread after the file has been replaced
+    private synchronized void fileSaved(File file, String data) {
+        try {
+            loadedFiles.put(file.getPath(), LoadedFile.read(data, file.toPath()));
+        } catch (IOException e) {
+            loadedFiles.remove(file.getPath());
+        }
+
+        long lastModified = file.lastModified();
+        for (int i = 0; i < tabsData.countTabs(); i++) {
+            if (isSameFile(tabsData.getSourceFilePath(i), file)) {
+                sourceFilesLastModified.set(i, lastModified);
+            }
+
+            if (isSameFile(tabsData.getTargetFilePath(i), file)) {
+                targetFilesLastModified.set(i, lastModified);
+            }
         }
     }
 
+    private static boolean isSameFile(String filePath, File file) {
+        return !filePath.isEmpty() && new File(filePath).getAbsolutePath().equals(file.getPath());
+    }
+
     /**
      * Saves target data from the specified tab from {@link ObservableTabsData} to
-     * the target file from the specified tab from {@link ObservableTabsData}.
+     * the target file from the specified tab from {@link ObservableTabsData} in the background.
+     * Does nothing if the target file is shown as a {@link PagedDocument}.
      *
      * @param tabIndex the index of the tab with target data and target file path
      *
+     * @return a future completed when the file is saved, exceptionally with
+     * an {@link IOException} if any I/O error occurred
+     *
      * @throws IndexOutOfBoundsException – if the index is out of range
      * (tabIndex < 0 || tabIndex >= {@link ObservableTabsData#countTabs()})
      * @throws IllegalStateException if there is no target file opened
-     * @throws FileNotFoundException if the file exists but is a directory rather than a regular file,
-     * does not exist but cannot be created, or cannot be opened for any other reason
-     * @throws IOException if any I/O error occurred
-     * @throws SecurityException if a security manager exists and its checkWrite method
-     * denies write access to the file
      */
-    public synchronized void saveTargetFile(int tabIndex) throws IOException {
+    public synchronized CompletableFuture<Void> saveTargetFile(int tabIndex) {
+        if (tabsData.getTargetDocument(tabIndex) != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
         File file = new File(tabsData.getTargetFilePath(tabIndex));
         checkFilePresence(file);
-        writeToFile(file, tabsData.getTargetText(tabIndex));
-        targetFilesLastModified.set(tabIndex, file.lastModified());
+        return writeToFile(file, tabsData.getTargetText(tabIndex));
     }
 
     /**
      * Creates a new file with the specified file path. Writes source data from the specified tab
-     * from {@link ObservableTabsData} to this file.
+     * from {@link ObservableTabsData} to this file in the background. If the source file is shown as
+     * a {@link PagedDocument}, copies the source file before returning.
      *
      * @param tabIndex the index of the tab with source data
      * @param path file path
-
+     *
+     * @return a future completed when the file is saved, exceptionally with
+     * an {@link IOException} if any I/O error occurred
+     *
      * @throws IndexOutOfBoundsException – if the index is out of range
      * (tabIndex < 0 || tabIndex >= {@link ObservableTabsData#countTabs()})
-     * @throws FileNotFoundException if the file exists but is a directory rather than a regular file,
-     * does not exist but cannot be created, or cannot be opened for any other reason
-     * @throws IOException if some I/O error occurred
-     * @throws SecurityException if a security manager exists and its checkWrite method
-     * denies write access to the file
      */
-    public synchronized void saveSourceFileAs(int tabIndex, String path) throws IOException  {
+    public synchronized CompletableFuture<Void> saveSourceFileAs(int tabIndex, String path) {
         File file = new File(path);
-        writeToFile(file, tabsData.getSourceText(tabIndex));
+        PagedDocument document = tabsData.getSourceDocument(tabIndex);
+        CompletableFuture<Void> saved;
+        if (document != null) {
+            try {
+                tabsData.setSourceDocument(copyDocument(document, file), tabIndex);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+
+            sourceFilesLastModified.set(tabIndex, file.lastModified());
+            saved = CompletableFuture.completedFuture(null);
+        } else {
+            saved = writeToFile(file, tabsData.getSourceText(tabIndex));
+        }
+
         tabsData.setSourceFilePath(path, tabIndex);
         tabsData.setTabTitle(file.getName(), tabIndex);
-        sourceFilesLastModified.set(tabIndex, file.lastModified());
+        return saved;
     }
 
     /**
      * Creates a new file with the specified file path. Writes target data from the specified tab
-     * from {@link ObservableTabsData} to this file.
+     * from {@link ObservableTabsData} to this file in the background. If the target file is shown as
+     * a {@link PagedDocument}, copies the target file before returning.
      *
      * @param tabIndex the index of the tab with target data
      * @param path file path
-
+     *
+     * @return a future completed when the file is saved, exceptionally with
+     * an {@link IOException} if any I/O error occurred
+     *
      * @throws IndexOutOfBoundsException – if the index is out of range
      * (tabIndex < 0 || tabIndex >= {@link ObservableTabsData#countTabs()})
-     * @throws FileNotFoundException if the file exists but is a directory rather than a regular file,
-     * does not exist but cannot be created, or cannot be opened for any other reason
-     * @throws IOException if some I/O error occurred
-     * @throws SecurityException if a security manager exists and its checkWrite method
-     * denies write access to the file
      */
-    public synchronized void saveTargetFileAs(int tabIndex, String path) throws IOException  {
+    public synchronized CompletableFuture<Void> saveTargetFileAs(int tabIndex, String path) {
         File file = new File(path);
-        writeToFile(file, tabsData.getTargetText(tabIndex));
+        PagedDocument document = tabsData.getTargetDocument(tabIndex);
+        CompletableFuture<Void> saved;
+        if (document != null) {
+            try {
+                tabsData.setTargetDocument(copyDocument(document, file), tabIndex);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+
+            targetFilesLastModified.set(tabIndex, file.lastModified());
+            saved = CompletableFuture.completedFuture(null);
+        } else {
+            saved = writeToFile(file, tabsData.getTargetText(tabIndex));
+        }
+
         tabsData.setTargetFilePath(path, tabIndex);
-        targetFilesLastModified.set(tabIndex, file.lastModified());
+        return saved;
+    }
+
+    private static PagedDocument copyDocument(PagedDocument document, File file) throws IOException {
+        Files.copy(document.getPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return PagedDocument.open(file.toPath().toAbsolutePath());
     }
 
     /**
@@ -482,6 +854,8 @@ public class FileHandler implements Runnable, Serializable {
         targetFilesLastModified = new ArrayList<>();
         recentFiles = new ArrayList<>();
         recentFilesListeners = new ArrayList<>();
+        loadedFiles = new ConcurrentHashMap<>();
+        saver = new FileSaver();
     }
 
     private synchronized void writeObject(ObjectOutputStream stream) throws IOException {
@@ -500,4 +874,98 @@ public class FileHandler implements Runnable, Serializable {
             stream.writeObject(data);
         }
     }
+
+    /**
+     * File as last read or written: its text, its size and its first and last bytes,
+     * which are compared to tell an append from a rewrite.
+     */
+    private static class LoadedFile {
+        private static final int EDGE_SIZE = 64;
+
+        private final String text;
+        private final long size;
+        private final byte[] head;
+        private final byte[] tail;
+
+        private LoadedFile(String text, long size, byte[] head, byte[] tail) {
+            this.text = text;
+            this.size = size;
+            this.head = head;
+            this.tail = tail;
+        }
+
+        static LoadedFile of(String text, byte[] data, int length) {
+            byte[] head = Arrays.copyOf(data, Math.min(length, EDGE_SIZE));
+            byte[] tail = Arrays.copyOfRange(data, Math.max(0, length - EDGE_SIZE), length);
+            return new LoadedFile(text, length, head, tail);
+        }
+
+        static LoadedFile read(String text, Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                ByteBuffer head = ByteBuffer.allocate((int) Math.min(size, EDGE_SIZE));
+                readFully(channel, head, 0);
+                ByteBuffer tail = ByteBuffer.allocate((int) Math.min(size, EDGE_SIZE));
+                readFully(channel, tail, size - tail.capacity());
+                return new LoadedFile(text, size, head.array(), tail.array());
+            }
+        }
+
+        LoadedFile append(String newText, byte[] appended, int length) {
+            byte[] edges = Arrays.copyOf(tail, tail.length + length);
+            System.arraycopy(appended, 0, edges, tail.length, length);
+            byte[] newHead = head;
+            if (head.length < EDGE_SIZE) {
+                // The whole file is in the tail
+                newHead = Arrays.copyOf(edges, Math.min(edges.length, EDGE_SIZE));
+            }
+
+            byte[] newTail = Arrays.copyOfRange(edges, Math.max(0, edges.length - EDGE_SIZE), edges.length);
+            return new LoadedFile(newText, size + length, newHead, newTail);
+        }
+
+        boolean isPrefixOf(FileChannel channel) throws IOException {
+            ByteBuffer headBuffer = ByteBuffer.allocate(head.length);
+            readFully(channel, headBuffer, 0);
+            ByteBuffer tailBuffer = ByteBuffer.allocate(tail.length);
+            readFully(channel, tailBuffer, size - tail.length);
+            return Arrays.equals(headBuffer.array(), head) && Arrays.equals(tailBuffer.array(), tail);
+        }
+    }
+
+    /**
+     * File read in the background, with its text or its document, or the reading error.
+     */
+    private static class ReadFile {
+        private final File file;
+        private final long lastModified;
+        private String text;
+        private byte[] data;
+        private PagedDocument document;
+        private IOException error;
+
+        private ReadFile(File file, long lastModified) {
+            this.file = file;
+            this.lastModified = lastModified;
+        }
+
+        static ReadFile read(File file) {
+            // Taken before reading, so a change made while reading is noticed
+            ReadFile readFile = new ReadFile(file, file.lastModified());
+            try {
+                if (isLargeFile(file)) {
+                    readFile.document = PagedDocument.open(file.toPath().toAbsolutePath());
+                } else {
+                    try (FileInputStream stream = new FileInputStream(file)) {
+                        readFile.data = stream.readAllBytes();
+                    }
+                    readFile.text = new String(readFile.data, StandardCharsets.UTF_8);
+                }
+            } catch (IOException e) {
+                readFile.error = e;
+            }
+
+            return readFile;
+        }
+    }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.filehandler;
+
+import com.sqlines.studio.model.AtomicFiles;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes files in the background, one at a time.
+ * <p>
+ * The text is encoded straight into a direct buffer and written to a temporary file
+ * next to the target file. The temporary file is forced to the disk and then moved
+ * over the target file, so the target file is either the old or the new one, even after
+ * a crash. The readers of the old file, such as a memory-mapped document, keep reading it.
+ * <p>
+ * A symbolic link is not replaced: the file it points to is.
+ * <p>
+ * A save of a file that is still waiting for its turn is replaced by the newer one,
+ * so repeated saves of the same file are written once.
+ */
+class FileSaver {
+    private static final Logger logger = LogManager.getLogger(FileSaver.class);
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final ThreadPoolExecutor writer;
+
+    // Used by the writing thread only
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    // Guarded by this
+    private final Map<Path, Save> queued = new HashMap<>();
+    private Path writing;
+    private int coalescedCount;
+
+    /**
+     * Constructs a new FileSaver. Its thread stops when idle.
+     */
+    FileSaver() {
+        writer = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "File Saving Thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Saves the specified text to the specified file in the background. The file is created
+     * if it does not exist. If the file is already waiting to be saved, its text is replaced
+     * and the future of the waiting save is returned.
+     *
+     * @param path file path
+     * @param text text to save
+     * @param charset charset to encode the text with
+     * @param onSaved action run in the writing thread after the file has been replaced,
+     * before the future is completed
+     *
+     * @return a future completed when the file has been saved
+     */
+    synchronized CompletableFuture<Void> save(Path path, String text, Charset charset, Runnable onSaved) {
+        Path key = path.toAbsolutePath().normalize();
+        Save waiting = queued.get(key);
+        if (waiting != null) {
+            waiting.text = text;
+            waiting.charset = charset;
+            waiting.onSaved = onSaved;
+            coalescedCount++;
+            return waiting.future;
+        }
+
+        Save save = new Save(text, charset, onSaved);
+        queued.put(key, save);
+        writer.execute(() -> write(key));
+        return save.future;
+    }
+
+    /**
+     * @param path file path
+     *
+     * @return true if the file is waiting to be saved or being saved
+     */
+    synchronized boolean isSaving(Path path) {
+        Path key = path.toAbsolutePath().normalize();
+        return queued.containsKey(key) || key.equals(writing);
+    }
+
+    /**
+     * @return the number of saves replaced by a newer save of the same file
+     */
+    synchronized int getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    private void write(Path path) {
+        Save save;
+        synchronized (this) {
+            save = queued.remove(path);
+            writing = path;
+        }
+
+        Exception error = null;
+        try {
+            long start = System.nanoTime();
+            replace(path, save.text, save.charset);
+            save.onSaved.run();
+            logger.info("File saved in " + (System.nanoTime() - start) / 1_000_000 + " ms: " + path);
+        } catch (Exception e) {
+            logger.error("Saving file: " + e.getMessage());
+            error = e;
+        } finally {
+            synchronized (this) {
+                writing = null;
+            }
+        }
+
+        if (error == null) {
+            save.future.complete(null);
+        } else {
+            save.future.completeExceptionally(error);
+        }
+    }
+
+    private void replace(Path path, String text, Charset charset) throws IOException {
+        Path target = Files.exists(path) ? path.toRealPath() : path;
+        Path temp = AtomicFiles.createTempFile(target);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                encode(text, charset, channel);
+                channel.force(true);
+            }
+
+            copyPermissions(target, temp);
+            AtomicFiles.move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void encode(String text, Charset charset, FileChannel channel) throws IOException {
+        CharsetEncoder encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.wrap(text);
+        buffer.clear();
+
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, buffer, true);
+            writeBuffer(channel);
+        } while (result.isOverflow());
+
+        do {
+            result = encoder.flush(buffer);
+            writeBuffer(channel);
+        } while (result.isOverflow());
+    }
+
+    private void writeBuffer(FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // The temporary file is created with the default permissions of new files
+    private static void copyPermissions(Path from, Path to) {
+        try {
+            if (Files.exists(from)) {
+                Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+            }
+        } catch (UnsupportedOperationException | IOException e) {
+            logger.warn("Cannot copy file permissions: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Save waiting for its turn.
+     */
+    private static class Save {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private String text;
+        private Charset charset;
+        private Runnable onSaved;
+
+        Save(String text, Charset charset, Runnable onSaved) {
+            this.text = text;
+            this.charset = charset;
+            this.onSaved = onSaved;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.filehandler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a set of files for changes made by other programs.
+ * <p>
+ * The parent directory of every file is registered in a {@link WatchService} once,
+ * however many watched files it contains. The events of a burst, such as an editor
+ * writing a file in several steps, are coalesced into a single change of every file.
+ * <p>
+ * The files of the directories that cannot be watched, and of the network file systems
+ * whose changes made by other machines are not reported, are polled instead.
+ * The poll compares the last modified times of these files only.
+ * <p>
+ * Where the JDK has no native watch service, as on macOS, its fallback implementation
+ * scans every registered directory as a whole about every 10 seconds. All the files are
+ * polled by the watcher itself instead, which notices a change within the poll interval
+ * and reads the attributes of the watched files only.
+ *
+ * @apiNote Use {@link #close()} to close the watch service.
+ */
+class FileWatcher implements Closeable {
+    private static final Logger logger = LogManager.getLogger(FileWatcher.class);
+    private static final Set<String> NETWORK_FILE_SYSTEMS = Set.of(
+            "nfs", "nfs4", "cifs", "smb", "smbfs", "smb2", "fuse.sshfs", "afpfs", "webdav"
+    );
+
+    private final WatchService watchService;
+    private final boolean isPolling;
+    private final long quietMillis;
+    private final long pollMillis;
+
+    // Guarded by this
+    private final Set<Path> files = new HashSet<>();
+    private final Map<Path, WatchKey> watchedDirs = new HashMap<>();
+    private final Map<Path, Long> polledFiles = new HashMap<>();
+
+    /**
+     * Constructs a new FileWatcher.
+     *
+     * @param quietMillis the time without events that ends a burst
+     * @param pollMillis the interval between polls of the files that cannot be watched
+     *
+     * @throws IOException if the watch service cannot be created
+     */
+    FileWatcher(long quietMillis, long pollMillis) throws IOException {
+        this(FileSystems.getDefault().newWatchService(), hasPollingWatchService(), quietMillis, pollMillis);
+    }
+
+    /**
+     * Constructs a new FileWatcher with the specified watch service.
+     * A watch service implemented by polling is not used to watch the directories.
+     *
+     * @param watchService watch service to use
+     * @param isPolling whether the watch service is implemented by polling
+     * @param quietMillis the time without events that ends a burst
+     * @param pollMillis the interval between polls of the files that cannot be watched
+     */
+    FileWatcher(WatchService watchService, boolean isPolling, long quietMillis, long pollMillis) {
+        this.watchService = watchService;
+        this.isPolling = isPolling;
+        this.quietMillis = quietMillis;
+        this.pollMillis = pollMillis;
+    }
+
+    /**
+     * Replaces the set of watched files.
+     * Registers the directories of the new files, cancels the directories without watched files.
+     *
+     * @param newFiles absolute normalized paths of the files to watch
+     */
+    synchronized void setFiles(Collection<Path> newFiles) {
+        files.clear();
+        files.addAll(newFiles);
+
+        Set<Path> dirs = new HashSet<>();
+        for (Path file : files) {
+            Path dir = file.getParent();
+            if (dir != null) {
+                dirs.add(dir);
+            }
+        }
+
+        Iterator<Map.Entry<Path, WatchKey>> entries = watchedDirs.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Path, WatchKey> entry = entries.next();
+            if (!dirs.contains(entry.getKey())) {
+                entry.getValue().cancel();
+                entries.remove();
+            }
+        }
+
+        polledFiles.keySet().retainAll(files);
+        for (Path file : files) {
+            Path dir = file.getParent();
+            if (dir != null && !watchedDirs.containsKey(dir) && !polledFiles.containsKey(file)
+                    && !register(dir)) {
+                polledFiles.put(file, lastModified(file));
+            }
+        }
+    }
+
+    private boolean register(Path dir) {
+        if (isPolling) {
+            logger.info("Polling directory, the watch service is implemented by polling: " + dir);
+            return false;
+        }
+
+        try {
+            String type = Files.getFileStore(dir).type().toLowerCase();
+            if (NETWORK_FILE_SYSTEMS.contains(type)) {
+                logger.info("Polling directory on " + type + " file system: " + dir);
+                return false;
+            }
+
+            WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchedDirs.put(dir, key);
+            logger.info("Watching directory: " + dir);
+            return true;
+        } catch (UnsupportedOperationException | IOException e) {
+            logger.info("Polling directory that cannot be watched: " + dir);
+            return false;
+        }
+    }
+
+    /**
+     * Waits for the changes of the watched files.
+     * Returns after a burst of events ends, or after the poll interval if there were no events.
+     *
+     * @return changed files, possibly empty
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    Set<Path> awaitChanges() throws InterruptedException {
+        Set<Path> changed = new HashSet<>();
+        WatchKey key = watchService.poll(pollMillis, TimeUnit.MILLISECONDS);
+        long burstEnd = System.currentTimeMillis() + pollMillis;
+        while (key != null) {
+            collectChanges(key, changed);
+            if (System.currentTimeMillis() > burstEnd) {
+                break;
+            }
+
+            key = watchService.poll(quietMillis, TimeUnit.MILLISECONDS);
+        }
+
+        changed.addAll(pollChanges());
+        return changed;
+    }
+
+    private synchronized void collectChanges(WatchKey key, Set<Path> changed) {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                files.stream()
+                        .filter(file -> dir.equals(file.getParent()))
+                        .forEach(changed::add);
+            } else {
+                Path file = dir.resolve((Path) event.context());
+                if (files.contains(file)) {
+                    changed.add(file);
+                }
+            }
+        }
+
+        if (!key.reset() && watchedDirs.remove(dir, key)) {
+            // The directory was deleted or became inaccessible
+            logger.info("Directory is no longer watched: " + dir);
+            files.stream()
+                    .filter(file -> dir.equals(file.getParent()))
+                    .forEach(changed::add);
+        }
+    }
+
+    private synchronized Set<Path> pollChanges() {
+        Set<Path> changed = new HashSet<>();
+        for (Map.Entry<Path, Long> entry : polledFiles.entrySet()) {
+            long lastModified = lastModified(entry.getKey());
+            if (lastModified != entry.getValue()) {
+                entry.setValue(lastModified);
+                changed.add(entry.getKey());
+            }
+        }
+
+        return changed;
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the number of registered directories
+     */
+    synchronized int countWatchedDirs() {
+        return watchedDirs.size();
+    }
+
+    /**
+     * @return the number of polled files
+     */
+    synchronized int countPolledFiles() {
+        return polledFiles.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * The JDK has native watch services on Linux and Windows only,
+     * on other systems such as macOS its watch service scans the directories.
+     */
+    private static boolean hasPollingWatchService() {
+        String os = System.getProperty("os.name").toLowerCase();
+        return !os.startsWith("linux") && !os.startsWith("win");
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.filehandler.listener;
+
+import java.io.File;
+
+/**
+ * An OpenProgressListener is notified whenever a file being opened is processed.
+ */
+@FunctionalInterface
+public interface OpenProgressListener {
+
+    /**
+     * Called after a file has been opened in a tab or has failed to open.
+     *
+     * @param file the processed file
+     * @param processed the number of the files processed so far
+     * @param total the total number of the files to open
+     */
+    void onProgress(File file, int processed, int total);
+}
@@ -35,6 +35,9 @@ import org.apache.logging.log4j.Logger;
 
 /**
  * Works with license file.
+ * <p>
+ * When run, reads the license status once and notifies the listeners of it,
+ * then notifies them whenever the license file changes.
  *
  * @see LicenseChangeListener
  */
@@ -73,6 +76,7 @@ public class License implements Runnable {
     @Override
     @SuppressWarnings("BusyWait")
     public void run() {
+        notifyLicenseStatus();
         while (true) {
             try {
                 Thread.sleep(10000);
@@ -96,6 +100,12 @@ public class License implements Runnable {
         }
     }
 
+    private synchronized void notifyLicenseStatus() {
+        boolean isActive = isActive();
+        licenseListeners.forEach(license -> license.changed(isActive));
+        logger.info("License status: " + (isActive ? "Active" : "Not active"));
+    }
+
     private void changeLicense(long lastModified) {
         boolean isActive = isActive();
         licenseListeners.forEach(license -> license.changed(isActive));
@@ -25,14 +25,28 @@
  * {@link com.sqlines.studio.model.converter.ConverterImpl} - allows you to start conversion.
  * <p>
  *
+ * {@link com.sqlines.studio.model.converter.NativeConverter} -
+ * allows you to start conversion in-process through the SQLines parser library.
+ * <p>
+ *
+ * {@link com.sqlines.studio.model.converter.CachingConverter} -
+ * returns cached results of the conversions that have already been run.
+ * <p>
+ *
  * {@link com.sqlines.studio.model.coreprocess.CoreProcessRunnerImp} - SQLines command-line program.
  * <p>
  *
+ * {@link com.sqlines.studio.model.coreprocess.CoreProcessPool} - pool of warm SQLines command-line processes.
+ * <p>
+ *
  * {@link com.sqlines.studio.model.PropertiesLoader} -
  * loads the application properties into the standard {@link java.util.Properties} class.
  * <p>
  *
  * {@link com.sqlines.studio.model.ResourceLoader} - loads application resources.
+ * <p>
+ *
+ * {@link com.sqlines.studio.model.Json} - writes and reads the JSON used by the headless modes.
  *
  * <p>
  * Packages:
@@ -43,6 +57,19 @@
  *
  * {@link com.sqlines.studio.model.filehandler} -
  * contains elements tha allow you to work with files.
+ * <p>
+ *
+ * {@link com.sqlines.studio.model.batch} -
+ * contains elements tha allow you to convert many files at once.
+ * <p>
+ *
+ * {@link com.sqlines.studio.model.service} -
+ * contains elements tha allow you to run conversions from other programs.
+ * <p>
+ *
+ * {@link com.sqlines.studio.model.assessment} -
+ * contains elements tha allow you to assess the scripts before the migration.
+ * <p>
  *
  * {@link com.sqlines.studio.model.license} -
  * contains elements tha allow you to work with license.
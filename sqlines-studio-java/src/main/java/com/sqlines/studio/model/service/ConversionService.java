@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.service;
+
+import com.sqlines.studio.model.Json;
+import com.sqlines.studio.model.converter.Converter;
+import com.sqlines.studio.model.coreprocess.CoreProcessTimeoutException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP service running the conversions.
+ * <p>
+ * Endpoints, the modes are the mode names shown in the Studio:
+ * <pre>
+ * POST /convert?source=Oracle&amp;target=MySQL  body: script         response: converted script
+ * POST /batch?source=Oracle&amp;target=MySQL    body: JSON [scripts]  response: JSON [{"data"} or {"error"}]
+ * GET  /health                                                   response: OK
+ * </pre>
+ * The service listens on the loopback address only. Connections are kept alive between requests.
+ * A conversion that runs out of its time budget is answered with 504.
+ * <p>
+ * At most the specified number of conversions run at the same time, and at most the specified
+ * number of requests wait for them. Other requests are rejected at once with 503 and Retry-After,
+ * so that clients back off instead of piling up. Requests run on virtual threads when the JVM
+ * provides them, on a fixed pool of platform threads otherwise.
+ *
+ * @apiNote Use {@link #stop()} to stop the service.
+ */
+public class ConversionService {
+    private static final Logger logger = LogManager.getLogger(ConversionService.class);
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Converter converter;
+    private final List<String> sourceModes;
+    private final List<String> targetModes;
+    private final Semaphore admission;
+    private final Semaphore running;
+    private final ExecutorService workers;
+    private final AtomicInteger rejected = new AtomicInteger();
+    private HttpServer server;
+
+    /**
+     * Constructs a new ConversionService.
+     *
+     * @param converter converter running the conversions
+     * @param sourceModes accepted source modes
+     * @param targetModes accepted target modes
+     * @param maxRunning the maximum number of conversions running at the same time
+     * @param maxWaiting the maximum number of requests waiting for a conversion slot
+     */
+    public ConversionService(Converter converter, List<String> sourceModes, List<String> targetModes,
+                             int maxRunning, int maxWaiting) {
+        this.converter = converter;
+        this.sourceModes = sourceModes;
+        this.targetModes = targetModes;
+        admission = new Semaphore(maxRunning + maxWaiting);
+        running = new Semaphore(maxRunning);
+        workers = newWorkers(maxRunning);
+    }
+
+    private static ExecutorService newWorkers(int threads) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) method.invoke(null);
+            logger.info("Handling requests on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "Conversion Service Thread " + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Starts listening on the specified port of the loopback address.
+     *
+     * @param port port to listen on, 0 to pick a free port
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/convert", exchange -> admit(exchange, this::handleConvert));
+        server.createContext("/batch", exchange -> admit(exchange, this::handleBatch));
+        server.createContext("/health", exchange -> {
+            try {
+                respond(exchange, 200, "text/plain", "OK");
+            } finally {
+                exchange.close();
+            }
+        });
+        // Admission runs on the dispatcher thread, so a rejected request never waits
+        server.setExecutor(null);
+        server.start();
+        logger.info("Conversion service listening on port " + getPort());
+    }
+
+    /**
+     * @return the port the service listens on
+     */
+    public synchronized int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the number of requests rejected because the service was busy
+     */
+    public int getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Stops listening and interrupts the running conversions.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        workers.shutdownNow();
+    }
+
+    private void admit(HttpExchange exchange, RequestHandler handler) throws IOException {
+        if (!admission.tryAcquire()) {
+            reject(exchange);
+            return;
+        }
+
+        try {
+            workers.execute(() -> {
+                try {
+                    running.acquire();
+                    try {
+                        handler.handle(exchange);
+                    } finally {
+                        running.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    logger.error("Request failed: " + e.getMessage());
+                } finally {
+                    exchange.close();
+                    admission.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            reject(exchange);
+        }
+    }
+
+    private void reject(HttpExchange exchange) throws IOException {
+        rejected.incrementAndGet();
+        try {
+            exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER_SECONDS);
+            respond(exchange, 503, "text/plain", "Service is busy");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleConvert(HttpExchange exchange) throws IOException {
+        Request request = parseRequest(exchange);
+        if (request == null) {
+            return;
+        }
+
+        try {
+            String data = converter.convert(request.sourceMode, request.targetMode, request.body);
+            respond(exchange, 200, "text/plain", data);
+        } catch (CoreProcessTimeoutException e) {
+            respond(exchange, 504, "text/plain", e.getMessage());
+        } catch (Exception e) {
+            respond(exchange, 500, "text/plain", errorMessage(e));
+        }
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        Request request = parseRequest(exchange);
+        if (request == null) {
+            return;
+        }
+
+        List<String> scripts;
+        try {
+            scripts = Json.parseStringArray(new String(request.body, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, "text/plain", e.getMessage());
+            return;
+        }
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < scripts.size(); i++) {
+            json.append(i == 0 ? "" : ",");
+            try {
+                byte[] sourceData = scripts.get(i).getBytes(StandardCharsets.UTF_8);
+                String data = converter.convert(request.sourceMode, request.targetMode, sourceData);
+                json.append("{\"data\":").append(Json.quote(data)).append('}');
+            } catch (Exception e) {
+                json.append("{\"error\":").append(Json.quote(errorMessage(e))).append('}');
+            }
+        }
+
+        respond(exchange, 200, "application/json", json.append(']').toString());
+    }
+
+    /**
+     * Reads the request and checks its method and modes.
+     *
+     * @return the request, or null if an error response has been sent
+     */
+    private Request parseRequest(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            respond(exchange, 405, "text/plain", "POST expected");
+            return null;
+        }
+
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        String sourceMode = query.get("source");
+        String targetMode = query.get("target");
+        if (!sourceModes.contains(sourceMode) || !targetModes.contains(targetMode)) {
+            String errorMsg = "Unknown conversion modes: source=" + sourceMode + ", target=" + targetMode;
+            respond(exchange, 400, "text/plain", errorMsg);
+            return null;
+        }
+
+        return new Request(sourceMode, targetMode, exchange.getRequestBody().readAllBytes());
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                String name = URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8);
+                String value = URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+                query.put(name, value);
+            }
+        }
+
+        return query;
+    }
+
+    private static String errorMessage(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.toString();
+    }
+
+    private static void respond(HttpExchange exchange, int code,
+                                String contentType, String body) throws IOException {
+        byte[] data = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        // A known length keeps the connection alive for the next request
+        exchange.sendResponseHeaders(code, data.length == 0 ? -1 : data.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(data);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RequestHandler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private static class Request {
+        private final String sourceMode;
+        private final String targetMode;
+        private final byte[] body;
+
+        Request(String sourceMode, String targetMode, byte[] body) {
+            this.sourceMode = sourceMode;
+            this.targetMode = targetMode;
+            this.body = body;
+        }
+    }
+}
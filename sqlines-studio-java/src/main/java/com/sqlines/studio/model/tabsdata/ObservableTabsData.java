@@ -16,6 +16,7 @@
 
 package com.sqlines.studio.model.tabsdata;
 
+import com.sqlines.studio.model.converter.ConversionSnapshot;
 import com.sqlines.studio.model.tabsdata.listener.TabIndexChangeListener;
 import com.sqlines.studio.model.tabsdata.listener.TabTitleChangeListener;
 import com.sqlines.studio.model.tabsdata.listener.TabsChangeListener;
@@ -32,6 +33,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 /**
  * Contains a synchronized observable list with the data of opened tabs.
  * <p>
@@ -46,6 +50,7 @@ import java.util.Objects;
  */
 public class ObservableTabsData implements Serializable {
     private static final long serialVersionUID = 498374478;
+    private static final Logger logger = LogManager.getLogger(ObservableTabsData.class);
 
     private List<TabData> tabsData = new LinkedList<>();
     private int currTabIndex = -1;
@@ -93,7 +98,7 @@ public class ObservableTabsData implements Serializable {
     }
 
     /**
-     * Removes the tab at the specified position.
+     * Removes the tab at the specified position and closes its documents.
      * <p>
      * Notifies all {@link TabsChangeListener} listeners of the change.
      *
@@ -104,10 +109,24 @@ public class ObservableTabsData implements Serializable {
      */
     public synchronized void removeTab(int tabIndex) {
         checkRange(tabIndex, 0, tabsData.size());
-        tabsData.remove(tabIndex);
+        TabData removed = tabsData.remove(tabIndex);
+        closeDocument(removed.sourceDocument);
+        closeDocument(removed.targetDocument);
         notifyTabRemoveListeners(tabIndex);
     }
 
+    private static void closeDocument(PagedDocument document) {
+        if (document == null) {
+            return;
+        }
+
+        try {
+            document.close();
+        } catch (IOException e) {
+            logger.error("Closing document: " + e.getMessage());
+        }
+    }
+
     private void notifyTabRemoveListeners(int tabIndex) {
         TabsChangeListener.Change removed = new TabsChangeListener.Change(
                 TabsChangeListener.Change.ChangeType.TAB_REMOVED, tabIndex
@@ -116,12 +135,16 @@ public class ObservableTabsData implements Serializable {
     }
 
     /**
-     * Removes all tabs.
+     * Removes all tabs and closes their documents.
      * <p>
      * Notifies all {@link TabsChangeListener} listeners of the change.
      */
     public synchronized void removeAllTabs() {
         int tabsNumber = tabsData.size();
+        for (TabData tabData : tabsData) {
+            closeDocument(tabData.sourceDocument);
+            closeDocument(tabData.targetDocument);
+        }
         tabsData.clear();
         currTabIndex = -1;
 
@@ -384,6 +407,110 @@ public class ObservableTabsData implements Serializable {
         targetPathListeners.forEach(listener -> listener.changed(filePath, tabIndex));
     }
 
+    /**
+     * Returns the result of the last conversion in the specified tab.
+     * The result is not serialized, so it is lost when the application is closed.
+     *
+     * @param tabIndex the index of the tab with conversion result to return
+     *
+     * @return the result of the last conversion, or null if the tab has not been converted yet
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * (index < 0 || index >= countTabs())
+     */
+    public synchronized ConversionSnapshot getConversionSnapshot(int tabIndex) {
+        checkRange(tabIndex, 0, tabsData.size());
+        return tabsData.get(tabIndex).conversionSnapshot;
+    }
+
+    /**
+     * Sets the result of the last conversion in the specified tab.
+     *
+     * @param snapshot conversion result to set
+     * @param tabIndex the index of the tab with conversion result to set
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * (index < 0 || index >= countTabs())
+     */
+    public synchronized void setConversionSnapshot(ConversionSnapshot snapshot, int tabIndex) {
+        checkRange(tabIndex, 0, tabsData.size());
+        tabsData.get(tabIndex).conversionSnapshot = snapshot;
+    }
+
+    /**
+     * Returns the document of the source file shown page by page in the specified tab.
+     *
+     * @param tabIndex the index of the tab with source document to return
+     *
+     * @return the source document, or null if the source text is edited as usual
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * (index < 0 || index >= countTabs())
+     */
+    public synchronized PagedDocument getSourceDocument(int tabIndex) {
+        checkRange(tabIndex, 0, tabsData.size());
+        return tabsData.get(tabIndex).sourceDocument;
+    }
+
+    /**
+     * Sets the document of the source file shown page by page in the specified tab.
+     * The source text of such a tab stays empty.
+     * <p>
+     * The previous document is closed.
+     * Notifies no listeners: set the source text after the document.
+     *
+     * @param document source document to set, or null if the source text is edited as usual
+     * @param tabIndex the index of the tab with source document to set
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * (index < 0 || index >= countTabs())
+     */
+    public synchronized void setSourceDocument(PagedDocument document, int tabIndex) {
+        checkRange(tabIndex, 0, tabsData.size());
+        TabData tabData = tabsData.get(tabIndex);
+        if (tabData.sourceDocument != document) {
+            closeDocument(tabData.sourceDocument);
+            tabData.sourceDocument = document;
+        }
+    }
+
+    /**
+     * Returns the document of the target file shown page by page in the specified tab.
+     *
+     * @param tabIndex the index of the tab with target document to return
+     *
+     * @return the target document, or null if the target text is edited as usual
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * (index < 0 || index >= countTabs())
+     */
+    public synchronized PagedDocument getTargetDocument(int tabIndex) {
+        checkRange(tabIndex, 0, tabsData.size());
+        return tabsData.get(tabIndex).targetDocument;
+    }
+
+    /**
+     * Sets the document of the target file shown page by page in the specified tab.
+     * The target text of such a tab stays empty.
+     * <p>
+     * The previous document is closed.
+     * Notifies no listeners: set the target text after the document.
+     *
+     * @param document target document to set, or null if the target text is edited as usual
+     * @param tabIndex the index of the tab with target document to set
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * (index < 0 || index >= countTabs())
+     */
+    public synchronized void setTargetDocument(PagedDocument document, int tabIndex) {
+        checkRange(tabIndex, 0, tabsData.size());
+        TabData tabData = tabsData.get(tabIndex);
+        if (tabData.targetDocument != document) {
+            closeDocument(tabData.targetDocument);
+            tabData.targetDocument = document;
+        }
+    }
+
     /**
      * Adds a listener which will be notified when the list of the tabs changes.
      * If the same listener is added more than once, then it will be notified more than once.
@@ -600,6 +727,11 @@ public class ObservableTabsData implements Serializable {
         private String sourceFilePath = "";
         private String targetFilePath = "";
 
+        // Not serialized: the default serialVersionUID does not depend on private transient fields
+        private transient ConversionSnapshot conversionSnapshot;
+        private transient PagedDocument sourceDocument;
+        private transient PagedDocument targetDocument;
+
         @Override
         public boolean equals(Object other) {
             if (this == other) {
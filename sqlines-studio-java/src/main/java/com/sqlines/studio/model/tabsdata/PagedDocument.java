@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.tabsdata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only UTF-8 text file read page by page, for files too large to be loaded as a whole.
+ * <p>
+ * The file is scanned once when opened to build a sparse index with the offset of every
+ * 64th line. A range of lines is then found from the nearest indexed line and only its bytes
+ * are read and decoded, so the memory used does not depend on the file size.
+ * <p>
+ * The file is read through a channel kept open until the document is closed. Unlike a memory
+ * mapping, which is released only when garbage collected, the open channel does not prevent
+ * the file from being replaced or deleted on Windows. The document shows the file as it was
+ * when opened: the file must not be truncated while the document is in use.
+ */
+public class PagedDocument implements Closeable {
+    private static final int PAGE_SIZE = 64 * 1024;
+    private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+    private static final int INDEX_STEP = 64;
+    private static final int MAX_WINDOW_SIZE = 16 * 1024 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private final long[] lineOffsets;
+    private final long lineCount;
+
+    // The page of the file read last, guarded by this
+    private final ByteBuffer page = ByteBuffer.allocate(PAGE_SIZE);
+    private long pagePosition = -1;
+
+    private PagedDocument(Path path, FileChannel channel, long size,
+                          long[] lineOffsets, long lineCount) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+        this.lineOffsets = lineOffsets;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * Opens the specified file and indexes its lines.
+     *
+     * @param path file path
+     *
+     * @return document with the content of the file
+     *
+     * @throws IOException if the file cannot be opened or read
+     */
+    public static PagedDocument open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            long[] lineOffsets = new long[16];
+            long lineCount = 1;
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            for (long position = 0; position < size; position += buffer.limit()) {
+                buffer.clear();
+                buffer.limit((int) Math.min(SCAN_BUFFER_SIZE, size - position));
+                readFully(channel, buffer, position, path);
+                int limit = buffer.limit();
+                for (int j = 0; j < limit; j++) {
+                    if (buffer.get(j) != '\n') {
+                        continue;
+                    }
+
+                    if (lineCount % INDEX_STEP == 0) {
+                        int index = (int) (lineCount / INDEX_STEP);
+                        if (index == lineOffsets.length) {
+                            lineOffsets = Arrays.copyOf(lineOffsets, index * 2);
+                        }
+                        lineOffsets[index] = position + j + 1;
+                    }
+                    lineCount++;
+                }
+            }
+
+            return new PagedDocument(path, channel, size, lineOffsets, lineCount);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the path of the file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the size of the file in bytes, as it was when opened
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of lines. A line break at the end of the file
+     * is followed by an empty last line, as in the text editors.
+     *
+     * @return the number of lines, at least 1
+     */
+    public long countLines() {
+        return lineCount;
+    }
+
+    /**
+     * Reads and decodes the specified lines. Reads at most 16 MiB, the text of longer
+     * lines is cut.
+     *
+     * @param firstLine the index of the first line to return
+     * @param count the maximum number of lines to return
+     *
+     * @return the lines with their line breaks, except for the last one
+     *
+     * @throws IndexOutOfBoundsException if the first line is out of range
+     * (firstLine < 0 || firstLine >= countLines()) or the count is negative
+     * @throws IOException if the document is closed, or the file has been truncated
+     * since it was opened
+     */
+    public synchronized String getLines(long firstLine, int count) throws IOException {
+        if (firstLine < 0 || firstLine >= lineCount || count < 0) {
+            String errorMsg = "Invalid lines: (0:" + (lineCount - 1) + ") expected, "
+                    + firstLine + ", " + count + " provided";
+            throw new IndexOutOfBoundsException(errorMsg);
+        }
+
+        if (channel.size() < size) {
+            throw new IOException("File was truncated: " + path);
+        }
+
+        long start = skipLines(lineOffsets[(int) (firstLine / INDEX_STEP)], firstLine % INDEX_STEP);
+        long end = skipLines(start, count);
+        if (count > 0 && firstLine + count < lineCount) {
+            // The line break after the last line
+            end--;
+        }
+
+        ByteBuffer data = ByteBuffer.allocate((int) Math.min(end - start, MAX_WINDOW_SIZE));
+        readFully(channel, data, start, path);
+        return new String(data.array(), 0, data.limit(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closes the file. The lines can no longer be read.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Returns the offset of the line the specified number of lines after the line at the offset
+    private long skipLines(long offset, long lines) throws IOException {
+        long position = offset;
+        for (long skipped = 0; skipped < lines && position < size; position++) {
+            if (byteAt(position) == '\n') {
+                skipped++;
+            }
+        }
+
+        return position;
+    }
+
+    private byte byteAt(long position) throws IOException {
+        if (pagePosition < 0 || position < pagePosition || position >= pagePosition + page.limit()) {
+            pagePosition = -1;
+            page.clear();
+            page.limit((int) Math.min(PAGE_SIZE, size - position));
+            readFully(channel, page, position, path);
+            pagePosition = position;
+        }
+
+        return page.get((int) (position - pagePosition));
+    }
+
+    // Fills the buffer up to its limit, the buffer position is reset to 0
+    private static void readFully(FileChannel channel, ByteBuffer buffer,
+                                  long position, Path path) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("File was truncated: " + path);
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -24,6 +24,9 @@
  * contains the list with the data of opened tabs.
  * Allows listeners to track changes when they occur.
  *
+ * {@link com.sqlines.studio.model.tabsdata.PagedDocument} -
+ * read-only text file mapped into memory, for files too large to be loaded as a whole.
+ *
  * <p>
  * Packages:
  * <p>
@@ -16,17 +16,29 @@
 
 package com.sqlines.studio.presenter;
 
+import com.sqlines.studio.model.batch.BatchConverter;
+import com.sqlines.studio.model.batch.BatchReport;
+import com.sqlines.studio.model.converter.ChunkedConverter;
+import com.sqlines.studio.model.converter.ConversionExecutor;
 import com.sqlines.studio.model.converter.ConversionResult;
+import com.sqlines.studio.model.converter.ConversionSnapshot;
 import com.sqlines.studio.model.converter.Converter;
+import com.sqlines.studio.model.converter.IncrementalConverter;
+import com.sqlines.studio.model.converter.LiveConverter;
+import com.sqlines.studio.model.coreprocess.CoreProcessRunner;
+import com.sqlines.studio.model.coreprocess.listener.CoreProcessOutputListener;
+import com.sqlines.studio.model.PropertiesLoader;
 import com.sqlines.studio.model.filehandler.FileHandler;
 import com.sqlines.studio.model.filehandler.listener.RecentFilesChangeListener;
 import com.sqlines.studio.model.tabsdata.ObservableTabsData;
+import com.sqlines.studio.model.tabsdata.PagedDocument;
 import com.sqlines.studio.model.tabsdata.listener.TabsChangeListener;
 import com.sqlines.studio.model.tabsdata.listener.TabIndexChangeListener;
 import com.sqlines.studio.model.tabsdata.listener.TabTitleChangeListener;
 import com.sqlines.studio.model.tabsdata.listener.TextChangeListener;
 import com.sqlines.studio.model.tabsdata.listener.ModeChangeListener;
 import com.sqlines.studio.view.mainwindow.MainWindowView;
+import com.sqlines.studio.view.mainwindow.editor.PageSource;
 import com.sqlines.studio.view.mainwindow.event.RecentFileEvent;
 import com.sqlines.studio.view.mainwindow.event.TabCloseEvent;
 
@@ -40,9 +52,15 @@ import java.awt.Desktop;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -54,12 +72,25 @@ import org.apache.logging.log4j.Logger;
 public class MainWindowPresenter {
     private static final Logger logger = LogManager.getLogger(MainWindowPresenter.class);
 
+    // Opening fewer files shows no progress
+    private static final int OPEN_PROGRESS_MIN_FILES = 10;
+
     private final ObservableTabsData tabsData;
     private final FileHandler fileHandler;
-    private final Converter converter;
+    private final IncrementalConverter incrementalConverter;
+    private final LiveConverter liveConverter;
+    private final BatchConverter batchConverter;
+    private final ChunkedConverter chunkedConverter;
+    private final ConversionExecutor conversionExecutor;
+    private final CoreProcessRunner coreProcess;
     private final MainWindowView view;
 
+    // Accessed from the JavaFX Application Thread only
+    private final List<ConversionTask> conversions = new ArrayList<>();
+    private Thread batchThread;
+
     private final TabsChangeListener modelTabsListener = this::modelTabsChanged;
+    private final TabsChangeListener conversionTabsListener = this::conversionTabsChanged;
     private final TabIndexChangeListener modelIndexListener = this::modelTabIndexChanged;
     private final TabTitleChangeListener modelTabTitleListener = this::modelTabTileChanged;
     private final ModeChangeListener modelSourceModeListener = (newMode, tabIndex) ->
@@ -85,10 +116,19 @@ public class MainWindowPresenter {
     public MainWindowPresenter(ObservableTabsData tabsData,
                                FileHandler fileHandler,
                                Converter converter,
+                               ConversionExecutor conversionExecutor,
+                               CoreProcessRunner coreProcess,
                                MainWindowView view) {
         this.tabsData = tabsData;
         this.fileHandler = fileHandler;
-        this.converter = converter;
+        this.incrementalConverter = new IncrementalConverter(converter);
+        this.liveConverter = new LiveConverter(incrementalConverter, conversionExecutor);
+        this.batchConverter = new BatchConverter(converter);
+        this.batchConverter.setExecutor(conversionExecutor);
+        this.chunkedConverter = new ChunkedConverter(converter, conversionExecutor,
+                Runtime.getRuntime().availableProcessors(), 8 * 1024 * 1024);
+        this.conversionExecutor = conversionExecutor;
+        this.coreProcess = coreProcess;
         this.view = view;
 
         initHandlers();
@@ -162,21 +202,49 @@ public class MainWindowPresenter {
     }
 
     private void modelSourceTextChanged(String newText, int tabIndex) {
+        PageSource pages = toPageSource(tabsData.getSourceDocument(tabIndex));
         Platform.runLater(() -> {
+            view.showSourcePages(pages, tabIndex);
             view.removeSourceTextListener(viewSourceTextListener);
-            view.setSourceText(newText, tabIndex);
+            view.updateSourceText(newText, tabIndex);
             view.addSourceTextListener(viewSourceTextListener);
         });
     }
 
     private void modelTargetTextChanged(String newText, int tabIndex) {
+        PageSource pages = toPageSource(tabsData.getTargetDocument(tabIndex));
         Platform.runLater(() -> {
+            view.showTargetPages(pages, tabIndex);
             view.removeTargetTextListener(viewTargetTextListener);
-            view.setTargetText(newText, tabIndex);
+            view.updateTargetText(newText, tabIndex);
             view.addTargetTextListener(viewTargetTextListener);
         });
     }
 
+    // Decodes only the lines shown, the file is never loaded as a whole
+    private static PageSource toPageSource(PagedDocument document) {
+        if (document == null) {
+            return null;
+        }
+
+        return new PageSource() {
+            @Override
+            public long countLines() {
+                return document.countLines();
+            }
+
+            @Override
+            public String getLines(long firstLine, int count) {
+                try {
+                    return document.getLines(firstLine, count);
+                } catch (IOException e) {
+                    logger.error("Reading document: " + e.getMessage());
+                    return "";
+                }
+            }
+        };
+    }
+
     private void viewTabIndexChanged(int newIndex) {
         setCurrIndexInModel(newIndex);
         showFilePathInView(newIndex);
@@ -208,18 +276,21 @@ public class MainWindowPresenter {
         tabsData.removeSourceModeListener(modelSourceModeListener);
         tabsData.setSourceMode(newMode, tabIndex);
         tabsData.addSourceModeListener(modelSourceModeListener);
+        scheduleLiveConversion(tabIndex);
     }
 
     private void viewTargetModeChanged(String newMode, int tabIndex) {
         tabsData.removeTargetModeListener(modelTargetModeListener);
         tabsData.setTargetMode(newMode, tabIndex);
         tabsData.addTargetModeListener(modelTargetModeListener);
+        scheduleLiveConversion(tabIndex);
     }
 
     private void viewSourceTextChanged(String newText, int tabIndex) {
         tabsData.removeSourceTextListener(modelSourceTextListener);
         tabsData.setSourceText(newText, tabIndex);
         tabsData.addSourceTextListener(modelSourceTextListener);
+        scheduleLiveConversion(tabIndex);
     }
 
     private void viewTargetTextChanged(String newText, int tabIndex) {
@@ -250,6 +321,7 @@ public class MainWindowPresenter {
 
     private void initTabsDataHandlers() {
         tabsData.addTabsListener(modelTabsListener);
+        tabsData.addTabsListener(conversionTabsListener);
         tabsData.addTabIndexListener(modelIndexListener);
         tabsData.addTabTitleListener(modelTabTitleListener);
         tabsData.addSourceModeListener(modelSourceModeListener);
@@ -298,6 +370,9 @@ public class MainWindowPresenter {
         view.setOnSaveFileAction(event -> saveFilePressed());
         view.setOnSaveAsAction(event -> saveFileAsPressed());
         view.setOnRunAction(event -> runConversionPressed());
+        view.setOnRunToTargetsAction(event -> runToTargetsPressed());
+        view.setOnConvertDirAction(event -> convertDirPressed());
+        view.setOnLiveConversionAction(event -> liveConversionPressed());
         view.setOnOnlineHelpAction(event -> openOnlineHelpPressed());
         view.setOnOpenSiteAction(event -> openSitePressed());
     }
@@ -327,13 +402,27 @@ public class MainWindowPresenter {
     }
 
     private void openFiles(List<File> files) {
-        try {
-            logger.info("Opening " + files.size() + " files");
-            fileHandler.openSourceFiles(files);
-            logger.info(files.size() + " files opened: " + files);
-        } catch (Exception e) {
-            view.showError("File opening error: ", e.getMessage());
-        }
+        logger.info("Opening " + files.size() + " files");
+        boolean showsProgress = files.size() >= OPEN_PROGRESS_MIN_FILES;
+        CompletableFuture<Void> opened = fileHandler.openSourceFilesAsync(files, Platform::runLater,
+                (file, processed, total) -> {
+                    if (showsProgress) {
+                        view.showConversionOutput("Opened " + processed + " of " + total + " files");
+                    }
+                });
+
+        opened.whenComplete((nothing, error) -> Platform.runLater(() -> {
+            if (showsProgress) {
+                view.showConversionOutput("");
+            }
+
+            if (error == null) {
+                logger.info(files.size() + " files opened: " + files);
+            } else {
+                Throwable cause = (error instanceof CompletionException) ? error.getCause() : error;
+                view.showError("File opening error: ", cause.getMessage());
+            }
+        }));
     }
 
     private void openTabPressed() {
@@ -415,26 +504,38 @@ public class MainWindowPresenter {
         }
     }
 
-    private void saveSourceFile(int tabIndex) throws IOException {
+    private void saveSourceFile(int tabIndex) {
         if (tabsData.getSourceFilePath(tabIndex).isEmpty()) {
             saveFileAsPressed();
             return;
         }
 
         logger.info("Saving source file in tab " + tabIndex);
-        fileHandler.saveSourceFile(tabIndex);
-        logger.info("Source file saved in tab " + tabIndex);
+        savingStarted(fileHandler.saveSourceFile(tabIndex), "Source file saved in tab " + tabIndex);
+    }
+
+    // The file is written in the background, the errors are shown when it is done
+    private void savingStarted(CompletableFuture<Void> saved, String savedMessage) {
+        saved.whenComplete((nothing, error) -> {
+            if (error == null) {
+                logger.info(savedMessage);
+                return;
+            }
+
+            Throwable cause = (error instanceof CompletionException) ? error.getCause() : error;
+            logger.error("Saving file: " + cause.getMessage());
+            Platform.runLater(() -> view.showError("Filesystem error", cause.getMessage()));
+        });
     }
 
-    private void saveTargetFile(int tabIndex) throws IOException {
+    private void saveTargetFile(int tabIndex) {
         if (tabsData.getTargetFilePath(tabIndex).isEmpty()) {
             saveFileAsPressed();
             return;
         }
 
         logger.info("Saving target file in tab " + tabIndex);
-        fileHandler.saveTargetFile(tabIndex);
-        logger.info("Target file saved in tab " + tabIndex);
+        savingStarted(fileHandler.saveTargetFile(tabIndex), "Target file saved in tab " + tabIndex);
     }
 
     private void saveFileAsPressed() {
@@ -460,57 +561,363 @@ public class MainWindowPresenter {
         }
     }
 
-    private void saveSourceFileAs(int tabIndex, String path) throws IOException {
+    private void saveSourceFileAs(int tabIndex, String path) {
         logger.info("Saving source file: " + path);
-        fileHandler.saveSourceFileAs(tabIndex, path);
-        logger.info("Source file saved: " + path);
+        savingStarted(fileHandler.saveSourceFileAs(tabIndex, path), "Source file saved: " + path);
     }
 
-    private void saveTargetFileAs(int tabIndex, String path) throws IOException {
+    private void saveTargetFileAs(int tabIndex, String path) {
         logger.info("Saving target file: " + path);
-        fileHandler.saveTargetFileAs(tabIndex, path);
-        logger.info("Target file saved: " + path);
+        savingStarted(fileHandler.saveTargetFileAs(tabIndex, path), "Target file saved: " + path);
     }
 
     private void runConversionPressed() {
         int currIndex = tabsData.getCurrTabIndex();
+        Optional<ConversionTask> running = conversions.stream()
+                .filter(task -> task.tabIndex == currIndex && !task.isLive)
+                .findFirst();
+        if (running.isPresent()) {
+            logger.info("Cancelling conversion in tab " + currIndex);
+            running.get().future.cancel(true);
+            return;
+        }
+
         try {
             logger.info("Running conversion in tab " + currIndex);
-            runConversion(currIndex);
-            logger.info("Conversion ended in tab " + currIndex);
+            cancelLiveConversion(currIndex);
+            startConversion(currIndex);
         } catch (Exception e) {
             showConversionError(currIndex, e.getMessage());
-        } finally {
-            showConversionEnd(currIndex);
         }
     }
 
-    private void runConversion(int tabIndex) throws Exception {
+    private void startConversion(int tabIndex) {
+        PagedDocument document = tabsData.getSourceDocument(tabIndex);
+        if (document != null) {
+            startFileConversion(tabIndex, document);
+            return;
+        }
+
         if (!tabsData.getSourceFilePath(tabIndex).isEmpty()) {
             logger.info("Saving source file in tab " + tabIndex);
-            fileHandler.saveSourceFile(tabIndex);
-            logger.info("Source file saved in tab " + tabIndex);
+            savingStarted(fileHandler.saveSourceFile(tabIndex), "Source file saved in tab " + tabIndex);
         }
 
-        Platform.runLater(() -> view.showConversionStart(tabIndex));
+        view.showConversionStart(tabIndex);
         String sourceMode = tabsData.getSourceMode(tabIndex);
         String targetMode = tabsData.getTargetMode(tabIndex);
         String targetFileName = tabsData.getTabTitle(tabIndex).trim().toLowerCase();
-        String sourceFilePath = tabsData.getSourceFilePath(tabIndex);
-        ConversionResult result;
-        if (!sourceFilePath.isEmpty()) {
-            result = converter.run(sourceMode, targetMode, sourceFilePath, targetFileName);
+        String sourceText = tabsData.getSourceText(tabIndex);
+        ConversionSnapshot previous = tabsData.getConversionSnapshot(tabIndex);
+        ConversionOutput output = new ConversionOutput();
+        CompletableFuture<ConversionSnapshot> future = conversionExecutor.submit(() ->
+                coreProcess.callWithOutputListener(output, () -> incrementalConverter.run(sourceMode,
+                        targetMode, sourceText, targetFileName, previous)));
+
+        ConversionTask task = new ConversionTask(tabIndex, future, false, sourceText);
+        output.task = task;
+        conversions.add(task);
+        future.whenComplete((snapshot, error) ->
+                Platform.runLater(() -> conversionEnded(task, snapshot, error)));
+    }
+
+    // The file is converted in chunks straight from the disk and the target file is shown page by page
+    private void startFileConversion(int tabIndex, PagedDocument document) {
+        view.showConversionStart(tabIndex);
+        String sourceMode = tabsData.getSourceMode(tabIndex);
+        String targetMode = tabsData.getTargetMode(tabIndex);
+        String targetFileName = tabsData.getTabTitle(tabIndex).trim().toLowerCase();
+        CompletableFuture<Path> future = chunkedConverter.convertAsync(sourceMode, targetMode,
+                document.getPath(), targetFileName);
+
+        ConversionTask task = new ConversionTask(tabIndex, future, false, "");
+        conversions.add(task);
+        future.whenComplete((targetPath, error) -> fileConversionCompleted(task, targetPath, error));
+    }
+
+    // Indexes the target file before going back to the JavaFX Application Thread
+    private void fileConversionCompleted(ConversionTask task, Path targetPath, Throwable error) {
+        if (error != null) {
+            Platform.runLater(() -> fileConversionEnded(task, null, error));
+            return;
+        }
+
+        try {
+            PagedDocument target = PagedDocument.open(targetPath);
+            Platform.runLater(() -> fileConversionEnded(task, target, null));
+        } catch (IOException e) {
+            Platform.runLater(() -> fileConversionEnded(task, null, e));
+        }
+    }
+
+    private void fileConversionEnded(ConversionTask task, PagedDocument target, Throwable error) {
+        conversions.remove(task);
+        if (conversions.isEmpty()) {
+            view.showConversionOutput("");
+        }
+
+        int tabIndex = task.tabIndex;
+        if (tabIndex < 0) {
+            logger.info("Conversion result discarded: the tab is closed");
+            closeDocument(target);
+            return;
+        }
+
+        if (error == null) {
+            tabsData.setTargetDocument(target, tabIndex);
+            tabsData.setTargetText("", tabIndex);
+            tabsData.setTargetFilePath(target.getPath().toString(), tabIndex);
+            logger.info("Conversion ended in tab " + tabIndex + ": " + target.countLines() + " lines");
+        } else if (error instanceof CancellationException) {
+            logger.info("Conversion cancelled in tab " + tabIndex);
         } else {
-            byte[] sourceData = tabsData.getSourceText(tabIndex).getBytes();
-            result = converter.run(sourceMode, targetMode, sourceData, targetFileName);
+            showConversionError(tabIndex, error.getMessage());
+        }
+
+        view.showConversionEnd(tabIndex);
+    }
+
+    private static void closeDocument(PagedDocument document) {
+        if (document == null) {
+            return;
+        }
+
+        try {
+            document.close();
+        } catch (IOException e) {
+            logger.error("Closing document: " + e.getMessage());
+        }
+    }
+
+    private void runToTargetsPressed() {
+        int currIndex = tabsData.getCurrTabIndex();
+        if (tabsData.getSourceDocument(currIndex) != null) {
+            showConversionError(currIndex, "A file shown page by page is converted into one target mode only.");
+            return;
+        }
+
+        Optional<List<String>> targetModes = view.choseTargetModes();
+        if (targetModes.isEmpty() || targetModes.get().isEmpty()) {
+            return;
         }
 
-        tabsData.setTargetText(result.getData(), tabIndex);
-        tabsData.setTargetFilePath(result.getTargetFilePath(), tabIndex);
+        try {
+            logger.info("Running conversion in tab " + currIndex + " into " + targetModes.get());
+            startConversions(currIndex, targetModes.get());
+        } catch (Exception e) {
+            showConversionError(currIndex, e.getMessage());
+        }
     }
 
-    private void showConversionEnd(int tabIndex) {
-        Platform.runLater(() -> view.showConversionEnd(tabIndex));
+    private void startConversions(int tabIndex, List<String> targetModes) {
+        if (!tabsData.getSourceFilePath(tabIndex).isEmpty()) {
+            logger.info("Saving source file in tab " + tabIndex);
+            savingStarted(fileHandler.saveSourceFile(tabIndex), "Source file saved in tab " + tabIndex);
+        }
+
+        String sourceMode = tabsData.getSourceMode(tabIndex);
+        String title = tabsData.getTabTitle(tabIndex);
+        String targetFileName = title.trim().toLowerCase();
+        String sourceText = tabsData.getSourceText(tabIndex);
+        Map<String, CompletableFuture<ConversionSnapshot>> futures = incrementalConverter.runAsync(sourceMode,
+                targetModes, sourceText, targetFileName, conversionExecutor);
+
+        // The results are opened in linked tabs next to the source tab
+        int targetIndex = tabIndex;
+        for (Map.Entry<String, CompletableFuture<ConversionSnapshot>> entry : futures.entrySet()) {
+            targetIndex++;
+            openTargetTab(targetIndex, title + " - " + entry.getKey(), sourceMode, entry.getKey(), sourceText);
+            view.showConversionStart(targetIndex);
+
+            ConversionTask task = new ConversionTask(targetIndex, entry.getValue(), false, sourceText);
+            conversions.add(task);
+            entry.getValue().whenComplete((snapshot, error) ->
+                    Platform.runLater(() -> conversionEnded(task, snapshot, error)));
+        }
+
+        tabsData.setCurrTabIndex(tabIndex + 1);
+    }
+
+    private void openTargetTab(int tabIndex, String title, String sourceMode,
+                               String targetMode, String sourceText) {
+        tabsData.removeTabsListener(modelTabsListener);
+        tabsData.openTab(tabIndex);
+        tabsData.addTabsListener(modelTabsListener);
+        view.openTab(tabIndex);
+
+        tabsData.setTabTitle(title, tabIndex);
+        tabsData.setSourceMode(sourceMode, tabIndex);
+        tabsData.setTargetMode(targetMode, tabIndex);
+        tabsData.setSourceText(sourceText, tabIndex);
+    }
+
+    private void convertDirPressed() {
+        if (batchThread != null && batchThread.isAlive()) {
+            logger.info("Cancelling directory conversion");
+            batchThread.interrupt();
+            return;
+        }
+
+        Optional<File> sourceDir = view.choseDirectory("Select Directory To Convert");
+        if (sourceDir.isEmpty()) {
+            return;
+        }
+
+        Optional<File> targetDir = view.choseDirectory("Select Target Directory");
+        if (targetDir.isEmpty()) {
+            return;
+        }
+
+        // The files are converted at the background priority, so the tab runs are not queued behind them
+        int currIndex = tabsData.getCurrTabIndex();
+        String sourceMode = tabsData.getSourceMode(currIndex);
+        String targetMode = tabsData.getTargetMode(currIndex);
+        batchThread = new Thread(() -> convertDir(sourceDir.get().toPath(), targetDir.get().toPath(),
+                sourceMode, targetMode), "Batch Conversion Thread");
+        batchThread.setDaemon(true);
+        batchThread.start();
+    }
+
+    private void convertDir(Path sourceDir, Path targetDir, String sourceMode, String targetMode) {
+        try {
+            BatchReport report = batchConverter.convert(sourceDir, targetDir, sourceMode, targetMode,
+                    (result, processed, total) -> Platform.runLater(() ->
+                            view.showConversionOutput("Converted " + processed + " of " + total + " files")));
+            Platform.runLater(() -> view.showConversionOutput(""));
+            if (!report.getFailures().isEmpty()) {
+                BatchReport.FileResult failure = report.getFailures().get(0);
+                String error = report.getFailures().size() + " of " + report.getResults().size() +
+                        " files failed to convert.\n" + failure.getSourcePath() + ": " +
+                        failure.getError().orElse("");
+                logger.error(error);
+                Platform.runLater(() -> view.showError("Directory conversion error", error));
+            }
+        } catch (InterruptedException e) {
+            logger.info("Directory conversion cancelled");
+            Platform.runLater(() -> view.showConversionOutput(""));
+        } catch (Exception e) {
+            logger.error("Directory conversion: " + e.getMessage());
+            Platform.runLater(() -> view.showError("Directory conversion error", e.getMessage()));
+        }
+    }
+
+    private void conversionEnded(ConversionTask task, ConversionSnapshot snapshot, Throwable error) {
+        conversions.remove(task);
+        if (conversions.isEmpty()) {
+            view.showConversionOutput("");
+        }
+
+        int tabIndex = task.tabIndex;
+        if (tabIndex < 0) {
+            logger.info("Conversion result discarded: the tab is closed");
+            return;
+        } else if (task.isLive) {
+            liveConversionEnded(task, snapshot, error);
+            return;
+        }
+
+        if (error == null) {
+            tabsData.setConversionSnapshot(snapshot, tabIndex);
+            tabsData.setTargetDocument(null, tabIndex);
+            ConversionResult result = snapshot.getResult();
+            tabsData.setTargetText(result.getData(), tabIndex);
+            tabsData.setTargetFilePath(result.getTargetFilePath(), tabIndex);
+            logger.info("Conversion ended in tab " + tabIndex);
+        } else if (error instanceof CancellationException) {
+            logger.info("Conversion cancelled in tab " + tabIndex);
+        } else {
+            showConversionError(tabIndex, error.getMessage());
+        }
+
+        view.showConversionEnd(tabIndex);
+    }
+
+    private void liveConversionPressed() {
+        boolean isEnabled = !isLiveConversionEnabled();
+        System.setProperty("model.live-conversion", isEnabled ? "enabled" : "disabled");
+        view.setLiveConversionSelected(isEnabled);
+        if (isEnabled) {
+            scheduleLiveConversion(tabsData.getCurrTabIndex());
+        } else {
+            conversions.stream().filter(task -> task.isLive).forEach(task -> task.future.cancel(true));
+            conversions.removeIf(task -> task.isLive);
+        }
+
+        logger.info("Live conversion " + (isEnabled ? "enabled" : "disabled"));
+        try {
+            PropertiesLoader.saveProperties();
+        } catch (Exception e) {
+            logger.error("Saving properties: " + e.getMessage());
+        }
+    }
+
+    private boolean isLiveConversionEnabled() {
+        return System.getProperty("model.live-conversion", "disabled").equals("enabled");
+    }
+
+    private void scheduleLiveConversion(int tabIndex) {
+        if (!isLiveConversionEnabled() || tabIndex < 0) {
+            return;
+        }
+
+        // The source field is disabled while the Run conversion is running
+        boolean isRunning = conversions.stream().anyMatch(task -> task.tabIndex == tabIndex && !task.isLive);
+        boolean isPaged = tabsData.getSourceDocument(tabIndex) != null;
+        String sourceMode = tabsData.getSourceMode(tabIndex);
+        String targetMode = tabsData.getTargetMode(tabIndex);
+        if (isRunning || isPaged || sourceMode.isEmpty() || targetMode.isEmpty()) {
+            return;
+        }
+
+        cancelLiveConversion(tabIndex);
+        String sourceText = tabsData.getSourceText(tabIndex);
+        CompletableFuture<ConversionSnapshot> future = liveConverter.schedule(sourceMode, targetMode,
+                sourceText, tabsData.getConversionSnapshot(tabIndex));
+
+        ConversionTask task = new ConversionTask(tabIndex, future, true, sourceText);
+        conversions.add(task);
+        future.whenComplete((snapshot, error) ->
+                Platform.runLater(() -> conversionEnded(task, snapshot, error)));
+    }
+
+    private void cancelLiveConversion(int tabIndex) {
+        conversions.removeIf(task -> {
+            if (task.tabIndex == tabIndex && task.isLive) {
+                task.future.cancel(true);
+                return true;
+            }
+
+            return false;
+        });
+    }
+
+    private void liveConversionEnded(ConversionTask task, ConversionSnapshot snapshot, Throwable error) {
+        int tabIndex = task.tabIndex;
+        if (error == null && task.sourceText.equals(tabsData.getSourceText(tabIndex))) {
+            tabsData.setConversionSnapshot(snapshot, tabIndex);
+            tabsData.setTargetDocument(null, tabIndex);
+            tabsData.setTargetText(snapshot.getResult().getData(), tabIndex);
+        } else if (error != null && !(error instanceof CancellationException)) {
+            logger.warn("Live conversion failed in tab " + tabIndex + ": " + error.getMessage());
+        }
+    }
+
+    private void conversionTabsChanged(TabsChangeListener.Change change) {
+        int changedIndex = change.getTabIndex();
+        for (ConversionTask task : conversions) {
+            if (change.getChangeType() == TabsChangeListener.Change.ChangeType.TAB_ADDED) {
+                if (task.tabIndex >= changedIndex) {
+                    task.tabIndex++;
+                }
+            } else if (change.getChangeType() == TabsChangeListener.Change.ChangeType.TAB_REMOVED) {
+                if (task.tabIndex == changedIndex) {
+                    task.tabIndex = -1;
+                    task.future.cancel(true);
+                } else if (task.tabIndex > changedIndex) {
+                    task.tabIndex--;
+                }
+            }
+        }
     }
 
     private void showConversionError(int tabIndex, String errorMsg) {
@@ -542,6 +949,7 @@ public class MainWindowPresenter {
     }
 
     private void initView() {
+        view.setLiveConversionSelected(isLiveConversionEnabled());
         try {
             int tabsNumber = tabsData.countTabs();
             if (tabsNumber == 0) {
@@ -587,4 +995,53 @@ public class MainWindowPresenter {
         fileHandler.clearRecentFiles();
         view.clearRecentFiles();
     }
+
+    /**
+     * Conversion running in the background.
+     * The tab index is updated when the tabs before it are opened or closed,
+     * and set to -1 when the tab itself is closed. Live conversions are started
+     * by the edits, see {@link LiveConverter}.
+     */
+    private static class ConversionTask {
+        private int tabIndex;
+        private final CompletableFuture<?> future;
+        private final boolean isLive;
+        private final String sourceText;
+
+        ConversionTask(int tabIndex, CompletableFuture<?> future,
+                       boolean isLive, String sourceText) {
+            this.tabIndex = tabIndex;
+            this.future = future;
+            this.isLive = isLive;
+            this.sourceText = sourceText;
+        }
+    }
+
+    /**
+     * Log of the SQLines command-line program written while a conversion is running.
+     * The latest line not yet shown is kept, the lines in between are skipped.
+     * The line is shown only while the conversion is running in the current tab.
+     * The program writes its log only when converting files, so no lines are shown
+     * while conversions are streamed, see {@link CoreProcessRunner#callWithOutputListener}.
+     */
+    private class ConversionOutput implements CoreProcessOutputListener {
+        private final AtomicReference<String> pendingLine = new AtomicReference<>();
+
+        // Accessed from the JavaFX Application Thread only
+        private ConversionTask task;
+
+        @Override
+        public void onOutput(String line) {
+            if (pendingLine.getAndSet(line) == null) {
+                Platform.runLater(this::showPendingLine);
+            }
+        }
+
+        private void showPendingLine() {
+            String line = pendingLine.getAndSet(null);
+            if (line != null && conversions.contains(task) && task.tabIndex == tabsData.getCurrTabIndex()) {
+                view.showConversionOutput(line);
+            }
+        }
+    }
 }
@@ -69,7 +69,8 @@ public class SettingsPresenter {
         setDefaults();
         initHandlers();
         loadProperties();
-        checkLicense();
+        // The license status is read in the background and reported to licenseChanged
+        showNotActiveLicense();
     }
 
     private void setDefaults() {
@@ -518,24 +519,6 @@ public class SettingsPresenter {
         }
     }
 
-    private void checkLicense() {
-        try {
-            if (license.isActive()) {
-                showActiveLicense();
-            } else {
-                showNotActiveLicense();
-            }
-        } catch (Exception e) {
-            showNotActiveLicense();
-            logger.error("License check: " + e.getMessage());
-        }
-    }
-
-    private void showActiveLicense() {
-        mainWindow.setWindowTitle("SQLines Studio");
-        settingsWindow.setLicenseInfo("License: Active");
-    }
-
     private void showNotActiveLicense() {
         mainWindow.setWindowTitle("SQLINES STUDIO - FOR EVALUATION USE ONLY");
         settingsWindow.setLicenseInfo("License: For evaluation use only");
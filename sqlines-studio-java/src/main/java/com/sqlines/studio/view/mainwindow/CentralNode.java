@@ -17,9 +17,12 @@
 package com.sqlines.studio.view.mainwindow;
 
 import com.sqlines.studio.view.mainwindow.editor.CodeEditor;
+import com.sqlines.studio.view.mainwindow.editor.PageSource;
+import com.sqlines.studio.view.mainwindow.editor.PagedEditor;
 
 import javafx.beans.value.ChangeListener;
 import javafx.geometry.Insets;
+import javafx.scene.Node;
 import javafx.scene.layout.HBox;
 
 import java.util.Optional;
@@ -28,6 +31,7 @@ import java.util.Optional;
  * Central control in the main window.
  * <p>
  * Contains 2 text input fields for source data and target data, respectively.
+ * A text too large to be edited is shown in a {@link PagedEditor} instead of its text input field.
  */
 class CentralNode extends HBox {
 
@@ -44,6 +48,8 @@ class CentralNode extends HBox {
 
     private final CodeEditor sourceEditor = new CodeEditor();
     private final CodeEditor targetEditor = new CodeEditor();
+    private final PagedEditor sourcePages = new PagedEditor();
+    private final PagedEditor targetPages = new PagedEditor();
 
     public CentralNode() {
         setUp();
@@ -58,7 +64,8 @@ class CentralNode extends HBox {
 
     private void showTargetFieldOnTextChange() {
         targetEditor.addTextListener((observable, oldText, newText) -> {
-            if (!newText.isEmpty() && !getChildren().contains(targetEditor)) {
+            if (!newText.isEmpty() && !getChildren().contains(targetEditor)
+                    && !getChildren().contains(targetPages)) {
                 getChildren().add(targetEditor);
             }
         });
@@ -82,6 +89,68 @@ class CentralNode extends HBox {
         targetEditor.setText(text);
     }
 
+    /**
+     * Replaces only the changed lines of the source text input field with the lines of the given text.
+     *
+     * @param text text to set
+     */
+    public void updateSourceText(String text) {
+        sourceEditor.updateText(text);
+    }
+
+    /**
+     * Replaces only the changed lines of the target text input field with the lines of the given text.
+     *
+     * @param text text to set
+     */
+    public void updateTargetText(String text) {
+        targetEditor.updateText(text);
+    }
+
+    /**
+     * Shows the source text page by page instead of the source text input field.
+     * Shows the source text input field again if the source is null.
+     *
+     * @param source lines of the source text, or null
+     */
+    public void showSourcePages(PageSource source) {
+        if (source == null) {
+            replace(sourcePages, sourceEditor);
+            return;
+        }
+
+        sourcePages.setSource(source);
+        replace(sourceEditor, sourcePages);
+    }
+
+    /**
+     * Shows the target text page by page instead of the target text input field.
+     * Shows the target text input field again if the source is null.
+     *
+     * @param source lines of the target text, or null
+     */
+    public void showTargetPages(PageSource source) {
+        if (source == null) {
+            replace(targetPages, targetEditor);
+            return;
+        }
+
+        targetPages.setSource(source);
+        if (!replace(targetEditor, targetPages) && !getChildren().contains(targetPages)) {
+            getChildren().add(targetPages);
+        }
+    }
+
+    private boolean replace(Node oldNode, Node newNode) {
+        int index = getChildren().indexOf(oldNode);
+        if (index < 0) {
+            return false;
+        }
+
+        getChildren().set(index, newNode);
+        return true;
+    }
+
     /**
      * @return the index of the current line in the source text input field
      */
@@ -124,6 +193,10 @@ class CentralNode extends HBox {
             return Optional.of(sourceEditor);
         } else if (targetEditor.hasFocus()) {
             return Optional.of(targetEditor);
+        } else if (sourcePages.getEditor().hasFocus()) {
+            return Optional.of(sourcePages.getEditor());
+        } else if (targetPages.getEditor().hasFocus()) {
+            return Optional.of(targetPages.getEditor());
         } else {
             return Optional.empty();
         }
@@ -206,6 +279,8 @@ class CentralNode extends HBox {
     public void zoomIn() {
         sourceEditor.zoomIn();
         targetEditor.zoomIn();
+        sourcePages.getEditor().zoomIn();
+        targetPages.getEditor().zoomIn();
     }
 
     /**
@@ -214,6 +289,8 @@ class CentralNode extends HBox {
     public void zoomOut() {
         sourceEditor.zoomOut();
         targetEditor.zoomOut();
+        sourcePages.getEditor().zoomOut();
+        targetPages.getEditor().zoomOut();
     }
 
     /**
@@ -223,9 +300,17 @@ class CentralNode extends HBox {
      */
     public void focusOn(inFocus inFocus) {
        if (inFocus == CentralNode.inFocus.SOURCE) {
-            sourceEditor.requestFocus();
+            focusOn(sourceEditor, sourcePages);
         } else if (inFocus == CentralNode.inFocus.TARGET) {
-            targetEditor.requestFocus();
+            focusOn(targetEditor, targetPages);
+        }
+    }
+
+    private void focusOn(CodeEditor editor, PagedEditor pages) {
+        if (getChildren().contains(pages)) {
+            pages.getEditor().requestFocus();
+        } else {
+            editor.requestFocus();
         }
     }
 
@@ -238,7 +323,7 @@ class CentralNode extends HBox {
      */
     public void setTargetFieldPolicy(TargetFieldPolicy policy) {
         if (policy == TargetFieldPolicy.ALWAYS) {
-            if (!getChildren().contains(targetEditor)) {
+            if (!getChildren().contains(targetEditor) && !getChildren().contains(targetPages)) {
                 getChildren().add(targetEditor);
             }
         } else if (policy == TargetFieldPolicy.AS_NEEDED) {
@@ -258,6 +343,8 @@ class CentralNode extends HBox {
     public void setWrappingPolicy(CodeEditor.WrappingPolicy policy) {
         sourceEditor.setWrappingPolicy(policy);
         targetEditor.setWrappingPolicy(policy);
+        sourcePages.getEditor().setWrappingPolicy(policy);
+        targetPages.getEditor().setWrappingPolicy(policy);
     }
 
     /**
@@ -270,6 +357,8 @@ class CentralNode extends HBox {
     public void setHighlighterPolicy(CodeEditor.HighlighterPolicy policy) {
         sourceEditor.setHighlighterPolicy(policy);
         targetEditor.setHighlighterPolicy(policy);
+        sourcePages.getEditor().setHighlighterPolicy(policy);
+        targetPages.getEditor().setHighlighterPolicy(policy);
     }
 
     /**
@@ -282,6 +371,8 @@ class CentralNode extends HBox {
     public void setLineNumbersPolicy(CodeEditor.LineNumbersPolicy policy) {
         sourceEditor.setLineNumbersPolicy(policy);
         targetEditor.setLineNumbersPolicy(policy);
+        sourcePages.getEditor().setLineNumbersPolicy(policy);
+        targetPages.getEditor().setLineNumbersPolicy(policy);
     }
     
     /**
@@ -358,6 +449,7 @@ class CentralNode extends HBox {
      */
     public void addSourceFocusListener(ChangeListener<Boolean> listener) {
         sourceEditor.addFocusListener(listener);
+        sourcePages.addFocusListener(listener);
     }
 
     /**
@@ -368,5 +460,6 @@ class CentralNode extends HBox {
      */
     public void addTargetFocusListener(ChangeListener<Boolean> listener) {
         targetEditor.addFocusListener(listener);
+        targetPages.addFocusListener(listener);
     }
 }
@@ -85,6 +85,9 @@ class MainMenuBar extends MenuBar {
 
     // Tools tab menu items
     private final MenuItem runMenuItem = new MenuItem();
+    private final MenuItem runToTargetsMenuItem = new MenuItem();
+    private final MenuItem convertDirMenuItem = new MenuItem();
+    private final CheckMenuItem liveConversionMenuItem = new CheckMenuItem();
 
     // Help tab menu items
     private final MenuItem onlineHelpMenuItem = new MenuItem();
@@ -224,13 +227,20 @@ class MainMenuBar extends MenuBar {
             toolsMenu.getItems().addAll(preferencesMenuItem, new SeparatorMenuItem());
         }
 
-        toolsMenu.getItems().add(runMenuItem);
+        toolsMenu.getItems().addAll(runMenuItem, runToTargetsMenuItem, convertDirMenuItem,
+                liveConversionMenuItem);
         getMenus().add(toolsMenu);
     }
 
     private void setUpToolsMenuItems() {
         runMenuItem.setText("Run Conversion");
         runMenuItem.setAccelerator(new KeyCodeCombination(KeyCode.R, KeyCombination.SHORTCUT_DOWN));
+        runToTargetsMenuItem.setText("Run Conversion To Several Targets...");
+        runToTargetsMenuItem.setAccelerator(
+                new KeyCodeCombination(KeyCode.R, KeyCombination.SHIFT_DOWN, KeyCombination.SHORTCUT_DOWN)
+        );
+        convertDirMenuItem.setText("Convert Directory...");
+        liveConversionMenuItem.setText("Convert As You Type");
     }
 
     private void makeHelpMenu() {
@@ -342,6 +352,15 @@ class MainMenuBar extends MenuBar {
         wrappingMenuItem.setSelected(isSelected);
     }
 
+    /**
+     * Defines the selection state of the Convert As You Type menu item in the Tools menu.
+     *
+     * @param isSelected makes the menu item selected if true, unselected otherwise
+     */
+    public void setLiveConversionSelected(boolean isSelected) {
+        liveConversionMenuItem.setSelected(isSelected);
+    }
+
     /**
      * Defines the selection state of the Highlighter menu item in the Editor menu.
      *
@@ -646,6 +665,36 @@ class MainMenuBar extends MenuBar {
         runMenuItem.setOnAction(action);
     }
 
+    /**
+     * Sets the action which is invoked when
+     * the Run Conversion To Several Targets menu item in the Tools menu is clicked.
+     *
+     * @param action the action to register
+     */
+    public void setOnRunToTargetsAction(EventHandler<ActionEvent> action) {
+        runToTargetsMenuItem.setOnAction(action);
+    }
+
+    /**
+     * Sets the action which is invoked when
+     * the Convert Directory menu item in the Tools menu is clicked.
+     *
+     * @param action the action to register
+     */
+    public void setOnConvertDirAction(EventHandler<ActionEvent> action) {
+        convertDirMenuItem.setOnAction(action);
+    }
+
+    /**
+     * Sets the action which is invoked when
+     * the Convert As You Type check menu item in the Tools menu is clicked.
+     *
+     * @param action the action to register
+     */
+    public void setOnLiveConversionAction(EventHandler<ActionEvent> action) {
+        liveConversionMenuItem.setOnAction(action);
+    }
+
     /**
      * Sets the action which is invoked when the Open Online Help menu item is clicked.
      *
@@ -18,6 +18,7 @@ package com.sqlines.studio.view.mainwindow;
 
 import com.sqlines.studio.view.AbstractWindow;
 import com.sqlines.studio.view.mainwindow.editor.CodeEditor;
+import com.sqlines.studio.view.mainwindow.editor.PageSource;
 import com.sqlines.studio.view.mainwindow.event.RecentFileEvent;
 import com.sqlines.studio.view.mainwindow.event.TabCloseEvent;
 import com.sqlines.studio.view.mainwindow.listener.FocusChangeListener;
@@ -31,6 +32,7 @@ import javafx.beans.value.ObservableValue;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
 import javafx.event.EventHandler;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.input.DragEvent;
@@ -38,6 +40,7 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.WindowEvent;
 
@@ -69,6 +72,7 @@ public class MainWindow extends AbstractWindow implements MainWindowView, MainWi
     private EventHandler<DragEvent> dragEventHandler;
     private EventHandler<DragEvent> dropEventHandler;
 
+    private List<String> targetModes = List.of();
     private FieldInFocus inFocus = FieldInFocus.SOURCE;
     private TargetFieldPolicy targetFieldPolicy = TargetFieldPolicy.AS_NEEDED;
     private WrappingPolicy wrappingPolicy = WrappingPolicy.NO_WRAP;
@@ -99,6 +103,7 @@ public class MainWindow extends AbstractWindow implements MainWindowView, MainWi
         menuBar.setWrappingSelected(false);
         menuBar.setHighlighterSelected(true);
         menuBar.setLineNumbersSelected(true);
+        menuBar.setLiveConversionSelected(false);
     }
 
     private void setUpTabBar() {
@@ -326,6 +331,7 @@ public class MainWindow extends AbstractWindow implements MainWindowView, MainWi
                                    List<String> targetModes) {
         toolBar.setSourceModes(sourceModes);
         toolBar.setTargetModes(targetModes);
+        this.targetModes = List.copyOf(targetModes);
     }
 
     @Override
@@ -371,6 +377,42 @@ public class MainWindow extends AbstractWindow implements MainWindowView, MainWi
         centralNode.setTargetText(text);
     }
 
+    @Override
+    public void updateSourceText(String text, int tabIndex) {
+        checkRange(tabIndex, 0, tabBar.getTabs().size());
+
+        Tab tab = tabBar.getTabs().get(tabIndex);
+        CentralNode centralNode = (CentralNode) tab.getContent();
+        centralNode.updateSourceText(text);
+    }
+
+    @Override
+    public void updateTargetText(String text, int tabIndex) {
+        checkRange(tabIndex, 0, tabBar.getTabs().size());
+
+        Tab tab = tabBar.getTabs().get(tabIndex);
+        CentralNode centralNode = (CentralNode) tab.getContent();
+        centralNode.updateTargetText(text);
+    }
+
+    @Override
+    public void showSourcePages(PageSource source, int tabIndex) {
+        checkRange(tabIndex, 0, tabBar.getTabs().size());
+
+        Tab tab = tabBar.getTabs().get(tabIndex);
+        CentralNode centralNode = (CentralNode) tab.getContent();
+        centralNode.showSourcePages(source);
+    }
+
+    @Override
+    public void showTargetPages(PageSource source, int tabIndex) {
+        checkRange(tabIndex, 0, tabBar.getTabs().size());
+
+        Tab tab = tabBar.getTabs().get(tabIndex);
+        CentralNode centralNode = (CentralNode) tab.getContent();
+        centralNode.showTargetPages(source);
+    }
+
     @Override
     public void setWindowTitle(String title) {
         setTitle(title);
@@ -745,7 +787,12 @@ public class MainWindow extends AbstractWindow implements MainWindowView, MainWi
     public void showConversionStart(int tabIndex) {
         checkRange(tabIndex, 0, tabBar.getTabs().size());
 
-        CentralNode centralNode = getSelectedCentralNode();
+        Tab tab = tabBar.getTabs().get(tabIndex);
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setPrefSize(14, 14);
+        tab.setGraphic(indicator);
+
+        CentralNode centralNode = (CentralNode) tab.getContent();
         centralNode.setDisable(true);
     }
 
@@ -753,9 +800,14 @@ public class MainWindow extends AbstractWindow implements MainWindowView, MainWi
     public void showConversionEnd(int tabIndex) {
         checkRange(tabIndex, 0, tabBar.getTabs().size());
 
-        CentralNode centralNode = getSelectedCentralNode();
+        Tab tab = tabBar.getTabs().get(tabIndex);
+        tab.setGraphic(null);
+
+        CentralNode centralNode = (CentralNode) tab.getContent();
         centralNode.setDisable(false);
-        centralNode.focusOn(CentralNode.inFocus.TARGET);
+        if (tab.isSelected()) {
+            centralNode.focusOn(CentralNode.inFocus.TARGET);
+        }
     }
 
     @Override
@@ -770,6 +822,24 @@ public class MainWindow extends AbstractWindow implements MainWindowView, MainWi
         statusBar.setFilePath(filePath);
     }
 
+    @Override
+    public void showConversionOutput(String line) {
+        statusBar.setConversionOutput(line);
+    }
+
+    @Override
+    public Optional<List<String>> choseTargetModes() {
+        TargetModesWindow window = new TargetModesWindow(targetModes);
+        setStylesheets(window);
+        window.showAndWait();
+        return window.getSelectedModes();
+    }
+
+    @Override
+    public void setLiveConversionSelected(boolean isSelected) {
+        menuBar.setLiveConversionSelected(isSelected);
+    }
+
     @Override
     public Optional<List<File>> choseFilesToOpen() {
         FileChooser chooser = new FileChooser();
@@ -793,6 +863,13 @@ public class MainWindow extends AbstractWindow implements MainWindowView, MainWi
                 .map(File::getAbsolutePath);
     }
 
+    @Override
+    public Optional<File> choseDirectory(String title) {
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle(title);
+        return Optional.ofNullable(chooser.showDialog(this));
+    }
+
     @Override
     public void addRecentFile(String filePath) {
         menuBar.addRecentFile(filePath);
@@ -939,6 +1016,21 @@ public class MainWindow extends AbstractWindow implements MainWindowView, MainWi
         toolBar.setOnRunAction(action);
     }
 
+    @Override
+    public void setOnRunToTargetsAction(EventHandler<ActionEvent> action) {
+        menuBar.setOnRunToTargetsAction(action);
+    }
+
+    @Override
+    public void setOnConvertDirAction(EventHandler<ActionEvent> action) {
+        menuBar.setOnConvertDirAction(action);
+    }
+
+    @Override
+    public void setOnLiveConversionAction(EventHandler<ActionEvent> action) {
+        menuBar.setOnLiveConversionAction(action);
+    }
+
     @Override
     public void setOnOnlineHelpAction(EventHandler<ActionEvent> action) {
         menuBar.setOnOnlineHelpAction(action);
@@ -17,6 +17,7 @@
 package com.sqlines.studio.view.mainwindow;
 
 import com.sqlines.studio.view.BaseView;
+import com.sqlines.studio.view.mainwindow.editor.PageSource;
 import com.sqlines.studio.view.mainwindow.event.RecentFileEvent;
 import com.sqlines.studio.view.mainwindow.event.TabCloseEvent;
 import com.sqlines.studio.view.mainwindow.listener.FocusChangeListener;
@@ -107,6 +108,60 @@ public interface MainWindowView extends BaseView {
      */
     void setTargetText(String text, int tabIndex);
 
+    /**
+     * Replaces only the lines of the source text input field that differ from the given text.
+     * Keeps the caret and the highlighting of the unchanged lines.
+     * <p>
+     * Notifies all source {@link TextChangeListener} listeners of every replaced range.
+     *
+     * @param text text to set
+     * @param tabIndex the index of the tab with source text to set
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * (tabIndex < 0 || tabIndex > the number of opened tabs)
+     */
+    void updateSourceText(String text, int tabIndex);
+
+    /**
+     * Replaces only the lines of the target text input field that differ from the given text.
+     * Keeps the caret and the highlighting of the unchanged lines.
+     * <p>
+     * Notifies all target {@link TextChangeListener} listeners of every replaced range.
+     *
+     * @param text text to set
+     * @param tabIndex the index of the tab with target text to set
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * (tabIndex < 0 || tabIndex > the number of opened tabs)
+     */
+    void updateTargetText(String text, int tabIndex);
+
+    /**
+     * Shows the source text page by page instead of the source text input field,
+     * for a text too large to be edited. Shows the source text input field again
+     * if the source is null.
+     *
+     * @param source lines of the source text, or null
+     * @param tabIndex the index of the tab to show the source text in
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * (tabIndex < 0 || tabIndex > the number of opened tabs)
+     */
+    void showSourcePages(PageSource source, int tabIndex);
+
+    /**
+     * Shows the target text page by page instead of the target text input field,
+     * for a text too large to be edited. Shows the target text input field again
+     * if the source is null.
+     *
+     * @param source lines of the target text, or null
+     * @param tabIndex the index of the tab to show the target text in
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * (tabIndex < 0 || tabIndex > the number of opened tabs)
+     */
+    void showTargetPages(PageSource source, int tabIndex);
+
     /**
      * Sets the tab title to the tab with the specified index.
      * <p>
@@ -157,6 +212,7 @@ public interface MainWindowView extends BaseView {
 
     /**
      * Show the start of the conversion in the specified tab.
+     * The tab shows the conversion progress until {@link #showConversionEnd(int)} is called.
      *
      * @param tabIndex the index of the tab where the conversion started
      *
@@ -182,6 +238,29 @@ public interface MainWindowView extends BaseView {
      */
     void showFilePath(String filePath);
 
+    /**
+     * Shows the specified line of the conversion output in the status bar.
+     * If the line is empty, the conversion output is cleared.
+     *
+     * @param line output line to show
+     */
+    void showConversionOutput(String line);
+
+    /**
+     * Shows a window prompting the user to select the target modes to convert into at once.
+     *
+     * @return a list of selected target modes or {@link Optional#empty()}
+     * if the user cancelled the selection
+     */
+    Optional<List<String>> choseTargetModes();
+
+    /**
+     * Defines the selection state of the Convert As You Type menu item in the menu bar.
+     *
+     * @param isSelected makes the menu item selected if true, unselected otherwise
+     */
+    void setLiveConversionSelected(boolean isSelected);
+
     /**
      * Shows a window prompting the user to select files to open.
      *
@@ -208,6 +287,16 @@ public interface MainWindowView extends BaseView {
      */
     Optional<String> choseFileSavingLocation();
 
+    /**
+     * Shows a window prompting the user to select a directory.
+     *
+     * @param title window title
+     *
+     * @return a selected directory or {@link Optional#empty()}
+     * if the user did not select a directory
+     */
+    Optional<File> choseDirectory(String title);
+
     /**
      * Adds new recent file path to the Open Recent menu in the menu bar.
      *
@@ -413,6 +502,30 @@ public interface MainWindowView extends BaseView {
      */
     void setOnRunAction(EventHandler<ActionEvent> action);
 
+    /**
+     * Sets the action which is invoked when
+     * the Run Conversion To Several Targets menu item in the menu bar is clicked.
+     *
+     * @param action the action to register
+     */
+    void setOnRunToTargetsAction(EventHandler<ActionEvent> action);
+
+    /**
+     * Sets the action which is invoked when
+     * the Convert Directory menu item in the menu bar is clicked.
+     *
+     * @param action the action to register
+     */
+    void setOnConvertDirAction(EventHandler<ActionEvent> action);
+
+    /**
+     * Sets the action which is invoked when
+     * the Convert As You Type menu item in the menu bar is clicked.
+     *
+     * @param action the action to register
+     */
+    void setOnLiveConversionAction(EventHandler<ActionEvent> action);
+
     /**
      * Sets the action which is invoked when
      * the Open Online Help menu item in the menu bar is clicked.
@@ -26,12 +26,16 @@ import javafx.scene.input.KeyEvent;
 import javafx.scene.text.Text;
 
 /**
- * Horizontal bar containing 2 text areas:
+ * Horizontal bar containing 3 text areas:
  * <li>File path area
+ * <li>Conversion output area
  * <li>Line&Column number area
  */
 class StatusBar extends HBox {
+    private static final int MAX_OUTPUT_LENGTH = 120;
+
     private final Text filePath = new Text();
+    private final Text conversionOutput = new Text();
     private final Text lineColumnNumber = new Text();
     private final ToolBar rightToolBar = new ToolBar();
 
@@ -60,7 +64,7 @@ class StatusBar extends HBox {
     private ToolBar createLeftToolBar() {
         ToolBar leftToolBar = new ToolBar();
         leftToolBar.setId("statusBar");
-        leftToolBar.getItems().add(filePath);
+        leftToolBar.getItems().addAll(filePath, conversionOutput);
 
         return leftToolBar;
     }
@@ -105,6 +109,20 @@ class StatusBar extends HBox {
         }
     }
 
+    /**
+     * Defines a line of the conversion output that is to be displayed.
+     * If the line is empty, the conversion output area is cleared.
+     *
+     * @param line output line to display
+     */
+    public void setConversionOutput(String line) {
+        if (line.length() > MAX_OUTPUT_LENGTH) {
+            line = line.substring(0, MAX_OUTPUT_LENGTH) + "...";
+        }
+
+        conversionOutput.setText(line.isEmpty() ? "" : "  |  " + line);
+    }
+
     /**
      * Defines line number that is to be displayed.
      *
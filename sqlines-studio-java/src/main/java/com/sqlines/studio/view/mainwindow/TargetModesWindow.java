@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.view.mainwindow;
+
+import com.sqlines.studio.view.AbstractWindow;
+
+import javafx.geometry.Insets;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ToolBar;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import javafx.stage.Modality;
+import javafx.stage.StageStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Provides a window for selecting the target modes to convert into at once.
+ */
+class TargetModesWindow extends AbstractWindow {
+    private final List<CheckBox> modeBoxes = new ArrayList<>();
+    private boolean isConfirmed;
+
+    /**
+     * Constructs a new TargetModesWindow with the specified target modes.
+     *
+     * @param targetModes target modes to select from
+     */
+    public TargetModesWindow(List<String> targetModes) {
+        targetModes.forEach(mode -> modeBoxes.add(new CheckBox(mode)));
+        setUpScene();
+        setUpWindow();
+    }
+
+    private void setUpScene() {
+        VBox modesLayout = new VBox(new Text("Convert into:"));
+        modesLayout.getChildren().addAll(modeBoxes);
+        modesLayout.setSpacing(8);
+        modesLayout.setPadding(new Insets(15));
+
+        ScrollPane scrollPane = new ScrollPane(modesLayout);
+        scrollPane.setPrefViewportHeight(300);
+        scrollPane.setFitToWidth(true);
+
+        BorderPane mainLayout = new BorderPane();
+        mainLayout.setId("targetModesWindow");
+        mainLayout.setCenter(scrollPane);
+        mainLayout.setBottom(new ToolBar(createButtonLayout()));
+        setRoot(mainLayout);
+    }
+
+    private Parent createButtonLayout() {
+        Button runButton = new Button("Run");
+        runButton.setDefaultButton(true);
+        runButton.setOnAction(event -> {
+            isConfirmed = true;
+            close();
+        });
+
+        Button cancelButton = new Button("Cancel");
+        cancelButton.setCancelButton(true);
+        cancelButton.setOnAction(event -> close());
+
+        HBox buttonLayout = new HBox(cancelButton, runButton);
+        buttonLayout.setSpacing(6);
+        buttonLayout.setPadding(new Insets(0, 0, 0, 6));
+
+        return buttonLayout;
+    }
+
+    private void setUpWindow() {
+        initModality(Modality.APPLICATION_MODAL);
+        initStyle(StageStyle.UTILITY);
+        setTitle("Run Conversion To Several Targets");
+        sizeToScene();
+        setResizable(false);
+    }
+
+    /**
+     * @return the selected target modes, or {@link Optional#empty()}
+     * if the window was closed without confirming the selection
+     */
+    public Optional<List<String>> getSelectedModes() {
+        if (!isConfirmed) {
+            return Optional.empty();
+        }
+
+        return Optional.of(modeBoxes.stream()
+                .filter(CheckBox::isSelected)
+                .map(CheckBox::getText)
+                .collect(Collectors.toList()));
+    }
+}
@@ -20,6 +20,7 @@ import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
+import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
@@ -27,6 +28,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.IntFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -74,6 +76,7 @@ public class CodeEditor extends VBox {
     private LineNumbersPolicy lineNumbersPolicy = LineNumbersPolicy.SHOW;
     private HighlighterPolicy highlighterPolicy = HighlighterPolicy.HIGHLIGHT;
     private int fontSize = 13;
+    private long firstLineNumber = 1;
 
     public CodeEditor() {
         setUpAutoIntent();
@@ -86,7 +89,7 @@ public class CodeEditor extends VBox {
     private void setUpAutoIntent() {
         Pattern whiteSpace = Pattern.compile( "^\\s+" );
         addEventHandler(KeyEvent.KEY_PRESSED, keyEvent -> {
-            if (keyEvent.getCode() == KeyCode.ENTER) {
+            if (keyEvent.getCode() == KeyCode.ENTER && codeArea.isEditable()) {
                 int caretPos = codeArea.getCaretPosition();
                 int currParagraph = codeArea.getCurrentParagraph();
                 CharSequence sequence = codeArea.getParagraph(currParagraph - 1).getSegments().get(0);
@@ -114,7 +117,9 @@ public class CodeEditor extends VBox {
     }
 
     private void setUpLineNumberArea() {
-        IntFunction<Node> lineNumFactory = LineNumberFactory.get(codeArea);
+        IntFunction<Node> lineNumFactory = (firstLineNumber == 1)
+                ? LineNumberFactory.get(codeArea)
+                : this::createLineNumber;
         codeArea.setParagraphGraphicFactory(currLine -> {
             HBox layout = new HBox(lineNumFactory.apply(currLine));
             layout.setPadding(new Insets(0, 35, 0, 0));
@@ -122,6 +127,12 @@ public class CodeEditor extends VBox {
         });
     }
 
+    private Node createLineNumber(int line) {
+        Label label = new Label(String.valueOf(firstLineNumber + line));
+        label.getStyleClass().add("lineno");
+        return label;
+    }
+
     private void setUpContextMenu() {
         EditorContextMenu menu = new EditorContextMenu();
         setUpMenuEvents(menu);
@@ -137,9 +148,9 @@ public class CodeEditor extends VBox {
         menu.setOnUndoAction(event -> codeArea.undo());
         menu.setOnRedoAction(event -> codeArea.redo());
         menu.setOnSelectAllAction(event -> codeArea.selectAll());
-        menu.setOnCutAction(event -> codeArea.cut());
+        menu.setOnCutAction(event -> cut());
         menu.setOnCopyAction(event -> codeArea.copy());
-        menu.setOnPasteAction(event -> codeArea.paste());
+        menu.setOnPasteAction(event -> paste());
     }
 
     @Override
@@ -170,6 +181,61 @@ public class CodeEditor extends VBox {
     public void setText(String text) {
         codeArea.replaceText(text);
         codeArea.moveTo(0, 0, NavigationActions.SelectionPolicy.CLEAR);
+        if (!codeArea.isEditable()) {
+            codeArea.getUndoManager().forgetHistory();
+        }
+    }
+
+    /**
+     * Sets whether the text can be edited. A read-only CodeEditor ignores cut and paste
+     * and keeps no undo history.
+     * <p>
+     * The default value is true.
+     *
+     * @param isEditable true if the text can be edited
+     */
+    public void setEditable(boolean isEditable) {
+        codeArea.setEditable(isEditable);
+    }
+
+    /**
+     * Sets the number shown next to the first line, if the text is a part of a larger text.
+     * <p>
+     * The default value is 1.
+     *
+     * @param number the number of the first line
+     */
+    public void setFirstLineNumber(long number) {
+        if (firstLineNumber == number) {
+            return;
+        }
+
+        firstLineNumber = number;
+        if (lineNumbersPolicy == LineNumbersPolicy.SHOW) {
+            setUpLineNumberArea();
+        }
+    }
+
+    /**
+     * Replaces only the lines that differ from the given text.
+     * The caret, the scroll position and the highlighting of the unchanged lines are kept.
+     * If the editor is empty, works as {@link #setText(String)}.
+     *
+     * @param text text to set
+     */
+    public void updateText(String text) {
+        String currText = codeArea.getText();
+        if (currText.isEmpty()) {
+            setText(text);
+            return;
+        }
+
+        // Backwards, so that the positions of the earlier changes stay valid
+        List<TextDiff.Change> changes = TextDiff.diff(currText, text);
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            TextDiff.Change change = changes.get(i);
+            codeArea.replaceText(change.getStart(), change.getEnd(), change.getText());
+        }
     }
 
     /**
@@ -289,7 +355,9 @@ public class CodeEditor extends VBox {
      * Transfers the currently selected text to the clipboard, removing the current selection.
      */
     public void cut() {
-        codeArea.cut();
+        if (codeArea.isEditable()) {
+            codeArea.cut();
+        }
     }
 
     /**
@@ -306,7 +374,9 @@ public class CodeEditor extends VBox {
      * at the current caret position.
      */
     public void paste() {
-        codeArea.paste();
+        if (codeArea.isEditable()) {
+            codeArea.paste();
+        }
     }
 
     /**
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.view.mainwindow.editor;
+
+/**
+ * Text too large to be shown as a whole, read line by line by a {@link PagedEditor}.
+ */
+public interface PageSource {
+
+    /**
+     * @return the number of lines, at least 1
+     */
+    long countLines();
+
+    /**
+     * Returns the specified lines.
+     *
+     * @param firstLine the index of the first line to return
+     * @param count the maximum number of lines to return
+     *
+     * @return the lines separated with line breaks
+     */
+    String getLines(long firstLine, int count);
+}
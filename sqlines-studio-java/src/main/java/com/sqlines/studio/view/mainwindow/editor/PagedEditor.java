@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.view.mainwindow.editor;
+
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.Orientation;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+
+/**
+ * A read-only {@link CodeEditor} showing a text from a {@link PageSource} one page at a time.
+ * <p>
+ * The page shown starts at the line selected with the scroll bar next to the editor
+ * and is read from the source only when it is shown.
+ */
+public class PagedEditor extends HBox {
+    private static final int PAGE_LINES = 1000;
+
+    private final CodeEditor editor = new CodeEditor();
+    private final ScrollBar scrollBar = new ScrollBar();
+    private PageSource source;
+
+    public PagedEditor() {
+        setUpEditor();
+        setUpScrollBar();
+    }
+
+    private void setUpEditor() {
+        editor.setEditable(false);
+        HBox.setHgrow(editor, Priority.ALWAYS);
+        getChildren().add(editor);
+    }
+
+    private void setUpScrollBar() {
+        scrollBar.setOrientation(Orientation.VERTICAL);
+        scrollBar.setMin(0);
+        scrollBar.setVisibleAmount(PAGE_LINES);
+        scrollBar.setUnitIncrement(PAGE_LINES / 10.0);
+        scrollBar.setBlockIncrement(PAGE_LINES);
+        scrollBar.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (source != null && oldValue.longValue() != newValue.longValue()) {
+                showPage(newValue.longValue());
+            }
+        });
+        getChildren().add(scrollBar);
+    }
+
+    /**
+     * Sets the text to show. Keeps the current position if the new text is long enough.
+     *
+     * @param source text to show
+     */
+    public void setSource(PageSource source) {
+        long maxFirstLine = Math.max(0, source.countLines() - PAGE_LINES);
+        long firstLine = Math.min((long) scrollBar.getValue(), maxFirstLine);
+
+        // The page is shown once, not on every change of the scroll bar
+        this.source = null;
+        scrollBar.setMax(maxFirstLine);
+        scrollBar.setValue(firstLine);
+        this.source = source;
+        showPage(firstLine);
+    }
+
+    private void showPage(long firstLine) {
+        editor.setText(source.getLines(firstLine, PAGE_LINES));
+        editor.setFirstLineNumber(firstLine + 1);
+    }
+
+    /**
+     * @return the editor showing the current page
+     */
+    public CodeEditor getEditor() {
+        return editor;
+    }
+
+    /**
+     * Adds a listener which will be notified when the focus changes.
+     * If the same listener is added more than once, then it will be notified more than once.
+     *
+     * @param listener the listener to register
+     */
+    public void addFocusListener(ChangeListener<Boolean> listener) {
+        editor.addFocusListener(listener);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.view.mainwindow.editor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the line-level changes that turn one text into another.
+ * <p>
+ * The common first and last lines are skipped by comparing the texts directly,
+ * the remaining lines are compared with the Myers algorithm. If the remaining lines
+ * differ in too many places, they are replaced as a whole.
+ */
+final class TextDiff {
+    private static final int MAX_EDITS = 512;
+
+    private TextDiff() {
+    }
+
+    /**
+     * Returns the changes that turn the old text into the new text.
+     *
+     * @param oldText text to change
+     * @param newText text to get
+     *
+     * @return changes in the order of their positions in the old text, which do not overlap
+     */
+    static List<Change> diff(String oldText, String newText) {
+        if (oldText.equals(newText)) {
+            return List.of();
+        }
+
+        int prefix = 0;
+        int maxPrefix = Math.min(oldText.length(), newText.length());
+        while (prefix < maxPrefix && oldText.charAt(prefix) == newText.charAt(prefix)) {
+            prefix++;
+        }
+        prefix = oldText.lastIndexOf('\n', prefix - 1) + 1;
+
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while (suffix < maxSuffix && oldText.charAt(oldText.length() - 1 - suffix)
+                == newText.charAt(newText.length() - 1 - suffix)) {
+            suffix++;
+        }
+        while (suffix > 0 && !(isLineStart(oldText, oldText.length() - suffix)
+                && isLineStart(newText, newText.length() - suffix))) {
+            suffix--;
+        }
+
+        int oldEnd = oldText.length() - suffix;
+        String newMiddle = newText.substring(prefix, newText.length() - suffix);
+        List<String> oldLines = splitLines(oldText.substring(prefix, oldEnd));
+        List<String> newLines = splitLines(newMiddle);
+        List<Change> changes = diffLines(oldLines, newLines, prefix);
+        return changes != null ? changes : List.of(new Change(prefix, oldEnd, newMiddle));
+    }
+
+    private static boolean isLineStart(String text, int index) {
+        return index == 0 || text.charAt(index - 1) == '\n';
+    }
+
+    private static List<String> splitLines(String text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf('\n', start);
+            end = end == -1 ? text.length() : end + 1;
+            lines.add(text.substring(start, end));
+            start = end;
+        }
+
+        return lines;
+    }
+
+    // Returns null if the lines differ in more than MAX_EDITS places
+    private static List<Change> diffLines(List<String> oldLines, List<String> newLines, int offset) {
+        int n = oldLines.size();
+        int m = newLines.size();
+        int max = Math.min(n + m, MAX_EDITS);
+        int shift = max + 1;
+        int[] furthest = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+        for (int d = 0; d <= max; d++) {
+            trace.add(furthest.clone());
+            for (int k = -d; k <= d; k += 2) {
+                boolean down = k == -d || (k != d && furthest[shift + k - 1] < furthest[shift + k + 1]);
+                int x = down ? furthest[shift + k + 1] : furthest[shift + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && oldLines.get(x).equals(newLines.get(y))) {
+                    x++;
+                    y++;
+                }
+
+                furthest[shift + k] = x;
+                if (x >= n && y >= m) {
+                    return toChanges(backtrack(trace, shift, n, m), oldLines, newLines, offset);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    // Edit script from the start: 0 - keep, 1 - delete old line, 2 - insert new line
+    private static List<Integer> backtrack(List<int[]> trace, int shift, int n, int m) {
+        List<Integer> script = new ArrayList<>();
+        int x = n;
+        int y = m;
+        for (int d = trace.size() - 1; d >= 0; d--) {
+            int[] furthest = trace.get(d);
+            int k = x - y;
+            boolean down = k == -d || (k != d && furthest[shift + k - 1] < furthest[shift + k + 1]);
+            int prevK = down ? k + 1 : k - 1;
+            int prevX = furthest[shift + prevK];
+            int prevY = prevX - prevK;
+            while (x > prevX && y > prevY) {
+                script.add(0);
+                x--;
+                y--;
+            }
+
+            if (d > 0) {
+                script.add(x == prevX ? 2 : 1);
+            }
+            x = prevX;
+            y = prevY;
+        }
+
+        List<Integer> forward = new ArrayList<>(script.size());
+        for (int i = script.size() - 1; i >= 0; i--) {
+            forward.add(script.get(i));
+        }
+
+        return forward;
+    }
+
+    private static List<Change> toChanges(List<Integer> script, List<String> oldLines,
+                                          List<String> newLines, int offset) {
+        List<Change> changes = new ArrayList<>();
+        int oldIndex = 0;
+        int newIndex = 0;
+        int position = offset;
+        int i = 0;
+        while (i < script.size()) {
+            if (script.get(i) == 0) {
+                position += oldLines.get(oldIndex++).length();
+                newIndex++;
+                i++;
+                continue;
+            }
+
+            int start = position;
+            StringBuilder text = new StringBuilder();
+            while (i < script.size() && script.get(i) != 0) {
+                if (script.get(i) == 1) {
+                    position += oldLines.get(oldIndex++).length();
+                } else {
+                    text.append(newLines.get(newIndex++));
+                }
+                i++;
+            }
+
+            changes.add(new Change(start, position, text.toString()));
+        }
+
+        return changes;
+    }
+
+    /**
+     * Replacement of a range of the old text.
+     */
+    static final class Change {
+        private final int start;
+        private final int end;
+        private final String text;
+
+        Change(int start, int end, String text) {
+            this.start = start;
+            this.end = end;
+            this.text = text;
+        }
+
+        /**
+         * @return the start of the replaced range in the old text, inclusive
+         */
+        int getStart() {
+            return start;
+        }
+
+        /**
+         * @return the end of the replaced range in the old text, exclusive
+         */
+        int getEnd() {
+            return end;
+        }
+
+        /**
+         * @return replacement text
+         */
+        String getText() {
+            return text;
+        }
+    }
+}
@@ -18,5 +18,8 @@
  * Contains {@link com.sqlines.studio.view.mainwindow.editor.CodeEditor} -
  * a text input field with the line number area, highlighter, fixed-width font,
  * scroll bars, context menu and undo manager.
+ * <p>
+ * {@link com.sqlines.studio.view.mainwindow.editor.PagedEditor} -
+ * a read-only CodeEditor showing a text too large to be shown as a whole one page at a time.
  */
 package com.sqlines.studio.view.mainwindow.editor;
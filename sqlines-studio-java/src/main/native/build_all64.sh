@@ -0,0 +1 @@
+g++ -m64 -O2 -fPIC -fpermissive -shared -I$JAVA_HOME/include -I$JAVA_HOME/include/linux -I../../../../sqlparser sqlparser_jni.cpp ../../../../sqlparser/dllmain.cpp ../../../../sqlparser/cobol.cpp ../../../../sqlparser/file.cpp ../../../../sqlparser/clauses.cpp ../../../../sqlparser/datatypes.cpp ../../../../sqlparser/db2.cpp ../../../../sqlparser/functions.cpp ../../../../sqlparser/greenplum.cpp ../../../../sqlparser/guess.cpp ../../../../sqlparser/java.cpp ../../../../sqlparser/informix.cpp ../../../../sqlparser/language.cpp ../../../../sqlparser/mysql.cpp ../../../../sqlparser/oracle.cpp ../../../../sqlparser/postgresql.cpp ../../../../sqlparser/select.cpp ../../../../sqlparser/helpers.cpp ../../../../sqlparser/patterns.cpp ../../../../sqlparser/post.cpp ../../../../sqlparser/procedures.cpp ../../../../sqlparser/report.cpp ../../../../sqlparser/storage.cpp ../../../../sqlparser/sqlparser.cpp ../../../../sqlparser/sqlserver.cpp ../../../../sqlparser/statements.cpp ../../../../sqlparser/stats.cpp ../../../../sqlparser/str.cpp ../../../../sqlparser/sybase.cpp ../../../../sqlparser/teradata.cpp ../../../../sqlparser/token.cpp -o libsqlparser_jni.so
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+// JNI binding of SQLParser exports for com.sqlines.studio.model.converter.SqlParserLibrary
+
+#include <jni.h>
+#include "../../../../sqlines/sqlparserexp.h"
+
+extern "C" {
+
+JNIEXPORT jlong JNICALL
+Java_com_sqlines_studio_model_converter_SqlParserLibrary_createParserObject(JNIEnv *, jclass)
+{
+	return (jlong)CreateParserObject();
+}
+
+JNIEXPORT void JNICALL
+Java_com_sqlines_studio_model_converter_SqlParserLibrary_setParserTypes(JNIEnv *, jclass, jlong parser, jshort source, jshort target)
+{
+	SetParserTypes((void*)parser, source, target);
+}
+
+JNIEXPORT jint JNICALL
+Java_com_sqlines_studio_model_converter_SqlParserLibrary_setParserOption(JNIEnv *env, jclass, jlong parser, jstring option, jstring value)
+{
+	const char *c_option = env->GetStringUTFChars(option, NULL);
+	const char *c_value = env->GetStringUTFChars(value, NULL);
+
+	int rc = SetParserOption((void*)parser, c_option, c_value);
+
+	env->ReleaseStringUTFChars(option, c_option);
+	env->ReleaseStringUTFChars(value, c_value);
+
+	return rc;
+}
+
+// Convert the input held in a direct buffer, the result is copied to a Java byte array
+JNIEXPORT jbyteArray JNICALL
+Java_com_sqlines_studio_model_converter_SqlParserLibrary_convertSql(JNIEnv *env, jclass, jlong parser, jobject input, jint size)
+{
+	const char *in = (const char*)env->GetDirectBufferAddress(input);
+
+	if(in == NULL)
+		return NULL;
+
+	const char *output = NULL;
+	int out_size = 0;
+	int lines = 0;
+
+	int rc = ConvertSql((void*)parser, in, size, &output, &out_size, &lines);
+
+	if(rc != 0)
+	{
+		FreeOutput(output);
+		return NULL;
+	}
+
+	jbyteArray result = env->NewByteArray(out_size);
+
+	if(result != NULL && output != NULL && out_size > 0)
+		env->SetByteArrayRegion(result, 0, out_size, (const jbyte*)output);
+
+	FreeOutput(output);
+
+	return result;
+}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class BatchMainTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldMatchDirectoryGlobInTopDirectory() throws Exception {
+        Path scripts = folder.newFolder("scripts").toPath();
+        BatchMain.Input input = BatchMain.Input.parse(scripts + "/**/*.sql");
+
+        assertThat(input.dir, equalTo(scripts));
+        assertThat(input.matcher.matches(Path.of("a.sql")), equalTo(true));
+        assertThat(input.matcher.matches(Path.of("sub/b.sql")), equalTo(true));
+        assertThat(input.matcher.matches(Path.of("sub/deep/c.sql")), equalTo(true));
+        assertThat(input.matcher.matches(Path.of("a.txt")), equalTo(false));
+    }
+
+    @Test
+    public void shouldMatchPlainGlobInTopDirectoryOnly() throws Exception {
+        Path scripts = folder.newFolder("scripts").toPath();
+        BatchMain.Input input = BatchMain.Input.parse(scripts + "/*.sql");
+
+        assertThat(input.matcher.matches(Path.of("a.sql")), equalTo(true));
+        assertThat(input.matcher.matches(Path.of("sub/b.sql")), equalTo(false));
+    }
+}
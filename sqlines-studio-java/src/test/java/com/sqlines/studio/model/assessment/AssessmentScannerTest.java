@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.assessment;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.containsString;
+
+public class AssessmentScannerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path sourceDir;
+    private List<AssessmentFeature> features;
+    private AssessmentScanner scanner;
+
+    @Before
+    public void setUp() throws Exception {
+        sourceDir = folder.newFolder("source").toPath();
+        features = List.of(
+                new AssessmentFeature("NVL", false, Pattern.compile("\\bNVL\\s*\\(", Pattern.CASE_INSENSITIVE)),
+                new AssessmentFeature("CONNECT BY", true, Pattern.compile("\\bCONNECT\\s+BY\\b",
+                        Pattern.CASE_INSENSITIVE))
+        );
+        scanner = new AssessmentScanner(features, "", 4);
+    }
+
+    @Test
+    public void shouldCountStatementsByType() throws Exception {
+        Path file = writeSource("a.sql", "-- report\nselect 1 from dual;\n" +
+                "insert into t1 values (1);\ninsert into t1 values (2);\n" +
+                "create table t2 (c1 int);\ncreate or replace view v1 as select 1 from dual;\n");
+
+        AssessmentSummary summary = scanner.scan(sourceDir, List.of(file));
+
+        assertThat(summary.getStatements(StatementType.SELECT, 0), equalTo(1));
+        assertThat(summary.getStatements(StatementType.INSERT, 0), equalTo(2));
+        assertThat(summary.getStatements(StatementType.CREATE_TABLE, 0), equalTo(1));
+        assertThat(summary.getStatements(StatementType.CREATE_VIEW, 0), equalTo(1));
+        assertThat(summary.getStatements(0), equalTo(5));
+        assertThat(summary.getLines(0), equalTo(6));
+    }
+
+    @Test
+    public void shouldCountFeatureLines() throws Exception {
+        Path first = writeSource("a.sql", "select nvl(a, 1)\nfrom t1;\nselect nvl(b, 2) from t2;\n");
+        Path second = writeSource("nested/b.sql", "select id from t3\nconnect by prior id = parent_id;\n");
+
+        AssessmentSummary summary = scanner.scan(sourceDir, List.of(first, second));
+
+        assertThat(summary.getFeatureLines(0, 0), equalTo(2));
+        assertThat(summary.getFeatureLines(1, 1), equalTo(1));
+        assertThat(summary.getLikelyManualLines(0), equalTo(0));
+        assertThat(summary.getLikelyManualLines(1), equalTo(1));
+        assertThat(summary.countFilesWithFeature(0), equalTo(1));
+        assertThat(summary.getPath(1), equalTo(Path.of("nested", "b.sql")));
+    }
+
+    @Test
+    public void shouldNotCountFeaturesInCommentsAndStrings() throws Exception {
+        Path file = writeSource("a.sql", "-- nvl(a, 1) is replaced\nselect 'connect by' from t1;\n" +
+                "/* connect by\nnvl( */ select nvl(b, 2) from t2;\n");
+
+        AssessmentSummary summary = scanner.scan(sourceDir, List.of(file));
+
+        assertThat(summary.getFeatureLines(0, 0), equalTo(1));
+        assertThat(summary.getFeatureLines(1, 0), equalTo(0));
+        assertThat(summary.getLikelyManualLines(0), equalTo(0));
+        assertThat(summary.getLines(0), equalTo(4));
+    }
+
+    @Test
+    public void shouldUseSourceModeSyntax() throws Exception {
+        Path file = writeSource("a.sql", "# nvl(a, 1)\nselect 'it\\'s', nvl(b, 2) from t1;\n" +
+                "select nvl(c, 3) from t2;\n");
+
+        AssessmentSummary summary = new AssessmentScanner(features, "MySQL", 4).scan(sourceDir, List.of(file));
+
+        assertThat(summary.getFeatureLines(0, 0), equalTo(2));
+        assertThat(summary.getStatements(StatementType.SELECT, 0), equalTo(2));
+    }
+
+    @Test
+    public void shouldReportUnreadableFilesWithoutStopping() throws Exception {
+        Path file = writeSource("a.sql", "select 1;\n");
+        Path missing = sourceDir.resolve("missing.sql");
+
+        AssessmentSummary summary = scanner.scan(sourceDir, List.of(missing, file));
+
+        assertThat(summary.countErrors(), equalTo(1));
+        assertTrue(summary.getError(0).isPresent());
+        assertThat(summary.getTotalStatements(), equalTo(1L));
+    }
+
+    @Test
+    public void shouldWriteCsvRows() throws Exception {
+        Path file = writeSource("a,b.sql", "select nvl(a, 1) from t1;\n");
+
+        StringWriter csv = new StringWriter();
+        AssessmentReports.writeCsv(scanner.scan(sourceDir, List.of(file)), csv);
+
+        String[] rows = csv.toString().split("\r\n");
+        assertThat(rows.length, equalTo(3));
+        assertThat(rows[0], containsString("File,Bytes,Lines,Likely manual lines,Statements,"));
+        assertThat(rows[0], containsString(",NVL,CONNECT BY,Error"));
+        assertThat(rows[1], containsString("\"a,b.sql\",26,1,0,1,"));
+        assertThat(rows[2], containsString("Total,26,1,0,1,"));
+    }
+
+    @Test
+    public void shouldLoadFeatures() throws Exception {
+        List<AssessmentFeature> features = AssessmentFeature.load();
+
+        assertFalse(features.isEmpty());
+        assertTrue(features.stream().anyMatch(AssessmentFeature::isManual));
+    }
+
+    private Path writeSource(String name, String data) throws Exception {
+        Path path = sourceDir.resolve(name);
+        Files.createDirectories(path.getParent());
+        Files.write(path, data.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+}
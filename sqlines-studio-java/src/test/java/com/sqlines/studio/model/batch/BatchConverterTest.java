@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.batch;
+
+import com.sqlines.studio.model.converter.ConversionExecutor;
+import com.sqlines.studio.model.converter.Converter;
+import com.sqlines.studio.model.converter.ConverterMocks;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class BatchConverterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path sourceDir;
+    private Path targetDir;
+    private BatchConverter batchConverter;
+
+    @Before
+    public void setUp() throws Exception {
+        sourceDir = folder.newFolder("source").toPath();
+        targetDir = folder.getRoot().toPath().resolve("target");
+
+        Converter converter = ConverterMocks.nvlToIfnull(input -> {
+            if (input.contains("fail")) {
+                throw new IllegalStateException("Conversion failed");
+            }
+        });
+        batchConverter = new BatchConverter(converter, 4);
+    }
+
+    @Test
+    public void shouldKeepRelativePaths() throws Exception {
+        writeSource("a.sql", "select nvl(a, 1) from t1;");
+        writeSource("nested/deeper/b.sql", "select nvl(b, 2) from t2;");
+        writeSource("notes.txt", "select nvl(c, 3) from t3;");
+
+        BatchReport report = batchConverter.convert(sourceDir, targetDir, "Oracle", "MySQL", null);
+
+        assertThat(report.getResults().size(), equalTo(2));
+        assertThat(report.getConvertedCount(), equalTo(2));
+        assertThat(readTarget("a.sql"), equalTo("select ifnull(a, 1) from t1;"));
+        assertThat(readTarget("nested/deeper/b.sql"), equalTo("select ifnull(b, 2) from t2;"));
+        assertFalse(Files.exists(targetDir.resolve("notes.txt")));
+    }
+
+    @Test
+    public void shouldReportFailuresWithoutStopping() throws Exception {
+        writeSource("a.sql", "select 1;");
+        writeSource("b.sql", "fail");
+        writeSource("c.sql", "select 3;");
+
+        AtomicInteger notifications = new AtomicInteger();
+        BatchReport report = batchConverter.convert(sourceDir, targetDir, "Oracle", "MySQL",
+                (result, processed, total) -> {
+                    notifications.incrementAndGet();
+                    assertThat(total, equalTo(3));
+                });
+
+        assertThat(notifications.get(), equalTo(3));
+        assertThat(report.getConvertedCount(), equalTo(2));
+        assertThat(report.getFailures().size(), equalTo(1));
+        assertThat(report.getFailures().get(0).getSourcePath(), equalTo(sourceDir.resolve("b.sql")));
+        assertThat(report.getFailures().get(0).getError().orElse(""), equalTo("Conversion failed"));
+        assertFalse(Files.exists(targetDir.resolve("b.sql")));
+    }
+
+    @Test
+    public void shouldSkipTargetDirInsideSourceDir() throws Exception {
+        writeSource("a.sql", "select 1;");
+        Path nestedTargetDir = sourceDir.resolve("out");
+
+        batchConverter.convert(sourceDir, nestedTargetDir, "Oracle", "MySQL", null);
+        BatchReport report = batchConverter.convert(sourceDir, nestedTargetDir, "Oracle", "MySQL", null);
+
+        assertThat(report.getResults().size(), equalTo(1));
+    }
+
+    @Test
+    public void shouldConvertAtBackgroundPriorityInSharedExecutor() throws Exception {
+        writeSource("a.sql", "select nvl(a, 1) from t1;");
+        writeSource("b.sql", "fail");
+        ConversionExecutor executor = new ConversionExecutor(2);
+        batchConverter.setExecutor(executor);
+        try {
+            BatchReport report = batchConverter.convert(sourceDir, targetDir, "Oracle", "MySQL", null);
+
+            assertThat(report.getConvertedCount(), equalTo(1));
+            assertThat(report.getFailures().size(), equalTo(1));
+            assertThat(readTarget("a.sql"), equalTo("select ifnull(a, 1) from t1;"));
+            assertThat(executor.getStartedCount(ConversionExecutor.Priority.BACKGROUND), equalTo(2L));
+            assertThat(executor.getStartedCount(ConversionExecutor.Priority.INTERACTIVE), equalTo(0L));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldSkipFilesUnchangedSinceJournaledRun() throws Exception {
+        writeSource("a.sql", "select nvl(a, 1) from t1;");
+        writeSource("b.sql", "select nvl(b, 2) from t2;");
+        Path journalPath = folder.getRoot().toPath().resolve("journal.jsonl");
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", false)) {
+            batchConverter.setJournal(journal);
+            batchConverter.convert(sourceDir, targetDir, "Oracle", "MySQL", null);
+        }
+
+        writeSource("b.sql", "select nvl(b, 3) from t2;");
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", false)) {
+            batchConverter.setJournal(journal);
+            BatchReport report = batchConverter.convert(sourceDir, targetDir, "Oracle", "MySQL", null);
+
+            assertThat(report.getSkippedCount(), equalTo(1));
+            assertThat(report.getConvertedCount(), equalTo(1));
+            assertTrue(report.getResults().get(0).isSkipped());
+            assertThat(readTarget("b.sql"), equalTo("select ifnull(b, 3) from t2;"));
+        }
+    }
+
+    private void writeSource(String relativePath, String data) throws Exception {
+        Path path = sourceDir.resolve(relativePath);
+        Files.createDirectories(path.getParent());
+        Files.write(path, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String readTarget(String relativePath) throws Exception {
+        return new String(Files.readAllBytes(targetDir.resolve(relativePath)), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.batch;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class BatchJournalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path journalPath;
+    private Path sourcePath;
+    private Path targetPath;
+
+    @Before
+    public void setUp() throws Exception {
+        journalPath = folder.getRoot().toPath().resolve("journal.jsonl");
+        sourcePath = folder.newFile("a.sql").toPath();
+        targetPath = folder.newFile("a-converted.sql").toPath();
+    }
+
+    @Test
+    public void shouldKeepRecordsAfterReopening() throws Exception {
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", false)) {
+            journal.record(sourcePath, "digest", "Oracle", "MySQL", targetPath, true);
+        }
+
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", false)) {
+            assertTrue(journal.isUpToDate(sourcePath, "digest", "Oracle", "MySQL", targetPath));
+            assertFalse(journal.isUpToDate(sourcePath, "changed", "Oracle", "MySQL", targetPath));
+            assertFalse(journal.isUpToDate(sourcePath, "digest", "Oracle", "PostgreSQL", targetPath));
+        }
+    }
+
+    @Test
+    public void shouldNotSkipFilesConvertedByAnotherCoreOrLicense() throws Exception {
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", true)) {
+            journal.record(sourcePath, "digest", "Oracle", "MySQL", targetPath, true);
+            assertTrue(journal.isUpToDate(sourcePath, "digest", "Oracle", "MySQL", targetPath));
+        }
+
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", false)) {
+            assertFalse(journal.isUpToDate(sourcePath, "digest", "Oracle", "MySQL", targetPath));
+        }
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.4.0", true)) {
+            assertFalse(journal.isUpToDate(sourcePath, "digest", "Oracle", "MySQL", targetPath));
+        }
+        try (BatchJournal journal = new BatchJournal(journalPath, "unknown", true)) {
+            journal.record(sourcePath, "digest", "Oracle", "MySQL", targetPath, true);
+            assertFalse(journal.isUpToDate(sourcePath, "digest", "Oracle", "MySQL", targetPath));
+        }
+    }
+
+    @Test
+    public void shouldNotSkipFailedOrDeletedTargets() throws Exception {
+        Path otherSource = folder.newFile("b.sql").toPath();
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", false)) {
+            journal.record(sourcePath, "digest", "Oracle", "MySQL", targetPath, true);
+            journal.record(otherSource, "digest", "Oracle", "MySQL", targetPath, false);
+            Files.delete(targetPath);
+
+            assertFalse(journal.isUpToDate(sourcePath, "digest", "Oracle", "MySQL", targetPath));
+            assertFalse(journal.isUpToDate(otherSource, "digest", "Oracle", "MySQL", targetPath));
+        }
+    }
+
+    @Test
+    public void shouldIgnoreLineLeftIncompleteByCrash() throws Exception {
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", false)) {
+            journal.record(sourcePath, "digest", "Oracle", "MySQL", targetPath, true);
+        }
+        Files.write(journalPath, "[\"converted\", \"dig".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", false)) {
+            assertThat(journal.size(), equalTo(1));
+            assertTrue(journal.isUpToDate(sourcePath, "digest", "Oracle", "MySQL", targetPath));
+        }
+    }
+
+    @Test
+    public void shouldDropSupersededRecordsWhenOpened() throws Exception {
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", false)) {
+            journal.record(sourcePath, "first", "Oracle", "MySQL", targetPath, true);
+            journal.record(sourcePath, "second", "Oracle", "MySQL", targetPath, true);
+        }
+        assertThat(Files.readAllLines(journalPath).size(), equalTo(2));
+
+        try (BatchJournal journal = new BatchJournal(journalPath, "3.3.0", false)) {
+            assertThat(Files.readAllLines(journalPath).size(), equalTo(1));
+            assertTrue(journal.isUpToDate(sourcePath, "second", "Oracle", "MySQL", targetPath));
+        }
+    }
+}
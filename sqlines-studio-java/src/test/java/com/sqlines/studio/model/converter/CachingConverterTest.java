@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.mockito.Mockito.*;
+
+public class CachingConverterTest {
+    private static final byte[] SOURCE = "select nvl(a, 0) from t;".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Converter converter;
+    private ConversionCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        converter = mock(Converter.class);
+        when(converter.convert(anyString(), anyString(), any())).thenReturn("select ifnull(a, 0) from t;");
+        cache = new ConversionCache(folder.getRoot().toPath(), 1024, 16);
+    }
+
+    @Test
+    public void shouldNotCacheUntilCoreVersionIsKnown() throws Exception {
+        CachingConverter cachingConverter = new CachingConverter(converter, cache, null, false);
+
+        cachingConverter.convert("Oracle", "MySQL", SOURCE);
+        cachingConverter.convert("Oracle", "MySQL", SOURCE);
+
+        verify(converter, times(2)).convert("Oracle", "MySQL", SOURCE);
+        assertThat(cache.getMisses(), equalTo(0L));
+    }
+
+    @Test
+    public void shouldCacheOnceCoreVersionIsKnown() throws Exception {
+        CachingConverter cachingConverter = new CachingConverter(converter, cache, null, false);
+        cachingConverter.setCoreVersion("3.3.0");
+
+        String first = cachingConverter.convert("Oracle", "MySQL", SOURCE);
+        String second = cachingConverter.convert("Oracle", "MySQL", SOURCE);
+
+        assertThat(second, equalTo(first));
+        verify(converter, times(1)).convert("Oracle", "MySQL", SOURCE);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class ChunkedConverterTest {
+    private ChunkedConverter chunkedConverter;
+    private ConversionExecutor executor;
+    private final List<String> inputs = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        Converter converter = ConverterMocks.nvlToIfnull(inputs::add);
+
+        executor = new ConversionExecutor(4);
+        chunkedConverter = new ChunkedConverter(converter, executor, 4, 40);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldKeepSourceOrder() throws Exception {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            source.append("select nvl(a, ").append(i).append(") from t;\n");
+        }
+
+        String target = convert(source.toString());
+
+        assertThat(target, equalTo(source.toString().replace("nvl", "ifnull")));
+        assertTrue(inputs.size() > 1);
+    }
+
+    @Test
+    public void shouldNotSplitBlocksAndStrings() throws Exception {
+        String procedure = "CREATE PROCEDURE p AS\nBEGIN\n  select nvl(a, 1) from t1;\n" +
+                "  select 'a;\nb' from t2;\nEND;\n";
+        String source = "select 1;\n" + procedure + "select 2;\n/* ;\n; */ select 3;\n";
+
+        String target = convert(source);
+
+        assertThat(target, equalTo(source.replace("nvl", "ifnull")));
+        assertTrue(inputs.stream().anyMatch(input -> input.contains(procedure)));
+        assertTrue(inputs.stream().anyMatch(input -> input.contains("/* ;\n; */ select 3;\n")));
+    }
+
+    @Test
+    public void shouldConvertStatementsAfterRoutineStatementsWithoutBodies() throws Exception {
+        String source = "ALTER FUNCTION public.f() OWNER TO postgres;\n" +
+                "INSERT INTO t VALUES (nvl(a, 1));\n".repeat(100);
+
+        String target = convert(source);
+
+        assertThat(target, equalTo(source.replace("nvl", "ifnull")));
+        assertTrue(inputs.size() > 1);
+    }
+
+    @Test
+    public void shouldNotSplitDelimiterSections() throws Exception {
+        String section = "DELIMITER //\nCREATE PROCEDURE p()\nBEGIN\n  select 1;\n  select 2;\nEND//\n" +
+                "CREATE PROCEDURE q()\nBEGIN\n  select 3;\nEND//\nDELIMITER ;\n";
+        String source = "select nvl(a, 1) from t1;\n" + section + "select nvl(b, 2) from t2;\n";
+
+        String target = convert(source);
+
+        assertThat(target, equalTo(source.replace("nvl", "ifnull")));
+        assertTrue(inputs.stream().anyMatch(input -> input.contains(section)));
+    }
+
+    @Test
+    public void shouldNotSplitBeforeSeparatorLines() throws Exception {
+        String source = "select 1\nGO\nselect nvl(a, 2) from t1\nGO\nselect 3\nGO\n";
+
+        String target = convert(source);
+
+        assertThat(target, equalTo(source.replace("nvl", "ifnull")));
+        inputs.forEach(input -> assertFalse(input.startsWith("GO")));
+    }
+
+    @Test
+    public void shouldNotSplitEscapedStringsInMySqlModes() throws Exception {
+        String insert = "INSERT INTO t VALUES ('O\\'Reilly;\n', nvl(a, 1));\n";
+        String source = insert.repeat(20);
+
+        StringWriter target = new StringWriter();
+        chunkedConverter.convert("MySQL", "Oracle", new StringReader(source), target);
+
+        assertThat(target.toString(), equalTo(source.replace("nvl", "ifnull")));
+        inputs.forEach(input -> assertTrue(input.startsWith("INSERT")));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldFailWhenNoStatementEndsWithinWindow() throws Exception {
+        convert("select 'unterminated;\n" + "select nvl(a, 1) from t;\n".repeat(100));
+    }
+
+    private String convert(String source) throws Exception {
+        StringWriter target = new StringWriter();
+        chunkedConverter.convert("Oracle", "MySQL", new StringReader(source), target);
+        return target.toString();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+public class ConversionCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path cacheDir;
+    private ConversionCache cache;
+
+    @Before
+    public void setUp() {
+        cacheDir = folder.getRoot().toPath();
+        cache = new ConversionCache(cacheDir, 8, 10);
+    }
+
+    @Test
+    public void keyShouldDependOnModesVersionAndData() {
+        byte[] data = "select 1".getBytes(StandardCharsets.UTF_8);
+        String key = ConversionCache.keyOf("oracle", "mysql", "3.1.330", data);
+
+        assertThat(ConversionCache.keyOf("oracle", "mysql", "3.1.330", data), equalTo(key));
+        assertThat(ConversionCache.keyOf("oracle", "mariadb", "3.1.330", data), not(equalTo(key)));
+        assertThat(ConversionCache.keyOf("oracle", "mysql", "3.1.331", data), not(equalTo(key)));
+        assertThat(ConversionCache.keyOf("oracle", "mysql", "3.1.330", new byte[0]), not(equalTo(key)));
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        assertThat(cache.get("key"), equalTo(Optional.empty()));
+        cache.put("key", "data");
+        assertThat(cache.get("key"), equalTo(Optional.of("data")));
+
+        assertThat(cache.getHits(), equalTo(1L));
+        assertThat(cache.getMisses(), equalTo(1L));
+    }
+
+    @Test
+    public void shouldReturnEvictedDataFromDisk() {
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.put("third", "3");
+
+        assertThat(cache.get("first"), equalTo(Optional.of("1")));
+        assertThat(new ConversionCache(cacheDir, 8, 10).get("second"), equalTo(Optional.of("2")));
+    }
+
+    @Test
+    public void shouldTrimDiskOnCreation() {
+        for (int i = 0; i < 5; i++) {
+            cache.put("key-" + i, "data");
+        }
+
+        new ConversionCache(cacheDir, 8, 3);
+        assertThat(cacheDir.toFile().listFiles().length, equalTo(3));
+    }
+
+    @Test
+    public void shouldTrimDiskOnPut() {
+        cache = new ConversionCache(cacheDir, 8, 8);
+        for (int i = 0; i < 9; i++) {
+            cache.put("key-" + i, "data");
+        }
+
+        assertThat(cacheDir.toFile().listFiles().length, equalTo(7));
+    }
+
+    @Test
+    public void shouldKeepLongResultsOnDiskOnly() throws Exception {
+        cache.put("short", "12");
+        cache.put("long", "123");
+        Files.delete(cacheDir.resolve("short"));
+        Files.delete(cacheDir.resolve("long"));
+
+        assertThat(cache.get("short"), equalTo(Optional.of("12")));
+        assertThat(cache.get("long"), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void shouldLimitMemoryByLength() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            cache.put("key-" + i, "12");
+            Files.delete(cacheDir.resolve("key-" + i));
+        }
+
+        assertThat(cache.get("key-0"), equalTo(Optional.empty()));
+        assertThat(cache.get("key-1"), equalTo(Optional.of("12")));
+        assertThat(cache.get("key-4"), equalTo(Optional.of("12")));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class ConversionExecutorTest {
+    private ConversionExecutor executor;
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldStartQueuedInteractiveConversionsFirst() throws Exception {
+        executor = new ConversionExecutor(1, 0);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> started = new CopyOnWriteArrayList<>();
+        executor.submit(() -> block(running, release), ConversionExecutor.Priority.BACKGROUND);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> started.add("background"), ConversionExecutor.Priority.BACKGROUND);
+        CompletableFuture<Boolean> interactive = executor.submit(() -> started.add("interactive"));
+
+        assertThat(executor.getQueueDepth(ConversionExecutor.Priority.INTERACTIVE), equalTo(1));
+        assertThat(executor.getQueueDepth(ConversionExecutor.Priority.BACKGROUND), equalTo(1));
+        release.countDown();
+        interactive.get(5, TimeUnit.SECONDS);
+        executor.submit(() -> true, ConversionExecutor.Priority.BACKGROUND).get(5, TimeUnit.SECONDS);
+
+        assertThat(started, equalTo(List.of("interactive", "background")));
+    }
+
+    @Test
+    public void shouldReserveThreadForInteractiveConversions() throws Exception {
+        executor = new ConversionExecutor(2);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = executor.submit(() -> block(running, release),
+                ConversionExecutor.Priority.BACKGROUND);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> second = executor.submit(() -> true, ConversionExecutor.Priority.BACKGROUND);
+
+        String result = executor.submit(() -> "interactive").get(5, TimeUnit.SECONDS);
+
+        assertThat(result, equalTo("interactive"));
+        assertThat(second.isDone(), equalTo(false));
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS), equalTo(true));
+        assertThat(second.get(5, TimeUnit.SECONDS), equalTo(true));
+    }
+
+    private static boolean block(CountDownLatch running, CountDownLatch release) throws InterruptedException {
+        running.countDown();
+        return release.await(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shouldReportStatisticsForEveryPriority() throws Exception {
+        executor = new ConversionExecutor(2);
+        executor.submit(() -> 1).get(5, TimeUnit.SECONDS);
+        executor.submit(() -> 2).get(5, TimeUnit.SECONDS);
+        executor.submit(() -> 3, ConversionExecutor.Priority.BACKGROUND).get(5, TimeUnit.SECONDS);
+
+        assertThat(executor.getStartedCount(ConversionExecutor.Priority.INTERACTIVE), equalTo(2L));
+        assertThat(executor.getStartedCount(ConversionExecutor.Priority.BACKGROUND), equalTo(1L));
+        assertThat(executor.getQueueDepth(ConversionExecutor.Priority.BACKGROUND), equalTo(0));
+        assertTrue(executor.getAverageWaitMillis(ConversionExecutor.Priority.INTERACTIVE) >= 0);
+    }
+
+    @Test
+    public void shouldInterruptCancelledConversion() throws Exception {
+        executor = new ConversionExecutor(1, 0);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Void> future = executor.submit(() -> {
+            running.countDown();
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        future.cancel(true);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertThat(executor.submit(() -> "next").get(5, TimeUnit.SECONDS), equalTo("next"));
+    }
+
+    @Test
+    public void shouldRejectConversionsAfterShutdown() throws Exception {
+        executor = new ConversionExecutor(1, 0);
+        executor.shutdown();
+
+        CompletableFuture<String> future = executor.submit(() -> "rejected");
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("The conversion was not rejected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    @Test
+    public void shouldCancelQueuedConversionsOnShutdown() throws Exception {
+        executor = new ConversionExecutor(1, 0);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> block(running, release));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = executor.submit(() -> "queued", ConversionExecutor.Priority.BACKGROUND);
+
+        executor.shutdown();
+
+        assertTrue(queued.isCancelled());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import com.sqlines.studio.model.coreprocess.Arguments;
+import com.sqlines.studio.model.coreprocess.CoreProcessRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class ConverterImplTest {
+    private ConverterImpl converter;
+    private CoreProcessRunner coreProcess;
+
+    @Before
+    public void setUp() {
+        System.setProperty("model.streaming", "enabled");
+        System.setProperty("model.save-target", "disabled");
+
+        coreProcess = mock(CoreProcessRunner.class);
+        CmdModes cmdModes = new CmdModes(Map.of("Oracle", "oracle", "MySQL", "mysql"));
+        converter = new ConverterImpl(cmdModes, coreProcess, false);
+    }
+
+    @After
+    public void tearDown() {
+        System.setProperty("model.save-target", "enabled");
+    }
+
+    @Test
+    public void shouldPipeSourceDataThroughStandardStreams() throws Exception {
+        ArgumentCaptor<InputStream> input = ArgumentCaptor.forClass(InputStream.class);
+        when(coreProcess.runAndWait(any(Arguments.class), input.capture())).thenReturn("SELECT 1;\n");
+
+        byte[] sourceData = "select 1 from dual;".getBytes(StandardCharsets.UTF_8);
+        ConversionResult result = converter.run("Oracle", "MySQL", sourceData, "tab");
+
+        assertThat(new String(input.getValue().readAllBytes(), StandardCharsets.UTF_8),
+                equalTo("select 1 from dual;"));
+        assertThat(result, equalTo(new ConversionResult("SELECT 1;", "")));
+        verify(coreProcess, never()).runAndWait(any(Arguments.class));
+    }
+
+    @Test
+    public void shouldRunWithStdinArguments() throws Exception {
+        ArgumentCaptor<Arguments> arguments = ArgumentCaptor.forClass(Arguments.class);
+        when(coreProcess.runAndWait(arguments.capture(), any(InputStream.class))).thenReturn("\n");
+
+        converter.run("Oracle", "MySQL", new byte[0], "tab");
+
+        assertThat(arguments.getValue().isStdin(), equalTo(true));
+        assertThat(arguments.getValue().toArray()[0], equalTo("-s = oracle"));
+        assertThat(arguments.getValue().toArray()[1], equalTo("-t = mysql"));
+    }
+
+    @Test
+    public void shouldConvertFilesInEvaluationMode() throws Exception {
+        ArgumentCaptor<Arguments> arguments = ArgumentCaptor.forClass(Arguments.class);
+        when(coreProcess.runAndWait(arguments.capture())).thenReturn("");
+        converter.setEvaluationMode(true);
+
+        converter.convert("Oracle", "MySQL", "select 1 from dual;".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(arguments.getValue().isStdin(), equalTo(false));
+        verify(coreProcess, never()).runAndWait(any(Arguments.class), any(InputStream.class));
+    }
+
+    @Test
+    public void shouldRecordConversionEvent() throws Exception {
+        when(coreProcess.runAndWait(any(Arguments.class), any(InputStream.class))).thenReturn("SELECT 1;\n");
+
+        Path recordingPath = Files.createTempFile("sqlines-recording", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ConversionEvent.class);
+            recording.start();
+            converter.convert("Oracle", "MySQL", "select 1 from dual;".getBytes(StandardCharsets.UTF_8));
+            recording.stop();
+            recording.dump(recordingPath);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath);
+        Files.delete(recordingPath);
+        assertThat(events.size(), equalTo(1));
+        assertThat(events.get(0).getString("sourceMode"), equalTo("Oracle"));
+        assertThat(events.get(0).getBoolean("isStreaming"), equalTo(true));
+        assertThat(events.get(0).getLong("bytesIn"), equalTo(19L));
+        assertThat(events.get(0).getLong("bytesOut"), equalTo(9L));
+    }
+}
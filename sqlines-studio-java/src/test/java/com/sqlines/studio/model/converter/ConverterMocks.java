@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Mocked converters shared by the tests of the classes that run a {@link Converter}.
+ */
+public final class ConverterMocks {
+
+    private ConverterMocks() {
+    }
+
+    /**
+     * Receives every input of the mocked converter before it is converted.
+     */
+    @FunctionalInterface
+    public interface InputListener {
+        /**
+         * @param input the text to be converted
+         *
+         * @throws Exception to fail the conversion
+         */
+        void onInput(String input) throws Exception;
+    }
+
+    /**
+     * Creates a converter that replaces nvl with ifnull in its input.
+     *
+     * @param listener listener called with every input, on the converting thread
+     *
+     * @return mocked converter
+     *
+     * @throws Exception never, declared by the stubbed method
+     */
+    public static Converter nvlToIfnull(InputListener listener) throws Exception {
+        Converter converter = mock(Converter.class);
+        when(converter.convert(anyString(), anyString(), any(byte[].class))).thenAnswer(invocation -> {
+            String input = new String((byte[]) invocation.getArguments()[2], StandardCharsets.UTF_8);
+            listener.onInput(input);
+            return input.replace("nvl", "ifnull");
+        });
+        return converter;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.junit.Test;
+
+import static org.mockito.Mockito.*;
+
+public class ConverterWarmUpTest {
+
+    @Test
+    public void shouldConvertWithLastUsedModes() throws Exception {
+        Converter converter = mock(Converter.class);
+
+        new ConverterWarmUp(converter, "Oracle", "MySQL").run();
+
+        verify(converter).convert(eq("Oracle"), eq("MySQL"), any(byte[].class));
+    }
+
+    @Test
+    public void shouldIgnoreFailures() throws Exception {
+        Converter converter = mock(Converter.class);
+        when(converter.convert(anyString(), anyString(), any(byte[].class)))
+                .thenThrow(new IllegalStateException("No sqlines program"));
+
+        new ConverterWarmUp(converter, "Oracle", "MySQL").run();
+
+        verify(converter).convert(eq("Oracle"), eq("MySQL"), any(byte[].class));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.containsString;
+
+public class IncrementalConverterTest {
+    private IncrementalConverter incrementalConverter;
+    private Converter converter;
+    private final List<String> inputs = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        System.setProperty("model.save-target", "disabled");
+
+        converter = ConverterMocks.nvlToIfnull(inputs::add);
+        incrementalConverter = new IncrementalConverter(converter);
+    }
+
+    @After
+    public void tearDown() {
+        System.setProperty("model.save-target", "enabled");
+    }
+
+    @Test
+    public void shouldConvertOnlyChangedStatements() throws Exception {
+        String source = "select nvl(a, 1) from t1;\nselect nvl(b, 2) from t2;\nselect nvl(c, 3) from t3;\n";
+        ConversionSnapshot first = incrementalConverter.run("Oracle", "MySQL", source, "tab", null);
+        assertThat(first.getResult().getData(), equalTo(source.replace("nvl", "ifnull")));
+
+        String edited = source.replace("nvl(b, 2)", "nvl(b, 5)");
+        ConversionSnapshot second = incrementalConverter.run("Oracle", "MySQL", edited, "tab", first);
+
+        assertThat(second.getResult().getData(), equalTo(edited.replace("nvl", "ifnull")));
+        assertThat(inputs.get(1), equalTo("select nvl(b, 5) from t2;\n"));
+    }
+
+    @Test
+    public void shouldNotRunConverterForUnchangedText() throws Exception {
+        String source = "select 1;\nselect 2;\n";
+        ConversionSnapshot first = incrementalConverter.run("Oracle", "MySQL", source, "tab", null);
+        ConversionSnapshot second = incrementalConverter.run("Oracle", "MySQL", source, "tab", first);
+
+        assertThat(second.getResult().getData(), equalTo(source));
+        verify(converter, times(1)).convert(anyString(), anyString(), any(byte[].class));
+    }
+
+    @Test
+    public void shouldConvertWholeTextWhenMarkersAreLost() throws Exception {
+        reset(converter);
+        when(converter.convert(anyString(), anyString(), any(byte[].class))).thenReturn("converted");
+
+        ConversionSnapshot snapshot = incrementalConverter.run("Oracle", "MySQL", "select 1;\nselect 2;\n", "tab", null);
+
+        assertThat(snapshot.getResult().getData(), equalTo("converted"));
+        assertThat(snapshot.isSplit(), equalTo(false));
+    }
+
+    @Test
+    public void shouldKeepSplittingWithEvaluationNotice() throws Exception {
+        String notice = "-- SQLINES LICENSE FOR EVALUATION USE ONLY\n\n";
+        reset(converter);
+        when(converter.convert(anyString(), anyString(), any(byte[].class))).thenAnswer(invocation -> {
+            String input = new String((byte[]) invocation.getArguments()[2], StandardCharsets.UTF_8);
+            inputs.add(input);
+            return notice + input.replace("nvl", "ifnull");
+        });
+
+        String source = "select nvl(a, 1) from t1;\nselect nvl(b, 2) from t2;\nselect nvl(c, 3) from t3;\n";
+        ConversionSnapshot first = incrementalConverter.run("Oracle", "MySQL", source, "tab", null);
+        String edited = source.replace("nvl(b, 2)", "nvl(b, 5)");
+        ConversionSnapshot second = incrementalConverter.run("Oracle", "MySQL", edited, "tab", first);
+
+        assertThat(first.isSplit(), equalTo(true));
+        assertThat(second.getResult().getData(), equalTo(notice + edited.replace("nvl", "ifnull")));
+        assertThat(inputs.get(1), equalTo("select nvl(b, 5) from t2;\n"));
+    }
+
+    @Test
+    public void shouldConvertWholeTextWhenModesChange() throws Exception {
+        String source = "select 1;\nselect 2;\n";
+        ConversionSnapshot first = incrementalConverter.run("Oracle", "MySQL", source, "tab", null);
+        incrementalConverter.run("Oracle", "MariaDB", source, "tab", first);
+
+        assertThat(inputs.size(), equalTo(2));
+        assertThat(inputs.get(1), containsString("select 1;"));
+        assertThat(inputs.get(1), containsString("select 2;"));
+        assertThat(inputs.get(1), not(equalTo(source)));
+    }
+
+    @Test
+    public void shouldConvertIntoEveryTargetMode() throws Exception {
+        Converter fanOutConverter = mock(Converter.class);
+        when(fanOutConverter.convert(anyString(), anyString(), any(byte[].class))).thenAnswer(invocation ->
+                new String((byte[]) invocation.getArguments()[2], StandardCharsets.UTF_8)
+                        .replace("nvl", "ifnull_" + invocation.getArguments()[1]));
+        ConversionExecutor executor = new ConversionExecutor(3);
+        try {
+            Map<String, CompletableFuture<ConversionSnapshot>> futures = new IncrementalConverter(fanOutConverter)
+                    .runAsync("Oracle", List.of("MySQL", "PostgreSQL", "SQL Server"),
+                            "select nvl(a, 1) from t1;\nselect nvl(b, 2) from t2;\n", "tab", executor);
+
+            assertThat(List.copyOf(futures.keySet()), equalTo(List.of("MySQL", "PostgreSQL", "SQL Server")));
+            ConversionSnapshot postgres = futures.get("PostgreSQL").get(5, TimeUnit.SECONDS);
+            assertThat(postgres.getResult().getData(), equalTo(
+                    "select ifnull_PostgreSQL(a, 1) from t1;\nselect ifnull_PostgreSQL(b, 2) from t2;\n"));
+            assertThat(postgres.getTargetMode(), equalTo("PostgreSQL"));
+            assertThat(futures.get("SQL Server").get(5, TimeUnit.SECONDS).getStatements(),
+                    equalTo(postgres.getStatements()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
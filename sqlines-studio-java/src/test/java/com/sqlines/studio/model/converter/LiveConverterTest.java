@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class LiveConverterTest {
+    private final List<String> inputs = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ConversionExecutor executor;
+    private LiveConverter liveConverter;
+
+    @Before
+    public void setUp() throws Exception {
+        System.setProperty("model.live-delay", "100");
+
+        Converter converter = ConverterMocks.nvlToIfnull(input -> {
+            inputs.add(input);
+            if (input.contains("slow")) {
+                release.await();
+            }
+        });
+        executor = new ConversionExecutor(2);
+        liveConverter = new LiveConverter(new IncrementalConverter(converter), executor);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+        System.setProperty("model.live-delay", "500");
+    }
+
+    @Test
+    public void shouldConvertOnlyTheNewestTextAfterQuietPeriod() throws Exception {
+        CompletableFuture<ConversionSnapshot> first = liveConverter.schedule("Oracle", "MySQL",
+                "select nvl(a, 1) from t", null);
+        first.cancel(true);
+        CompletableFuture<ConversionSnapshot> second = liveConverter.schedule("Oracle", "MySQL",
+                "select nvl(a, 1) from t1;", null);
+
+        ConversionSnapshot snapshot = second.get(5, TimeUnit.SECONDS);
+
+        assertThat(snapshot.getResult().getData(), equalTo("select ifnull(a, 1) from t1;"));
+        assertThat(snapshot.getResult().getTargetFilePath(), equalTo(""));
+        assertThat(inputs.size(), equalTo(1));
+        assertTrue(first.isCancelled());
+    }
+
+    @Test
+    public void shouldStopRunningConversionWhenCancelled() throws Exception {
+        CompletableFuture<ConversionSnapshot> future = liveConverter.schedule("Oracle", "MySQL",
+                "select slow from t1;", null);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (inputs.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        future.cancel(true);
+
+        assertThat(inputs.size(), equalTo(1));
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail("Cancelled conversion completed");
+        } catch (CancellationException e) {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class SqlParserLibraryTest {
+
+    @Test
+    public void shouldMapModesLikeCommandLineProgram() {
+        assertThat(SqlParserLibrary.dialectOf("sql"), equalTo((short) 1));
+        assertThat(SqlParserLibrary.dialectOf("oracle"), equalTo((short) 2));
+        assertThat(SqlParserLibrary.dialectOf("MySQL"), equalTo((short) 4));
+        assertThat(SqlParserLibrary.dialectOf("esgyndb"), equalTo((short) 15));
+        assertThat(SqlParserLibrary.dialectOf("trafodion"), equalTo((short) 15));
+        assertThat(SqlParserLibrary.dialectOf("mariadb_ora"), equalTo((short) 17));
+    }
+
+    @Test
+    public void shouldMapUnknownModesToZero() {
+        assertThat(SqlParserLibrary.dialectOf("unknown"), equalTo((short) 0));
+        assertThat(SqlParserLibrary.dialectOf(""), equalTo((short) 0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotConstructNativeConverterWithoutLibrary() {
+        String appDir = System.getProperty("model.app-dir");
+        System.setProperty("model.app-dir", System.getProperty("java.io.tmpdir") + "/no-such-dir");
+        try {
+            assertThat(SqlParserLibrary.isAvailable(), equalTo(false));
+            new NativeConverter(new CmdModes(Map.of("Oracle", "oracle")), false);
+        } finally {
+            if (appDir == null) {
+                System.clearProperty("model.app-dir");
+            } else {
+                System.setProperty("model.app-dir", appDir);
+            }
+        }
+    }
+}
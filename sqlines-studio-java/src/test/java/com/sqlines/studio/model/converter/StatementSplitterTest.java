@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.*;
+
+public class StatementSplitterTest {
+
+    private static List<String> split(String text) {
+        return split(text, "");
+    }
+
+    private static List<String> split(String text, String sourceMode) {
+        List<String> statements = StatementSplitter.split(text, sourceMode).stream()
+                .map(StatementSplitter.Statement::getText)
+                .collect(Collectors.toList());
+        assertThat(String.join("", statements), equalTo(text));
+        return statements;
+    }
+
+    @Test
+    public void shouldSplitAtSemicolons() {
+        assertThat(split("select 1; select 2;\nselect 3;\n"),
+                equalTo(List.of("select 1; ", "select 2;\n", "select 3;\n")));
+    }
+
+    @Test
+    public void shouldIgnoreSemicolonsInLiteralsAndComments() {
+        String text = "select ';' from t -- ;\n/* ; */ where a = \"x;\";\nselect 2;";
+        assertThat(split(text).size(), equalTo(2));
+    }
+
+    @Test
+    public void shouldKeepBlocksTogether() {
+        String procedure = "CREATE OR REPLACE PROCEDURE p IS\n  v NUMBER;\nBEGIN\n" +
+                "  IF v > 0 THEN\n    v := 1;\n  END IF;\nEND p;\n/\n";
+        assertThat(split(procedure + "select 1 from dual;\n"),
+                equalTo(List.of(procedure, "select 1 from dual;\n")));
+    }
+
+    @Test
+    public void shouldEndRoutineStatementsWithoutBodies() {
+        List<String> statements = List.of(
+                "ALTER FUNCTION public.f() OWNER TO postgres;\n",
+                "CREATE TRIGGER t1 BEFORE INSERT ON t FOR EACH ROW EXECUTE FUNCTION f();\n",
+                "CREATE TRIGGER t2 AFTER INSERT ON t REFERENCING NEW TABLE AS nt " +
+                        "FOR EACH STATEMENT EXECUTE FUNCTION g();\n",
+                "CREATE FUNCTION f() RETURNS int AS 'select 1' LANGUAGE sql;\n",
+                "ALTER PROCEDURE p COMPILE;\n",
+                "ALTER PACKAGE pkg COMPILE BODY;\n",
+                "select 1;\n");
+        assertThat(split(String.join("", statements)), equalTo(statements));
+
+        String trigger = "CREATE TRIGGER t3 BEFORE INSERT ON t FOR EACH ROW SET NEW.a = 1;\n";
+        assertThat(split(trigger + "select 1;\n", "MySQL"), equalTo(List.of(trigger, "select 1;\n")));
+    }
+
+    @Test
+    public void shouldKeepRoutineBodiesTogether() {
+        List<String> statements = List.of(
+                "CREATE TRIGGER t1 BEFORE INSERT ON t FOR EACH ROW BEGIN SET NEW.a = 1; SET NEW.b = 2; END;\n",
+                "CREATE OR REPLACE TRIGGER t2 BEFORE INSERT ON t REFERENCING NEW AS n FOR EACH ROW\n" +
+                        "DECLARE v NUMBER;\nBEGIN\n  v := 1;\nEND;\n",
+                "CREATE FUNCTION f(a IN NUMBER) RETURN NUMBER IS\n  v NUMBER;\nBEGIN\n  RETURN v;\nEND f;\n",
+                "CREATE FUNCTION g() RETURNS int LANGUAGE sql BEGIN ATOMIC SELECT 1; END;\n",
+                "select 1;\n");
+        assertThat(split(String.join("", statements)), equalTo(statements));
+    }
+
+    @Test
+    public void shouldKeepControlFlowBlocksTogether() {
+        List<String> statements = List.of(
+                "IF @x = 1 BEGIN SELECT 1; SELECT 2; END;\n",
+                "WHILE @i < 10 BEGIN\n  SET @i = @i + 1;\n  SELECT CASE WHEN @i > 5 THEN 1 END;\nEND;\n",
+                "BEGIN TRANSACTION;\n",
+                "SELECT 3;\n",
+                "IF @x = 2 BEGIN TRAN;\n",
+                "SELECT 4;\n",
+                "COMMIT;\n");
+        assertThat(split(String.join("", statements), "Microsoft SQL Server"), equalTo(statements));
+        assertThat(split("BEGIN ISOLATION LEVEL SERIALIZABLE;\nselect 1;\n", "PostgreSQL").size(), equalTo(2));
+    }
+
+    @Test
+    public void shouldSplitAtGoLines() {
+        String procedure = "CREATE PROCEDURE p AS\nBEGIN\n  SELECT 1;\nEND\nGO\n";
+        assertThat(split(procedure + "SELECT 2\nGO\n"), equalTo(List.of(procedure, "SELECT 2\nGO\n")));
+    }
+
+    @Test
+    public void shouldNotTreatTableColumnsAsBlocks() {
+        assertThat(split("CREATE TABLE t (function INT);\nselect 1;\n").size(), equalTo(2));
+    }
+
+    @Test
+    public void shouldSplitAtCustomDelimiter() {
+        String text = "DELIMITER //\nCREATE PROCEDURE p() BEGIN SELECT 1; END//\nDELIMITER ;\nselect 1;\n";
+        List<StatementSplitter.Statement> statements = StatementSplitter.split(text);
+
+        assertThat(statements.size(), equalTo(4));
+        assertThat(statements.get(0).isDelimiterCommand(), equalTo(true));
+        assertThat(statements.get(1).getContext(), equalTo(0));
+        assertThat(statements.get(3).getContext(), equalTo(-1));
+    }
+
+    @Test
+    public void shouldSkipDollarQuotedBodies() {
+        String function = "CREATE FUNCTION f() RETURNS int AS $$ BEGIN RETURN 1; END; $$ LANGUAGE plpgsql;\n";
+        assertThat(split(function + "select 1;"), equalTo(List.of(function, "select 1;")));
+    }
+
+    @Test
+    public void shouldSkipBackslashEscapesInMySqlModes() {
+        String insert = "INSERT INTO t VALUES ('O\\'Reilly; x', \"a\\\"; b\");\n";
+        assertThat(split(insert + "select 1;\n", "MySQL"), equalTo(List.of(insert, "select 1;\n")));
+        assertThat(split(insert + "select 1;\n", "MariaDB"), equalTo(List.of(insert, "select 1;\n")));
+    }
+
+    @Test
+    public void shouldSkipHashCommentsInMySqlModes() {
+        String select = "select 1 # it's; a comment\nfrom t;\n";
+        assertThat(split(select + "select 2;\n", "MySQL"), equalTo(List.of(select, "select 2;\n")));
+    }
+
+    @Test
+    public void shouldKeepHashInIdentifiersInOtherModes() {
+        String select = "select a into #tmp from t;\n";
+        assertThat(split(select + "select 2;\n", "Microsoft SQL Server"),
+                equalTo(List.of(select, "select 2;\n")));
+    }
+
+    @Test
+    public void shouldSkipOracleQuotedStrings() {
+        String first = "select q'[it's; a]' from dual;\n";
+        String second = "select nQ'{a;'b}' from dual;\n";
+        String third = "select q'!c;'!' from dual;\n";
+        assertThat(split(first + second + third, "Oracle"), equalTo(List.of(first, second, third)));
+    }
+
+    @Test
+    public void shouldBlankCommentsAndStrings() {
+        String text = "select nvl(a, 'x;\r\ny') -- nvl(\n/* nvl(\n */ from \"t\", q'[nvl(]' $$ nvl( $$;\n";
+        String code = "select nvl(a,    \r\n  )        \n       \n    from \"t\",           $$ nvl( $$;\n";
+        assertThat(StatementSplitter.blankCommentsAndStrings(text, "Oracle"), equalTo(code));
+        assertThat(StatementSplitter.blankCommentsAndStrings("select \"a\" # b\n", "MySQL"),
+                equalTo("select        \n"));
+    }
+
+    @Test
+    public void shouldCutPiecesAtStatementBoundaries() {
+        String text = "select 'a;\nb;\nc' from t;\nselect 1;\n/\nDELIMITER //\n" +
+                "CREATE PROCEDURE p() BEGIN\nSELECT 1;\nEND//\nDELIMITER ;\n" +
+                "/* x;\ny; */ select 2;\nselect $$ a;\nb $$;\nselect 3\nGO\n";
+        List<String> wholeStatements = split(text);
+
+        StatementSplitter splitter = new StatementSplitter("Oracle");
+        List<String> chunks = new ArrayList<>();
+        String[] lines = text.split("(?<=\n)");
+        for (int i = 0; i < lines.length; i++) {
+            splitter.append(lines[i]);
+            int length = splitter.scan(i == lines.length - 1);
+            if (length > 0) {
+                chunks.add(splitter.cut(length));
+            }
+        }
+
+        assertThat(String.join("", chunks), equalTo(text));
+        assertThat(splitter.length(), equalTo(0));
+
+        Set<Integer> boundaries = new HashSet<>();
+        int boundary = 0;
+        for (String statement : wholeStatements) {
+            boundary += statement.length();
+            boundaries.add(boundary);
+        }
+
+        int end = 0;
+        for (String chunk : chunks) {
+            end += chunk.length();
+            assertTrue(boundaries.contains(end));
+        }
+        assertTrue(chunks.size() > 3);
+        assertFalse(chunks.stream().anyMatch(chunk -> chunk.startsWith("/\n") || chunk.startsWith("GO")));
+    }
+}
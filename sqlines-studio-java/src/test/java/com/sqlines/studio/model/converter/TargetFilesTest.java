@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.converter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class TargetFilesTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String currDir;
+
+    @Before
+    public void setUp() {
+        currDir = System.getProperty("model.curr-dir");
+        System.setProperty("model.curr-dir", folder.getRoot().getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() {
+        if (currDir != null) {
+            System.setProperty("model.curr-dir", currDir);
+        } else {
+            System.clearProperty("model.curr-dir");
+        }
+    }
+
+    @Test
+    public void shouldSaveInOrderInBackground() throws Exception {
+        TargetFiles.saveAsync("select 1;", "tab 1", "MySQL");
+        ConversionResult result = TargetFiles.saveAsync("select 2;", "tab 1", "MySQL");
+
+        Path path = Path.of(result.getTargetFilePath());
+        assertThat(path, equalTo(folder.getRoot().toPath().resolve("tab1_MySQL.sql")));
+        for (int i = 0; i < 100 && !isSaved(path, "select 2;"); i++) {
+            Thread.sleep(50);
+        }
+
+        assertThat(Files.readString(path, StandardCharsets.UTF_8), equalTo("select 2;"));
+        assertThat(folder.getRoot().list().length, equalTo(1));
+    }
+
+    private static boolean isSaved(Path path, String data) throws Exception {
+        return Files.exists(path) && Files.readString(path, StandardCharsets.UTF_8).equals(data);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.coreprocess;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+
+public class CoreProcessPoolTest {
+    // Writes its pid to the pids file, then its pid, modes and input to the standard output
+    private static final String WORKER_SCRIPT = "#!/bin/sh\n"
+            + "echo $$ >> \"$(dirname \"$0\")/pids\"\n"
+            + "printf '%s|%s|' \"$$\" \"$1 $2\"\n"
+            + "cat\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String appDir;
+    private Path pids;
+    private CoreProcessPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+
+        Path dir = folder.newFolder("app").toPath();
+        Path script = dir.resolve("sqlines");
+        Files.writeString(script, WORKER_SCRIPT);
+        assertTrue(script.toFile().setExecutable(true));
+        pids = dir.resolve("pids");
+
+        appDir = System.getProperty("model.app-dir");
+        System.setProperty("model.app-dir", dir.toString());
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+
+        if (appDir == null) {
+            System.clearProperty("model.app-dir");
+        } else {
+            System.setProperty("model.app-dir", appDir);
+        }
+    }
+
+    @Test
+    public void shouldReplaceUsedWorkerWithWarmOne() throws Exception {
+        pool = new CoreProcessPool(4, 1, 60_000);
+
+        String[] first = convert("oracle", "mysql", "select 1;");
+        assertThat(first[1], equalTo("-s = oracle -t = mysql"));
+        assertThat(first[2], equalTo("select 1;"));
+        awaitWorkers(1, 2);
+        long warm = lastPid();
+
+        String[] second = convert("oracle", "mysql", "select 2;");
+
+        assertThat(Long.parseLong(second[0]), equalTo(warm));
+        assertThat(second[0], not(equalTo(first[0])));
+        assertThat(second[2], equalTo("select 2;"));
+        awaitWorkers(1, 3);
+    }
+
+    @Test
+    public void shouldReplaceCrashedWorker() throws Exception {
+        pool = new CoreProcessPool(4, 1, 60_000);
+        convert("oracle", "mysql", "select 1;");
+        awaitWorkers(1, 2);
+        long crashed = lastPid();
+        ProcessHandle worker = ProcessHandle.of(crashed).orElseThrow();
+        worker.destroyForcibly();
+        worker.onExit().get(5, TimeUnit.SECONDS);
+
+        String[] output = convert("oracle", "mysql", "select 2;");
+
+        assertThat(Long.parseLong(output[0]), not(equalTo(crashed)));
+        assertThat(output[2], equalTo("select 2;"));
+        awaitWorkers(1, 4);
+    }
+
+    @Test
+    public void shouldUseWorkersOfSameModesOnly() throws Exception {
+        pool = new CoreProcessPool(1, 1, 60_000);
+        convert("oracle", "mysql", "select 1;");
+        awaitWorkers(1, 2);
+        long oracleWorker = lastPid();
+
+        String[] db2 = convert("db2", "postgresql", "select 2;");
+
+        assertThat(db2[1], equalTo("-s = db2 -t = postgresql"));
+        assertThat(Long.parseLong(db2[0]), not(equalTo(oracleWorker)));
+
+        // The least recently used worker is retired to keep a warm worker for the new modes
+        awaitWorkers(1, 4);
+        ProcessHandle retired = ProcessHandle.of(oracleWorker).orElse(null);
+        assertTrue(retired == null || !retired.onExit().get(5, TimeUnit.SECONDS).isAlive());
+
+        String[] oracle = convert("oracle", "mysql", "select 3;");
+        assertThat(oracle[1], equalTo("-s = oracle -t = mysql"));
+        assertThat(Long.parseLong(oracle[0]), not(equalTo(oracleWorker)));
+    }
+
+    private String[] convert(String sourceMode, String targetMode, String input) throws IOException {
+        Arguments arguments = Arguments.builder()
+                .withSourceMode(sourceMode)
+                .withTargetMode(targetMode)
+                .withStdin(true)
+                .build();
+        String output = pool.runAndWait(arguments, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+        return output.split("\\|", 3);
+    }
+
+    // Waits until the specified numbers of workers are idle and have been started in total
+    private void awaitWorkers(int idle, int started) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((pool.countIdleWorkers() != idle || countStarted() != started)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(countStarted(), equalTo(started));
+        assertThat(pool.countIdleWorkers(), equalTo(idle));
+    }
+
+    private int countStarted() throws IOException {
+        return Files.exists(pids) ? Files.readAllLines(pids).size() : 0;
+    }
+
+    private long lastPid() throws IOException {
+        List<String> lines = Files.readAllLines(pids);
+        return Long.parseLong(lines.get(lines.size() - 1).trim());
+    }
+}
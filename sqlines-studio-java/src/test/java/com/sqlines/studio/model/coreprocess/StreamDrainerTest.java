@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.coreprocess;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class StreamDrainerTest {
+    private static final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterClass
+    public static void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldKeepWholeStreamWhenUnlimited() throws Exception {
+        byte[] data = new byte[1024 * 1024];
+        Arrays.fill(data, (byte) 'x');
+
+        StreamDrainer drainer = StreamDrainer.start(
+                executor, new ByteArrayInputStream(data), StreamDrainer.UNLIMITED, List.of()
+        );
+
+        assertThat(drainer.await().length, equalTo(data.length));
+    }
+
+    @Test
+    public void shouldKeepLastBytesWhenLimitExceeded() throws Exception {
+        byte[] data = "0123456789".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+
+        StreamDrainer drainer = StreamDrainer.start(executor, new ByteArrayInputStream(data), 15, List.of());
+
+        assertThat(new String(drainer.await(), StandardCharsets.UTF_8), equalTo("567890123456789"));
+    }
+
+    @Test
+    public void shouldNotifyOfEveryLine() throws Exception {
+        byte[] data = "Processing a.sql\r\n\nProcessing b.sql\nDone".getBytes(StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>();
+
+        StreamDrainer drainer = StreamDrainer.start(
+                executor, new ByteArrayInputStream(data), 10, List.of(lines::add)
+        );
+        drainer.await();
+
+        assertThat(lines, equalTo(List.of("Processing a.sql", "Processing b.sql", "Done")));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.coreprocess;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class WatchdogTest {
+
+    @Before
+    public void setUp() {
+        assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+    }
+
+    @Test
+    public void shouldScaleTimeoutWithInputSize() {
+        Watchdog watchdog = new Watchdog(1000, 500);
+
+        assertThat(watchdog.getTimeoutMillis(0), equalTo(1000L));
+        assertThat(watchdog.getTimeoutMillis(4 * 1024 * 1024), equalTo(3000L));
+    }
+
+    @Test
+    public void shouldReturnExitValueOfFinishedProcess() throws Exception {
+        Process process = new ProcessBuilder("sh", "-c", "exit 3").start();
+
+        assertThat(new Watchdog(10_000, 0).waitFor(process, () -> 0), equalTo(3));
+    }
+
+    @Test
+    public void shouldKillProcessOutOfTimeBudget() throws Exception {
+        Process process = new ProcessBuilder("sleep", "30").start();
+
+        try {
+            new Watchdog(200, 0).waitFor(process, () -> 0);
+            fail("Timeout expected");
+        } catch (CoreProcessTimeoutException e) {
+            assertThat(e.getTimeoutMillis(), equalTo(200L));
+        }
+
+        assertThat(process.waitFor(5, TimeUnit.SECONDS), equalTo(true));
+    }
+
+    @Test
+    public void shouldLimitMemoryOnLinuxOnly() {
+        String[] command = {"sqlines", "-stdin"};
+        System.setProperty("model.memory-limit", "0");
+        assertThat(Watchdog.limitMemory(command), equalTo(command));
+
+        System.setProperty("model.memory-limit", "512");
+        try {
+            String[] limited = Watchdog.limitMemory(command);
+            if (System.getProperty("os.name").toLowerCase().startsWith("linux")) {
+                assertThat(limited[3], equalTo("524288"));
+                assertThat(limited[4], equalTo("sqlines"));
+            } else {
+                assertThat(limited, equalTo(command));
+            }
+        } finally {
+            System.setProperty("model.memory-limit", "0");
+        }
+    }
+}
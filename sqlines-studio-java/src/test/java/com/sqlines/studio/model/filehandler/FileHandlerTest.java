@@ -20,12 +20,20 @@ import com.sqlines.studio.model.filehandler.listener.RecentFilesChangeListener;
 import com.sqlines.studio.model.tabsdata.ObservableTabsData;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -33,6 +41,9 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.*;
 
 public class FileHandlerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private ObservableTabsData tabsData;
     private FileHandler fileHandler;
 
@@ -61,13 +72,59 @@ public class FileHandlerTest {
         assertThat(tabsData.getSourceText(1), equalTo(secondData));
     }
 
+    @Test
+    public void shouldOpenTabsInFileOrderWhenReadingConcurrently() throws Exception {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            File file = folder.newFile("script" + i + ".sql");
+            Files.writeString(file.toPath(), "select " + i + " from dual;");
+            files.add(file);
+        }
+        files.add(25, new File(folder.getRoot(), "missing.sql"));
+
+        List<Integer> progress = new ArrayList<>();
+        CompletableFuture<Void> opened = fileHandler.openSourceFilesAsync(files, Runnable::run,
+                (file, processed, total) -> progress.add(processed));
+        try {
+            opened.join();
+            fail("Missing file opened");
+        } catch (CompletionException e) {
+            assertThat(e.getCause() instanceof FileNotFoundException, equalTo(true));
+        }
+
+        assertThat(tabsData.countTabs(), equalTo(50));
+        for (int i = 0; i < 50; i++) {
+            assertThat(tabsData.getTabTitle(i), equalTo("script" + i + ".sql"));
+            assertThat(tabsData.getSourceText(i), equalTo("select " + i + " from dual;"));
+        }
+        assertThat(progress.size(), equalTo(51));
+        assertThat(progress.get(50), equalTo(51));
+    }
+
+    @Test
+    public void shouldOpenLargeFilesPageByPage() throws IOException {
+        File file = folder.newFile("large.sql");
+        Files.writeString(file.toPath(), "select 1 from dual;\nselect 2 from dual;\n");
+        System.setProperty("model.large-file-size", "16");
+        try {
+            fileHandler.openSourceFiles(new ArrayList<>(List.of(file)));
+            fileHandler.saveSourceFile(0).join();
+        } finally {
+            System.setProperty("model.large-file-size", "67108864");
+        }
+
+        assertThat(tabsData.getSourceText(0), equalTo(""));
+        assertThat(tabsData.getSourceDocument(0).getLines(1, 1), equalTo("select 2 from dual;"));
+        assertThat(Files.readString(file.toPath()), equalTo("select 1 from dual;\nselect 2 from dual;\n"));
+    }
+
     @Test
     public void shouldUpdateFileWhenSavingFile() throws IOException {
         File file = new File(getClass().getResource("/srcFile1.sql").getPath());
         fileHandler.openSourceFiles(new ArrayList<>(List.of(file)));
         long lastModified = file.lastModified();
 
-        fileHandler.saveSourceFile(0);
+        fileHandler.saveSourceFile(0).join();
 
         assertThat(lastModified, not(equalTo(file.lastModified())));
     }
@@ -105,4 +162,60 @@ public class FileHandlerTest {
             fail();e.getMessage();
         }
     }
+
+    @Test
+    public void shouldUpdateTabWhenFileChangedExternally() throws Exception {
+        File file = folder.newFile("external.sql");
+        Files.write(file.toPath(), "select 1;".getBytes(StandardCharsets.UTF_8));
+        fileHandler.openSourceFiles(new ArrayList<>(List.of(file)));
+
+        Thread thread = new Thread(fileHandler);
+        thread.start();
+        try {
+            Thread.sleep(200);
+            changeExternally(file, "select 2;", StandardOpenOption.TRUNCATE_EXISTING);
+
+            assertThat(awaitSourceText("select 2;"), equalTo("select 2;"));
+        } finally {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    @Test
+    public void shouldReloadAppendedAndRewrittenFiles() throws Exception {
+        File file = folder.newFile("growing.sql");
+        Files.write(file.toPath(), "select 1;\n".getBytes(StandardCharsets.UTF_8));
+        fileHandler.openSourceFiles(new ArrayList<>(List.of(file)));
+
+        Thread thread = new Thread(fileHandler);
+        thread.start();
+        try {
+            Thread.sleep(200);
+            changeExternally(file, "select 2;\n", StandardOpenOption.APPEND);
+            assertThat(awaitSourceText("select 1;\nselect 2;\n"), equalTo("select 1;\nselect 2;\n"));
+
+            changeExternally(file, "select 0;\nselect 2;\nselect 3;\n", StandardOpenOption.TRUNCATE_EXISTING);
+            String expected = "select 0;\nselect 2;\nselect 3;\n";
+            assertThat(awaitSourceText(expected), equalTo(expected));
+        } finally {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    private void changeExternally(File file, String data, StandardOpenOption option) throws Exception {
+        long lastModified = file.lastModified();
+        Files.write(file.toPath(), data.getBytes(StandardCharsets.UTF_8), StandardOpenOption.WRITE, option);
+        Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(lastModified + 10000));
+    }
+
+    private String awaitSourceText(String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!tabsData.getSourceText(0).equals(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        return tabsData.getSourceText(0);
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.filehandler;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+public class FileSaverTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileSaver saver;
+
+    @Before
+    public void setUp() {
+        saver = new FileSaver();
+    }
+
+    @Test
+    public void shouldEncodeTextLargerThanBuffer() throws Exception {
+        Path path = folder.newFile("script.sql").toPath();
+        String text = "select 'ünïcödé €' from dual;\n".repeat(100_000);
+
+        saver.save(path, text, StandardCharsets.UTF_8, () -> { }).join();
+
+        assertThat(Files.readString(path, StandardCharsets.UTF_8), equalTo(text));
+        try (var files = Files.list(folder.getRoot().toPath())) {
+            assertThat(files.count(), equalTo(1L));
+        }
+    }
+
+    @Test
+    public void shouldReplaceFileKeepingPermissions() throws Exception {
+        Path path = folder.newFile("script.sql").toPath();
+        Files.writeString(path, "select 1 from dual;");
+        Set<PosixFilePermission> permissions = EnumSet.of(PosixFilePermission.OWNER_READ,
+                PosixFilePermission.OWNER_WRITE, PosixFilePermission.GROUP_READ, PosixFilePermission.OTHERS_READ);
+        Files.setPosixFilePermissions(path, permissions);
+        Object oldKey = Files.readAttributes(path, "unix:ino").get("ino");
+
+        saver.save(path, "select 2 from dual;", StandardCharsets.UTF_8, () -> { }).join();
+
+        assertThat(Files.readString(path), equalTo("select 2 from dual;"));
+        assertThat(Files.getPosixFilePermissions(path), equalTo(permissions));
+        assertThat(Files.readAttributes(path, "unix:ino").get("ino"), not(equalTo(oldKey)));
+    }
+
+    @Test
+    public void shouldCreateNewFileWithDefaultPermissions() throws Exception {
+        Path expected = folder.newFile("expected.sql").toPath();
+        Path path = folder.getRoot().toPath().resolve("script.sql");
+
+        saver.save(path, "select 1 from dual;", StandardCharsets.UTF_8, () -> { }).join();
+
+        assertThat(Files.readString(path), equalTo("select 1 from dual;"));
+        assertThat(Files.getPosixFilePermissions(path), equalTo(Files.getPosixFilePermissions(expected)));
+    }
+
+    @Test
+    public void shouldReplaceFileBehindSymbolicLink() throws Exception {
+        Path path = folder.newFile("script.sql").toPath();
+        Files.writeString(path, "select 1 from dual;");
+        Path link = Files.createSymbolicLink(folder.getRoot().toPath().resolve("link.sql"), path);
+
+        saver.save(link, "select 2 from dual;", StandardCharsets.UTF_8, () -> { }).join();
+
+        assertThat(Files.isSymbolicLink(link), equalTo(true));
+        assertThat(Files.readString(path), equalTo("select 2 from dual;"));
+    }
+
+    @Test
+    public void shouldCoalesceWaitingSavesOfSameFile() throws Exception {
+        Path blocking = folder.newFile("blocking.sql").toPath();
+        Path path = folder.newFile("script.sql").toPath();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        saver.save(blocking, "", StandardCharsets.UTF_8, () -> {
+            writing.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> first = saver.save(path, "select 1 from dual;", StandardCharsets.UTF_8, () -> { });
+        CompletableFuture<Void> second = saver.save(path, "select 2 from dual;", StandardCharsets.UTF_8, () -> { });
+        assertThat(second, sameInstance(first));
+        assertTrue(saver.isSaving(path));
+        release.countDown();
+
+        second.join();
+        assertThat(saver.getCoalescedCount(), equalTo(1));
+        assertThat(Files.readString(path), equalTo("select 2 from dual;"));
+        assertFalse(saver.isSaving(path));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.filehandler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class FileWatcherTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileWatcher watcher;
+
+    @Before
+    public void setUp() throws Exception {
+        watcher = new FileWatcher(100, 5000);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        watcher.close();
+    }
+
+    @Test
+    public void shouldRegisterEveryDirectoryOnce() throws Exception {
+        Path first = folder.newFile("a.sql").toPath();
+        Path second = folder.newFile("b.sql").toPath();
+        Path third = folder.newFolder("nested").toPath().resolve("c.sql");
+
+        watcher.setFiles(List.of(first, second, third));
+        assertThat(watcher.countWatchedDirs(), equalTo(2));
+
+        watcher.setFiles(List.of(first));
+        assertThat(watcher.countWatchedDirs(), equalTo(1));
+        assertThat(watcher.countPolledFiles(), equalTo(0));
+    }
+
+    @Test
+    public void shouldCoalesceBurstIntoSingleChange() throws Exception {
+        Path watched = folder.newFile("a.sql").toPath();
+        Path other = folder.newFile("b.sql").toPath();
+        watcher.setFiles(List.of(watched));
+
+        for (int i = 0; i < 5; i++) {
+            Files.write(watched, ("select " + i + ";").getBytes(StandardCharsets.UTF_8));
+            Files.write(other, ("select " + i + ";").getBytes(StandardCharsets.UTF_8));
+        }
+
+        Set<Path> changed = watcher.awaitChanges();
+        assertThat(changed, equalTo(Set.of(watched)));
+    }
+
+    @Test
+    public void shouldReportDeletedFile() throws Exception {
+        Path watched = folder.newFile("a.sql").toPath();
+        watcher.setFiles(List.of(watched));
+
+        Files.delete(watched);
+
+        assertThat(watcher.awaitChanges(), equalTo(Set.of(watched)));
+    }
+
+    @Test
+    public void shouldPollFilesInsteadOfPollingWatchService() throws Exception {
+        Path watched = folder.newFile("a.sql").toPath();
+        try (FileWatcher pollingWatcher = new FileWatcher(new IdleWatchService(), true, 100, 100)) {
+            pollingWatcher.setFiles(List.of(watched));
+            assertThat(pollingWatcher.countWatchedDirs(), equalTo(0));
+            assertThat(pollingWatcher.countPolledFiles(), equalTo(1));
+
+            Files.write(watched, "select 1;".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(watched, FileTime.fromMillis(1_000_000));
+
+            assertThat(pollingWatcher.awaitChanges(), equalTo(Set.of(watched)));
+        }
+    }
+
+    /**
+     * Watch service that never reports events.
+     */
+    private static class IdleWatchService implements WatchService {
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public WatchKey poll() {
+            return null;
+        }
+
+        @Override
+        public WatchKey poll(long timeout, TimeUnit unit) {
+            return null;
+        }
+
+        @Override
+        public WatchKey take() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
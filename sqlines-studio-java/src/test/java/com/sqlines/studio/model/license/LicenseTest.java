@@ -21,6 +21,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.mockito.Mockito.*;
@@ -68,4 +70,26 @@ public class LicenseTest {
         license.changeLicense("Alexander", "4424242");
         assertThat(notified.get(), equalTo(true));
     }
+
+    @Test
+    public void shouldNotifyLicenseStatusWhenStarted() throws Exception {
+        when(coreProcess.runAndWait(any())).thenReturn("LICENSED TO");
+
+        CountDownLatch notified = new CountDownLatch(1);
+        license.addLicenseListener(isActive -> {
+            if (isActive) {
+                notified.countDown();
+            }
+        });
+
+        Thread thread = new Thread(license);
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            assertTrue(notified.await(10, TimeUnit.SECONDS));
+            verify(coreProcess, times(1)).runAndWait(any());
+        } finally {
+            thread.interrupt();
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.service;
+
+import com.sqlines.studio.model.converter.Converter;
+import com.sqlines.studio.model.converter.ConverterMocks;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class ConversionServiceTest {
+    private ConversionService service;
+    private final CountDownLatch converting = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws Exception {
+        Converter converter = ConverterMocks.nvlToIfnull(input -> {
+            if (input.equals("block")) {
+                converting.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            } else if (input.equals("fail")) {
+                throw new IllegalStateException("Conversion failed");
+            }
+        });
+
+        service = new ConversionService(converter, List.of("Oracle"), List.of("MySQL"), 1, 0);
+        service.start(0);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        service.stop();
+    }
+
+    @Test
+    public void shouldConvertScript() throws Exception {
+        HttpURLConnection connection = post("/convert?source=Oracle&target=MySQL", "select nvl(a, 1);");
+
+        assertThat(connection.getResponseCode(), equalTo(200));
+        assertThat(read(connection.getInputStream()), equalTo("select ifnull(a, 1);"));
+    }
+
+    @Test
+    public void shouldConvertBatch() throws Exception {
+        HttpURLConnection connection = post("/batch?source=Oracle&target=MySQL",
+                "[\"select nvl(a, 1);\", \"fail\", \"select '\\\"';\\n\"]");
+
+        assertThat(connection.getResponseCode(), equalTo(200));
+        assertThat(read(connection.getInputStream()), equalTo("[{\"data\":\"select ifnull(a, 1);\"}," +
+                "{\"error\":\"Conversion failed\"},{\"data\":\"select '\\\"';\\n\"}]"));
+    }
+
+    @Test
+    public void shouldRejectUnknownModes() throws Exception {
+        HttpURLConnection connection = post("/convert?source=Oracle&target=Unknown", "select 1;");
+
+        assertThat(connection.getResponseCode(), equalTo(400));
+    }
+
+    @Test
+    public void shouldRejectRequestsWhenBusy() throws Exception {
+        HttpURLConnection blocked = post("/convert?source=Oracle&target=MySQL", "block");
+        Thread thread = new Thread(() -> {
+            try {
+                blocked.getResponseCode();
+            } catch (IOException ignored) {
+            }
+        });
+        thread.start();
+        assertTrue(converting.await(10, TimeUnit.SECONDS));
+
+        HttpURLConnection rejected = post("/convert?source=Oracle&target=MySQL", "select 1;");
+        assertThat(rejected.getResponseCode(), equalTo(503));
+        assertThat(rejected.getHeaderField("Retry-After"), equalTo("1"));
+        assertThat(service.getRejectedCount(), equalTo(1));
+
+        release.countDown();
+        thread.join();
+        assertThat(blocked.getResponseCode(), equalTo(200));
+    }
+
+    private HttpURLConnection post(String path, String body) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + service.getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream stream = connection.getOutputStream()) {
+            stream.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return connection;
+    }
+
+    private String read(InputStream stream) throws IOException {
+        try (stream) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -223,4 +223,33 @@ public class ObservableTabsDataTest {
             fail(e.getMessage());
         }
     }
+
+    @Test
+    public void shouldCloseReplacedAndRemovedDocuments() throws Exception {
+        File file = File.createTempFile("paged", ".sql");
+        file.deleteOnExit();
+        PagedDocument first = PagedDocument.open(file.toPath());
+        PagedDocument second = PagedDocument.open(file.toPath());
+        tabsData.openTab(0);
+
+        tabsData.setSourceDocument(first, 0);
+        tabsData.setSourceDocument(first, 0);
+        assertThat(first.getLines(0, 1), equalTo(""));
+
+        tabsData.setSourceDocument(second, 0);
+        assertThat(isClosed(first), equalTo(true));
+        assertThat(isClosed(second), equalTo(false));
+
+        tabsData.removeTab(0);
+        assertThat(isClosed(second), equalTo(true));
+    }
+
+    private static boolean isClosed(PagedDocument document) {
+        try {
+            document.getLines(0, 1);
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.model.tabsdata;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class PagedDocumentTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldReturnLinesAroundIndexedLines() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("select ").append(i).append(" from dual; -- ünïcode\n");
+        }
+
+        PagedDocument document = PagedDocument.open(write(text.toString()));
+
+        assertThat(document.countLines(), equalTo(1001L));
+        assertThat(document.getSize(), equalTo((long) text.toString().getBytes(StandardCharsets.UTF_8).length));
+        assertThat(document.getLines(0, 1), equalTo("select 0 from dual; -- ünïcode"));
+        assertThat(document.getLines(63, 2),
+                equalTo("select 63 from dual; -- ünïcode\nselect 64 from dual; -- ünïcode"));
+        assertThat(document.getLines(999, 5), equalTo("select 999 from dual; -- ünïcode\n"));
+        assertThat(document.getLines(1000, 5), equalTo(""));
+    }
+
+    @Test
+    public void shouldHandleFilesWithoutLineBreaks() throws Exception {
+        PagedDocument empty = PagedDocument.open(write(""));
+        assertThat(empty.countLines(), equalTo(1L));
+        assertThat(empty.getLines(0, 10), equalTo(""));
+
+        PagedDocument single = PagedDocument.open(write("select 1 from dual;"));
+        assertThat(single.countLines(), equalTo(1L));
+        assertThat(single.getLines(0, 10), equalTo("select 1 from dual;"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldRejectLinesOutOfRange() throws Exception {
+        PagedDocument document = PagedDocument.open(write("a\nb"));
+        document.getLines(2, 1);
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotReadTruncatedFile() throws Exception {
+        Path path = write("a\nb\nc");
+        PagedDocument document = PagedDocument.open(path);
+        Files.writeString(path, "a");
+        document.getLines(0, 1);
+    }
+
+    @Test
+    public void shouldReturnLinesAcrossPages() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            text.append("select ").append(i).append(" from dual;\n");
+        }
+
+        PagedDocument document = PagedDocument.open(write(text.toString()));
+
+        assertThat(document.countLines(), equalTo(100_001L));
+        assertThat(document.getLines(99_998, 2),
+                equalTo("select 99998 from dual;\nselect 99999 from dual;"));
+        assertThat(document.getLines(5_000, 1), equalTo("select 5000 from dual;"));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotReadClosedDocument() throws Exception {
+        PagedDocument document = PagedDocument.open(write("a\nb"));
+        document.close();
+        document.getLines(0, 1);
+    }
+
+    private Path write(String text) throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.writeString(path, text, StandardCharsets.UTF_8);
+        return path;
+    }
+}
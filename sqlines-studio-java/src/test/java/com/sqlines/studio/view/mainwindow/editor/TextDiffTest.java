@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021 SQLines
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sqlines.studio.view.mainwindow.editor;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+public class TextDiffTest {
+
+    @Test
+    public void shouldReturnNoChangesForEqualTexts() {
+        assertThat(TextDiff.diff("a\nb\n", "a\nb\n").isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void shouldInsertLine() {
+        List<TextDiff.Change> changes = TextDiff.diff("a\nb\nc\n", "a\nb\nx\nc\n");
+
+        assertThat(changes.size(), equalTo(1));
+        assertChange(changes.get(0), 4, 4, "x\n");
+    }
+
+    @Test
+    public void shouldDeleteLine() {
+        List<TextDiff.Change> changes = TextDiff.diff("a\nb\nc\n", "a\nc\n");
+
+        assertThat(changes.size(), equalTo(1));
+        assertChange(changes.get(0), 2, 4, "");
+    }
+
+    @Test
+    public void shouldReplaceWholeLines() {
+        List<TextDiff.Change> changes = TextDiff.diff("a\nbb\nc\n", "a\nbx\nc\n");
+
+        assertThat(changes.size(), equalTo(1));
+        assertChange(changes.get(0), 2, 5, "bx\n");
+    }
+
+    @Test
+    public void shouldKeepSeparateChangesApart() {
+        String oldText = "a\nb\nc\nd\ne\n";
+        String newText = "a\nx\nc\nd\ny\nz\n";
+
+        List<TextDiff.Change> changes = TextDiff.diff(oldText, newText);
+
+        assertThat(changes.size(), equalTo(2));
+        assertChange(changes.get(0), 2, 4, "x\n");
+        assertChange(changes.get(1), 8, 10, "y\nz\n");
+    }
+
+    @Test
+    public void shouldStartPrefixAtLineStart() {
+        List<TextDiff.Change> changes = TextDiff.diff("a\nb", "a\nbc");
+
+        assertThat(changes.size(), equalTo(1));
+        assertChange(changes.get(0), 2, 3, "bc");
+    }
+
+    @Test
+    public void shouldNotOverlapPrefixAndSuffix() {
+        List<TextDiff.Change> changes = TextDiff.diff("aaa\n", "aaa\naaa\n");
+
+        assertThat(changes.size(), equalTo(1));
+        assertChange(changes.get(0), 4, 4, "aaa\n");
+    }
+
+    @Test
+    public void shouldEndSuffixAtLineStart() {
+        List<TextDiff.Change> changes = TextDiff.diff("x 1\nend\n", "y 1\nend\n");
+
+        assertThat(changes.size(), equalTo(1));
+        assertChange(changes.get(0), 0, 4, "y 1\n");
+    }
+
+    @Test
+    public void shouldHandleEmptyTexts() {
+        assertChange(TextDiff.diff("", "a\n").get(0), 0, 0, "a\n");
+        assertChange(TextDiff.diff("a\n", "").get(0), 0, 2, "");
+    }
+
+    @Test
+    public void shouldTurnOldTextIntoNewText() {
+        StringBuilder oldText = new StringBuilder();
+        StringBuilder newText = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            oldText.append("line ").append(i).append('\n');
+            if (i % 3 == 0) {
+                newText.append("changed ").append(i).append('\n');
+            } else if (i % 5 != 0) {
+                newText.append("line ").append(i).append('\n');
+            }
+        }
+
+        List<TextDiff.Change> changes = TextDiff.diff(oldText.toString(), newText.toString());
+
+        assertThat(changes.size() > 1, equalTo(true));
+        assertThat(apply(oldText.toString(), changes), equalTo(newText.toString()));
+    }
+
+    @Test
+    public void shouldReplaceWholeRangeWhenTooManyEdits() {
+        StringBuilder oldText = new StringBuilder();
+        StringBuilder newText = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            oldText.append("a ").append(i).append('\n');
+            newText.append("b ").append(i).append('\n');
+        }
+
+        List<TextDiff.Change> changes = TextDiff.diff(oldText.toString(), newText.toString());
+
+        assertThat(changes.size(), equalTo(1));
+        assertChange(changes.get(0), 0, oldText.length(), newText.toString());
+    }
+
+    private static void assertChange(TextDiff.Change change, int start, int end, String text) {
+        assertThat(change.getStart(), equalTo(start));
+        assertThat(change.getEnd(), equalTo(end));
+        assertThat(change.getText(), equalTo(text));
+    }
+
+    private static String apply(String text, List<TextDiff.Change> changes) {
+        StringBuilder result = new StringBuilder(text);
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            TextDiff.Change change = changes.get(i);
+            result.replace(change.getStart(), change.getEnd(), change.getText());
+        }
+
+        return result.toString();
+    }
+}